@@ -0,0 +1,120 @@
+package io.dropwizard.benchmarks.client;
+
+import com.codahale.metrics.MetricRegistry;
+import com.sun.net.httpserver.HttpServer;
+import io.dropwizard.client.JerseyClientBuilder;
+import io.dropwizard.client.JerseyClientConfiguration;
+import io.dropwizard.jackson.Jackson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of a Jersey client backed by Apache HttpClient uploading small and large entities to a local
+ * server, with chunked encoding, with buffered entities, and with entities whose length is known beforehand.
+ */
+@State(Scope.Benchmark)
+public class JerseyClientBenchmark {
+
+    @Param({"256", "1048576"})
+    private int payloadSize = 256;
+
+    @Param({"true", "false"})
+    private boolean chunkedEncodingEnabled = true;
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private Client client;
+    private WebTarget target;
+    private Entity<byte[]> entity;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/upload", exchange -> {
+            final byte[] buffer = new byte[8192];
+            try (InputStream in = exchange.getRequestBody()) {
+                while (in.read(buffer) != -1) {
+                    // Discard the entity
+                }
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.start();
+
+        final JerseyClientConfiguration configuration = new JerseyClientConfiguration();
+        configuration.setChunkedEncodingEnabled(chunkedEncodingEnabled);
+        configuration.setGzipEnabledForRequests(false);
+        executor = Executors.newSingleThreadExecutor();
+        client = new JerseyClientBuilder(new MetricRegistry())
+            .using(configuration)
+            .using(executor, Jackson.newObjectMapper())
+            .build("benchmark");
+        target = client.target("http://localhost:" + server.getAddress().getPort() + "/upload");
+
+        final byte[] payload = new byte[payloadSize];
+        new Random(42).nextBytes(payload);
+        entity = Entity.entity(payload, MediaType.APPLICATION_OCTET_STREAM_TYPE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        executor.shutdown();
+        server.stop(0);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public int upload() {
+        return target.request().post(entity).getStatus();
+    }
+
+    /**
+     * Sets the {@code Content-Length} of the request, which lets the connector stream the entity without buffering it
+     * when chunked encoding is disabled.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public int uploadWithContentLength() {
+        return target.request()
+            .header(HttpHeaders.CONTENT_LENGTH, payloadSize)
+            .post(entity)
+            .getStatus();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(JerseyClientBenchmark.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .measurementIterations(5)
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,125 @@
+package io.dropwizard.benchmarks.configuration;
+
+import io.dropwizard.configuration.ConfigurationSnapshots;
+import io.dropwizard.configuration.FileConfigurationSourceProvider;
+import io.dropwizard.configuration.YamlConfigurationFactory;
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.logging.BootstrapLogging;
+import io.dropwizard.validation.BaseValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Pattern;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures the time to build a large configuration, by parsing and validating its YAML source or from a
+ * {@link ConfigurationSnapshots snapshot}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ConfigurationBuildBenchmark {
+
+    static {
+        BootstrapLogging.bootstrap();
+    }
+
+    public static class Endpoint {
+        @NotEmpty
+        @Pattern(regexp = "[a-z0-9-]+")
+        public String name = "";
+
+        @NotEmpty
+        public String host = "";
+
+        @Min(1)
+        @Max(65535)
+        public int port;
+
+        @NotEmpty
+        public List<@NotEmpty String> tags = new ArrayList<>();
+    }
+
+    public static class LargeConfiguration {
+        @Valid
+        @NotEmpty
+        public List<@Valid Endpoint> endpoints = new ArrayList<>();
+    }
+
+    @Param({"false", "true"})
+    private boolean snapshots;
+
+    private Path directory;
+    private Path config;
+    private YamlConfigurationFactory<LargeConfiguration> factory;
+    private final FileConfigurationSourceProvider provider = new FileConfigurationSourceProvider();
+
+    @Setup
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("configuration-build-benchmark");
+        config = directory.resolve("config.yml");
+        final List<String> lines = new ArrayList<>();
+        lines.add("endpoints:");
+        for (int i = 0; i < 2000; i++) {
+            lines.add("  - name: endpoint-" + i);
+            lines.add("    host: host-" + i + ".example.com");
+            lines.add("    port: " + (8000 + i));
+            lines.add("    tags: [primary, zone-" + (i % 4) + ", rack-" + (i % 16) + "]");
+        }
+        Files.write(config, lines, StandardCharsets.UTF_8);
+
+        factory = new YamlConfigurationFactory<>(LargeConfiguration.class, BaseValidator.newValidator(),
+            Jackson.newObjectMapper(), "dw");
+        if (snapshots) {
+            factory.setSnapshots(new ConfigurationSnapshots(directory.resolve("snapshots")));
+            // writes the snapshot, so that the benchmark measures the later builds
+            factory.build(provider, config.toString());
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public LargeConfiguration build() throws Exception {
+        return factory.build(provider, config.toString());
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+            .include(ConfigurationBuildBenchmark.class.getSimpleName())
+            .forks(1)
+            .warmupIterations(5)
+            .measurementIterations(5)
+            .build())
+            .run();
+    }
+}
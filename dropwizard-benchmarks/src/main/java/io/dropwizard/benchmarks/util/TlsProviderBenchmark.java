@@ -0,0 +1,173 @@
+package io.dropwizard.benchmarks.util;
+
+import io.dropwizard.util.SecurityProviders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLEngineResult;
+import javax.net.ssl.SSLException;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.security.KeyStore;
+import java.security.Provider;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares JSSE providers by the time of a full TLS handshake and the throughput of encrypting application data,
+ * using a pair of in-memory {@link SSLEngine}s.
+ */
+@State(Scope.Thread)
+public class TlsProviderBenchmark {
+    private static final char[] PASSWORD = "benchmark".toCharArray();
+    private static final int RECORD_SIZE = 16 * 1024;
+
+    @Param({"SunJSSE", "Conscrypt"})
+    private String provider = "SunJSSE";
+
+    @Param({"TLSv1.2", "TLSv1.3"})
+    private String protocol = "TLSv1.2";
+
+    private SSLContext serverContext;
+    private SSLContext clientContext;
+    private SSLEngine client;
+    private ByteBuffer plaintext;
+    private ByteBuffer ciphertext;
+
+    @Setup
+    public void setUp() throws Exception {
+        final Provider jsse = SecurityProviders.install(provider)
+            .orElseThrow(() -> new IllegalStateException("Provider " + provider + " is not available"));
+
+        final KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream in = getClass().getResourceAsStream("/benchmark.p12")) {
+            keyStore.load(in, PASSWORD);
+        }
+        final KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagers.init(keyStore, PASSWORD);
+        final TrustManagerFactory trustManagers = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustManagers.init(keyStore);
+
+        serverContext = SSLContext.getInstance("TLS", jsse);
+        serverContext.init(keyManagers.getKeyManagers(), null, null);
+        clientContext = SSLContext.getInstance("TLS", jsse);
+        clientContext.init(null, trustManagers.getTrustManagers(), null);
+
+        client = newEngine(clientContext, true);
+        handshake(client, newEngine(serverContext, false));
+
+        final byte[] data = new byte[RECORD_SIZE];
+        new Random(42).nextBytes(data);
+        plaintext = ByteBuffer.wrap(data);
+        ciphertext = ByteBuffer.allocate(client.getSession().getPacketBufferSize());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public SSLEngine fullHandshake() throws SSLException {
+        // Engines created without a peer address never resume a cached session.
+        final SSLEngine engine = newEngine(clientContext, true);
+        handshake(engine, newEngine(serverContext, false));
+        return engine;
+    }
+
+    /**
+     * Encrypts one maximum-sized TLS record per operation, so the throughput in bytes is the score times 16 KiB.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public int bulkEncrypt() throws SSLException {
+        plaintext.rewind();
+        ciphertext.clear();
+        client.wrap(plaintext, ciphertext);
+        return ciphertext.position();
+    }
+
+    private SSLEngine newEngine(SSLContext context, boolean clientMode) {
+        final SSLEngine engine = context.createSSLEngine();
+        engine.setUseClientMode(clientMode);
+        engine.setEnabledProtocols(new String[]{protocol});
+        return engine;
+    }
+
+    private static void handshake(SSLEngine client, SSLEngine server) throws SSLException {
+        final int packetSize = Math.max(client.getSession().getPacketBufferSize(), server.getSession().getPacketBufferSize());
+        final ByteBuffer clientToServer = ByteBuffer.allocate(packetSize);
+        final ByteBuffer serverToClient = ByteBuffer.allocate(packetSize);
+        final ByteBuffer application = ByteBuffer.allocate(Math.max(client.getSession().getApplicationBufferSize(),
+            server.getSession().getApplicationBufferSize()));
+
+        client.beginHandshake();
+        server.beginHandshake();
+        for (int i = 0; i < 100; i++) {
+            final boolean clientDone = step(client, serverToClient, clientToServer, application);
+            final boolean serverDone = step(server, clientToServer, serverToClient, application);
+            if (clientDone && serverDone) {
+                return;
+            }
+        }
+        throw new SSLException("Handshake did not complete");
+    }
+
+    /**
+     * Advances the handshake of an engine as far as possible with the data received so far.
+     *
+     * @return whether the engine has completed its handshake
+     */
+    private static boolean step(SSLEngine engine, ByteBuffer in, ByteBuffer out, ByteBuffer application)
+        throws SSLException {
+        while (true) {
+            final SSLEngineResult result;
+            switch (engine.getHandshakeStatus()) {
+                case NEED_WRAP:
+                    result = engine.wrap(ByteBuffer.allocate(0), out);
+                    if (result.getStatus() == SSLEngineResult.Status.BUFFER_OVERFLOW) {
+                        // Wait for the peer to consume what has been sent so far.
+                        return false;
+                    }
+                    break;
+                case NEED_UNWRAP:
+                    in.flip();
+                    result = engine.unwrap(in, application);
+                    in.compact();
+                    application.clear();
+                    if (result.getStatus() == SSLEngineResult.Status.BUFFER_UNDERFLOW) {
+                        return false;
+                    }
+                    break;
+                case NEED_TASK:
+                    Runnable task;
+                    while ((task = engine.getDelegatedTask()) != null) {
+                        task.run();
+                    }
+                    break;
+                default:
+                    return true;
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(TlsProviderBenchmark.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .measurementIterations(5)
+                .build())
+                .run();
+    }
+}
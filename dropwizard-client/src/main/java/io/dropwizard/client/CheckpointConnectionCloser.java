@@ -0,0 +1,79 @@
+package io.dropwizard.client;
+
+import io.dropwizard.lifecycle.JettyManaged;
+import io.dropwizard.lifecycle.Managed;
+import io.dropwizard.lifecycle.setup.LifecycleEnvironment;
+import io.dropwizard.util.Duration;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.eclipse.jetty.util.component.LifeCycle;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closes the pooled connections of the HTTP clients of an environment before a checkpoint of the JVM, which fails
+ * if it has open sockets. The connections still in use by requests are drained first: the requests have up to
+ * {@link #DRAIN_TIMEOUT} to complete and release them, after which the checkpoint is aborted. A single instance is
+ * managed per environment, and only if its checkpoint is enabled.
+ */
+final class CheckpointConnectionCloser implements Managed {
+    static final Duration DRAIN_TIMEOUT = Duration.seconds(30);
+
+    private final List<PoolingHttpClientConnectionManager> managers = new CopyOnWriteArrayList<>();
+    private final Duration drainTimeout;
+
+    CheckpointConnectionCloser(Duration drainTimeout) {
+        this.drainTimeout = drainTimeout;
+    }
+
+    static void register(LifecycleEnvironment lifecycle, PoolingHttpClientConnectionManager manager) {
+        synchronized (lifecycle) {
+            CheckpointConnectionCloser closer = find(lifecycle);
+            if (closer == null) {
+                closer = new CheckpointConnectionCloser(DRAIN_TIMEOUT);
+                lifecycle.manage(closer);
+            }
+            closer.add(manager);
+        }
+    }
+
+    @Nullable
+    static CheckpointConnectionCloser find(LifecycleEnvironment lifecycle) {
+        for (LifeCycle object : lifecycle.getManagedObjects()) {
+            final Managed managed = object instanceof JettyManaged ? ((JettyManaged) object).getManaged() : null;
+            if (managed instanceof CheckpointConnectionCloser) {
+                return (CheckpointConnectionCloser) managed;
+            }
+        }
+        return null;
+    }
+
+    void add(PoolingHttpClientConnectionManager manager) {
+        managers.add(manager);
+    }
+
+    @Override
+    public void beforeCheckpoint() throws InterruptedException {
+        final long deadline = System.nanoTime() + drainTimeout.toNanoseconds();
+        for (PoolingHttpClientConnectionManager manager : managers) {
+            int leased;
+            while ((leased = manager.getTotalStats().getLeased()) > 0) {
+                if (System.nanoTime() - deadline >= 0) {
+                    throw new IllegalStateException(leased + " HTTP client connections are still in use after "
+                        + drainTimeout + ", the JVM can't be checkpointed with open sockets");
+                }
+                // Closing the idle connections as they are released keeps the pool from reusing them
+                manager.closeIdleConnections(0, TimeUnit.MILLISECONDS);
+                Thread.sleep(10);
+            }
+            manager.closeIdleConnections(0, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CheckpointConnectionCloser{managers=" + managers.size() + '}';
+    }
+}
@@ -3,6 +3,7 @@ package io.dropwizard.client;
 import io.dropwizard.util.DirectExecutorService;
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
 import org.apache.http.StatusLine;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
@@ -20,14 +21,18 @@ import org.glassfish.jersey.message.internal.Statuses;
 
 import javax.annotation.Nullable;
 import javax.ws.rs.ProcessingException;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.Future;
 
 /**
@@ -70,6 +75,11 @@ public class DropwizardApacheConnector implements Connector {
      */
     private final boolean chunkedEncodingEnabled;
 
+    /**
+     * Chunks which buffer request entities if chunked encoding is disabled
+     */
+    private final BufferPool bufferPool = new BufferPool();
+
     public DropwizardApacheConnector(CloseableHttpClient client, @Nullable RequestConfig defaultRequestConfig,
                                      boolean chunkedEncodingEnabled) {
         this.client = client;
@@ -84,17 +94,20 @@ public class DropwizardApacheConnector implements Connector {
     public ClientResponse apply(ClientRequest jerseyRequest) {
         try {
             final HttpUriRequest apacheRequest = buildApacheRequest(jerseyRequest);
-            final CloseableHttpResponse apacheResponse = client.execute(apacheRequest);
+            final CloseableHttpResponse apacheResponse;
+            try {
+                apacheResponse = client.execute(apacheRequest);
+            } finally {
+                // The entity has been sent, including any retries, once the response has been received
+                releaseEntity(apacheRequest);
+            }
 
             final StatusLine statusLine = apacheResponse.getStatusLine();
             final String reasonPhrase = statusLine.getReasonPhrase();
             final Response.StatusType status = Statuses.from(statusLine.getStatusCode(), reasonPhrase == null ? "" : reasonPhrase);
 
             final ClientResponse jerseyResponse = new ClientResponse(status, jerseyRequest);
-            for (Header header : apacheResponse.getAllHeaders()) {
-                jerseyResponse.getHeaders().computeIfAbsent(header.getName(), k -> new ArrayList<>())
-                    .add(header.getValue());
-            }
+            copyHeaders(apacheResponse.getAllHeaders(), jerseyResponse.getHeaders());
 
             final HttpEntity httpEntity = apacheResponse.getEntity();
             jerseyResponse.setEntityStream(httpEntity != null ? httpEntity.getContent() :
@@ -106,6 +119,32 @@ public class DropwizardApacheConnector implements Connector {
         }
     }
 
+    /**
+     * Copies the headers of an Apache response into the headers of a Jersey response. Most headers have a single
+     * value, so the lists of values are sized for one.
+     */
+    private static void copyHeaders(Header[] apacheHeaders, MultivaluedMap<String, String> jerseyHeaders) {
+        for (Header header : apacheHeaders) {
+            final List<String> values = jerseyHeaders.get(header.getName());
+            if (values != null) {
+                values.add(header.getValue());
+            } else {
+                final List<String> value = new ArrayList<>(1);
+                value.add(header.getValue());
+                jerseyHeaders.put(header.getName(), value);
+            }
+        }
+    }
+
+    private static void releaseEntity(HttpUriRequest apacheRequest) {
+        if (apacheRequest instanceof HttpEntityEnclosingRequest) {
+            final HttpEntity entity = ((HttpEntityEnclosingRequest) apacheRequest).getEntity();
+            if (entity instanceof BufferedJerseyRequestHttpEntity) {
+                ((BufferedJerseyRequestHttpEntity) entity).release();
+            }
+        }
+    }
+
     /**
      * Build a new Apache's {@link org.apache.http.client.methods.HttpUriRequest}
      * from Jersey's {@link org.glassfish.jersey.client.ClientRequest}
@@ -121,7 +160,12 @@ public class DropwizardApacheConnector implements Connector {
                 .create(jerseyRequest.getMethod())
                 .setUri(jerseyRequest.getUri())
                 .setEntity(getHttpEntity(jerseyRequest));
+        final boolean hasKnownLengthEntity = builder.getEntity() instanceof KnownLengthJerseyRequestHttpEntity;
         for (String headerName : jerseyRequest.getHeaders().keySet()) {
+            // Apache HttpClient sets the length of the entity itself
+            if (hasKnownLengthEntity && HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(headerName)) {
+                continue;
+            }
             builder.addHeader(headerName, jerseyRequest.getHeaderString(headerName));
         }
 
@@ -164,6 +208,12 @@ public class DropwizardApacheConnector implements Connector {
      * Create a custom HTTP entity, because Jersey doesn't provide
      * a request stream or a byte buffer.
      * </p>
+     * <p>
+     * An entity whose length is set in the {@code Content-Length} header of
+     * the request, and which isn't encoded, is streamed with that length.
+     * Otherwise, if chunked encoding is disabled, the entity is buffered in
+     * chunks borrowed from a pool, which are returned once the request is sent.
+     * </p>
      *
      * @param jerseyRequest representation of an HTTP request in Jersey
      * @return a correct {@link org.apache.http.HttpEntity} implementation
@@ -174,8 +224,13 @@ public class DropwizardApacheConnector implements Connector {
             return null;
         }
 
+        final long contentLength = jerseyRequest.getLengthLong();
+        if (contentLength >= 0 && jerseyRequest.getHeaderString(HttpHeaders.CONTENT_ENCODING) == null) {
+            return new KnownLengthJerseyRequestHttpEntity(jerseyRequest, contentLength);
+        }
+
         return chunkedEncodingEnabled ? new JerseyRequestHttpEntity(jerseyRequest) :
-                new BufferedJerseyRequestHttpEntity(jerseyRequest);
+                new BufferedJerseyRequestHttpEntity(jerseyRequest, bufferPool);
     }
 
     /**
@@ -271,31 +326,138 @@ public class DropwizardApacheConnector implements Connector {
 
     }
 
+    /**
+     * A custom {@link org.apache.http.entity.AbstractHttpEntity} that uses
+     * a Jersey request as a content source, and whose length is known
+     * beforehand. It's streamed to the server without buffering.
+     */
+    private static class KnownLengthJerseyRequestHttpEntity extends AbstractHttpEntity {
+
+        private final ClientRequest clientRequest;
+        private final long contentLength;
+
+        private KnownLengthJerseyRequestHttpEntity(ClientRequest clientRequest, long contentLength) {
+            this.clientRequest = clientRequest;
+            this.contentLength = contentLength;
+            setChunked(false);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean isRepeatable() {
+            return false;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long getContentLength() {
+            return contentLength;
+        }
+
+        /**
+         * {@inheritDoc}
+         * <p>
+         * This method isn't supported at will throw an {@link java.lang.UnsupportedOperationException}
+         * if invoked.
+         * </p>
+         */
+        @Override
+        public InputStream getContent() throws IOException {
+            // Shouldn't be called
+            throw new UnsupportedOperationException("Reading from the entity is not supported");
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void writeTo(final OutputStream outputStream) throws IOException {
+            clientRequest.setStreamProvider(length -> outputStream);
+            clientRequest.writeEntity();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean isStreaming() {
+            return false;
+        }
+    }
+
     /**
      * A custom {@link org.apache.http.entity.AbstractHttpEntity} that uses
      * a Jersey request as a content source.
      * <p>
      * In contrast to {@link io.dropwizard.client.DropwizardApacheConnector.JerseyRequestHttpEntity}
-     * its contents are buffered on initialization.
+     * its contents are buffered on initialization, in chunks borrowed from a
+     * {@link BufferPool}, so that its length is known. The chunks are written
+     * to the server as they are, and returned to the pool by {@link #release()}.
      * </p>
      */
     private static class BufferedJerseyRequestHttpEntity extends AbstractHttpEntity {
 
-        private static final int BUFFER_INITIAL_SIZE = 512;
-        private byte[] buffer;
-
-        private BufferedJerseyRequestHttpEntity(ClientRequest clientRequest) {
-            final ByteArrayOutputStream stream = new ByteArrayOutputStream(BUFFER_INITIAL_SIZE);
+        private final BufferPool pool;
+        private final List<byte[]> chunks = new ArrayList<>();
+        private long length;
+        private int position = BufferPool.CHUNK_SIZE;
+
+        private BufferedJerseyRequestHttpEntity(ClientRequest clientRequest, BufferPool pool) {
+            this.pool = pool;
+            final OutputStream stream = new OutputStream() {
+                @Override
+                public void write(int b) {
+                    if (position == BufferPool.CHUNK_SIZE) {
+                        nextChunk();
+                    }
+                    chunks.get(chunks.size() - 1)[position++] = (byte) b;
+                    length++;
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    int written = 0;
+                    while (written < len) {
+                        if (position == BufferPool.CHUNK_SIZE) {
+                            nextChunk();
+                        }
+                        final int count = Math.min(len - written, BufferPool.CHUNK_SIZE - position);
+                        System.arraycopy(b, off + written, chunks.get(chunks.size() - 1), position, count);
+                        position += count;
+                        written += count;
+                    }
+                    length += len;
+                }
+            };
             clientRequest.setStreamProvider(contentLength -> stream);
             try {
                 clientRequest.writeEntity();
             } catch (IOException e) {
+                release();
                 throw new ProcessingException(ERROR_BUFFERING_ENTITY, e);
             }
-            buffer = stream.toByteArray();
             setChunked(false);
         }
 
+        private void nextChunk() {
+            chunks.add(pool.borrow());
+            position = 0;
+        }
+
+        /**
+         * Returns the chunks of the entity to the pool. The entity must not be written afterwards.
+         */
+        private void release() {
+            for (byte[] chunk : chunks) {
+                pool.giveBack(chunk);
+            }
+            chunks.clear();
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -309,7 +471,7 @@ public class DropwizardApacheConnector implements Connector {
          */
         @Override
         public long getContentLength() {
-            return buffer.length;
+            return length;
         }
 
         /**
@@ -330,7 +492,12 @@ public class DropwizardApacheConnector implements Connector {
          */
         @Override
         public void writeTo(OutputStream outstream) throws IOException {
-            outstream.write(buffer);
+            long remaining = length;
+            for (byte[] chunk : chunks) {
+                final int count = (int) Math.min(remaining, chunk.length);
+                outstream.write(chunk, 0, count);
+                remaining -= count;
+            }
             outstream.flush();
         }
 
@@ -342,5 +509,29 @@ public class DropwizardApacheConnector implements Connector {
             return false;
         }
     }
-}
 
+    /**
+     * A bounded pool of the chunks which buffer request entities, so that
+     * buffering a large entity neither copies it while growing a buffer nor
+     * allocates new memory for every request.
+     */
+    static class BufferPool {
+        static final int CHUNK_SIZE = 8 * 1024;
+        private static final int MAX_POOLED_CHUNKS = 256;
+
+        private final Queue<byte[]> chunks = new ArrayBlockingQueue<>(MAX_POOLED_CHUNKS);
+
+        byte[] borrow() {
+            final byte[] chunk = chunks.poll();
+            return chunk != null ? chunk : new byte[CHUNK_SIZE];
+        }
+
+        void giveBack(byte[] chunk) {
+            chunks.offer(chunk);
+        }
+
+        int size() {
+            return chunks.size();
+        }
+    }
+}
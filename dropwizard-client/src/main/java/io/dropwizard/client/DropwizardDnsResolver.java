@@ -0,0 +1,57 @@
+package io.dropwizard.client;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.lifecycle.Managed;
+import io.dropwizard.util.CachingDnsResolver;
+import io.dropwizard.util.Duration;
+import org.apache.http.conn.DnsResolver;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * A {@link DnsResolver} backed by a {@link CachingDnsResolver}, which serves cached addresses while it refreshes them
+ * in the background. It can be passed to {@link HttpClientBuilder#using(DnsResolver)} and
+ * {@link JerseyClientBuilder#using(DnsResolver)}, and should be managed by the lifecycle of the application, which
+ * stops its background refreshes.
+ * <p/>
+ * It reports the statistics of the cache as the gauges {@code hits}, {@code stale-hits}, {@code misses},
+ * {@code refreshes} and {@code failures}, named after {@link DnsResolver} and the given name.
+ *
+ * @since 2.1
+ */
+public class DropwizardDnsResolver implements DnsResolver, Managed {
+    private final CachingDnsResolver resolver;
+
+    /**
+     * @param metrics  the registry of the metrics
+     * @param name     the name of the metrics
+     * @param ttl      the time for which resolved addresses are served without refreshing them
+     * @param maxStale the time after the time to live for which addresses are served while they are refreshed
+     */
+    public DropwizardDnsResolver(MetricRegistry metrics, String name, Duration ttl, Duration maxStale) {
+        this(metrics, name, new CachingDnsResolver(ttl, maxStale));
+    }
+
+    public DropwizardDnsResolver(MetricRegistry metrics, String name, CachingDnsResolver resolver) {
+        this.resolver = resolver;
+        metrics.<Gauge<Long>>gauge(name(DnsResolver.class, name, "hits"), () -> resolver::getHits);
+        metrics.<Gauge<Long>>gauge(name(DnsResolver.class, name, "stale-hits"), () -> resolver::getStaleHits);
+        metrics.<Gauge<Long>>gauge(name(DnsResolver.class, name, "misses"), () -> resolver::getMisses);
+        metrics.<Gauge<Long>>gauge(name(DnsResolver.class, name, "refreshes"), () -> resolver::getRefreshes);
+        metrics.<Gauge<Long>>gauge(name(DnsResolver.class, name, "failures"), () -> resolver::getFailures);
+    }
+
+    @Override
+    public InetAddress[] resolve(String host) throws UnknownHostException {
+        return resolver.resolve(host);
+    }
+
+    @Override
+    public void stop() {
+        resolver.close();
+    }
+}
@@ -1,6 +1,7 @@
 package io.dropwizard.client;
 
 import io.dropwizard.client.ssl.TlsConfiguration;
+import io.dropwizard.util.SecurityProviders;
 import org.apache.http.conn.ssl.NoopHostnameVerifier;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.conn.ssl.SSLInitializationException;
@@ -19,7 +20,10 @@ import java.io.FileInputStream;
 import java.io.InputStream;
 import java.security.KeyStore;
 import java.security.KeyStoreException;
+import java.security.NoSuchProviderException;
+import java.security.Provider;
 import java.util.List;
+import java.util.Optional;
 
 import static java.util.Objects.requireNonNull;
 
@@ -45,6 +49,17 @@ public class DropwizardSSLConnectionSocketFactory {
                 chooseHostnameVerifier());
     }
 
+    /**
+     * Builds an {@link SSLContext} with the key and trust material of the configuration, for transports which do not
+     * use Apache HttpClient sockets.
+     *
+     * @return a new {@link SSLContext}
+     * @since 2.1
+     */
+    public SSLContext getSslContext() throws SSLInitializationException {
+        return buildSslContext();
+    }
+
     @Nullable
     private String[] getSupportedCiphers() {
         final List<String> supportedCiphers = configuration.getSupportedCiphers();
@@ -78,7 +93,15 @@ public class DropwizardSSLConnectionSocketFactory {
             sslContextBuilder.setProtocol(configuration.getProtocol());
             final String configuredProvider = configuration.getProvider();
             if (configuredProvider != null) {
-                sslContextBuilder.setProvider(configuredProvider);
+                final Optional<Provider> provider = SecurityProviders.install(configuredProvider);
+                if (provider.isPresent()) {
+                    sslContextBuilder.setProvider(provider.get());
+                } else if (configuration.isFallbackToDefaultProvider()) {
+                    log.warn("TLS provider {} is not available, falling back to the default provider",
+                            configuredProvider);
+                } else {
+                    throw new NoSuchProviderException("TLS provider " + configuredProvider + " is not available");
+                }
             }
             loadKeyMaterial(sslContextBuilder);
             loadTrustMaterial(sslContextBuilder);
@@ -5,9 +5,27 @@ import com.codahale.metrics.httpclient.HttpClientMetricNameStrategies;
 import com.codahale.metrics.httpclient.HttpClientMetricNameStrategy;
 import com.codahale.metrics.httpclient.InstrumentedHttpClientConnectionManager;
 import com.codahale.metrics.httpclient.InstrumentedHttpRequestExecutor;
+import io.dropwizard.client.balancing.LoadBalancerConfiguration;
+import io.dropwizard.client.balancing.LoadBalancingHttpClient;
+import io.dropwizard.client.balancing.LoadBalancingRoutePlanner;
+import io.dropwizard.client.cache.CacheConfiguration;
+import io.dropwizard.client.cache.CaffeineHttpCacheStorage;
+import io.dropwizard.client.cache.InstrumentedCacheResponseInterceptor;
+import io.dropwizard.client.cache.MappedFileResourceFactory;
+import io.dropwizard.client.coalescing.CoalescingConfiguration;
+import io.dropwizard.client.coalescing.CoalescingHttpClient;
+import io.dropwizard.client.pool.AdaptiveHttpClientConnectionManager;
+import io.dropwizard.client.pool.ConnectionPoolConfiguration;
+import io.dropwizard.client.pool.ConnectionPoolPrewarmer;
 import io.dropwizard.client.proxy.AuthConfiguration;
 import io.dropwizard.client.proxy.NonProxyListProxyRoutePlanner;
 import io.dropwizard.client.proxy.ProxyConfiguration;
+import io.dropwizard.client.resilience.BulkheadConfiguration;
+import io.dropwizard.client.resilience.CircuitBreakerConfiguration;
+import io.dropwizard.client.resilience.CircuitBreakerHealthCheck;
+import io.dropwizard.client.resilience.ResilientHttpClient;
+import io.dropwizard.client.retry.RetryPolicyConfiguration;
+import io.dropwizard.client.retry.RetryingHttpClient;
 import io.dropwizard.client.ssl.TlsConfiguration;
 import io.dropwizard.lifecycle.Managed;
 import io.dropwizard.setup.Environment;
@@ -41,6 +59,9 @@ import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.DefaultHttpRequestRetryHandler;
+import org.apache.http.impl.client.cache.CacheConfig;
+import org.apache.http.impl.client.cache.CachingHttpClientBuilder;
+import org.apache.http.impl.conn.DefaultRoutePlanner;
 import org.apache.http.impl.conn.SystemDefaultDnsResolver;
 import org.apache.http.protocol.HttpContext;
 import org.apache.http.protocol.HttpProcessor;
@@ -48,6 +69,7 @@ import org.apache.http.protocol.HttpRequestExecutor;
 
 import javax.annotation.Nullable;
 import javax.net.ssl.HostnameVerifier;
+import java.nio.file.Paths;
 import java.util.List;
 
 /**
@@ -58,6 +80,11 @@ import java.util.List;
  * <li>Disables stale connection checks by default</li>
  * <li>Disables Nagle's algorithm</li>
  * <li>Disables cookie management by default</li>
+ * <li>Caches responses as specified by RFC 7234 if a {@link CacheConfiguration} is configured</li>
+ * <li>Retries and hedges idempotent requests if a {@link RetryPolicyConfiguration} is configured</li>
+ * <li>Prewarms and adapts its connection pool if a {@link ConnectionPoolConfiguration} is configured</li>
+ * <li>Balances the requests to a service over its endpoints if a {@link LoadBalancerConfiguration} is configured</li>
+ * <li>Shares one request between identical concurrent requests if a {@link CoalescingConfiguration} is configured</li>
  * </ul>
  * </p>
  */
@@ -321,12 +348,16 @@ public class HttpClientBuilder {
      * Creates an Apache {@link org.apache.http.impl.client.HttpClientBuilder}.
      *
      * Intended for use by subclasses to create builder instance from subclass of
-     * {@link org.apache.http.impl.client.HttpClientBuilder}
+     * {@link org.apache.http.impl.client.HttpClientBuilder}. The default implementation creates a
+     * {@link CachingHttpClientBuilder} if a cache is configured.
      *
      * @return an {@link org.apache.http.impl.client.HttpClientBuilder}
      * @since 2.0
      */
     protected org.apache.http.impl.client.HttpClientBuilder createBuilder() {
+        if (configuration.getCacheConfiguration() != null) {
+            return CachingHttpClientBuilder.create();
+        }
         return org.apache.http.impl.client.HttpClientBuilder.create();
     }
 
@@ -365,7 +396,9 @@ public class HttpClientBuilder {
         final ConnectionReuseStrategy reuseStrategy = keepAlive == 0
                 ? new NoConnectionReuseStrategy()
                 : new DefaultConnectionReuseStrategy();
-        final HttpRequestRetryHandler retryHandler = configuration.getRetries() == 0
+        final RetryPolicyConfiguration retryPolicy = configuration.getRetryPolicy();
+        // A retry policy replaces the retries of the Apache client
+        final HttpRequestRetryHandler retryHandler = configuration.getRetries() == 0 || retryPolicy != null
                 ? NO_RETRIES
                 : (httpRequestRetryHandler == null ? new DefaultHttpRequestRetryHandler(configuration.getRetries(),
                 false) : httpRequestRetryHandler);
@@ -403,10 +436,12 @@ public class HttpClientBuilder {
         }
 
         // create a tunnel through a proxy host if it's specified in the config
+        HttpRoutePlanner configuredRoutePlanner = null;
         final ProxyConfiguration proxy = configuration.getProxyConfiguration();
         if (proxy != null) {
             final HttpHost httpHost = new HttpHost(proxy.getHost(), proxy.getPort(), proxy.getScheme());
-            builder.setRoutePlanner(new NonProxyListProxyRoutePlanner(httpHost, proxy.getNonProxyHosts()));
+            configuredRoutePlanner = new NonProxyListProxyRoutePlanner(httpHost, proxy.getNonProxyHosts());
+            builder.setRoutePlanner(configuredRoutePlanner);
             // if the proxy host requires authentication then add the host credentials to the credentials provider
             final AuthConfiguration auth = proxy.getAuth();
             if (auth != null) {
@@ -428,9 +463,20 @@ public class HttpClientBuilder {
         }
 
         if (routePlanner != null) {
+            configuredRoutePlanner = routePlanner;
             builder.setRoutePlanner(routePlanner);
         }
 
+        // spread the requests to a service over its endpoints
+        LoadBalancingRoutePlanner loadBalancingRoutePlanner = null;
+        final LoadBalancerConfiguration loadBalancer = configuration.getLoadBalancer();
+        if (loadBalancer != null) {
+            loadBalancingRoutePlanner = new LoadBalancingRoutePlanner(
+                configuredRoutePlanner == null ? new DefaultRoutePlanner(null) : configuredRoutePlanner,
+                loadBalancer, metricRegistry, name);
+            builder.setRoutePlanner(loadBalancingRoutePlanner);
+        }
+
         if (disableContentCompression) {
             builder.disableContentCompression();
         }
@@ -455,9 +501,87 @@ public class HttpClientBuilder {
             builder.setServiceUnavailableRetryStrategy(serviceUnavailableRetryStrategy);
         }
 
+        final CacheConfiguration cache = configuration.getCacheConfiguration();
+        if (cache != null && builder instanceof CachingHttpClientBuilder) {
+            configureCache((CachingHttpClientBuilder) builder, cache, name);
+        }
+
+        final ConnectionPoolConfiguration connectionPool = configuration.getConnectionPool();
+        if (connectionPool != null && !connectionPool.getPrewarmHosts().isEmpty() && environment != null) {
+            environment.lifecycle().manage(new ConnectionPoolPrewarmer(manager,
+                configuredRoutePlanner == null ? new DefaultRoutePlanner(null) : configuredRoutePlanner,
+                connectionPool.getPrewarmHosts(), connectionPool.getPrewarmConnections(), requestConfig,
+                configuration.getKeepAlive()));
+        }
+
+        if (environment != null && environment.lifecycle().isCheckpointEnabled()) {
+            CheckpointConnectionCloser.register(environment.lifecycle(), manager);
+        }
+
         customizeBuilder(builder);
 
-        return new ConfiguredCloseableHttpClient(builder.build(), requestConfig);
+        CloseableHttpClient client = builder.build();
+        if (loadBalancingRoutePlanner != null) {
+            client = new LoadBalancingHttpClient(client, loadBalancingRoutePlanner);
+        }
+        final CircuitBreakerConfiguration circuitBreaker = configuration.getCircuitBreaker();
+        final BulkheadConfiguration bulkhead = configuration.getBulkhead();
+        if (circuitBreaker != null || bulkhead != null) {
+            final ResilientHttpClient resilientClient =
+                new ResilientHttpClient(client, circuitBreaker, bulkhead, metricRegistry, name);
+            if (circuitBreaker != null && environment != null) {
+                // Clients which are built again with the same name keep reporting through the first health check
+                final String healthCheckName = name + "-circuit-breaker";
+                if (!environment.healthChecks().getNames().contains(healthCheckName)) {
+                    environment.healthChecks().register(healthCheckName,
+                        new CircuitBreakerHealthCheck(resilientClient));
+                }
+            }
+            client = resilientClient;
+        }
+        if (retryPolicy != null) {
+            client = new RetryingHttpClient(client, retryPolicy, configuration.getRetries(), metricRegistry, name);
+        }
+        final CoalescingConfiguration coalescing = configuration.getCoalescing();
+        if (coalescing != null) {
+            client = new CoalescingHttpClient(client, coalescing, metricRegistry, name);
+        }
+        return new ConfiguredCloseableHttpClient(client, requestConfig);
+    }
+
+    /**
+     * Map the parameters in {@link CacheConfiguration} to configuration on a {@link CachingHttpClientBuilder}
+     * instance, and record cache hits, misses and revalidations under the name of the client.
+     *
+     * @param builder the builder of the client
+     * @param cache   the configuration of the cache
+     * @param name    the name of the client
+     * @since 2.1
+     */
+    protected void configureCache(CachingHttpClientBuilder builder, CacheConfiguration cache, String name) {
+        final CaffeineHttpCacheStorage storage = new CaffeineHttpCacheStorage(cache.getMaxSize().toBytes());
+        builder.setHttpCacheStorage(storage)
+            .setCacheConfig(CacheConfig.custom()
+                .setMaxObjectSize(cache.getMaxObjectSize().toBytes())
+                .setSharedCache(cache.isSharedCache())
+                .build());
+
+        final String directory = cache.getDirectory();
+        if (directory != null) {
+            builder.setResourceFactory(new MappedFileResourceFactory(Paths.get(directory)));
+        }
+
+        builder.addInterceptorLast(new InstrumentedCacheResponseInterceptor(metricRegistry, name));
+
+        // Delete the files of the cached responses when the server shuts down
+        if (environment != null) {
+            environment.lifecycle().manage(new Managed() {
+                @Override
+                public void stop() throws Exception {
+                    storage.close();
+                }
+            });
+        }
     }
 
     /**
@@ -485,6 +609,11 @@ public class HttpClientBuilder {
     protected InstrumentedHttpClientConnectionManager createConnectionManager(Registry<ConnectionSocketFactory> registry,
                                                                               String name) {
         final Duration ttl = configuration.getTimeToLive();
+        final ConnectionPoolConfiguration connectionPool = configuration.getConnectionPool();
+        if (connectionPool != null) {
+            return configureConnectionManager(new AdaptiveHttpClientConnectionManager(metricRegistry, registry, resolver,
+                ttl.getQuantity(), ttl.getUnit(), name, connectionPool));
+        }
         final InstrumentedHttpClientConnectionManager manager = InstrumentedHttpClientConnectionManager.builder(metricRegistry)
             .socketFactoryRegistry(registry)
             .dnsResolver(resolver)
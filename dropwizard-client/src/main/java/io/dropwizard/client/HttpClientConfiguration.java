@@ -1,7 +1,14 @@
 package io.dropwizard.client;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.client.balancing.LoadBalancerConfiguration;
+import io.dropwizard.client.cache.CacheConfiguration;
+import io.dropwizard.client.coalescing.CoalescingConfiguration;
+import io.dropwizard.client.pool.ConnectionPoolConfiguration;
 import io.dropwizard.client.proxy.ProxyConfiguration;
+import io.dropwizard.client.resilience.BulkheadConfiguration;
+import io.dropwizard.client.resilience.CircuitBreakerConfiguration;
+import io.dropwizard.client.retry.RetryPolicyConfiguration;
 import io.dropwizard.client.ssl.TlsConfiguration;
 import io.dropwizard.util.Duration;
 
@@ -67,6 +74,34 @@ public class HttpClientConfiguration {
     @Nullable
     private TlsConfiguration tlsConfiguration;
 
+    @Valid
+    @Nullable
+    private CacheConfiguration cacheConfiguration;
+
+    @Valid
+    @Nullable
+    private RetryPolicyConfiguration retryPolicy;
+
+    @Valid
+    @Nullable
+    private CircuitBreakerConfiguration circuitBreaker;
+
+    @Valid
+    @Nullable
+    private BulkheadConfiguration bulkhead;
+
+    @Valid
+    @Nullable
+    private ConnectionPoolConfiguration connectionPool;
+
+    @Valid
+    @Nullable
+    private CoalescingConfiguration coalescing;
+
+    @Valid
+    @Nullable
+    private LoadBalancerConfiguration loadBalancer;
+
     @JsonProperty
     public void setKeepAlive(Duration keepAlive) {
         this.keepAlive = keepAlive;
@@ -213,4 +248,123 @@ public class HttpClientConfiguration {
     public void setTlsConfiguration(TlsConfiguration tlsConfiguration) {
         this.tlsConfiguration = tlsConfiguration;
     }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty("cache")
+    @Nullable
+    public CacheConfiguration getCacheConfiguration() {
+        return cacheConfiguration;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty("cache")
+    public void setCacheConfiguration(@Nullable CacheConfiguration cacheConfiguration) {
+        this.cacheConfiguration = cacheConfiguration;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    @Nullable
+    public RetryPolicyConfiguration getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setRetryPolicy(@Nullable RetryPolicyConfiguration retryPolicy) {
+        this.retryPolicy = retryPolicy;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    @Nullable
+    public CircuitBreakerConfiguration getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setCircuitBreaker(@Nullable CircuitBreakerConfiguration circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    @Nullable
+    public BulkheadConfiguration getBulkhead() {
+        return bulkhead;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setBulkhead(@Nullable BulkheadConfiguration bulkhead) {
+        this.bulkhead = bulkhead;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    @Nullable
+    public ConnectionPoolConfiguration getConnectionPool() {
+        return connectionPool;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setConnectionPool(@Nullable ConnectionPoolConfiguration connectionPool) {
+        this.connectionPool = connectionPool;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    @Nullable
+    public CoalescingConfiguration getCoalescing() {
+        return coalescing;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setCoalescing(@Nullable CoalescingConfiguration coalescing) {
+        this.coalescing = coalescing;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    @Nullable
+    public LoadBalancerConfiguration getLoadBalancer() {
+        return loadBalancer;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setLoadBalancer(@Nullable LoadBalancerConfiguration loadBalancer) {
+        this.loadBalancer = loadBalancer;
+    }
 }
@@ -3,13 +3,18 @@ package io.dropwizard.client;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.httpclient.HttpClientMetricNameStrategy;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.dropwizard.client.executor.ConcurrencyLimitedExecutorService;
+import io.dropwizard.client.executor.VirtualThreadsConfiguration;
+import io.dropwizard.client.http2.Http2ConnectorProvider;
 import io.dropwizard.jersey.gzip.ConfiguredGZipEncoder;
 import io.dropwizard.jersey.gzip.GZipDecoder;
 import io.dropwizard.jersey.jackson.JacksonFeature;
 import io.dropwizard.jersey.validation.HibernateValidationBinder;
 import io.dropwizard.jersey.validation.Validators;
+import io.dropwizard.lifecycle.ExecutorServiceManager;
 import io.dropwizard.lifecycle.Managed;
 import io.dropwizard.setup.Environment;
+import io.dropwizard.util.Duration;
 import org.apache.http.client.CredentialsProvider;
 import org.apache.http.client.HttpRequestRetryHandler;
 import org.apache.http.client.ServiceUnavailableRetryStrategy;
@@ -42,7 +47,10 @@ import static java.util.Objects.requireNonNull;
  * <p>
  * Among other things,
  * <ul>
- * <li>Backed by Apache HttpClient</li>
+ * <li>Backed by Apache HttpClient, or by Jetty HttpClient over HTTP/2 if {@link JerseyClientConfiguration#getHttp2()}
+ * is set</li>
+ * <li>Runs asynchronous and reactive calls on virtual threads if {@link JerseyClientConfiguration#getVirtualThreads()}
+ * is set</li>
  * <li>Disables stale connection checks</li>
  * <li>Disables Nagle's algorithm</li>
  * <li>Disables cookie management by default</li>
@@ -54,6 +62,7 @@ import static java.util.Objects.requireNonNull;
  * @see HttpClientBuilder
  */
 public class JerseyClientBuilder {
+    private static final String HTTP2_TRANSPORT = "org.eclipse.jetty.http2.client.http.HttpClientTransportOverHTTP2";
 
     private final List<Object> singletons = new ArrayList<>();
     private final List<Class<?>> providers = new ArrayList<>();
@@ -61,6 +70,7 @@ public class JerseyClientBuilder {
     private JerseyClientConfiguration configuration = new JerseyClientConfiguration();
 
     private HttpClientBuilder apacheHttpClientBuilder;
+    private final MetricRegistry metricRegistry;
     private Validator validator = Validators.newValidator();
 
     @Nullable
@@ -77,11 +87,13 @@ public class JerseyClientBuilder {
 
     public JerseyClientBuilder(Environment environment) {
         this.apacheHttpClientBuilder = new HttpClientBuilder(environment);
+        this.metricRegistry = environment.metrics();
         this.environment = environment;
     }
 
     public JerseyClientBuilder(MetricRegistry metricRegistry) {
         this.apacheHttpClientBuilder = new HttpClientBuilder(metricRegistry);
+        this.metricRegistry = metricRegistry;
     }
 
     public void setApacheHttpClientBuilder(HttpClientBuilder apacheHttpClientBuilder) {
@@ -343,12 +355,21 @@ public class JerseyClientBuilder {
             // configuration. The DisposableExecutorService decorator
             // is used to ensure that the service is shut down if the
             // Jersey client disposes of it.
-            executorService = requireNonNull(environment).lifecycle()
-                .executorService("jersey-client-" + name + "-%d")
-                .minThreads(configuration.getMinThreads())
-                .maxThreads(configuration.getMaxThreads())
-                .workQueue(new ArrayBlockingQueue<>(configuration.getWorkQueueSize()))
-                .build();
+            final VirtualThreadsConfiguration virtualThreads = configuration.getVirtualThreads();
+            if (virtualThreads != null) {
+                final String executorName = "jersey-client-" + name;
+                executorService = ConcurrencyLimitedExecutorService.onVirtualThreads(executorName,
+                    virtualThreads.getMaxConcurrentCalls(), metricRegistry);
+                requireNonNull(environment).lifecycle().manage(
+                    new ExecutorServiceManager(executorService, Duration.seconds(5), executorName));
+            } else {
+                executorService = requireNonNull(environment).lifecycle()
+                    .executorService("jersey-client-" + name + "-%d")
+                    .minThreads(configuration.getMinThreads())
+                    .maxThreads(configuration.getMaxThreads())
+                    .workQueue(new ArrayBlockingQueue<>(configuration.getWorkQueueSize()))
+                    .build();
+            }
         }
 
         if (objectMapper == null) {
@@ -411,7 +432,21 @@ public class JerseyClientBuilder {
 
         config.register(new DropwizardExecutorProvider(threadPool));
 
-        if (connectorProvider == null) {
+        if (connectorProvider == null && configuration.getHttp2() != null) {
+            requireHttp2Transport(name);
+            // Configurations built in code aren't validated
+            if (!configuration.isHttp2ConfigurationValid()) {
+                throw new IllegalStateException("The HTTP/2 transport of the client " + name + " can't be combined "
+                    + "with retries, retryPolicy, cache, circuitBreaker, bulkhead, connectionPool, loadBalancer or "
+                    + "coalescing, which only apply to Apache HttpClient");
+            }
+            final Http2ConnectorProvider http2ConnectorProvider = new Http2ConnectorProvider(configuration,
+                    metricRegistry, name, apacheHttpClientBuilder.createUserAgent(name));
+            if (environment != null) {
+                environment.lifecycle().manage(http2ConnectorProvider);
+            }
+            config.connectorProvider(http2ConnectorProvider);
+        } else if (connectorProvider == null) {
             final ConfiguredCloseableHttpClient apacheHttpClient =
                     apacheHttpClientBuilder.buildWithDefaultRequestConfiguration(name);
             config.connectorProvider((client, runtimeConfig) -> createDropwizardApacheConnector(apacheHttpClient));
@@ -422,6 +457,19 @@ public class JerseyClientBuilder {
         return config;
     }
 
+    /**
+     * Fails clearly if the optional Jetty HTTP/2 client isn't on the classpath, rather than with a
+     * {@link NoClassDefFoundError} on the first request.
+     */
+    private static void requireHttp2Transport(String name) {
+        try {
+            Class.forName(HTTP2_TRANSPORT, false, JerseyClientBuilder.class.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("The HTTP/2 transport of the client " + name + " requires the optional "
+                + "dependency org.eclipse.jetty.http2:http2-http-client-transport", e);
+        }
+    }
+
     /**
      * Builds {@link DropwizardApacheConnector} based on the configured Apache HTTP client
      * as {@link ConfiguredCloseableHttpClient} and the chunked encoding configuration set by the user.
@@ -2,8 +2,12 @@ package io.dropwizard.client;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.client.executor.VirtualThreadsConfiguration;
+import io.dropwizard.client.http2.Http2ClientConfiguration;
 import io.dropwizard.validation.ValidationMethod;
 
+import javax.annotation.Nullable;
+import javax.validation.Valid;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 
@@ -33,6 +37,14 @@ public class JerseyClientConfiguration extends HttpClientConfiguration {
 
     private boolean chunkedEncodingEnabled = true;
 
+    @Valid
+    @Nullable
+    private Http2ClientConfiguration http2;
+
+    @Valid
+    @Nullable
+    private VirtualThreadsConfiguration virtualThreads;
+
     @JsonProperty
     public int getMinThreads() {
         return minThreads;
@@ -93,6 +105,40 @@ public class JerseyClientConfiguration extends HttpClientConfiguration {
         this.workQueueSize = workQueueSize;
     }
 
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    @Nullable
+    public Http2ClientConfiguration getHttp2() {
+        return http2;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setHttp2(@Nullable Http2ClientConfiguration http2) {
+        this.http2 = http2;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    @Nullable
+    public VirtualThreadsConfiguration getVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setVirtualThreads(@Nullable VirtualThreadsConfiguration virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
     @JsonIgnore
     @ValidationMethod(message = ".minThreads must be less than or equal to maxThreads")
     public boolean isThreadPoolSizedCorrectly() {
@@ -104,4 +150,20 @@ public class JerseyClientConfiguration extends HttpClientConfiguration {
     public boolean isCompressionConfigurationValid() {
         return !gzipEnabledForRequests || gzipEnabled;
     }
+
+    /**
+     * Returns whether the {@code http2} transport is only combined with settings it supports. Retries, the cache,
+     * circuit breakers, bulkheads, connection pool tuning, load balancing and coalescing are features of Apache
+     * HttpClient, which the HTTP/2 transport doesn't use.
+     *
+     * @since 2.1
+     */
+    @JsonIgnore
+    @ValidationMethod(message = ".http2 can't be combined with retries, retryPolicy, cache, circuitBreaker, bulkhead, "
+        + "connectionPool, loadBalancer or coalescing, which only apply to Apache HttpClient")
+    public boolean isHttp2ConfigurationValid() {
+        return http2 == null || (getRetries() == 0 && getRetryPolicy() == null && getCacheConfiguration() == null
+            && getCircuitBreaker() == null && getBulkhead() == null && getConnectionPool() == null
+            && getLoadBalancer() == null && getCoalescing() == null);
+    }
 }
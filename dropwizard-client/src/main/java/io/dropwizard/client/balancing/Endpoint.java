@@ -0,0 +1,133 @@
+package io.dropwizard.client.balancing;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import org.apache.http.HttpHost;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An endpoint of a service, with the statistics the {@link LoadBalancer} chooses by.
+ */
+class Endpoint {
+    private final HttpHost host;
+    private final String name;
+    private final double decayNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final Meter requests;
+    private final Meter failures;
+    private final Meter ejections;
+
+    // Guarded by this
+    private double latencyNanos;
+    private long lastSampleTick;
+    private boolean sampled;
+
+    private volatile boolean ejected;
+    private volatile long ejectedUntilTick;
+
+    Endpoint(HttpHost host, long decayNanos, MetricRegistry metrics, String prefix) {
+        this.host = host;
+        this.name = name(host);
+        this.decayNanos = decayNanos;
+        this.requests = metrics.meter(MetricRegistry.name(prefix, name, "requests"));
+        this.failures = metrics.meter(MetricRegistry.name(prefix, name, "failures"));
+        this.ejections = metrics.meter(MetricRegistry.name(prefix, name, "ejections"));
+        metrics.<Gauge<Integer>>gauge(MetricRegistry.name(prefix, name, "in-flight"), () -> inFlight::get);
+        metrics.<Gauge<Double>>gauge(MetricRegistry.name(prefix, name, "latency"),
+            () -> () -> getLatencyNanos() / TimeUnit.MILLISECONDS.toNanos(1));
+        metrics.<Gauge<Integer>>gauge(MetricRegistry.name(prefix, name, "ejected"), () -> () -> ejected ? 1 : 0);
+    }
+
+    /**
+     * Returns the name of an endpoint as {@code host:port}.
+     */
+    static String name(HttpHost host) {
+        int port = host.getPort();
+        if (port < 0) {
+            port = "https".equalsIgnoreCase(host.getSchemeName()) ? 443 : 80;
+        }
+        return host.getHostName().toLowerCase(Locale.ROOT) + ":" + port;
+    }
+
+    HttpHost getHost() {
+        return host;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    synchronized double getLatencyNanos() {
+        return latencyNanos;
+    }
+
+    /**
+     * Returns whether the endpoint is ejected, and lets it receive requests again once its ejection time has passed.
+     */
+    boolean isEjected(long tick) {
+        if (ejected && tick - ejectedUntilTick >= 0) {
+            consecutiveFailures.set(0);
+            ejected = false;
+        }
+        return ejected;
+    }
+
+    void eject(long untilTick) {
+        ejectedUntilTick = untilTick;
+        ejected = true;
+        ejections.mark();
+    }
+
+    void onRequest() {
+        inFlight.incrementAndGet();
+        requests.mark();
+    }
+
+    /**
+     * Returns whether the latency of the endpoint has been measured by a response yet.
+     */
+    synchronized boolean isSampled() {
+        return sampled;
+    }
+
+    /**
+     * Records a request which was not answered by this endpoint, because it was redirected elsewhere or cancelled.
+     */
+    void onAbandoned() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Records the response to a request, and returns the number of requests in a row which have failed.
+     */
+    int onResponse(long tick, long elapsedNanos, boolean failed) {
+        inFlight.decrementAndGet();
+        synchronized (this) {
+            // Failures must not make an endpoint look faster than it is
+            final double sample = failed ? Math.max(elapsedNanos, latencyNanos) : elapsedNanos;
+            if (sampled) {
+                final double weight = Math.exp(-Math.max(0, tick - lastSampleTick) / decayNanos);
+                latencyNanos = latencyNanos * weight + sample * (1 - weight);
+            } else {
+                latencyNanos = sample;
+                sampled = true;
+            }
+            lastSampleTick = tick;
+        }
+        if (!failed) {
+            consecutiveFailures.set(0);
+            return 0;
+        }
+        failures.mark();
+        return consecutiveFailures.incrementAndGet();
+    }
+}
@@ -0,0 +1,247 @@
+package io.dropwizard.client.balancing;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.MetricFilter;
+import com.codahale.metrics.MetricRegistry;
+import org.apache.http.HttpHost;
+import org.apache.http.client.utils.URIUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Chooses the endpoint of a service which receives a request, by the power of two choices: of two endpoints picked at
+ * random, the one with the lower load wins. Endpoints which fail too many requests in a row are ejected for a while.
+ */
+class LoadBalancer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadBalancer.class);
+
+    private final String serviceHost;
+    private final LoadBalancerConfiguration.Load load;
+    private final List<HttpHost> configuredHosts;
+    private final long refreshIntervalNanos;
+    private final long decayNanos;
+    private final int consecutiveFailures;
+    private final long ejectionNanos;
+    private final int maxEjectionPercent;
+    private final MetricRegistry metrics;
+    private final String prefix;
+    private final Clock clock;
+    private final AtomicLong nextRefreshTick;
+
+    @Nullable
+    private final Path file;
+
+    @Nullable
+    private volatile FileTime lastModified;
+
+    private volatile List<Endpoint> endpoints = Collections.emptyList();
+
+    LoadBalancer(LoadBalancerConfiguration configuration, MetricRegistry metrics, String prefix, Clock clock) {
+        this.serviceHost = configuration.getServiceHost();
+        this.load = configuration.getLoad();
+        this.refreshIntervalNanos = configuration.getRefreshInterval().toNanoseconds();
+        this.decayNanos = configuration.getLatencyDecay().toNanoseconds();
+        this.consecutiveFailures = configuration.getConsecutiveFailures();
+        this.ejectionNanos = configuration.getEjectionTime().toNanoseconds();
+        this.maxEjectionPercent = configuration.getMaxEjectionPercent();
+        this.metrics = metrics;
+        this.prefix = prefix;
+        this.clock = clock;
+        this.nextRefreshTick = new AtomicLong(clock.getTick() + refreshIntervalNanos);
+
+        final List<HttpHost> hosts = new ArrayList<>();
+        for (URI uri : configuration.getEndpoints()) {
+            hosts.add(toHost(uri));
+        }
+        this.configuredHosts = Collections.unmodifiableList(hosts);
+
+        final String endpointsFile = configuration.getEndpointsFile();
+        this.file = endpointsFile == null ? null : Paths.get(endpointsFile);
+        update(configuredHosts);
+        if (file != null) {
+            refresh(file);
+        }
+    }
+
+    List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    long getTick() {
+        return clock.getTick();
+    }
+
+    /**
+     * Returns the endpoint which should receive the next request, or {@code null} if there are no endpoints. If all
+     * endpoints are ejected, one of them is chosen anyway.
+     */
+    @Nullable
+    Endpoint choose() {
+        final long tick = clock.getTick();
+        refreshIfDue(tick);
+
+        final List<Endpoint> all = endpoints;
+        List<Endpoint> candidates = new ArrayList<>(all.size());
+        for (Endpoint endpoint : all) {
+            if (!endpoint.isEjected(tick)) {
+                candidates.add(endpoint);
+            }
+        }
+        if (candidates.isEmpty()) {
+            candidates = all;
+        }
+
+        final int size = candidates.size();
+        if (size == 0) {
+            return null;
+        }
+        if (size == 1) {
+            return candidates.get(0);
+        }
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        final Endpoint a = candidates.get(first);
+        final Endpoint b = candidates.get(second);
+        // the endpoints which have not answered yet are assumed to be as fast as the others on average
+        final double unmeasuredLatencyNanos = a.isSampled() && b.isSampled() ? 0 : meanLatencyNanos(all);
+        return load(a, unmeasuredLatencyNanos) <= load(b, unmeasuredLatencyNanos) ? a : b;
+    }
+
+    void onResponse(Endpoint endpoint, long elapsedNanos, boolean failed) {
+        final long tick = clock.getTick();
+        if (endpoint.onResponse(tick, elapsedNanos, failed) >= consecutiveFailures) {
+            tryEject(endpoint, tick);
+        }
+    }
+
+    /**
+     * Returns the load of an endpoint. With the latency load, an endpoint whose latency has not been measured yet is
+     * assumed to have the given latency, so that a new endpoint is not flooded with requests.
+     */
+    private double load(Endpoint endpoint, double unmeasuredLatencyNanos) {
+        if (load == LoadBalancerConfiguration.Load.LATENCY) {
+            final double latencyNanos = endpoint.isSampled() ? endpoint.getLatencyNanos() : unmeasuredLatencyNanos;
+            return (endpoint.getInFlight() + 1) * latencyNanos;
+        }
+        return endpoint.getInFlight();
+    }
+
+    /**
+     * Returns the mean latency of the endpoints which have been measured, or {@code 0} if none has.
+     */
+    private static double meanLatencyNanos(List<Endpoint> endpoints) {
+        double sum = 0;
+        int count = 0;
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.isSampled()) {
+                sum += endpoint.getLatencyNanos();
+                count++;
+            }
+        }
+        return count == 0 ? 0 : sum / count;
+    }
+
+    private synchronized void tryEject(Endpoint endpoint, long tick) {
+        if (endpoint.isEjected(tick)) {
+            return;
+        }
+        final List<Endpoint> all = endpoints;
+        int ejected = 0;
+        for (Endpoint other : all) {
+            if (other.isEjected(tick)) {
+                ejected++;
+            }
+        }
+        if ((ejected + 1) * 100L > (long) maxEjectionPercent * all.size()) {
+            return;
+        }
+        endpoint.eject(tick + ejectionNanos);
+        LOGGER.warn("Ejected {} from the endpoints of {} after {} failed requests in a row", endpoint.getName(),
+            serviceHost, consecutiveFailures);
+    }
+
+    private void refreshIfDue(long tick) {
+        final long next = nextRefreshTick.get();
+        if (file == null || tick - next < 0 || !nextRefreshTick.compareAndSet(next, tick + refreshIntervalNanos)) {
+            return;
+        }
+        refresh(file);
+    }
+
+    private void refresh(Path file) {
+        try {
+            final FileTime modified = Files.getLastModifiedTime(file);
+            if (modified.equals(lastModified)) {
+                return;
+            }
+            final List<HttpHost> hosts = new ArrayList<>(configuredHosts);
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                final String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue;
+                }
+                try {
+                    hosts.add(toHost(URI.create(trimmed)));
+                } catch (IllegalArgumentException e) {
+                    LOGGER.warn("Skipping the endpoint {} of {} in {}", trimmed, serviceHost, file, e);
+                }
+            }
+            lastModified = modified;
+            update(hosts);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to read the endpoints of {} from {}", serviceHost, file, e);
+        }
+    }
+
+    /**
+     * Replaces the endpoints, keeping the statistics of the endpoints which remain.
+     */
+    private synchronized void update(List<HttpHost> hosts) {
+        final Map<String, Endpoint> current = new LinkedHashMap<>();
+        for (Endpoint endpoint : endpoints) {
+            current.put(endpoint.getName(), endpoint);
+        }
+        final Map<String, Endpoint> updated = new LinkedHashMap<>();
+        for (HttpHost host : hosts) {
+            final String name = Endpoint.name(host);
+            if (updated.containsKey(name)) {
+                continue;
+            }
+            final Endpoint existing = current.remove(name);
+            updated.put(name, existing != null ? existing : new Endpoint(host, decayNanos, metrics, prefix));
+        }
+        for (String removed : current.keySet()) {
+            metrics.removeMatching(MetricFilter.startsWith(MetricRegistry.name(prefix, removed) + "."));
+        }
+        endpoints = Collections.unmodifiableList(new ArrayList<>(updated.values()));
+        LOGGER.debug("The endpoints of {} are {}", serviceHost, updated.keySet());
+    }
+
+    private static HttpHost toHost(URI uri) {
+        final HttpHost host = URIUtils.extractHost(uri);
+        if (host == null) {
+            throw new IllegalArgumentException("The endpoint " + uri + " is not a URI like http://10.0.0.1:8080");
+        }
+        return host;
+    }
+}
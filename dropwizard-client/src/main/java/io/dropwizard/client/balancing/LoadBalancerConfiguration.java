@@ -0,0 +1,239 @@
+package io.dropwizard.client.balancing;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.MinDuration;
+import io.dropwizard.validation.ValidationMethod;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration of the load balancer of a client, which spreads the requests to a service over several endpoints and
+ * stops sending requests to endpoints which keep failing for a while.
+ * <p/>
+ * Requests whose URI has the host {@code serviceHost}, like {@code http://users/profiles/42}, are sent to one of the
+ * endpoints. Of two endpoints picked at random, the one with the lower load is chosen. Requests to other hosts are
+ * sent as usual.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code serviceHost}</td>
+ *         <td>REQUIRED</td>
+ *         <td>The host name in request URIs which stands for the endpoints.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code endpoints}</td>
+ *         <td>(none)</td>
+ *         <td>The endpoints of the service, as URIs like {@code https://10.0.0.1:8443}.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code endpointsFile}</td>
+ *         <td>(none)</td>
+ *         <td>
+ *             A file listing further endpoints, one per line. Blank lines and lines starting with {@code #} are
+ *             ignored. The file is read again when it has changed.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code refreshInterval}</td>
+ *         <td>10 seconds</td>
+ *         <td>The interval at which the {@code endpointsFile} is checked for changes.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code load}</td>
+ *         <td>{@code IN_FLIGHT}</td>
+ *         <td>
+ *             How the load of an endpoint is measured: {@code IN_FLIGHT} counts the requests which wait for a
+ *             response from it, and {@code LATENCY} multiplies that count by a moving average of its response time.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code latencyDecay}</td>
+ *         <td>10 seconds</td>
+ *         <td>The time after which the weight of a response time in the moving average has decayed to about a third.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code consecutiveFailures}</td>
+ *         <td>5</td>
+ *         <td>
+ *             The number of requests in a row which must fail, with an I/O error or a server error status, for an
+ *             endpoint to be ejected.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code ejectionTime}</td>
+ *         <td>30 seconds</td>
+ *         <td>The time an ejected endpoint receives no requests.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxEjectionPercent}</td>
+ *         <td>50</td>
+ *         <td>
+ *             The largest share of the endpoints which may be ejected at once. If all endpoints are ejected anyway,
+ *             requests are sent to all of them.
+ *         </td>
+ *     </tr>
+ * </table>
+ *
+ * @since 2.1
+ */
+public class LoadBalancerConfiguration {
+    /**
+     * How the load of an endpoint is measured.
+     */
+    public enum Load {
+        /**
+         * The number of requests which wait for a response from the endpoint.
+         */
+        IN_FLIGHT,
+
+        /**
+         * The number of requests which wait for a response from the endpoint, plus one, multiplied by a moving average
+         * of its response time.
+         */
+        LATENCY
+    }
+
+    @NotEmpty
+    private String serviceHost = "";
+
+    @NotNull
+    private List<URI> endpoints = Collections.emptyList();
+
+    @Nullable
+    private String endpointsFile;
+
+    @NotNull
+    @MinDuration(value = 1, unit = TimeUnit.MILLISECONDS)
+    private Duration refreshInterval = Duration.seconds(10);
+
+    @NotNull
+    private Load load = Load.IN_FLIGHT;
+
+    @NotNull
+    @MinDuration(value = 1, unit = TimeUnit.MILLISECONDS)
+    private Duration latencyDecay = Duration.seconds(10);
+
+    @Min(1)
+    private int consecutiveFailures = 5;
+
+    @NotNull
+    @MinDuration(0)
+    private Duration ejectionTime = Duration.seconds(30);
+
+    @Min(0)
+    @Max(100)
+    private int maxEjectionPercent = 50;
+
+    @JsonProperty
+    public String getServiceHost() {
+        return serviceHost;
+    }
+
+    @JsonProperty
+    public void setServiceHost(String serviceHost) {
+        this.serviceHost = serviceHost;
+    }
+
+    @JsonProperty
+    public List<URI> getEndpoints() {
+        return endpoints;
+    }
+
+    @JsonProperty
+    public void setEndpoints(List<URI> endpoints) {
+        this.endpoints = endpoints;
+    }
+
+    @JsonProperty
+    @Nullable
+    public String getEndpointsFile() {
+        return endpointsFile;
+    }
+
+    @JsonProperty
+    public void setEndpointsFile(@Nullable String endpointsFile) {
+        this.endpointsFile = endpointsFile;
+    }
+
+    @JsonProperty
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    @JsonProperty
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    @JsonProperty
+    public Load getLoad() {
+        return load;
+    }
+
+    @JsonProperty
+    public void setLoad(Load load) {
+        this.load = load;
+    }
+
+    @JsonProperty
+    public Duration getLatencyDecay() {
+        return latencyDecay;
+    }
+
+    @JsonProperty
+    public void setLatencyDecay(Duration latencyDecay) {
+        this.latencyDecay = latencyDecay;
+    }
+
+    @JsonProperty
+    public int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    @JsonProperty
+    public void setConsecutiveFailures(int consecutiveFailures) {
+        this.consecutiveFailures = consecutiveFailures;
+    }
+
+    @JsonProperty
+    public Duration getEjectionTime() {
+        return ejectionTime;
+    }
+
+    @JsonProperty
+    public void setEjectionTime(Duration ejectionTime) {
+        this.ejectionTime = ejectionTime;
+    }
+
+    @JsonProperty
+    public int getMaxEjectionPercent() {
+        return maxEjectionPercent;
+    }
+
+    @JsonProperty
+    public void setMaxEjectionPercent(int maxEjectionPercent) {
+        this.maxEjectionPercent = maxEjectionPercent;
+    }
+
+    @JsonIgnore
+    @ValidationMethod(message = " must list endpoints or an endpointsFile")
+    public boolean isEndpointListed() {
+        return !endpoints.isEmpty() || endpointsFile != null;
+    }
+}
@@ -0,0 +1,91 @@
+package io.dropwizard.client.balancing;
+
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpExecutionAware;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.execchain.RequestAbortedException;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.BasicHttpContext;
+import org.apache.http.protocol.HttpContext;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+
+/**
+ * A {@link CloseableHttpClient} which reports the outcome of the requests routed by a
+ * {@link LoadBalancingRoutePlanner} back to it. Requests fail if they throw an exception or receive a server error
+ * status. Requests which are aborted or interrupted, such as the losers of hedged requests, neither fail nor succeed.
+ *
+ * @since 2.1
+ */
+public class LoadBalancingHttpClient extends CloseableHttpClient {
+    private final CloseableHttpClient delegate;
+    private final LoadBalancingRoutePlanner planner;
+
+    /**
+     * @param delegate the client which executes the requests, using the {@code planner}
+     * @param planner  the planner which routes the requests to the endpoints
+     */
+    public LoadBalancingHttpClient(CloseableHttpClient delegate, LoadBalancingRoutePlanner planner) {
+        this.delegate = delegate;
+        this.planner = planner;
+    }
+
+    @Override
+    protected CloseableHttpResponse doExecute(@Nullable HttpHost target, HttpRequest request,
+                                              @Nullable HttpContext context) throws IOException {
+        final HttpContext localContext = context == null ? new BasicHttpContext() : context;
+        boolean failed = true;
+        boolean cancelled = false;
+        try {
+            final CloseableHttpResponse response = delegate.execute(target, request, localContext);
+            failed = response.getStatusLine().getStatusCode() >= 500;
+            return response;
+        } catch (IOException e) {
+            cancelled = isCancelled(request, e);
+            throw e;
+        } finally {
+            if (cancelled) {
+                planner.onCancelled(localContext);
+            } else {
+                planner.onResponse(localContext, failed);
+            }
+        }
+    }
+
+    /**
+     * Returns whether a request failed because it was aborted or interrupted by the client, rather than because of
+     * the endpoint. Timeouts are failures of the endpoint.
+     */
+    private static boolean isCancelled(HttpRequest request, IOException e) {
+        if (e instanceof RequestAbortedException
+            || (request instanceof HttpExecutionAware && ((HttpExecutionAware) request).isAborted())) {
+            return true;
+        }
+        return e instanceof InterruptedIOException && !(e instanceof SocketTimeoutException)
+            && !(e instanceof ConnectTimeoutException);
+    }
+
+    @Override
+    @Deprecated
+    public HttpParams getParams() {
+        return delegate.getParams();
+    }
+
+    @Override
+    @Deprecated
+    public ClientConnectionManager getConnectionManager() {
+        return delegate.getConnectionManager();
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+}
@@ -0,0 +1,129 @@
+package io.dropwizard.client.balancing;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.MetricRegistry;
+import org.apache.http.HttpException;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.client.HttpClient;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.routing.HttpRoutePlanner;
+import org.apache.http.protocol.HttpContext;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * A {@link HttpRoutePlanner} which routes the requests to a service to one of its endpoints, according to a
+ * {@link LoadBalancerConfiguration}. The routes of other requests are determined by the given planner.
+ * <p/>
+ * Unless the request sets a {@code Host} header, it is sent with the host and port of the chosen endpoint, as if the
+ * endpoint had been part of its URI. The outcome of the requests is recorded by a {@link LoadBalancingHttpClient},
+ * which must wrap the client using this planner.
+ * <p/>
+ * The metrics of an endpoint are named after the client, {@code load-balancer}, and the host and port of the
+ * endpoint, for example {@code org.apache.http.client.HttpClient.example.load-balancer.10.0.0.1:8080.in-flight}:
+ * <ul>
+ *     <li>{@code in-flight}: the number of requests which wait for a response from the endpoint.</li>
+ *     <li>{@code latency}: the moving average of the response time of the endpoint, in milliseconds.</li>
+ *     <li>{@code requests} and {@code failures}: the requests sent to the endpoint, and those which failed.</li>
+ *     <li>{@code ejected}: {@code 1} if the endpoint is ejected, {@code 0} otherwise.</li>
+ *     <li>{@code ejections}: the times the endpoint was ejected.</li>
+ * </ul>
+ *
+ * @since 2.1
+ */
+public class LoadBalancingRoutePlanner implements HttpRoutePlanner {
+    private static final String LEASE_ATTRIBUTE = LoadBalancingRoutePlanner.class.getName() + ".lease";
+
+    private final HttpRoutePlanner delegate;
+    private final String serviceHost;
+    private final LoadBalancer balancer;
+
+    /**
+     * @param delegate      the planner which determines the routes to the chosen endpoints and to other hosts
+     * @param configuration the configuration of the load balancer
+     * @param metrics       the registry of the metrics of the client
+     * @param name          the name of the client
+     */
+    public LoadBalancingRoutePlanner(HttpRoutePlanner delegate, LoadBalancerConfiguration configuration,
+                                     MetricRegistry metrics, String name) {
+        this(delegate, configuration, metrics, name, Clock.defaultClock());
+    }
+
+    LoadBalancingRoutePlanner(HttpRoutePlanner delegate, LoadBalancerConfiguration configuration,
+                              MetricRegistry metrics, String name, Clock clock) {
+        this.delegate = delegate;
+        this.serviceHost = configuration.getServiceHost().toLowerCase(Locale.ROOT);
+        this.balancer = new LoadBalancer(configuration, metrics, name(HttpClient.class, name, "load-balancer"),
+            clock);
+    }
+
+    @Override
+    public HttpRoute determineRoute(HttpHost target, HttpRequest request, HttpContext context) throws HttpException {
+        // A redirected request is routed again, and its previous endpoint did not answer it
+        final Object previous = context.removeAttribute(LEASE_ATTRIBUTE);
+        if (previous instanceof Lease) {
+            ((Lease) previous).endpoint.onAbandoned();
+        }
+        if (!serviceHost.equals(target.getHostName().toLowerCase(Locale.ROOT))) {
+            return delegate.determineRoute(target, request, context);
+        }
+
+        final Endpoint endpoint = balancer.choose();
+        if (endpoint == null) {
+            throw new HttpException("There are no endpoints of " + serviceHost);
+        }
+        endpoint.onRequest();
+        context.setAttribute(LEASE_ATTRIBUTE, new Lease(endpoint, balancer.getTick()));
+        if (!request.containsHeader(HttpHeaders.HOST)) {
+            request.setHeader(HttpHeaders.HOST, endpoint.getHost().toHostString());
+        }
+        return delegate.determineRoute(endpoint.getHost(), request, context);
+    }
+
+    /**
+     * Returns the endpoints which currently receive requests, as {@code host:port}.
+     */
+    public List<String> getEndpoints() {
+        return balancer.getEndpoints().stream()
+            .map(Endpoint::getName)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Records the outcome of the request executed with the given context, if it was sent to an endpoint.
+     */
+    void onResponse(HttpContext context, boolean failed) {
+        final Object lease = context.removeAttribute(LEASE_ATTRIBUTE);
+        if (lease instanceof Lease) {
+            final Lease endpointLease = (Lease) lease;
+            balancer.onResponse(endpointLease.endpoint, balancer.getTick() - endpointLease.startTick, failed);
+        }
+    }
+
+    /**
+     * Records that the request executed with the given context was cancelled, if it was sent to an endpoint. The
+     * request counts neither as a failure nor as a success of the endpoint.
+     */
+    void onCancelled(HttpContext context) {
+        final Object lease = context.removeAttribute(LEASE_ATTRIBUTE);
+        if (lease instanceof Lease) {
+            ((Lease) lease).endpoint.onAbandoned();
+        }
+    }
+
+    private static class Lease {
+        private final Endpoint endpoint;
+        private final long startTick;
+
+        private Lease(Endpoint endpoint, long startTick) {
+            this.endpoint = endpoint;
+            this.startTick = startTick;
+        }
+    }
+}
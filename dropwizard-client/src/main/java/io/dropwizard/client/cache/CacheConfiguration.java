@@ -0,0 +1,113 @@
+package io.dropwizard.client.cache;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.DataSize;
+import io.dropwizard.validation.MaxDataSize;
+import io.dropwizard.validation.MinDataSize;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Configuration of an HTTP cache as specified by RFC 7234, which serves repeated requests from earlier responses
+ * while they are fresh and revalidates them with the origin server using {@code ETag} and {@code Last-Modified}
+ * validators once they are stale.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxSize}</td>
+ *         <td>10 mebibytes</td>
+ *         <td>
+ *             The maximum total size of the cached responses. Once it is exceeded, the entries which are least
+ *             likely to be requested again are evicted.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxObjectSize}</td>
+ *         <td>64 kibibytes</td>
+ *         <td>The maximum size of a response body which is cached.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code sharedCache}</td>
+ *         <td>true</td>
+ *         <td>
+ *             Whether the cache behaves as a shared cache, which does not store responses marked as
+ *             {@code Cache-Control: private} or responses to requests with an {@code Authorization} header.
+ *             Disable it if the client only acts on behalf of a single user.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code directory}</td>
+ *         <td>(none)</td>
+ *         <td>
+ *             A directory in which response bodies are stored as memory-mapped files instead of on the heap.
+ *             The files are deleted when their entries are evicted, and the directory should not be shared with
+ *             other clients.
+ *         </td>
+ *     </tr>
+ * </table>
+ *
+ * @since 2.1
+ */
+public class CacheConfiguration {
+    @NotNull
+    @MinDataSize(1)
+    private DataSize maxSize = DataSize.mebibytes(10);
+
+    @NotNull
+    @MinDataSize(1)
+    @MaxDataSize(Integer.MAX_VALUE)
+    private DataSize maxObjectSize = DataSize.kibibytes(64);
+
+    private boolean sharedCache = true;
+
+    @Nullable
+    private String directory;
+
+    @JsonProperty
+    public DataSize getMaxSize() {
+        return maxSize;
+    }
+
+    @JsonProperty
+    public void setMaxSize(DataSize maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    @JsonProperty
+    public DataSize getMaxObjectSize() {
+        return maxObjectSize;
+    }
+
+    @JsonProperty
+    public void setMaxObjectSize(DataSize maxObjectSize) {
+        this.maxObjectSize = maxObjectSize;
+    }
+
+    @JsonProperty
+    public boolean isSharedCache() {
+        return sharedCache;
+    }
+
+    @JsonProperty
+    public void setSharedCache(boolean sharedCache) {
+        this.sharedCache = sharedCache;
+    }
+
+    @JsonProperty
+    @Nullable
+    public String getDirectory() {
+        return directory;
+    }
+
+    @JsonProperty
+    public void setDirectory(@Nullable String directory) {
+        this.directory = directory;
+    }
+}
@@ -0,0 +1,121 @@
+package io.dropwizard.client.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.apache.http.Header;
+import org.apache.http.client.cache.HttpCacheEntry;
+import org.apache.http.client.cache.HttpCacheStorage;
+import org.apache.http.client.cache.HttpCacheUpdateCallback;
+import org.apache.http.client.cache.Resource;
+
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * An {@link HttpCacheStorage} backed by a Caffeine cache, which is bounded by the total size of the cached responses
+ * and evicts entries by their frequency and recency of use (W-TinyLFU). The resources of removed entries are
+ * disposed.
+ *
+ * @since 2.1
+ */
+public class CaffeineHttpCacheStorage implements HttpCacheStorage, Closeable {
+    private final Cache<String, HttpCacheEntry> cache;
+
+    /**
+     * @param maxWeight the maximum total size of the cached responses in bytes
+     */
+    public CaffeineHttpCacheStorage(long maxWeight) {
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maxWeight)
+            .weigher(CaffeineHttpCacheStorage::weigh)
+            .executor(Runnable::run)
+            .<String, HttpCacheEntry>removalListener((key, entry, cause) -> {
+                // Replaced entries are disposed on update, unless the new entry shares their resource.
+                if (entry != null && cause != RemovalCause.REPLACED) {
+                    dispose(entry);
+                }
+            })
+            .build();
+    }
+
+    @Override
+    public void putEntry(String key, HttpCacheEntry entry) {
+        replaced(cache.asMap().put(key, entry), entry);
+    }
+
+    @Override
+    @Nullable
+    public HttpCacheEntry getEntry(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    @Override
+    public void removeEntry(String key) {
+        cache.invalidate(key);
+    }
+
+    @Override
+    public void updateEntry(String key, HttpCacheUpdateCallback callback) throws IOException {
+        try {
+            cache.asMap().compute(key, (k, existing) -> {
+                try {
+                    final HttpCacheEntry updated = callback.update(existing);
+                    replaced(existing, updated);
+                    return updated;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Returns the number of cached entries.
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Removes all entries and disposes their resources.
+     */
+    @Override
+    public void close() {
+        cache.invalidateAll();
+        cache.cleanUp();
+    }
+
+    /**
+     * Disposes the resource of a replaced entry. Entries which are removed instead are disposed by the removal
+     * listener.
+     */
+    private static void replaced(@Nullable HttpCacheEntry previous, @Nullable HttpCacheEntry current) {
+        if (previous != null && current != null && previous.getResource() != current.getResource()) {
+            dispose(previous);
+        }
+    }
+
+    private static void dispose(HttpCacheEntry entry) {
+        final Resource resource = entry.getResource();
+        if (resource != null) {
+            resource.dispose();
+        }
+    }
+
+    private static int weigh(String key, HttpCacheEntry entry) {
+        long weight = key.length();
+        for (Header header : entry.getAllHeaders()) {
+            weight += header.getName().length() + header.getValue().length();
+        }
+        final Resource resource = entry.getResource();
+        if (resource != null) {
+            weight += resource.length();
+        }
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+}
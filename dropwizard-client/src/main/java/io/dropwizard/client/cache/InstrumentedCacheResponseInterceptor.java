@@ -0,0 +1,47 @@
+package io.dropwizard.client.cache;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.cache.CacheResponseStatus;
+import org.apache.http.client.cache.HttpCacheContext;
+import org.apache.http.protocol.HttpContext;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Records how the responses of a caching client were produced, by marking one of these meters per response:
+ * <ul>
+ *     <li>{@code cache-hits}: the response was served from the cache without contacting the origin server.</li>
+ *     <li>{@code cache-misses}: the response was fetched from the origin server.</li>
+ *     <li>{@code cache-revalidations}: the response was served from the cache after the origin server confirmed that
+ *     it is still valid.</li>
+ * </ul>
+ *
+ * @since 2.1
+ */
+public class InstrumentedCacheResponseInterceptor implements HttpResponseInterceptor {
+    private final Meter hits;
+    private final Meter misses;
+    private final Meter revalidations;
+
+    public InstrumentedCacheResponseInterceptor(MetricRegistry metrics, String name) {
+        this.hits = metrics.meter(name(HttpClient.class, name, "cache-hits"));
+        this.misses = metrics.meter(name(HttpClient.class, name, "cache-misses"));
+        this.revalidations = metrics.meter(name(HttpClient.class, name, "cache-revalidations"));
+    }
+
+    @Override
+    public void process(HttpResponse response, HttpContext context) {
+        final Object status = context.getAttribute(HttpCacheContext.CACHE_RESPONSE_STATUS);
+        if (status == CacheResponseStatus.CACHE_HIT) {
+            hits.mark();
+        } else if (status == CacheResponseStatus.CACHE_MISS) {
+            misses.mark();
+        } else if (status == CacheResponseStatus.VALIDATED) {
+            revalidations.mark();
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package io.dropwizard.client.cache;
+
+import org.apache.http.client.cache.InputLimit;
+import org.apache.http.client.cache.Resource;
+import org.apache.http.client.cache.ResourceFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A {@link ResourceFactory} which stores cached response bodies in files and reads them through memory mappings,
+ * so that they are kept in the page cache of the operating system rather than on the heap.
+ * <p/>
+ * The mapping of a resource is released and its file deleted once the resource is disposed and the streams reading
+ * it are closed, rather than whenever the garbage collector gets to the buffer. Like the resources of Apache
+ * HttpClient's {@link org.apache.http.impl.client.cache.FileResourceFactory}, a disposed resource can't be read
+ * anymore.
+ *
+ * @since 2.1
+ */
+public class MappedFileResourceFactory implements ResourceFactory {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MappedFileResourceFactory.class);
+    private static final int BUFFER_SIZE = 8192;
+    private static final Unmapper UNMAPPER = Unmapper.create();
+
+    private final Path directory;
+
+    public MappedFileResourceFactory(Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public Resource generate(String requestId, InputStream in, @Nullable InputLimit limit) throws IOException {
+        Files.createDirectories(directory);
+        final Path file = Files.createTempFile(directory, "http-cache-", ".body");
+        try {
+            try (OutputStream out = Files.newOutputStream(file)) {
+                final byte[] buffer = new byte[BUFFER_SIZE];
+                long total = 0;
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                    total += read;
+                    if (limit != null && total > limit.getValue()) {
+                        limit.reached();
+                        break;
+                    }
+                }
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                // The mapping stays valid after the channel is closed.
+                return new MappedFileResource(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    @Override
+    public Resource copy(String requestId, Resource resource) throws IOException {
+        try (InputStream in = resource.getInputStream()) {
+            return generate(requestId, in, null);
+        }
+    }
+
+    private static class MappedFileResource implements Resource {
+        private static final long serialVersionUID = 1L;
+
+        private final Path file;
+        private final transient MappedByteBuffer buffer;
+        private final long length;
+        private int openStreams;
+        private boolean disposed;
+
+        private MappedFileResource(Path file, MappedByteBuffer buffer) {
+            this.file = file;
+            this.buffer = buffer;
+            this.length = buffer.capacity();
+        }
+
+        @Override
+        public synchronized InputStream getInputStream() throws IOException {
+            if (disposed) {
+                throw new IOException("The cached response body in " + file + " has been disposed");
+            }
+            openStreams++;
+            return new ByteBufferInputStream(buffer.duplicate()) {
+                private boolean closed;
+
+                @Override
+                public void close() {
+                    synchronized (MappedFileResource.this) {
+                        if (!closed) {
+                            closed = true;
+                            openStreams--;
+                            releaseIfUnused();
+                        }
+                    }
+                }
+            };
+        }
+
+        @Override
+        public long length() {
+            return length;
+        }
+
+        @Override
+        public synchronized void dispose() {
+            if (!disposed) {
+                disposed = true;
+                releaseIfUnused();
+            }
+        }
+
+        /**
+         * Unmaps the buffer and deletes the file once the resource is disposed and no stream reads the buffer, as
+         * accessing an unmapped buffer crashes the JVM.
+         */
+        private void releaseIfUnused() {
+            if (disposed && openStreams == 0) {
+                UNMAPPER.unmap(buffer);
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    LOGGER.warn("Unable to delete the cached response body in {}", file, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Releases the memory mapping of a buffer right away. The JDK has no public API for it, so it uses
+     * {@code sun.misc.Unsafe#invokeCleaner} on Java 9 and later, and the cleaner of the buffer on Java 8. If neither
+     * is accessible, the mapping is released when the buffer is garbage collected.
+     */
+    @FunctionalInterface
+    interface Unmapper {
+        void unmap(ByteBuffer buffer);
+
+        static Unmapper create() {
+            try {
+                final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+                theUnsafe.setAccessible(true);
+                final Object unsafe = theUnsafe.get(null);
+                final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+                return buffer -> invoke(invokeCleaner, unsafe, buffer);
+            } catch (NoSuchMethodException e) {
+                return java8();
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                LOGGER.debug("Mapped buffers can't be unmapped explicitly", e);
+                return buffer -> { };
+            }
+        }
+
+        static Unmapper java8() {
+            try {
+                final Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+                final Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+                return buffer -> {
+                    final Object bufferCleaner = invoke(cleaner, buffer);
+                    if (bufferCleaner != null) {
+                        invoke(clean, bufferCleaner);
+                    }
+                };
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                LOGGER.debug("Mapped buffers can't be unmapped explicitly", e);
+                return buffer -> { };
+            }
+        }
+
+        @Nullable
+        static Object invoke(Method method, Object target, Object... args) {
+            try {
+                return method.invoke(target, args);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                LOGGER.debug("Unable to unmap a buffer", e);
+                return null;
+            }
+        }
+    }
+
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            final int read = Math.min(len, buffer.remaining());
+            buffer.get(b, off, read);
+            return read;
+        }
+
+        @Override
+        public long skip(long n) {
+            final int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package io.dropwizard.client.coalescing;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.DataSize;
+import io.dropwizard.validation.MaxDataSize;
+
+import javax.validation.constraints.NotNull;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Configuration of the coalescing of a client, which lets identical {@code GET} and {@code HEAD} requests that are in
+ * flight at the same time share a single request to the server.
+ * <p/>
+ * Requests are identical if they have the same method, URI and values of the {@code varyHeaders}, and the same
+ * credentials provider, authentication cache and cookie store in their context. Requests with
+ * {@code Cache-Control: no-cache} are never coalesced. The response is buffered and every waiting request receives
+ * its own copy of it.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code varyHeaders}</td>
+ *         <td>{@code Accept}, {@code Accept-Encoding}, {@code Accept-Language}, {@code Authorization}, {@code Cookie}</td>
+ *         <td>
+ *             The request headers whose values must match for requests to share a response. Requests of different
+ *             users are never coalesced as long as their credentials are sent in one of these headers.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxResponseSize}</td>
+ *         <td>1 mebibyte</td>
+ *         <td>
+ *             The largest response entity which is shared. If the entity is larger, the waiting requests are sent to
+ *             the server on their own.
+ *         </td>
+ *     </tr>
+ * </table>
+ *
+ * @since 2.1
+ */
+public class CoalescingConfiguration {
+    @NotNull
+    private List<String> varyHeaders = Arrays.asList("Accept", "Accept-Encoding", "Accept-Language", "Authorization",
+        "Cookie");
+
+    @NotNull
+    @MaxDataSize(Integer.MAX_VALUE)
+    private DataSize maxResponseSize = DataSize.mebibytes(1);
+
+    @JsonProperty
+    public List<String> getVaryHeaders() {
+        return varyHeaders;
+    }
+
+    @JsonProperty
+    public void setVaryHeaders(List<String> varyHeaders) {
+        this.varyHeaders = varyHeaders;
+    }
+
+    @JsonProperty
+    public DataSize getMaxResponseSize() {
+        return maxResponseSize;
+    }
+
+    @JsonProperty
+    public void setMaxResponseSize(DataSize maxResponseSize) {
+        this.maxResponseSize = maxResponseSize;
+    }
+}
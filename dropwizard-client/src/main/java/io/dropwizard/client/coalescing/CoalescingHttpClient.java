@@ -0,0 +1,329 @@
+package io.dropwizard.client.coalescing;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import org.apache.http.Header;
+import org.apache.http.HeaderElement;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.StatusLine;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.InputStreamEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.SequenceInputStream;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * A {@link CloseableHttpClient} which lets identical {@code GET} and {@code HEAD} requests that are in flight at the
+ * same time share a single request to the server, according to a {@link CoalescingConfiguration}. Other requests are
+ * passed through unchanged, and so are requests with {@code Cache-Control: no-cache} or {@code Pragma: no-cache},
+ * which ask for a response from the server.
+ * <p/>
+ * The authentication and cookie headers are only added by the execution chain, after requests are compared, so
+ * requests are only identical if their contexts also have the same credentials provider, authentication cache and
+ * cookie store instances.
+ * <p/>
+ * The first request is sent to the server, and the requests which arrive while it is in flight wait for its response.
+ * The response entity is buffered, and every request receives its own copy of the response. If the request fails,
+ * the waiting requests fail with the same exception. It records these meters:
+ * <ul>
+ *     <li>{@code coalesced}: the requests which received the response of another request.</li>
+ *     <li>{@code coalescing-oversized}: the responses which were too large to share, whose waiting requests were sent
+ *     on their own.</li>
+ * </ul>
+ *
+ * @since 2.1
+ */
+public class CoalescingHttpClient extends CloseableHttpClient {
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private final CloseableHttpClient delegate;
+    private final List<String> varyHeaders;
+    private final int maxResponseSize;
+    private final Meter coalesced;
+    private final Meter oversized;
+    private final ConcurrentMap<FlightKey, CompletableFuture<Optional<SharedResponse>>> flights =
+        new ConcurrentHashMap<>();
+
+    /**
+     * @param delegate      the client which executes the requests
+     * @param configuration the configuration of the coalescing
+     * @param metrics       the registry of the metrics of the client
+     * @param name          the name of the client
+     */
+    public CoalescingHttpClient(CloseableHttpClient delegate, CoalescingConfiguration configuration,
+                                MetricRegistry metrics, String name) {
+        this.delegate = delegate;
+        this.varyHeaders = configuration.getVaryHeaders();
+        this.maxResponseSize = (int) configuration.getMaxResponseSize().toBytes();
+        this.coalesced = metrics.meter(name(HttpClient.class, name, "coalesced"));
+        this.oversized = metrics.meter(name(HttpClient.class, name, "coalescing-oversized"));
+    }
+
+    @Override
+    protected CloseableHttpResponse doExecute(@Nullable HttpHost target, HttpRequest request,
+                                              @Nullable HttpContext context) throws IOException {
+        if (!isCoalescable(request)) {
+            return delegate.execute(target, request, context);
+        }
+
+        final FlightKey key = new FlightKey(key(target, request), context);
+        final CompletableFuture<Optional<SharedResponse>> flight = new CompletableFuture<>();
+        final CompletableFuture<Optional<SharedResponse>> existing = flights.putIfAbsent(key, flight);
+        if (existing != null) {
+            final Optional<SharedResponse> shared = await(existing);
+            if (shared.isPresent()) {
+                coalesced.mark();
+                return shared.get().newResponse();
+            }
+            return delegate.execute(target, request, context);
+        }
+
+        try {
+            return lead(target, request, context, flight);
+        } catch (IOException | RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+            flight.complete(Optional.empty());
+        }
+    }
+
+    /**
+     * Sends the first of the identical requests, and shares its response with the requests waiting for it.
+     */
+    private CloseableHttpResponse lead(@Nullable HttpHost target, HttpRequest request, @Nullable HttpContext context,
+                                       CompletableFuture<Optional<SharedResponse>> flight) throws IOException {
+        final CloseableHttpResponse response = delegate.execute(target, request, context);
+        final HttpEntity entity = response.getEntity();
+        if (entity == null) {
+            flight.complete(Optional.of(new SharedResponse(response, null)));
+            return response;
+        }
+        if (entity.getContentLength() > maxResponseSize) {
+            oversized.mark();
+            flight.complete(Optional.empty());
+            return response;
+        }
+
+        final byte[] body;
+        try {
+            final InputStream content = entity.getContent();
+            final ByteArrayOutputStream buffer = new ByteArrayOutputStream(
+                entity.getContentLength() >= 0 ? (int) entity.getContentLength() : BUFFER_SIZE);
+            final byte[] chunk = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = content.read(chunk)) != -1) {
+                buffer.write(chunk, 0, read);
+                if (buffer.size() > maxResponseSize) {
+                    // Hand the leading request what has been read so far, followed by the rest of the entity
+                    oversized.mark();
+                    flight.complete(Optional.empty());
+                    final InputStreamEntity rest = new InputStreamEntity(new SequenceInputStream(
+                        new ByteArrayInputStream(buffer.toByteArray()), content), entity.getContentLength());
+                    rest.setContentType(entity.getContentType());
+                    rest.setContentEncoding(entity.getContentEncoding());
+                    response.setEntity(rest);
+                    return response;
+                }
+            }
+            body = buffer.toByteArray();
+        } catch (IOException | RuntimeException e) {
+            response.close();
+            throw e;
+        }
+        response.close();
+
+        final SharedResponse shared = new SharedResponse(response, body);
+        flight.complete(Optional.of(shared));
+        return shared.newResponse();
+    }
+
+    private static Optional<SharedResponse> await(CompletableFuture<Optional<SharedResponse>> flight)
+        throws IOException {
+        try {
+            return flight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a coalesced request");
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException("The coalesced request failed", cause);
+        }
+    }
+
+    private static boolean isCoalescable(HttpRequest request) {
+        final String method = request.getRequestLine().getMethod().toUpperCase(Locale.ROOT);
+        return ("GET".equals(method) || "HEAD".equals(method)) && !(request instanceof HttpEntityEnclosingRequest)
+            && !hasNoCache(request, HttpHeaders.CACHE_CONTROL) && !hasNoCache(request, HttpHeaders.PRAGMA);
+    }
+
+    private static boolean hasNoCache(HttpRequest request, String headerName) {
+        for (Header header : request.getHeaders(headerName)) {
+            for (HeaderElement element : header.getElements()) {
+                if ("no-cache".equalsIgnoreCase(element.getName())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private String key(@Nullable HttpHost target, HttpRequest request) {
+        final StringBuilder key = new StringBuilder(request.getRequestLine().getMethod().toUpperCase(Locale.ROOT))
+            .append(' ');
+        if (target != null) {
+            key.append(target.toURI());
+        }
+        key.append(request.getRequestLine().getUri());
+        for (String varyHeader : varyHeaders) {
+            key.append('\n').append(varyHeader.toLowerCase(Locale.ROOT)).append(':');
+            for (Header header : request.getHeaders(varyHeader)) {
+                key.append(header.getValue()).append(',');
+            }
+        }
+        return key.toString();
+    }
+
+    @Override
+    @Deprecated
+    public HttpParams getParams() {
+        return delegate.getParams();
+    }
+
+    @Override
+    @Deprecated
+    public ClientConnectionManager getConnectionManager() {
+        return delegate.getConnectionManager();
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    /**
+     * Identifies identical requests by their method, URI and vary headers, and by the instances of the state of their
+     * context which adds credentials and cookies to them.
+     */
+    private static final class FlightKey {
+        private final String request;
+
+        @Nullable
+        private final Object credentialsProvider;
+
+        @Nullable
+        private final Object authCache;
+
+        @Nullable
+        private final Object cookieStore;
+
+        private FlightKey(String request, @Nullable HttpContext context) {
+            this.request = request;
+            this.credentialsProvider = context == null ? null : context.getAttribute(HttpClientContext.CREDS_PROVIDER);
+            this.authCache = context == null ? null : context.getAttribute(HttpClientContext.AUTH_CACHE);
+            this.cookieStore = context == null ? null : context.getAttribute(HttpClientContext.COOKIE_STORE);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof FlightKey)) {
+                return false;
+            }
+            final FlightKey that = (FlightKey) o;
+            return request.equals(that.request) && credentialsProvider == that.credentialsProvider
+                && authCache == that.authCache && cookieStore == that.cookieStore;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(request, System.identityHashCode(credentialsProvider),
+                System.identityHashCode(authCache), System.identityHashCode(cookieStore));
+        }
+    }
+
+    /**
+     * A buffered response, which is copied for every request which shares it.
+     */
+    private static class SharedResponse {
+        private final StatusLine statusLine;
+        private final Header[] headers;
+
+        @Nullable
+        private final Header contentType;
+
+        @Nullable
+        private final Header contentEncoding;
+
+        @Nullable
+        private final byte[] body;
+
+        private SharedResponse(CloseableHttpResponse response, @Nullable byte[] body) {
+            this.statusLine = response.getStatusLine();
+            this.headers = response.getAllHeaders();
+            final HttpEntity entity = response.getEntity();
+            this.contentType = entity == null ? null : entity.getContentType();
+            this.contentEncoding = entity == null ? null : entity.getContentEncoding();
+            this.body = body;
+        }
+
+        private CloseableHttpResponse newResponse() {
+            final CoalescedHttpResponse response = new CoalescedHttpResponse(statusLine);
+            response.setHeaders(headers);
+            if (body != null) {
+                final ByteArrayEntity entity = new ByteArrayEntity(body);
+                entity.setContentType(contentType);
+                entity.setContentEncoding(contentEncoding);
+                response.setEntity(entity);
+            }
+            return response;
+        }
+    }
+
+    private static class CoalescedHttpResponse extends BasicHttpResponse implements CloseableHttpResponse {
+        private CoalescedHttpResponse(StatusLine statusLine) {
+            super(statusLine);
+        }
+
+        @Override
+        public void close() {
+            // The entity is held in memory
+        }
+    }
+}
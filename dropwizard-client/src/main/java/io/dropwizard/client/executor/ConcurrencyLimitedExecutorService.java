@@ -0,0 +1,222 @@
+package io.dropwizard.client.executor;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * An {@link ExecutorService} which runs at most a given number of tasks at once on another executor, and queues the
+ * other tasks until one of the running tasks completes. The queue is unbounded, so tasks are only rejected once the
+ * executor is shut down.
+ * <p/>
+ * It records these metrics, named after the given name:
+ * <ul>
+ *     <li>{@code queue-wait}: the time tasks wait in the queue before they run.</li>
+ *     <li>{@code active-calls}: the number of tasks which are running.</li>
+ *     <li>{@code queued-calls}: the number of tasks which wait in the queue.</li>
+ * </ul>
+ *
+ * @since 2.1
+ */
+public class ConcurrencyLimitedExecutorService extends AbstractExecutorService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrencyLimitedExecutorService.class);
+
+    private final ExecutorService delegate;
+    private final int maxConcurrentCalls;
+    private final Semaphore permits;
+    private final Timer queueWait;
+
+    // Guarded by this
+    private final ArrayDeque<Call> queue = new ArrayDeque<>();
+    private boolean shutdown;
+
+    /**
+     * @param delegate           the executor which runs the tasks, which must not reject tasks before it is shut down
+     * @param maxConcurrentCalls the maximum number of tasks which run at once
+     * @param metrics            the registry of the metrics of the executor
+     * @param name               the name of the executor
+     */
+    public ConcurrencyLimitedExecutorService(ExecutorService delegate, int maxConcurrentCalls, MetricRegistry metrics,
+                                             String name) {
+        this.delegate = delegate;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.permits = new Semaphore(maxConcurrentCalls);
+        this.queueWait = metrics.timer(name(name, "queue-wait"));
+        metrics.<Gauge<Integer>>gauge(name(name, "active-calls"), () -> this::getActiveCalls);
+        metrics.<Gauge<Integer>>gauge(name(name, "queued-calls"), () -> this::getQueuedCalls);
+    }
+
+    /**
+     * Creates an executor which runs every task on a new virtual thread, named after the given name, and at most the
+     * given number of tasks at once. If the Java version does not support virtual threads, the tasks run on platform
+     * threads which are created as needed and kept for a minute once they are idle.
+     *
+     * @param name               the name of the executor and its threads
+     * @param maxConcurrentCalls the maximum number of tasks which run at once
+     * @param metrics            the registry of the metrics of the executor
+     * @return a new executor
+     */
+    public static ConcurrencyLimitedExecutorService onVirtualThreads(String name, int maxConcurrentCalls,
+                                                                     MetricRegistry metrics) {
+        return new ConcurrencyLimitedExecutorService(newThreadPerTaskExecutor(name), maxConcurrentCalls, metrics,
+            name);
+    }
+
+    /**
+     * Returns the number of tasks which are running.
+     */
+    public int getActiveCalls() {
+        return maxConcurrentCalls - permits.availablePermits();
+    }
+
+    /**
+     * Returns the number of tasks which wait for one of the running tasks to complete.
+     */
+    public synchronized int getQueuedCalls() {
+        return queue.size();
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        synchronized (this) {
+            if (shutdown) {
+                throw new RejectedExecutionException("The executor is shut down");
+            }
+            queue.add(new Call(command, System.nanoTime()));
+        }
+        drain();
+    }
+
+    /**
+     * Hands queued tasks to the delegate while there are permits left, and shuts the delegate down once it has
+     * received all tasks submitted before the shutdown.
+     */
+    private synchronized void drain() {
+        while (!queue.isEmpty() && permits.tryAcquire()) {
+            final Call call = queue.poll();
+            try {
+                delegate.execute(call);
+            } catch (RejectedExecutionException e) {
+                // The task runs once another task completes
+                permits.release();
+                queue.addFirst(call);
+                LOGGER.warn("Unable to start a task, {} tasks are queued", queue.size(), e);
+                break;
+            }
+        }
+        if (shutdown && queue.isEmpty() && !delegate.isShutdown()) {
+            delegate.shutdown();
+            notifyAll();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        synchronized (this) {
+            shutdown = true;
+        }
+        drain();
+    }
+
+    @Override
+    public synchronized List<Runnable> shutdownNow() {
+        shutdown = true;
+        final List<Runnable> pending = new ArrayList<>(queue.size());
+        for (Call call : queue) {
+            pending.add(call.task);
+        }
+        queue.clear();
+        pending.addAll(delegate.shutdownNow());
+        notifyAll();
+        return pending;
+    }
+
+    @Override
+    public synchronized boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public synchronized boolean isTerminated() {
+        return shutdown && queue.isEmpty() && delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (this) {
+            while (!delegate.isShutdown()) {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+        }
+        return delegate.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    private static ExecutorService newThreadPerTaskExecutor(String name) {
+        try {
+            // Thread.ofVirtual().name(name + "-", 0).factory(), which needs Java 21
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            final Object namedBuilder = builderClass.getMethod("name", String.class, long.class)
+                .invoke(builder, name + "-", 0L);
+            final ThreadFactory factory = (ThreadFactory) builderClass.getMethod("factory").invoke(namedBuilder);
+            final Method newThreadPerTaskExecutor =
+                Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) newThreadPerTaskExecutor.invoke(null, factory);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOGGER.info("Virtual threads are not available, {} runs its tasks on platform threads", name);
+            LOGGER.debug("Unable to create virtual threads", e);
+        }
+        final AtomicLong count = new AtomicLong();
+        return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), r -> {
+            final Thread thread = Executors.defaultThreadFactory().newThread(r);
+            thread.setName(name + "-" + count.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private class Call implements Runnable {
+        private final Runnable task;
+        private final long queuedAt;
+
+        private Call(Runnable task, long queuedAt) {
+            this.task = task;
+            this.queuedAt = queuedAt;
+        }
+
+        @Override
+        public void run() {
+            queueWait.update(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+            try {
+                task.run();
+            } finally {
+                permits.release();
+                drain();
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package io.dropwizard.client.executor;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+/**
+ * Configuration of an executor which runs the asynchronous and reactive calls of a Jersey client on virtual threads,
+ * instead of a bounded pool of platform threads.
+ * <p/>
+ * At most {@code maxConcurrentCalls} calls run at once, and further calls wait in an unbounded queue rather than being
+ * rejected. On Java versions without virtual threads, the calls run on platform threads which are created as needed
+ * and reused.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxConcurrentCalls}</td>
+ *         <td>1024</td>
+ *         <td>The maximum number of calls which run at once.</td>
+ *     </tr>
+ * </table>
+ *
+ * @see ConcurrencyLimitedExecutorService
+ * @since 2.1
+ */
+public class VirtualThreadsConfiguration {
+    @Min(1)
+    @Max(1024 * 1024)
+    private int maxConcurrentCalls = 1024;
+
+    @JsonProperty
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    @JsonProperty
+    public void setMaxConcurrentCalls(int maxConcurrentCalls) {
+        this.maxConcurrentCalls = maxConcurrentCalls;
+    }
+}
@@ -0,0 +1,111 @@
+package io.dropwizard.client.http2;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.DataSize;
+import io.dropwizard.validation.MaxDataSize;
+import io.dropwizard.validation.MinDataSize;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Configuration of the HTTP/2 transport of a Jersey client, which multiplexes concurrent requests to a host over a
+ * small number of connections instead of leasing a connection from a pool for every request.
+ * <p/>
+ * Requests to {@code https} URIs negotiate HTTP/2 with ALPN, while requests to {@code http} URIs use HTTP/2 over
+ * cleartext with prior knowledge, so the server must support {@code h2c}.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxConnectionsPerHost}</td>
+ *         <td>1</td>
+ *         <td>
+ *             The maximum number of connections to a host. Another connection is only opened once the concurrent
+ *             streams of the open connections are exhausted.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code initialSessionRecvWindow}</td>
+ *         <td>16 mebibytes</td>
+ *         <td>The initial flow control window of a connection, shared by all its streams.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code initialStreamRecvWindow}</td>
+ *         <td>8 mebibytes</td>
+ *         <td>The initial flow control window of a single stream.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code selectors}</td>
+ *         <td>1</td>
+ *         <td>The number of threads which select the connections of the client for I/O.</td>
+ *     </tr>
+ * </table>
+ *
+ * @since 2.1
+ */
+public class Http2ClientConfiguration {
+    @Min(1)
+    @Max(1024)
+    private int maxConnectionsPerHost = 1;
+
+    @NotNull
+    @MinDataSize(65535)
+    @MaxDataSize(Integer.MAX_VALUE)
+    private DataSize initialSessionRecvWindow = DataSize.mebibytes(16);
+
+    @NotNull
+    @MinDataSize(65535)
+    @MaxDataSize(Integer.MAX_VALUE)
+    private DataSize initialStreamRecvWindow = DataSize.mebibytes(8);
+
+    @Min(1)
+    @Max(64)
+    private int selectors = 1;
+
+    @JsonProperty
+    public int getMaxConnectionsPerHost() {
+        return maxConnectionsPerHost;
+    }
+
+    @JsonProperty
+    public void setMaxConnectionsPerHost(int maxConnectionsPerHost) {
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+    }
+
+    @JsonProperty
+    public DataSize getInitialSessionRecvWindow() {
+        return initialSessionRecvWindow;
+    }
+
+    @JsonProperty
+    public void setInitialSessionRecvWindow(DataSize initialSessionRecvWindow) {
+        this.initialSessionRecvWindow = initialSessionRecvWindow;
+    }
+
+    @JsonProperty
+    public DataSize getInitialStreamRecvWindow() {
+        return initialStreamRecvWindow;
+    }
+
+    @JsonProperty
+    public void setInitialStreamRecvWindow(DataSize initialStreamRecvWindow) {
+        this.initialStreamRecvWindow = initialStreamRecvWindow;
+    }
+
+    @JsonProperty
+    public int getSelectors() {
+        return selectors;
+    }
+
+    @JsonProperty
+    public void setSelectors(int selectors) {
+        this.selectors = selectors;
+    }
+}
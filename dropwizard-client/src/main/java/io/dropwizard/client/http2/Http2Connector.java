@@ -0,0 +1,245 @@
+package io.dropwizard.client.http2;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import io.dropwizard.util.DirectExecutorService;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.api.Response;
+import org.eclipse.jetty.client.util.BytesContentProvider;
+import org.eclipse.jetty.client.util.InputStreamResponseListener;
+import org.eclipse.jetty.client.util.OutputStreamContentProvider;
+import org.eclipse.jetty.http.HttpField;
+import org.eclipse.jetty.util.Jetty;
+import org.eclipse.jetty.util.thread.Scheduler;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.message.internal.Statuses;
+
+import javax.annotation.Nullable;
+import javax.ws.rs.ProcessingException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * A Jersey {@link Connector} which sends requests with a Jetty {@link HttpClient} over HTTP/2.
+ * <p>
+ * Request entities are streamed to the server while chunked encoding is enabled, and buffered so that their length is
+ * known otherwise. Response entities are streamed from the server.
+ * </p>
+ * <p>
+ * Like the Apache connector, it times every request from the moment it is sent until the response headers are
+ * received, in timers named after the method, such as
+ * {@code org.apache.http.client.HttpClient.example.get-requests}.
+ * </p>
+ * <p>
+ * It honours the {@link ClientProperties#READ_TIMEOUT} and {@link ClientProperties#CONNECT_TIMEOUT} of a request,
+ * where zero means no timeout. A connect timeout longer than the {@code connectionTimeout} of the client is capped by
+ * it.
+ * </p>
+ *
+ * @see Http2ConnectorProvider
+ * @since 2.1
+ */
+public class Http2Connector implements Connector {
+    private static final int BUFFER_INITIAL_SIZE = 512;
+
+    private final HttpClient client;
+    private final MetricRegistry metrics;
+    private final String name;
+    private final long timeoutMillis;
+    private final long defaultConnectTimeoutMillis;
+    private final boolean chunkedEncodingEnabled;
+    private final Runnable onClose;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /**
+     * @param client                 the started Jetty client which sends the requests
+     * @param metrics                the registry of the metrics of the client
+     * @param name                   the name of the client
+     * @param timeoutMillis          the default maximum idle time of a request, in milliseconds
+     * @param chunkedEncodingEnabled whether request entities are streamed rather than buffered
+     * @param onClose                called once when the connector is closed, to release the Jetty client
+     */
+    public Http2Connector(HttpClient client, MetricRegistry metrics, String name, long timeoutMillis,
+                          boolean chunkedEncodingEnabled, Runnable onClose) {
+        this.client = client;
+        this.metrics = metrics;
+        this.name = name;
+        this.timeoutMillis = timeoutMillis;
+        this.defaultConnectTimeoutMillis = client.getConnectTimeout();
+        this.chunkedEncodingEnabled = chunkedEncodingEnabled;
+        this.onClose = onClose;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ClientResponse apply(ClientRequest jerseyRequest) {
+        final Request request = buildJettyRequest(jerseyRequest);
+        final long connectTimeoutMillis = connectTimeoutMillis(jerseyRequest);
+        final long requestTimeoutMillis = requestTimeoutMillis(jerseyRequest);
+        final Scheduler.Task connectTimeout = scheduleConnectTimeout(request, connectTimeoutMillis);
+        final InputStreamResponseListener listener = new InputStreamResponseListener();
+        final Timer.Context timer = metrics.timer(name(org.apache.http.client.HttpClient.class, name,
+            jerseyRequest.getMethod().toLowerCase(Locale.ROOT) + "-requests")).time();
+        try {
+            sendEntity(jerseyRequest, request, listener);
+            // A timeout of zero is infinite, as with the Apache connector
+            final Response response = listener.get(connectTimeoutMillis > 0 && requestTimeoutMillis > 0
+                ? connectTimeoutMillis + requestTimeoutMillis : Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+
+            final String reasonPhrase = response.getReason();
+            final ClientResponse jerseyResponse = new ClientResponse(
+                Statuses.from(response.getStatus(), reasonPhrase == null ? "" : reasonPhrase), jerseyRequest);
+            for (HttpField field : response.getHeaders()) {
+                jerseyResponse.getHeaders().computeIfAbsent(field.getName(), k -> new ArrayList<>())
+                    .add(field.getValue());
+            }
+            jerseyResponse.setEntityStream(listener.getInputStream());
+            return jerseyResponse;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            request.abort(e);
+            throw new ProcessingException(new InterruptedIOException("Interrupted while waiting for a response"));
+        } catch (TimeoutException e) {
+            request.abort(e);
+            throw new ProcessingException(new SocketTimeoutException("Timed out waiting for a response from "
+                + jerseyRequest.getUri()));
+        } catch (ExecutionException e) {
+            throw new ProcessingException(e.getCause());
+        } catch (IOException | RuntimeException e) {
+            request.abort(e);
+            throw e instanceof ProcessingException ? (ProcessingException) e : new ProcessingException(e);
+        } finally {
+            if (connectTimeout != null) {
+                connectTimeout.cancel();
+            }
+            timer.stop();
+        }
+    }
+
+    private Request buildJettyRequest(ClientRequest jerseyRequest) {
+        final Request request = client.newRequest(jerseyRequest.getUri())
+            .method(jerseyRequest.getMethod())
+            .idleTimeout(requestTimeoutMillis(jerseyRequest), TimeUnit.MILLISECONDS);
+        for (Map.Entry<String, List<String>> header : jerseyRequest.getStringHeaders().entrySet()) {
+            for (String value : header.getValue()) {
+                request.header(header.getKey(), value);
+            }
+        }
+
+        final Boolean followRedirects = jerseyRequest.resolveProperty(ClientProperties.FOLLOW_REDIRECTS,
+            Boolean.class);
+        if (followRedirects != null) {
+            request.followRedirects(followRedirects);
+        }
+        return request;
+    }
+
+    private long requestTimeoutMillis(ClientRequest jerseyRequest) {
+        final Integer timeout = jerseyRequest.resolveProperty(ClientProperties.READ_TIMEOUT, Integer.class);
+        return timeout != null ? timeout : timeoutMillis;
+    }
+
+    private long connectTimeoutMillis(ClientRequest jerseyRequest) {
+        final Integer timeout = jerseyRequest.resolveProperty(ClientProperties.CONNECT_TIMEOUT, Integer.class);
+        return timeout != null ? timeout : defaultConnectTimeoutMillis;
+    }
+
+    /**
+     * Aborts the request if it has not begun to be sent, that is if no connection was available for it, within the
+     * connect timeout. Jetty's own connect timeout applies to all requests of the client, so it is only used when the
+     * request doesn't override it with {@link ClientProperties#CONNECT_TIMEOUT}.
+     */
+    @Nullable
+    private Scheduler.Task scheduleConnectTimeout(Request request, long connectTimeoutMillis) {
+        if (connectTimeoutMillis <= 0 || connectTimeoutMillis == defaultConnectTimeoutMillis) {
+            return null;
+        }
+        final Scheduler.Task task = client.getScheduler().schedule(() -> request.abort(new SocketTimeoutException(
+            "Timed out connecting to " + request.getURI())), connectTimeoutMillis, TimeUnit.MILLISECONDS);
+        request.onRequestBegin(begun -> task.cancel());
+        return task;
+    }
+
+    /**
+     * Sends the request, writing its entity to the server or to a buffer, depending on whether chunked encoding is
+     * enabled.
+     */
+    private void sendEntity(ClientRequest jerseyRequest, Request request, InputStreamResponseListener listener)
+        throws IOException {
+        if (!jerseyRequest.hasEntity()) {
+            request.send(listener);
+            return;
+        }
+
+        if (!chunkedEncodingEnabled) {
+            final ByteArrayOutputStream buffer = new ByteArrayOutputStream(BUFFER_INITIAL_SIZE);
+            jerseyRequest.setStreamProvider(contentLength -> buffer);
+            jerseyRequest.writeEntity();
+            request.content(new BytesContentProvider(buffer.toByteArray())).send(listener);
+            return;
+        }
+
+        final OutputStreamContentProvider content = new OutputStreamContentProvider();
+        request.content(content).send(listener);
+        try {
+            jerseyRequest.setStreamProvider(contentLength -> content.getOutputStream());
+            jerseyRequest.writeEntity();
+        } finally {
+            content.close();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Future<?> apply(final ClientRequest request, final AsyncConnectorCallback callback) {
+        // Simulate an asynchronous execution, like the Apache connector
+        return new DirectExecutorService().submit(() -> {
+            try {
+                callback.response(apply(request));
+            } catch (Exception e) {
+                callback.failure(e);
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getName() {
+        return "Jetty-HttpClient/" + Jetty.VERSION;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        // The client is shared by all connectors of the provider, which stops it once the last of them is closed
+        if (closed.compareAndSet(false, true)) {
+            onClose.run();
+        }
+    }
+}
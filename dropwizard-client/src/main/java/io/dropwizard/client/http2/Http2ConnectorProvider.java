@@ -0,0 +1,218 @@
+package io.dropwizard.client.http2;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.client.DropwizardSSLConnectionSocketFactory;
+import io.dropwizard.client.JerseyClientConfiguration;
+import io.dropwizard.client.proxy.AuthConfiguration;
+import io.dropwizard.client.proxy.ProxyConfiguration;
+import io.dropwizard.client.ssl.TlsConfiguration;
+import io.dropwizard.lifecycle.Managed;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.HttpProxy;
+import org.eclipse.jetty.client.Origin;
+import org.eclipse.jetty.client.util.BasicAuthentication;
+import org.eclipse.jetty.http.HttpField;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http2.client.HTTP2Client;
+import org.eclipse.jetty.http2.client.http.HttpClientTransportOverHTTP2;
+import org.eclipse.jetty.util.HttpCookieStore;
+import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.client.spi.ConnectorProvider;
+
+import javax.annotation.Nullable;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.core.Configuration;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link ConnectorProvider} of {@link Http2Connector}s, which share a single Jetty {@link HttpClient} configured by
+ * a {@link JerseyClientConfiguration} and its {@link Http2ClientConfiguration}.
+ * <p/>
+ * It honours the timeouts, the user agent, the cookie policy, the TLS configuration and the proxy configuration of the
+ * client. Proxies only support {@code Basic} authentication, and must speak HTTP/2 themselves unless requests are
+ * tunnelled to an {@code https} URI.
+ * <p/>
+ * The Jetty client is started when the first connector is created, and stopped when the last connector is closed, that
+ * is when the Jersey clients which use the provider are closed, or by {@link #stop()}.
+ * <p/>
+ * The Jetty client and its HTTP/2 transport are optional dependencies of {@code dropwizard-client}, so applications
+ * which use the provider have to depend on {@code org.eclipse.jetty.http2:http2-http-client-transport} and, for
+ * {@code https} URIs, on an ALPN client implementation such as {@code org.eclipse.jetty:jetty-alpn-java-client}.
+ *
+ * @since 2.1
+ */
+public class Http2ConnectorProvider implements ConnectorProvider, Managed {
+    private final HttpClient httpClient;
+    private final MetricRegistry metrics;
+    private final String name;
+    private final long timeoutMillis;
+    private final boolean chunkedEncodingEnabled;
+    private int connectors;
+
+    /**
+     * @param configuration the configuration of the client, whose {@link JerseyClientConfiguration#getHttp2()} is set
+     * @param metrics       the registry of the metrics of the client
+     * @param name          the name of the client
+     * @param userAgent     the user agent of the requests
+     */
+    public Http2ConnectorProvider(JerseyClientConfiguration configuration, MetricRegistry metrics, String name,
+                                  String userAgent) {
+        this.httpClient = createHttpClient(configuration,
+            requireNonNull(configuration.getHttp2(), "HTTP/2 is not configured"), name, userAgent);
+        this.metrics = metrics;
+        this.name = name;
+        this.timeoutMillis = configuration.getTimeout().toMilliseconds();
+        this.chunkedEncodingEnabled = configuration.isChunkedEncodingEnabled();
+    }
+
+    @Override
+    public Connector getConnector(Client client, Configuration runtimeConfig) {
+        synchronized (httpClient) {
+            if (!httpClient.isStarted()) {
+                try {
+                    httpClient.start();
+                } catch (Exception e) {
+                    throw new ProcessingException("Unable to start the HTTP/2 client " + name, e);
+                }
+            }
+            connectors++;
+        }
+        return new Http2Connector(httpClient, metrics, name, timeoutMillis, chunkedEncodingEnabled, this::release);
+    }
+
+    @Override
+    public void stop() throws Exception {
+        synchronized (httpClient) {
+            connectors = 0;
+            httpClient.stop();
+        }
+    }
+
+    private void release() {
+        synchronized (httpClient) {
+            if (connectors > 0 && --connectors == 0) {
+                try {
+                    httpClient.stop();
+                } catch (Exception e) {
+                    throw new ProcessingException("Unable to stop the HTTP/2 client " + name, e);
+                }
+            }
+        }
+    }
+
+    HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    private static HttpClient createHttpClient(JerseyClientConfiguration configuration, Http2ClientConfiguration http2,
+                                               String name, String userAgent) {
+        final HTTP2Client http2Client = new HTTP2Client();
+        http2Client.setSelectors(http2.getSelectors());
+        http2Client.setInitialSessionRecvWindow((int) http2.getInitialSessionRecvWindow().toBytes());
+        http2Client.setInitialStreamRecvWindow((int) http2.getInitialStreamRecvWindow().toBytes());
+
+        final HttpClient httpClient = new HttpClient(new HttpClientTransportOverHTTP2(http2Client),
+            createSslContextFactory(configuration.getTlsConfiguration()));
+
+        final QueuedThreadPool executor = new QueuedThreadPool(configuration.getMaxThreads(),
+            configuration.getMinThreads());
+        executor.setName("jersey-client-" + name + "-h2");
+        executor.setDaemon(true);
+        httpClient.setExecutor(executor);
+
+        httpClient.setMaxConnectionsPerDestination(http2.getMaxConnectionsPerHost());
+        httpClient.setConnectTimeout(configuration.getConnectionTimeout().toMilliseconds());
+        final long keepAliveMillis = configuration.getKeepAlive().toMilliseconds();
+        httpClient.setIdleTimeout(keepAliveMillis > 0 ? keepAliveMillis : configuration.getTimeout().toMilliseconds());
+        httpClient.setUserAgentField(new HttpField(HttpHeader.USER_AGENT, userAgent));
+        if (!configuration.isCookiesEnabled()) {
+            httpClient.setCookieStore(new HttpCookieStore.Empty());
+        }
+        // Responses are decompressed by the GZIP filters of the Jersey client, as with the Apache connector
+        httpClient.getContentDecoderFactories().clear();
+
+        final ProxyConfiguration proxy = configuration.getProxyConfiguration();
+        if (proxy != null) {
+            configureProxy(httpClient, proxy);
+        }
+        return httpClient;
+    }
+
+    private static SslContextFactory.Client createSslContextFactory(@Nullable TlsConfiguration tls) {
+        final SslContextFactory.Client sslContextFactory = new SslContextFactory.Client();
+        if (tls == null) {
+            return sslContextFactory;
+        }
+
+        sslContextFactory.setSslContext(new DropwizardSSLConnectionSocketFactory(tls).getSslContext());
+        final List<String> protocols = tls.getSupportedProtocols();
+        if (protocols != null) {
+            sslContextFactory.setIncludeProtocols(protocols.toArray(new String[0]));
+        }
+        final List<String> ciphers = tls.getSupportedCiphers();
+        if (ciphers != null) {
+            sslContextFactory.setExcludeCipherSuites();
+            sslContextFactory.setIncludeCipherSuites(ciphers.toArray(new String[0]));
+        }
+        if (!tls.isVerifyHostname()) {
+            sslContextFactory.setEndpointIdentificationAlgorithm(null);
+        }
+        return sslContextFactory;
+    }
+
+    private static void configureProxy(HttpClient httpClient, ProxyConfiguration proxy) {
+        final boolean secure = "https".equalsIgnoreCase(proxy.getScheme());
+        final int port = proxy.getPort() != null && proxy.getPort() > 0 ? proxy.getPort() : (secure ? 443 : 80);
+        final List<Pattern> nonProxyHosts = nonProxyHostPatterns(proxy.getNonProxyHosts());
+        final HttpProxy httpProxy = new HttpProxy(new Origin.Address(proxy.getHost(), port), secure) {
+            @Override
+            public boolean matches(Origin origin) {
+                final String host = origin.getAddress().getHost();
+                for (Pattern nonProxyHost : nonProxyHosts) {
+                    if (nonProxyHost.matcher(host).matches()) {
+                        return false;
+                    }
+                }
+                return super.matches(origin);
+            }
+        };
+        httpClient.getProxyConfiguration().getProxies().add(httpProxy);
+
+        final AuthConfiguration auth = proxy.getAuth();
+        if (auth != null) {
+            if (AuthConfiguration.NTLM_AUTH_SCHEME.equalsIgnoreCase(auth.getAuthScheme())
+                || AuthConfiguration.NT_CREDS.equalsIgnoreCase(auth.getCredentialType())) {
+                throw new IllegalArgumentException("The HTTP/2 transport only supports Basic proxy authentication");
+            }
+            final URI proxyUri = httpProxy.getURI();
+            httpClient.getAuthenticationStore().addAuthenticationResult(new BasicAuthentication.BasicResult(proxyUri,
+                HttpHeader.PROXY_AUTHORIZATION, auth.getUsername(), auth.getPassword()));
+        }
+    }
+
+    static List<Pattern> nonProxyHostPatterns(@Nullable List<String> nonProxyHosts) {
+        if (nonProxyHosts == null) {
+            return Collections.emptyList();
+        }
+        final List<Pattern> patterns = new ArrayList<>(nonProxyHosts.size());
+        for (String nonProxyHost : nonProxyHosts) {
+            // Only the wildcards are special, so that the dots of a host name match literally
+            final String regex = Arrays.stream(nonProxyHost.split("\\*", -1))
+                .map(Pattern::quote)
+                .collect(Collectors.joining(".*"));
+            patterns.add(Pattern.compile(regex, Pattern.CASE_INSENSITIVE));
+        }
+        return patterns;
+    }
+}
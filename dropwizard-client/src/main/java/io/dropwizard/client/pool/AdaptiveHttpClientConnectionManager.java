@@ -0,0 +1,160 @@
+package io.dropwizard.client.pool;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.codahale.metrics.httpclient.InstrumentedHttpClientConnectionManager;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpHost;
+import org.apache.http.config.Registry;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.pool.PoolStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * An {@link InstrumentedHttpClientConnectionManager} which records the time requests wait to lease a connection to
+ * every host, and optionally adapts the maximum number of connections to a host to the time requests wait.
+ * <p/>
+ * It records these metrics per host, named after the manager and the host and port, for example
+ * {@code org.apache.http.conn.HttpClientConnectionManager.example.example.com:443.lease-wait}:
+ * <ul>
+ *     <li>{@code lease-wait}: the time requests waited to lease a connection.</li>
+ *     <li>{@code max-connections}: the maximum number of connections to the host.</li>
+ * </ul>
+ * If {@link ConnectionPoolConfiguration#getAdaptiveMaxConnectionsPerRoute()} is set, the maximum number of connections
+ * to a host grows by a quarter whenever the mean lease wait of an interval exceeds the target, up to the configured
+ * limit, and shrinks by a quarter, down to the default maximum per route, whenever the mean lease wait is within the
+ * target and at most half of the connections are in use.
+ *
+ * @since 2.1
+ */
+public class AdaptiveHttpClientConnectionManager extends InstrumentedHttpClientConnectionManager {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdaptiveHttpClientConnectionManager.class);
+
+    private final MetricRegistry metrics;
+    private final String name;
+    private final long targetLeaseWaitNanos;
+    private final long adaptationIntervalNanos;
+    private final ConcurrentMap<HttpRoute, RouteStats> routes = new ConcurrentHashMap<>();
+
+    @Nullable
+    private final Integer adaptiveMaxPerRoute;
+
+    /**
+     * @param metrics     the registry of the metrics of the manager
+     * @param registry    the factories of the sockets of the supported schemes
+     * @param dnsResolver the resolver of host names
+     * @param ttl         the time to live of connections
+     * @param ttlUnit     the unit of the time to live
+     * @param name        the name of the manager
+     * @param pool        the configuration of the connection pool
+     */
+    public AdaptiveHttpClientConnectionManager(MetricRegistry metrics, Registry<ConnectionSocketFactory> registry,
+                                               DnsResolver dnsResolver, long ttl, TimeUnit ttlUnit, String name,
+                                               ConnectionPoolConfiguration pool) {
+        super(metrics, registry, null, null, dnsResolver, ttl, ttlUnit, name);
+        this.metrics = metrics;
+        this.name = name;
+        this.targetLeaseWaitNanos = pool.getTargetLeaseWait().toNanoseconds();
+        this.adaptationIntervalNanos = pool.getAdaptationInterval().toNanoseconds();
+        this.adaptiveMaxPerRoute = pool.getAdaptiveMaxConnectionsPerRoute();
+    }
+
+    @Override
+    public ConnectionRequest requestConnection(HttpRoute route, @Nullable Object state) {
+        final ConnectionRequest request = super.requestConnection(route, state);
+        final RouteStats stats = routes.computeIfAbsent(route, RouteStats::new);
+        return new ConnectionRequest() {
+            @Override
+            public HttpClientConnection get(long timeout, TimeUnit timeUnit)
+                throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                final long start = System.nanoTime();
+                try {
+                    return request.get(timeout, timeUnit);
+                } finally {
+                    stats.update(System.nanoTime() - start);
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return request.cancel();
+            }
+        };
+    }
+
+    private static String routeName(HttpRoute route) {
+        final HttpHost target = route.getTargetHost();
+        return target.getHostName().toLowerCase(Locale.ROOT) + ":" + target.getPort();
+    }
+
+    private class RouteStats {
+        private final HttpRoute route;
+        private final Timer leaseWait;
+        private long intervalStartNanos = System.nanoTime();
+        private long intervalWaitNanos;
+        private long intervalLeases;
+
+        private RouteStats(HttpRoute route) {
+            this.route = route;
+            final String prefix = name(HttpClientConnectionManager.class, name, routeName(route));
+            this.leaseWait = metrics.timer(name(prefix, "lease-wait"));
+            metrics.<Gauge<Integer>>gauge(name(prefix, "max-connections"), () -> () -> getMaxPerRoute(route));
+        }
+
+        private void update(long waitNanos) {
+            leaseWait.update(waitNanos, TimeUnit.NANOSECONDS);
+            if (adaptiveMaxPerRoute == null) {
+                return;
+            }
+
+            final long meanWaitNanos;
+            synchronized (this) {
+                intervalWaitNanos += waitNanos;
+                intervalLeases++;
+                final long now = System.nanoTime();
+                if (now - intervalStartNanos < adaptationIntervalNanos) {
+                    return;
+                }
+                meanWaitNanos = intervalWaitNanos / intervalLeases;
+                intervalStartNanos = now;
+                intervalWaitNanos = 0;
+                intervalLeases = 0;
+            }
+            adapt(meanWaitNanos, adaptiveMaxPerRoute);
+        }
+
+        private void adapt(long meanWaitNanos, int limit) {
+            final PoolStats stats = getStats(route);
+            final int max = stats.getMax();
+            final int floor = Math.min(getDefaultMaxPerRoute(), limit);
+            final int step = Math.max(1, max / 4);
+            final int next;
+            if (meanWaitNanos > targetLeaseWaitNanos && max < limit) {
+                next = Math.min(limit, max + step);
+            } else if (meanWaitNanos <= targetLeaseWaitNanos && max > floor
+                && (stats.getLeased() + stats.getPending()) * 2 <= max) {
+                next = Math.max(floor, max - step);
+            } else {
+                return;
+            }
+            LOGGER.debug("Adjusting the maximum number of connections to {} from {} to {}", route, max, next);
+            setMaxPerRoute(route, next);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package io.dropwizard.client.pool;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.MinDuration;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration of the connection pool of a client, which records the time requests wait to lease a connection to
+ * every host, and can open connections before the first requests are sent and grow the pool of hosts which it cannot
+ * serve without delay.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code prewarmHosts}</td>
+ *         <td>(none)</td>
+ *         <td>
+ *             The hosts to open connections to when the application starts, as URIs like
+ *             {@code https://example.com:8443}. TLS handshakes are completed as well. Connections are only reused if
+ *             the {@code keepAlive} of the client is not zero.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code prewarmConnections}</td>
+ *         <td>1</td>
+ *         <td>The number of connections to open to every host, up to the maximum number of connections per route.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code adaptiveMaxConnectionsPerRoute}</td>
+ *         <td>(none)</td>
+ *         <td>
+ *             If set, the maximum number of connections to a host grows up to this limit while requests wait longer
+ *             than {@code targetLeaseWait} for a connection, and shrinks back to {@code maxConnectionsPerRoute}
+ *             once most connections are idle.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code targetLeaseWait}</td>
+ *         <td>5 milliseconds</td>
+ *         <td>The mean time requests may wait for a connection before the pool of their host grows.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code adaptationInterval}</td>
+ *         <td>10 seconds</td>
+ *         <td>The interval at which the maximum number of connections to a host is adjusted.</td>
+ *     </tr>
+ * </table>
+ *
+ * @since 2.1
+ */
+public class ConnectionPoolConfiguration {
+    @NotNull
+    private List<URI> prewarmHosts = Collections.emptyList();
+
+    @Min(1)
+    private int prewarmConnections = 1;
+
+    @Nullable
+    @Min(1)
+    private Integer adaptiveMaxConnectionsPerRoute;
+
+    @NotNull
+    @MinDuration(0)
+    private Duration targetLeaseWait = Duration.milliseconds(5);
+
+    @NotNull
+    @MinDuration(value = 1, unit = TimeUnit.MILLISECONDS)
+    private Duration adaptationInterval = Duration.seconds(10);
+
+    @JsonProperty
+    public List<URI> getPrewarmHosts() {
+        return prewarmHosts;
+    }
+
+    @JsonProperty
+    public void setPrewarmHosts(List<URI> prewarmHosts) {
+        this.prewarmHosts = prewarmHosts;
+    }
+
+    @JsonProperty
+    public int getPrewarmConnections() {
+        return prewarmConnections;
+    }
+
+    @JsonProperty
+    public void setPrewarmConnections(int prewarmConnections) {
+        this.prewarmConnections = prewarmConnections;
+    }
+
+    @JsonProperty
+    @Nullable
+    public Integer getAdaptiveMaxConnectionsPerRoute() {
+        return adaptiveMaxConnectionsPerRoute;
+    }
+
+    @JsonProperty
+    public void setAdaptiveMaxConnectionsPerRoute(@Nullable Integer adaptiveMaxConnectionsPerRoute) {
+        this.adaptiveMaxConnectionsPerRoute = adaptiveMaxConnectionsPerRoute;
+    }
+
+    @JsonProperty
+    public Duration getTargetLeaseWait() {
+        return targetLeaseWait;
+    }
+
+    @JsonProperty
+    public void setTargetLeaseWait(Duration targetLeaseWait) {
+        this.targetLeaseWait = targetLeaseWait;
+    }
+
+    @JsonProperty
+    public Duration getAdaptationInterval() {
+        return adaptationInterval;
+    }
+
+    @JsonProperty
+    public void setAdaptationInterval(Duration adaptationInterval) {
+        this.adaptationInterval = adaptationInterval;
+    }
+}
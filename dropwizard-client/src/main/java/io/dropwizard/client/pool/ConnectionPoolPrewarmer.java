@@ -0,0 +1,165 @@
+package io.dropwizard.client.pool;
+
+import io.dropwizard.lifecycle.Managed;
+import io.dropwizard.util.Duration;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpException;
+import org.apache.http.HttpHost;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.routing.HttpRoutePlanner;
+import org.apache.http.message.BasicHttpRequest;
+import org.apache.http.pool.ConnPoolControl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens connections to a list of hosts when the application starts, so that the first requests to them do not wait for
+ * TCP and TLS handshakes. The connections are opened concurrently, and hosts which cannot be reached are logged and
+ * skipped.
+ * <p/>
+ * Routes which tunnel through a proxy are not prewarmed.
+ *
+ * @since 2.1
+ */
+public class ConnectionPoolPrewarmer implements Managed {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConnectionPoolPrewarmer.class);
+    private static final int MAX_THREADS = 8;
+
+    private final HttpClientConnectionManager manager;
+    private final HttpRoutePlanner routePlanner;
+    private final List<URI> hosts;
+    private final int connections;
+    private final RequestConfig requestConfig;
+    private final long keepAliveMillis;
+
+    /**
+     * @param manager       the connection manager of the client
+     * @param routePlanner  the planner of the routes of the client
+     * @param hosts         the hosts to open connections to
+     * @param connections   the number of connections to open to every host
+     * @param requestConfig the configuration of the requests of the client, which provides the timeouts
+     * @param keepAlive     the time the opened connections are kept alive
+     */
+    public ConnectionPoolPrewarmer(HttpClientConnectionManager manager, HttpRoutePlanner routePlanner, List<URI> hosts,
+                                   int connections, RequestConfig requestConfig, Duration keepAlive) {
+        this.manager = manager;
+        this.routePlanner = routePlanner;
+        this.hosts = hosts;
+        this.connections = connections;
+        this.requestConfig = requestConfig;
+        this.keepAliveMillis = keepAlive.toMilliseconds();
+    }
+
+    @Override
+    public void start() throws Exception {
+        prewarm();
+    }
+
+    /**
+     * Opens the connections again once the JVM has been restored from a checkpoint, before which they were closed.
+     */
+    @Override
+    public void afterRestore() throws Exception {
+        prewarm();
+    }
+
+    /**
+     * Opens the connections and returns them to the pool.
+     *
+     * @return the number of connections which were opened
+     */
+    public int prewarm() throws InterruptedException {
+        final List<HttpClientConnection> leased = new ArrayList<>();
+        final List<CompletableFuture<Boolean>> opened = new ArrayList<>();
+        final ExecutorService executor = Executors.newFixedThreadPool(MAX_THREADS, r -> {
+            final Thread thread = Executors.defaultThreadFactory().newThread(r);
+            thread.setName("connection-pool-prewarmer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (URI host : hosts) {
+                final HttpRoute route;
+                try {
+                    route = routePlanner.determineRoute(new HttpHost(host.getHost(), host.getPort(), host.getScheme()),
+                        new BasicHttpRequest("GET", "/"), context());
+                } catch (HttpException e) {
+                    LOGGER.warn("Unable to determine the route to {}", host, e);
+                    continue;
+                }
+                if (route.isTunnelled()) {
+                    LOGGER.warn("Not prewarming connections to {}, which are tunnelled through a proxy", host);
+                    continue;
+                }
+
+                // All connections are leased before any is returned, so that every lease opens a new connection
+                for (int i = 0; i < connectionsPerRoute(route); i++) {
+                    final HttpClientConnection connection;
+                    try {
+                        connection = manager.requestConnection(route, null)
+                            .get(requestConfig.getConnectionRequestTimeout(), TimeUnit.MILLISECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw e;
+                    } catch (Exception e) {
+                        LOGGER.warn("Unable to lease a connection to {}", host, e);
+                        break;
+                    }
+                    leased.add(connection);
+                    opened.add(CompletableFuture.supplyAsync(() -> open(connection, route, host), executor));
+                }
+            }
+            CompletableFuture.allOf(opened.toArray(new CompletableFuture<?>[0])).join();
+        } finally {
+            executor.shutdownNow();
+            for (HttpClientConnection connection : leased) {
+                manager.releaseConnection(connection, null, keepAliveMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        final int count = (int) opened.stream().filter(CompletableFuture::join).count();
+        LOGGER.info("Opened {} connections to {}", count, hosts);
+        return count;
+    }
+
+    private int connectionsPerRoute(HttpRoute route) {
+        if (manager instanceof ConnPoolControl) {
+            @SuppressWarnings("unchecked")
+            final ConnPoolControl<HttpRoute> pool = (ConnPoolControl<HttpRoute>) manager;
+            return Math.min(connections, pool.getMaxPerRoute(route));
+        }
+        return connections;
+    }
+
+    private HttpClientContext context() {
+        final HttpClientContext context = HttpClientContext.create();
+        context.setRequestConfig(requestConfig);
+        return context;
+    }
+
+    private boolean open(HttpClientConnection connection, HttpRoute route, URI host) {
+        try {
+            if (!connection.isOpen()) {
+                final HttpClientContext context = context();
+                manager.connect(connection, route, requestConfig.getConnectTimeout(), context);
+                manager.routeComplete(connection, route, context);
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Unable to open a connection to {}", host, e);
+            return false;
+        }
+    }
+}
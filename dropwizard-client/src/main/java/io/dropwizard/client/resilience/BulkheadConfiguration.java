@@ -0,0 +1,64 @@
+package io.dropwizard.client.resilience;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.MinDuration;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Configuration of the bulkheads of a client, which limit the number of concurrent requests to every host the client
+ * sends requests to, so that a slow host cannot tie up all the threads which use the client.
+ * <p/>
+ * Requests which cannot be sent within {@code maxWait} are rejected with a {@link RequestRejectedException}.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxConcurrentRequests}</td>
+ *         <td>64</td>
+ *         <td>The maximum number of requests to a host which may wait for a response at once.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxWait}</td>
+ *         <td>0 milliseconds</td>
+ *         <td>The time a request waits for one of the other requests to the host to complete.</td>
+ *     </tr>
+ * </table>
+ *
+ * @since 2.1
+ */
+public class BulkheadConfiguration {
+    @Min(1)
+    private int maxConcurrentRequests = 64;
+
+    @NotNull
+    @MinDuration(0)
+    private Duration maxWait = Duration.milliseconds(0);
+
+    @JsonProperty
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    @JsonProperty
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    @JsonProperty
+    public Duration getMaxWait() {
+        return maxWait;
+    }
+
+    @JsonProperty
+    public void setMaxWait(Duration maxWait) {
+        this.maxWait = maxWait;
+    }
+}
@@ -0,0 +1,178 @@
+package io.dropwizard.client.resilience;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A circuit breaker which records the outcome of the most recent calls in a sliding window.
+ * <p/>
+ * Every permitted call belongs to the period between two transitions in which it was permitted, and its outcome is
+ * ignored once the circuit has transitioned again, so that calls sent before the circuit opened cannot close it.
+ */
+class CircuitBreaker {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final int slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final Clock clock;
+    private final Meter opened;
+    private final Meter halfOpened;
+    private final Meter closed;
+    private final Meter rejected;
+
+    private final byte[] window;
+    private int position;
+    private int calls;
+    private int failedCalls;
+    private int slowCalls;
+
+    private State state = State.CLOSED;
+    private long period;
+    private long openedNanos;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    CircuitBreaker(CircuitBreakerConfiguration configuration, Clock clock, MetricRegistry metrics, String name) {
+        this.name = name;
+        this.minimumCalls = configuration.getMinimumCalls();
+        this.failureRateThreshold = configuration.getFailureRateThreshold();
+        this.slowCallRateThreshold = configuration.getSlowCallRateThreshold();
+        this.slowCallNanos = configuration.getSlowCallDuration().toNanoseconds();
+        this.openNanos = configuration.getOpenDuration().toNanoseconds();
+        this.halfOpenCalls = configuration.getHalfOpenCalls();
+        this.clock = clock;
+        this.window = new byte[configuration.getWindowSize()];
+        this.opened = metrics.meter(MetricRegistry.name(name, "opened"));
+        this.halfOpened = metrics.meter(MetricRegistry.name(name, "half-opened"));
+        this.closed = metrics.meter(MetricRegistry.name(name, "closed"));
+        this.rejected = metrics.meter(MetricRegistry.name(name, "rejected"));
+    }
+
+    /**
+     * Asks for permission to send a call.
+     *
+     * @return the period in which the call is permitted, or {@code -1} if the call is not permitted
+     */
+    synchronized long tryAcquire() {
+        halfOpenIfElapsed();
+        if (state == State.CLOSED) {
+            return period;
+        }
+        if (state == State.HALF_OPEN && halfOpenPermits < halfOpenCalls) {
+            halfOpenPermits++;
+            return period;
+        }
+        rejected.mark();
+        return -1;
+    }
+
+    /**
+     * Records the outcome of a permitted call.
+     *
+     * @param period        the period in which the call was permitted
+     * @param durationNanos the duration of the call
+     * @param failed        whether the call failed
+     */
+    synchronized void onResult(long period, long durationNanos, boolean failed) {
+        if (period != this.period) {
+            return;
+        }
+        final boolean slow = durationNanos >= slowCallNanos;
+        if (state == State.HALF_OPEN) {
+            if (failed || slow) {
+                open();
+            } else if (++halfOpenSuccesses >= halfOpenCalls) {
+                transition(State.CLOSED);
+                calls = 0;
+                failedCalls = 0;
+                slowCalls = 0;
+                position = 0;
+            }
+            return;
+        }
+
+        if (calls == window.length) {
+            final byte evicted = window[position];
+            failedCalls -= evicted & FAILED;
+            slowCalls -= (evicted & SLOW) >> 1;
+        } else {
+            calls++;
+        }
+        window[position] = (byte) ((failed ? FAILED : 0) | (slow ? SLOW : 0));
+        position = (position + 1) % window.length;
+        failedCalls += failed ? 1 : 0;
+        slowCalls += slow ? 1 : 0;
+
+        if (calls >= minimumCalls
+            && (failedCalls * 100L >= (long) failureRateThreshold * calls
+            || slowCalls * 100L >= (long) slowCallRateThreshold * calls)) {
+            open();
+        }
+    }
+
+    /**
+     * Records a permitted call which was cancelled before its outcome was known, such as an aborted hedged request. It
+     * counts neither as a failure nor as a success, and gives its permit back if it was a trial call.
+     *
+     * @param period the period in which the call was permitted
+     */
+    synchronized void onCancelled(long period) {
+        if (period == this.period && state == State.HALF_OPEN && halfOpenPermits > 0) {
+            halfOpenPermits--;
+        }
+    }
+
+    synchronized State getState() {
+        halfOpenIfElapsed();
+        return state;
+    }
+
+    private void halfOpenIfElapsed() {
+        if (state == State.OPEN && clock.getTick() - openedNanos >= openNanos) {
+            transition(State.HALF_OPEN);
+            halfOpenPermits = 0;
+            halfOpenSuccesses = 0;
+        }
+    }
+
+    private void open() {
+        transition(State.OPEN);
+        openedNanos = clock.getTick();
+    }
+
+    private void transition(State next) {
+        if (next == State.OPEN) {
+            LOGGER.warn("Circuit breaker {} transitioned from {} to {}", name, state, next);
+        } else {
+            LOGGER.info("Circuit breaker {} transitioned from {} to {}", name, state, next);
+        }
+        state = next;
+        period++;
+        switch (next) {
+            case OPEN:
+                opened.mark();
+                break;
+            case HALF_OPEN:
+                halfOpened.mark();
+                break;
+            default:
+                closed.mark();
+                break;
+        }
+    }
+}
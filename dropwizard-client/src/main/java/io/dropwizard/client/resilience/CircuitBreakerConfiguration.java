@@ -0,0 +1,170 @@
+package io.dropwizard.client.resilience;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.MinDuration;
+import io.dropwizard.validation.ValidationMethod;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration of the circuit breakers of a client, one of which guards every host the client sends requests to.
+ * <p/>
+ * A circuit breaker records the outcome of the most recent requests. Requests which fail with an I/O error or a
+ * server error ({@code 5xx}) are failed calls, and requests which take longer than {@code slowCallDuration} are slow
+ * calls. Once the share of failed or slow calls reaches its threshold, the circuit opens and requests are rejected
+ * with a {@link RequestRejectedException} without being sent. After {@code openDuration}, a few trial requests are
+ * let through, and the circuit closes again if all of them succeed.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code windowSize}</td>
+ *         <td>100</td>
+ *         <td>The number of recent requests whose outcome is recorded.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code minimumCalls}</td>
+ *         <td>20</td>
+ *         <td>The number of requests which have to be recorded before the circuit may open.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code failureRateThreshold}</td>
+ *         <td>50</td>
+ *         <td>The percentage of failed calls at which the circuit opens.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code slowCallRateThreshold}</td>
+ *         <td>100</td>
+ *         <td>The percentage of slow calls at which the circuit opens.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code slowCallDuration}</td>
+ *         <td>5 seconds</td>
+ *         <td>The time after which a request counts as a slow call.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code openDuration}</td>
+ *         <td>30 seconds</td>
+ *         <td>The time for which an open circuit rejects all requests.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code halfOpenCalls}</td>
+ *         <td>5</td>
+ *         <td>The number of trial requests which have to succeed before the circuit closes again.</td>
+ *     </tr>
+ * </table>
+ *
+ * @since 2.1
+ */
+public class CircuitBreakerConfiguration {
+    @Min(1)
+    private int windowSize = 100;
+
+    @Min(1)
+    private int minimumCalls = 20;
+
+    @Min(1)
+    @Max(100)
+    private int failureRateThreshold = 50;
+
+    @Min(1)
+    @Max(100)
+    private int slowCallRateThreshold = 100;
+
+    @NotNull
+    @MinDuration(value = 1, unit = TimeUnit.MILLISECONDS)
+    private Duration slowCallDuration = Duration.seconds(5);
+
+    @NotNull
+    @MinDuration(value = 1, unit = TimeUnit.MILLISECONDS)
+    private Duration openDuration = Duration.seconds(30);
+
+    @Min(1)
+    private int halfOpenCalls = 5;
+
+    @JsonProperty
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    @JsonProperty
+    public void setWindowSize(int windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    @JsonProperty
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    @JsonProperty
+    public void setMinimumCalls(int minimumCalls) {
+        this.minimumCalls = minimumCalls;
+    }
+
+    @JsonProperty
+    public int getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    @JsonProperty
+    public void setFailureRateThreshold(int failureRateThreshold) {
+        this.failureRateThreshold = failureRateThreshold;
+    }
+
+    @JsonProperty
+    public int getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    @JsonProperty
+    public void setSlowCallRateThreshold(int slowCallRateThreshold) {
+        this.slowCallRateThreshold = slowCallRateThreshold;
+    }
+
+    @JsonProperty
+    public Duration getSlowCallDuration() {
+        return slowCallDuration;
+    }
+
+    @JsonProperty
+    public void setSlowCallDuration(Duration slowCallDuration) {
+        this.slowCallDuration = slowCallDuration;
+    }
+
+    @JsonProperty
+    public Duration getOpenDuration() {
+        return openDuration;
+    }
+
+    @JsonProperty
+    public void setOpenDuration(Duration openDuration) {
+        this.openDuration = openDuration;
+    }
+
+    @JsonProperty
+    public int getHalfOpenCalls() {
+        return halfOpenCalls;
+    }
+
+    @JsonProperty
+    public void setHalfOpenCalls(int halfOpenCalls) {
+        this.halfOpenCalls = halfOpenCalls;
+    }
+
+    @JsonIgnore
+    @ValidationMethod(message = ".minimumCalls must be less than or equal to windowSize")
+    public boolean isMinimumCallsValid() {
+        return minimumCalls <= windowSize;
+    }
+}
@@ -0,0 +1,32 @@
+package io.dropwizard.client.resilience;
+
+import com.codahale.metrics.health.HealthCheck;
+
+import java.util.List;
+
+/**
+ * A {@link HealthCheck} which is unhealthy while the circuit of any host of a {@link ResilientHttpClient} is open. Half
+ * open circuits, which are recovering, are reported as healthy with a message.
+ *
+ * @since 2.1
+ */
+public class CircuitBreakerHealthCheck extends HealthCheck {
+    private final ResilientHttpClient client;
+
+    public CircuitBreakerHealthCheck(ResilientHttpClient client) {
+        this.client = client;
+    }
+
+    @Override
+    protected Result check() {
+        final List<String> openCircuits = client.getOpenCircuits();
+        if (!openCircuits.isEmpty()) {
+            return Result.unhealthy("Open circuits: " + String.join(", ", openCircuits));
+        }
+        final List<String> halfOpenCircuits = client.getHalfOpenCircuits();
+        if (!halfOpenCircuits.isEmpty()) {
+            return Result.healthy("Half open circuits: " + String.join(", ", halfOpenCircuits));
+        }
+        return Result.healthy();
+    }
+}
@@ -0,0 +1,17 @@
+package io.dropwizard.client.resilience;
+
+import java.io.IOException;
+
+/**
+ * Signals that a request has not been sent, because the circuit breaker of its host is open or its bulkhead is full.
+ * Such requests are not retried.
+ *
+ * @since 2.1
+ */
+public class RequestRejectedException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    public RequestRejectedException(String message) {
+        super(message);
+    }
+}
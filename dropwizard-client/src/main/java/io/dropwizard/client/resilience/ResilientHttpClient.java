@@ -0,0 +1,445 @@
+package io.dropwizard.client.resilience;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpExecutionAware;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.utils.URIUtils;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.ConnectionReleaseTrigger;
+import org.apache.http.conn.EofSensorInputStream;
+import org.apache.http.conn.EofSensorWatcher;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.execchain.RequestAbortedException;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.SocketTimeoutException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * A {@link CloseableHttpClient} which guards every host it sends requests to with a circuit breaker and a bulkhead.
+ * Requests which are rejected by either of them fail with a {@link RequestRejectedException}. A request holds its
+ * permit of the bulkhead, and counts as slow or not, until its response has been read or closed. Requests which are
+ * aborted or interrupted by the client, such as the losers of hedged requests, count neither as failures nor as
+ * successes of the circuit breaker.
+ * <p/>
+ * The state of a host whose circuit is closed is removed, with its metrics, once the host has been idle for ten
+ * minutes.
+ * <p/>
+ * The metrics of a host are named after the client, {@code circuit-breaker} or {@code bulkhead}, and the host and port,
+ * for example {@code org.apache.http.client.HttpClient.example.circuit-breaker.example.com:443.state}:
+ * <ul>
+ *     <li>{@code circuit-breaker.<host>.state}: the state of the circuit: {@code 0} if it is closed, {@code 1} if it is
+ *     open and {@code 2} if it is half open.</li>
+ *     <li>{@code circuit-breaker.<host>.opened}, {@code half-opened} and {@code closed}: the transitions of the
+ *     circuit.</li>
+ *     <li>{@code circuit-breaker.<host>.rejected}: the requests which were rejected by the circuit breaker.</li>
+ *     <li>{@code bulkhead.<host>.available}: the number of requests which may be sent at once.</li>
+ *     <li>{@code bulkhead.<host>.rejected}: the requests which were rejected by the bulkhead.</li>
+ * </ul>
+ *
+ * @see CircuitBreakerHealthCheck
+ * @since 2.1
+ */
+public class ResilientHttpClient extends CloseableHttpClient {
+    private final CloseableHttpClient delegate;
+    /**
+     * How long a host has to be idle, with a closed circuit, before its state and metrics are removed.
+     */
+    static final long ROUTE_EXPIRY_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private final MetricRegistry metrics;
+    private final String name;
+    private final Clock clock;
+    private final String prefix;
+    private final ConcurrentMap<String, Route> routes = new ConcurrentHashMap<>();
+
+    @Nullable
+    private final CircuitBreakerConfiguration circuitBreaker;
+
+    @Nullable
+    private final BulkheadConfiguration bulkhead;
+
+    /**
+     * @param delegate       the client which executes the requests
+     * @param circuitBreaker the configuration of the circuit breakers, or {@code null} to disable them
+     * @param bulkhead       the configuration of the bulkheads, or {@code null} to disable them
+     * @param metrics        the registry of the metrics of the client
+     * @param name           the name of the client
+     */
+    public ResilientHttpClient(CloseableHttpClient delegate, @Nullable CircuitBreakerConfiguration circuitBreaker,
+                               @Nullable BulkheadConfiguration bulkhead, MetricRegistry metrics, String name) {
+        this(delegate, circuitBreaker, bulkhead, metrics, name, Clock.defaultClock());
+    }
+
+    ResilientHttpClient(CloseableHttpClient delegate, @Nullable CircuitBreakerConfiguration circuitBreaker,
+                        @Nullable BulkheadConfiguration bulkhead, MetricRegistry metrics, String name, Clock clock) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.metrics = metrics;
+        this.name = name;
+        this.clock = clock;
+        this.prefix = name(HttpClient.class, name);
+    }
+
+    @Override
+    protected CloseableHttpResponse doExecute(@Nullable HttpHost target, HttpRequest request,
+                                              @Nullable HttpContext context) throws IOException {
+        final HttpHost host = target != null || !(request instanceof HttpUriRequest)
+            ? target
+            : URIUtils.extractHost(((HttpUriRequest) request).getURI());
+        if (host == null) {
+            return delegate.execute(target, request, context);
+        }
+        return route(routeName(host)).execute(target, request, context);
+    }
+
+    /**
+     * Returns the hosts whose circuit is open, as {@code host:port}.
+     */
+    public List<String> getOpenCircuits() {
+        return getCircuits(CircuitBreaker.State.OPEN);
+    }
+
+    /**
+     * Returns the hosts whose circuit is half open, and which are sent trial requests, as {@code host:port}.
+     */
+    public List<String> getHalfOpenCircuits() {
+        return getCircuits(CircuitBreaker.State.HALF_OPEN);
+    }
+
+    private List<String> getCircuits(CircuitBreaker.State state) {
+        return routes.values().stream()
+            .filter(route -> route.breaker != null && route.breaker.getState() == state)
+            .map(route -> route.name)
+            .sorted()
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns whether a request failed because it was aborted or interrupted by the client, rather than because of
+     * the host. Timeouts are failures of the host.
+     */
+    private static boolean isCancelled(HttpRequest request, IOException e) {
+        if (e instanceof RequestAbortedException
+            || (request instanceof HttpExecutionAware && ((HttpExecutionAware) request).isAborted())) {
+            return true;
+        }
+        return e instanceof InterruptedIOException && !(e instanceof SocketTimeoutException)
+            && !(e instanceof ConnectTimeoutException);
+    }
+
+    private static String routeName(HttpHost host) {
+        int port = host.getPort();
+        if (port < 0) {
+            port = "https".equalsIgnoreCase(host.getSchemeName()) ? 443 : 80;
+        }
+        return host.getHostName().toLowerCase(Locale.ROOT) + ":" + port;
+    }
+
+    @Override
+    @Deprecated
+    public HttpParams getParams() {
+        return delegate.getParams();
+    }
+
+    @Override
+    @Deprecated
+    public ClientConnectionManager getConnectionManager() {
+        return delegate.getConnectionManager();
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    private Route route(String routeName) {
+        final Route route = routes.get(routeName);
+        if (route != null) {
+            return route;
+        }
+        // Routes are created and expired under a lock, so that expiring a route cannot remove the metrics of its
+        // successor
+        synchronized (routes) {
+            final Route existing = routes.get(routeName);
+            if (existing != null) {
+                return existing;
+            }
+            expireIdleRoutes();
+            final Route created = new Route(routeName);
+            routes.put(routeName, created);
+            return created;
+        }
+    }
+
+    /**
+     * Removes the routes, and their metrics, which have been idle for {@link #ROUTE_EXPIRY_NANOS} and whose circuit is
+     * closed, so that a client which talks to many hosts over time doesn't keep state for all of them.
+     */
+    private void expireIdleRoutes() {
+        final long now = clock.getTick();
+        for (Route route : routes.values()) {
+            if (route.isIdle(now) && routes.remove(route.name, route)) {
+                final String circuitBreakerPrefix = name(prefix, "circuit-breaker", route.name) + ".";
+                final String bulkheadPrefix = name(prefix, "bulkhead", route.name) + ".";
+                metrics.removeMatching((metricName, metric) ->
+                    metricName.startsWith(circuitBreakerPrefix) || metricName.startsWith(bulkheadPrefix));
+            }
+        }
+    }
+
+    private class Route {
+        private final String name;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile long lastUsedNanos;
+
+        @Nullable
+        private final CircuitBreaker breaker;
+
+        @Nullable
+        private final Semaphore permits;
+
+        @Nullable
+        private final Meter bulkheadRejections;
+
+        private Route(String name) {
+            this.name = name;
+            this.lastUsedNanos = clock.getTick();
+            if (circuitBreaker != null) {
+                final CircuitBreaker breaker = new CircuitBreaker(circuitBreaker, clock, metrics,
+                    name(prefix, "circuit-breaker", name));
+                metrics.<Gauge<Integer>>gauge(name(prefix, "circuit-breaker", name, "state"),
+                    () -> () -> breaker.getState().ordinal());
+                this.breaker = breaker;
+            } else {
+                this.breaker = null;
+            }
+            if (bulkhead != null) {
+                final Semaphore permits = new Semaphore(bulkhead.getMaxConcurrentRequests());
+                metrics.<Gauge<Integer>>gauge(name(prefix, "bulkhead", name, "available"),
+                    () -> permits::availablePermits);
+                this.permits = permits;
+                this.bulkheadRejections = metrics.meter(name(prefix, "bulkhead", name, "rejected"));
+            } else {
+                this.permits = null;
+                this.bulkheadRejections = null;
+            }
+        }
+
+        private boolean isIdle(long now) {
+            return inFlight.get() == 0
+                && now - lastUsedNanos >= ROUTE_EXPIRY_NANOS
+                && (breaker == null || breaker.getState() == CircuitBreaker.State.CLOSED);
+        }
+
+        private CloseableHttpResponse execute(@Nullable HttpHost target, HttpRequest request,
+                                              @Nullable HttpContext context) throws IOException {
+            if (breaker == null && permits == null) {
+                return delegate.execute(target, request, context);
+            }
+            lastUsedNanos = clock.getTick();
+            inFlight.incrementAndGet();
+            try {
+                acquirePermit();
+            } catch (IOException e) {
+                inFlight.decrementAndGet();
+                throw e;
+            }
+            final long period = breaker == null ? 0 : breaker.tryAcquire();
+            if (period < 0) {
+                release();
+                throw new RequestRejectedException("The circuit breaker of " + name + " is open");
+            }
+
+            final Call call = new Call(period, clock.getTick());
+            final CloseableHttpResponse response;
+            try {
+                response = delegate.execute(target, request, context);
+            } catch (IOException e) {
+                if (isCancelled(request, e)) {
+                    call.cancel();
+                } else {
+                    call.finish(true);
+                }
+                throw e;
+            } catch (RuntimeException | Error e) {
+                call.finish(true);
+                throw e;
+            }
+            call.failed = response.getStatusLine().getStatusCode() >= 500;
+            if (response.getEntity() == null) {
+                call.finish(call.failed);
+                return response;
+            }
+            // The permit is held and the call is timed until the body has been read or the response is closed
+            return new GuardedHttpResponse(response, call);
+        }
+
+        private void acquirePermit() throws IOException {
+            if (permits == null || bulkhead == null) {
+                return;
+            }
+            try {
+                if (!permits.tryAcquire(bulkhead.getMaxWait().toNanoseconds(), TimeUnit.NANOSECONDS)) {
+                    if (bulkheadRejections != null) {
+                        bulkheadRejections.mark();
+                    }
+                    throw new RequestRejectedException("The bulkhead of " + name + " is full");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the bulkhead of " + name);
+            }
+        }
+
+        private void release() {
+            if (permits != null) {
+                permits.release();
+            }
+            lastUsedNanos = clock.getTick();
+            inFlight.decrementAndGet();
+        }
+
+        /**
+         * A permitted call, which ends once its response has been read, closed or aborted.
+         */
+        private class Call implements EofSensorWatcher {
+            private final long period;
+            private final long startNanos;
+            private final AtomicBoolean finished = new AtomicBoolean();
+            private volatile boolean failed;
+
+            private Call(long period, long startNanos) {
+                this.period = period;
+                this.startNanos = startNanos;
+            }
+
+            private void finish(boolean failed) {
+                if (!finished.compareAndSet(false, true)) {
+                    return;
+                }
+                try {
+                    if (breaker != null) {
+                        breaker.onResult(period, clock.getTick() - startNanos, failed);
+                    }
+                } finally {
+                    release();
+                }
+            }
+
+            /**
+             * Ends a call which was aborted or interrupted by the client, without recording an outcome.
+             */
+            private void cancel() {
+                if (!finished.compareAndSet(false, true)) {
+                    return;
+                }
+                try {
+                    if (breaker != null) {
+                        breaker.onCancelled(period);
+                    }
+                } finally {
+                    release();
+                }
+            }
+
+            @Override
+            public boolean eofDetected(InputStream wrapped) {
+                finish(failed);
+                return true;
+            }
+
+            @Override
+            public boolean streamClosed(InputStream wrapped) {
+                finish(failed);
+                return true;
+            }
+
+            @Override
+            public boolean streamAbort(InputStream wrapped) throws IOException {
+                // The response was aborted by the client rather than failed by the host
+                cancel();
+                if (wrapped instanceof ConnectionReleaseTrigger) {
+                    ((ConnectionReleaseTrigger) wrapped).abortConnection();
+                    return false;
+                }
+                return true;
+            }
+        }
+
+        private class GuardedEntity extends HttpEntityWrapper {
+            private final Call call;
+
+            private GuardedEntity(HttpEntity entity, Call call) {
+                super(entity);
+                this.call = call;
+            }
+
+            @Override
+            public InputStream getContent() throws IOException {
+                return new EofSensorInputStream(super.getContent(), call);
+            }
+
+            @Override
+            public void writeTo(OutputStream outStream) throws IOException {
+                boolean failed = true;
+                try {
+                    super.writeTo(outStream);
+                    failed = call.failed;
+                } finally {
+                    call.finish(failed);
+                }
+            }
+        }
+
+        private class GuardedHttpResponse extends BasicHttpResponse implements CloseableHttpResponse {
+            private final CloseableHttpResponse response;
+            private final Call call;
+
+            private GuardedHttpResponse(CloseableHttpResponse response, Call call) {
+                super(response.getStatusLine());
+                this.response = response;
+                this.call = call;
+                setHeaders(response.getAllHeaders());
+                setEntity(new GuardedEntity(response.getEntity(), call));
+            }
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    response.close();
+                } finally {
+                    call.finish(call.failed);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package io.dropwizard.client.retry;
+
+/**
+ * A token bucket which limits retries and hedged requests to a share of the requests sent. Every request deposits a
+ * fraction of a token, and every retry withdraws a whole token.
+ */
+class RetryBudget {
+    private final double ratio;
+    private final double capacity;
+    private double balance;
+
+    /**
+     * @param percent the number of retries allowed, as a percentage of the requests
+     * @param burst   the number of retries which may be sent at once, which is also the initial balance
+     */
+    RetryBudget(int percent, int burst) {
+        this.ratio = percent / 100.0;
+        this.capacity = Math.max(burst, 1);
+        this.balance = burst;
+    }
+
+    synchronized void deposit() {
+        balance = Math.min(capacity, balance + ratio);
+    }
+
+    synchronized boolean tryWithdraw() {
+        if (balance < 1) {
+            return false;
+        }
+        balance -= 1;
+        return true;
+    }
+}
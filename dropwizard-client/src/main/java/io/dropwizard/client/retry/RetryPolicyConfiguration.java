@@ -0,0 +1,217 @@
+package io.dropwizard.client.retry;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.MinDuration;
+import io.dropwizard.validation.ValidationMethod;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration of how idempotent requests are retried and hedged. Retries and hedged requests are only sent while
+ * the retry budget allows it, so that a failing or slow server does not receive a multiple of its usual load.
+ * <p/>
+ * The number of retries is configured by {@code retries} of the client.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code initialBackoff}</td>
+ *         <td>50 milliseconds</td>
+ *         <td>
+ *             The maximum delay before the first retry. The maximum delay doubles with every further retry, and the
+ *             actual delay is chosen randomly up to it.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxBackoff}</td>
+ *         <td>1 second</td>
+ *         <td>The upper bound of the maximum delay before a retry.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code retryStatusCodes}</td>
+ *         <td>[502, 503, 504]</td>
+ *         <td>The status codes of the responses which are retried.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxRetryAfter}</td>
+ *         <td>10 seconds</td>
+ *         <td>
+ *             The longest delay requested by the {@code Retry-After} header of a response which is waited for before
+ *             a retry. Responses which request a longer delay are returned without being retried.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code budgetPercent}</td>
+ *         <td>10</td>
+ *         <td>The number of retries and hedged requests, as a percentage of the requests sent by the client.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code budgetBurst}</td>
+ *         <td>10</td>
+ *         <td>The number of retries and hedged requests which may be sent at once if the budget has not been used.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code hedgingEnabled}</td>
+ *         <td>false</td>
+ *         <td>
+ *             Whether to send a second, hedged request if an idempotent request without a body takes longer than
+ *             most requests.
+ *             The response which arrives first is used, and the other request is aborted.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code hedgePercentile}</td>
+ *         <td>95</td>
+ *         <td>The percentile of the latency of recent requests after which a hedged request is sent.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code minHedgeDelay}</td>
+ *         <td>10 milliseconds</td>
+ *         <td>The minimum time to wait for a response before a hedged request is sent.</td>
+ *     </tr>
+ * </table>
+ *
+ * @since 2.1
+ */
+public class RetryPolicyConfiguration {
+    @NotNull
+    @MinDuration(0)
+    private Duration initialBackoff = Duration.milliseconds(50);
+
+    @NotNull
+    @MinDuration(0)
+    private Duration maxBackoff = Duration.seconds(1);
+
+    @NotNull
+    private Set<Integer> retryStatusCodes = new HashSet<>(Arrays.asList(502, 503, 504));
+
+    @NotNull
+    @MinDuration(0)
+    private Duration maxRetryAfter = Duration.seconds(10);
+
+    @Min(0)
+    @Max(100)
+    private int budgetPercent = 10;
+
+    @Min(0)
+    private int budgetBurst = 10;
+
+    private boolean hedgingEnabled = false;
+
+    @Min(1)
+    @Max(99)
+    private int hedgePercentile = 95;
+
+    @NotNull
+    @MinDuration(value = 1, unit = TimeUnit.MILLISECONDS)
+    private Duration minHedgeDelay = Duration.milliseconds(10);
+
+    @JsonProperty
+    public Duration getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    @JsonProperty
+    public void setInitialBackoff(Duration initialBackoff) {
+        this.initialBackoff = initialBackoff;
+    }
+
+    @JsonProperty
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    @JsonProperty
+    public void setMaxBackoff(Duration maxBackoff) {
+        this.maxBackoff = maxBackoff;
+    }
+
+    @JsonProperty
+    public Set<Integer> getRetryStatusCodes() {
+        return retryStatusCodes;
+    }
+
+    @JsonProperty
+    public void setRetryStatusCodes(Set<Integer> retryStatusCodes) {
+        this.retryStatusCodes = retryStatusCodes;
+    }
+
+    @JsonProperty
+    public Duration getMaxRetryAfter() {
+        return maxRetryAfter;
+    }
+
+    @JsonProperty
+    public void setMaxRetryAfter(Duration maxRetryAfter) {
+        this.maxRetryAfter = maxRetryAfter;
+    }
+
+    @JsonProperty
+    public int getBudgetPercent() {
+        return budgetPercent;
+    }
+
+    @JsonProperty
+    public void setBudgetPercent(int budgetPercent) {
+        this.budgetPercent = budgetPercent;
+    }
+
+    @JsonProperty
+    public int getBudgetBurst() {
+        return budgetBurst;
+    }
+
+    @JsonProperty
+    public void setBudgetBurst(int budgetBurst) {
+        this.budgetBurst = budgetBurst;
+    }
+
+    @JsonProperty
+    public boolean isHedgingEnabled() {
+        return hedgingEnabled;
+    }
+
+    @JsonProperty
+    public void setHedgingEnabled(boolean hedgingEnabled) {
+        this.hedgingEnabled = hedgingEnabled;
+    }
+
+    @JsonProperty
+    public int getHedgePercentile() {
+        return hedgePercentile;
+    }
+
+    @JsonProperty
+    public void setHedgePercentile(int hedgePercentile) {
+        this.hedgePercentile = hedgePercentile;
+    }
+
+    @JsonProperty
+    public Duration getMinHedgeDelay() {
+        return minHedgeDelay;
+    }
+
+    @JsonProperty
+    public void setMinHedgeDelay(Duration minHedgeDelay) {
+        this.minHedgeDelay = minHedgeDelay;
+    }
+
+    @JsonIgnore
+    @ValidationMethod(message = ".initialBackoff must be less than or equal to maxBackoff")
+    public boolean isBackoffValid() {
+        return initialBackoff.compareTo(maxBackoff) <= 0;
+    }
+}
@@ -0,0 +1,454 @@
+package io.dropwizard.client.retry;
+
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.client.resilience.RequestRejectedException;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpExecutionAware;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.client.utils.DateUtils;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.BasicHttpContext;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.util.EntityUtils;
+
+import javax.annotation.Nullable;
+import javax.net.ssl.SSLException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * A {@link CloseableHttpClient} which retries and hedges idempotent requests according to a
+ * {@link RetryPolicyConfiguration}. Other requests are passed through unchanged.
+ * <p/>
+ * Requests which failed with an I/O error, or whose response has one of the configured status codes (by default
+ * {@code 502}, {@code 503} and {@code 504}), are retried after an exponential backoff with full jitter, or after the
+ * delay requested by the {@code Retry-After} header of the response. If hedging is enabled, a second request
+ * is sent once a request takes longer than the configured percentile of recent requests, and the request which does
+ * not respond first is aborted. Both are limited by a shared retry budget. It records these meters:
+ * <ul>
+ *     <li>{@code retries}: the requests which were retried.</li>
+ *     <li>{@code hedges}: the hedged requests which were sent.</li>
+ *     <li>{@code hedge-wins}: the hedged requests which responded before the original request.</li>
+ *     <li>{@code retry-budget-exhausted}: the retries and hedged requests which were not sent because the budget was
+ *     used up.</li>
+ * </ul>
+ *
+ * @since 2.1
+ */
+public class RetryingHttpClient extends CloseableHttpClient {
+    private static final Set<String> IDEMPOTENT_METHODS =
+        new HashSet<>(Arrays.asList("GET", "HEAD", "OPTIONS", "TRACE", "PUT", "DELETE"));
+    private static final long HEDGE_DELAY_UPDATE_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    private final CloseableHttpClient delegate;
+    private final int retries;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final boolean hedgingEnabled;
+    private final double hedgeQuantile;
+    private final long minHedgeDelayNanos;
+    private final Set<Integer> retryStatusCodes;
+    private final long maxRetryAfterNanos;
+    private final RetryBudget budget;
+    private final Histogram latency = new Histogram(new ExponentiallyDecayingReservoir());
+    private final Meter retriesMeter;
+    private final Meter hedges;
+    private final Meter hedgeWins;
+    private final Meter budgetExhausted;
+
+    @Nullable
+    private final ScheduledExecutorService scheduler;
+
+    @Nullable
+    private final ExecutorService hedgeExecutor;
+
+    private volatile long hedgeDelayNanos;
+    private volatile long hedgeDelayUpdatedNanos;
+
+    /**
+     * @param delegate the client which executes the requests
+     * @param policy   the retry policy
+     * @param retries  the maximum number of retries of a request
+     * @param metrics  the registry of the metrics of the client
+     * @param name     the name of the client
+     */
+    public RetryingHttpClient(CloseableHttpClient delegate, RetryPolicyConfiguration policy, int retries,
+                              MetricRegistry metrics, String name) {
+        this.delegate = delegate;
+        this.retries = retries;
+        this.initialBackoffNanos = policy.getInitialBackoff().toNanoseconds();
+        this.maxBackoffNanos = policy.getMaxBackoff().toNanoseconds();
+        this.retryStatusCodes = new HashSet<>(policy.getRetryStatusCodes());
+        this.maxRetryAfterNanos = policy.getMaxRetryAfter().toNanoseconds();
+        this.hedgingEnabled = policy.isHedgingEnabled();
+        this.hedgeQuantile = policy.getHedgePercentile() / 100.0;
+        this.minHedgeDelayNanos = policy.getMinHedgeDelay().toNanoseconds();
+        this.hedgeDelayNanos = minHedgeDelayNanos;
+        this.hedgeDelayUpdatedNanos = System.nanoTime();
+        this.budget = new RetryBudget(policy.getBudgetPercent(), policy.getBudgetBurst());
+        this.retriesMeter = metrics.meter(name(HttpClient.class, name, "retries"));
+        this.hedges = metrics.meter(name(HttpClient.class, name, "hedges"));
+        this.hedgeWins = metrics.meter(name(HttpClient.class, name, "hedge-wins"));
+        this.budgetExhausted = metrics.meter(name(HttpClient.class, name, "retry-budget-exhausted"));
+
+        if (hedgingEnabled) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(daemonThreadFactory(name + "-hedge-scheduler"));
+            this.hedgeExecutor = Executors.newCachedThreadPool(daemonThreadFactory(name + "-hedge"));
+        } else {
+            this.scheduler = null;
+            this.hedgeExecutor = null;
+        }
+    }
+
+    @Override
+    protected CloseableHttpResponse doExecute(@Nullable HttpHost target, HttpRequest request,
+                                              @Nullable HttpContext context) throws IOException {
+        if (!isIdempotent(request)) {
+            return delegate.execute(target, request, context);
+        }
+
+        budget.deposit();
+        final boolean hedge = hedgingEnabled && !(request instanceof HttpEntityEnclosingRequest);
+        for (int attempt = 0; ; attempt++) {
+            final CloseableHttpResponse response;
+            try {
+                final long start = System.nanoTime();
+                response = hedge
+                    ? executeHedged(target, request, context)
+                    : delegate.execute(target, request, context);
+                latency.update(System.nanoTime() - start);
+            } catch (IOException e) {
+                if (attempt >= retries || !isRetryable(e) || isAborted(request)) {
+                    throw e;
+                }
+                if (!budget.tryWithdraw()) {
+                    budgetExhausted.mark();
+                    throw e;
+                }
+                retriesMeter.mark();
+                sleep(backoffNanos(attempt));
+                continue;
+            }
+
+            if (attempt >= retries || !retryStatusCodes.contains(response.getStatusLine().getStatusCode())
+                || isAborted(request)) {
+                return response;
+            }
+            final long retryAfterNanos = retryAfterNanos(response);
+            if (retryAfterNanos > maxRetryAfterNanos) {
+                return response;
+            }
+            if (!budget.tryWithdraw()) {
+                budgetExhausted.mark();
+                return response;
+            }
+            // Read the rest of the response, so that its connection can be re-used by the retry
+            EntityUtils.consumeQuietly(response.getEntity());
+            response.close();
+            retriesMeter.mark();
+            sleep(retryAfterNanos >= 0 ? retryAfterNanos : backoffNanos(attempt));
+        }
+    }
+
+    private CloseableHttpResponse executeHedged(@Nullable HttpHost target, HttpRequest request,
+                                                @Nullable HttpContext context) throws IOException {
+        final Hedge hedge = new Hedge(target, request, context);
+        if (request instanceof HttpExecutionAware) {
+            ((HttpExecutionAware) request).setCancellable(hedge::abort);
+        }
+
+        final ScheduledFuture<?> scheduled = requireNonNull(scheduler)
+            .schedule(hedge::start, hedgeDelayNanos(), TimeUnit.NANOSECONDS);
+        try {
+            final CloseableHttpResponse response = delegate.execute(target, hedge.primary, context);
+            if (hedge.claim(Hedge.PRIMARY)) {
+                hedge.cancel();
+                return response;
+            }
+            response.close();
+        } catch (IOException e) {
+            // Unless the hedged request has been sent already, it will not be sent anymore.
+            if (hedge.winner.get() != Hedge.HEDGE && hedge.preventStart()) {
+                throw e;
+            }
+            return hedge.await(e);
+        } finally {
+            scheduled.cancel(false);
+        }
+        return hedge.await(null);
+    }
+
+    private long hedgeDelayNanos() {
+        final long now = System.nanoTime();
+        if (now - hedgeDelayUpdatedNanos > HEDGE_DELAY_UPDATE_INTERVAL) {
+            hedgeDelayUpdatedNanos = now;
+            hedgeDelayNanos = Math.max(minHedgeDelayNanos, (long) latency.getSnapshot().getValue(hedgeQuantile));
+        }
+        return hedgeDelayNanos;
+    }
+
+    private long backoffNanos(int attempt) {
+        final long maxDelay = Math.min(maxBackoffNanos, initialBackoffNanos << Math.min(attempt, 30));
+        return maxDelay <= 0 ? 0 : ThreadLocalRandom.current().nextLong(maxDelay + 1);
+    }
+
+    private static void sleep(long nanos) throws InterruptedIOException {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry the request");
+        }
+    }
+
+    /**
+     * @return the delay requested by the {@code Retry-After} header of a response, in seconds or as a date, or
+     * {@code -1} if the response has no valid header
+     */
+    static long retryAfterNanos(HttpResponse response) {
+        final Header header = response.getFirstHeader(HttpHeaders.RETRY_AFTER);
+        if (header == null || header.getValue() == null) {
+            return -1;
+        }
+        final String value = header.getValue().trim();
+        try {
+            return Math.max(0, TimeUnit.SECONDS.toNanos(Long.parseLong(value)));
+        } catch (NumberFormatException e) {
+            final Date date = DateUtils.parseDate(value);
+            if (date == null) {
+                return -1;
+            }
+            return Math.max(0, TimeUnit.MILLISECONDS.toNanos(date.getTime() - System.currentTimeMillis()));
+        }
+    }
+
+    private static boolean isIdempotent(HttpRequest request) {
+        if (!IDEMPOTENT_METHODS.contains(request.getRequestLine().getMethod().toUpperCase(Locale.ROOT))) {
+            return false;
+        }
+        if (request instanceof HttpEntityEnclosingRequest) {
+            final HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity();
+            return entity == null || entity.isRepeatable();
+        }
+        return true;
+    }
+
+    private static boolean isRetryable(IOException e) {
+        if (e instanceof UnknownHostException || e instanceof SSLException || e instanceof RequestRejectedException) {
+            return false;
+        }
+        // Requests which have been aborted or interrupted throw other interrupted I/O exceptions.
+        if (e instanceof InterruptedIOException) {
+            return e instanceof SocketTimeoutException || e instanceof ConnectTimeoutException;
+        }
+        return true;
+    }
+
+    private static boolean isAborted(HttpRequest request) {
+        return request instanceof HttpExecutionAware && ((HttpExecutionAware) request).isAborted();
+    }
+
+    private static <T> T requireNonNull(@Nullable T value) {
+        if (value == null) {
+            throw new IllegalStateException("Hedging is not enabled");
+        }
+        return value;
+    }
+
+    private static ThreadFactory daemonThreadFactory(String name) {
+        final AtomicInteger count = new AtomicInteger();
+        return r -> {
+            final Thread thread = Executors.defaultThreadFactory().newThread(r);
+            thread.setName(name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Override
+    @Deprecated
+    public HttpParams getParams() {
+        return delegate.getParams();
+    }
+
+    @Override
+    @Deprecated
+    public ClientConnectionManager getConnectionManager() {
+        return delegate.getConnectionManager();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (hedgeExecutor != null) {
+            hedgeExecutor.shutdownNow();
+        }
+        delegate.close();
+    }
+
+    /**
+     * The race between a request and its hedged copy. The request is sent as a copy as well, so that the loser can
+     * be aborted without affecting the request of the caller.
+     */
+    private class Hedge {
+        private static final int NONE = 0;
+        private static final int PRIMARY = 1;
+        private static final int HEDGE = 2;
+
+        @Nullable
+        private final HttpHost target;
+        private final HttpRequest request;
+
+        @Nullable
+        private final HttpContext context;
+        private final HttpUriRequest primary;
+        private final AtomicInteger winner = new AtomicInteger(NONE);
+        private final AtomicBoolean startedOrCancelled = new AtomicBoolean();
+        private final CompletableFuture<CloseableHttpResponse> response = new CompletableFuture<>();
+
+        @Nullable
+        private volatile HttpUriRequest copy;
+
+        private Hedge(@Nullable HttpHost target, HttpRequest request, @Nullable HttpContext context) {
+            this.target = target;
+            this.request = request;
+            this.context = context;
+            this.primary = RequestBuilder.copy(request).build();
+        }
+
+        private boolean claim(int attempt) {
+            return winner.compareAndSet(NONE, attempt);
+        }
+
+        /**
+         * @return whether the hedged request has been prevented from being sent
+         */
+        private boolean preventStart() {
+            return startedOrCancelled.compareAndSet(false, true);
+        }
+
+        /**
+         * Prevents the hedged request from being sent, or aborts it if it has been sent already.
+         */
+        private void cancel() {
+            if (!preventStart()) {
+                final HttpUriRequest sent = copy;
+                if (sent != null && winner.get() != HEDGE) {
+                    sent.abort();
+                }
+            }
+        }
+
+        private boolean abort() {
+            primary.abort();
+            cancel();
+            return true;
+        }
+
+        private void start() {
+            if (!preventStart()) {
+                return;
+            }
+            if (!budget.tryWithdraw()) {
+                budgetExhausted.mark();
+                response.completeExceptionally(new IOException("The retry budget is exhausted"));
+                return;
+            }
+            final HttpUriRequest hedge = RequestBuilder.copy(request).build();
+            copy = hedge;
+            hedges.mark();
+            try {
+                requireNonNull(hedgeExecutor).execute(() -> send(hedge));
+            } catch (RuntimeException e) {
+                response.completeExceptionally(e);
+            }
+        }
+
+        private void send(HttpUriRequest hedge) {
+            if (winner.get() != NONE) {
+                response.completeExceptionally(new IOException("The original request responded first"));
+                return;
+            }
+            // Concurrent requests must not share a context, but the hedged request can read from the original one.
+            final HttpContext hedgeContext = context == null ? null : new BasicHttpContext(context);
+            try {
+                final CloseableHttpResponse result = delegate.execute(target, hedge, hedgeContext);
+                if (claim(HEDGE)) {
+                    hedgeWins.mark();
+                    primary.abort();
+                    response.complete(result);
+                } else {
+                    result.close();
+                    response.completeExceptionally(new IOException("The original request responded first"));
+                }
+            } catch (IOException | RuntimeException e) {
+                response.completeExceptionally(e);
+            }
+        }
+
+        /**
+         * Waits for the response to the hedged request.
+         *
+         * @param primaryFailure the failure of the original request, which is thrown if the hedged request fails
+         */
+        private CloseableHttpResponse await(@Nullable IOException primaryFailure) throws IOException {
+            try {
+                return response.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel();
+                throw new InterruptedIOException("Interrupted while waiting for the hedged request");
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (primaryFailure != null) {
+                    primaryFailure.addSuppressed(cause);
+                    throw primaryFailure;
+                }
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                throw new IOException(cause);
+            }
+        }
+    }
+}
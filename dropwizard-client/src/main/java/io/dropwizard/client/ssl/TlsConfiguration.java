@@ -17,6 +17,8 @@ public class TlsConfiguration {
     @Nullable
     private String provider;
 
+    private boolean fallbackToDefaultProvider = true;
+
     @Nullable
     private File keyStorePath;
 
@@ -159,6 +161,22 @@ public class TlsConfiguration {
         this.provider = provider;
     }
 
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public boolean isFallbackToDefaultProvider() {
+        return fallbackToDefaultProvider;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setFallbackToDefaultProvider(boolean fallbackToDefaultProvider) {
+        this.fallbackToDefaultProvider = fallbackToDefaultProvider;
+    }
+
     @Nullable
     @JsonProperty
     public List<String> getSupportedCiphers() {
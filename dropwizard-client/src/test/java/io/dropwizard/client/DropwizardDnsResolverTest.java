@@ -0,0 +1,41 @@
+package io.dropwizard.client;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.util.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DropwizardDnsResolverTest {
+    private final MetricRegistry metrics = new MetricRegistry();
+    private final DropwizardDnsResolver resolver =
+        new DropwizardDnsResolver(metrics, "test", Duration.minutes(1), Duration.minutes(5));
+
+    @AfterEach
+    void tearDown() {
+        resolver.stop();
+    }
+
+    @Test
+    void cachesResolvedAddresses() throws Exception {
+        assertThat(resolver.resolve("127.0.0.1")).containsExactly(InetAddress.getByName("127.0.0.1"));
+        assertThat(resolver.resolve("127.0.0.1")).containsExactly(InetAddress.getByName("127.0.0.1"));
+
+        assertThat(metrics.getGauges())
+            .hasEntrySatisfying("org.apache.http.conn.DnsResolver.test.misses", g -> assertThat(g.getValue()).isEqualTo(1L))
+            .hasEntrySatisfying("org.apache.http.conn.DnsResolver.test.hits", g -> assertThat(g.getValue()).isEqualTo(1L));
+    }
+
+    @Test
+    void registersTheStatisticsOfTheCache() {
+        assertThat(metrics.getGauges().keySet()).containsOnly(
+            "org.apache.http.conn.DnsResolver.test.hits",
+            "org.apache.http.conn.DnsResolver.test.stale-hits",
+            "org.apache.http.conn.DnsResolver.test.misses",
+            "org.apache.http.conn.DnsResolver.test.refreshes",
+            "org.apache.http.conn.DnsResolver.test.failures");
+    }
+}
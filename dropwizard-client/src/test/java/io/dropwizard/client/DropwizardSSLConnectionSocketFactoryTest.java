@@ -9,6 +9,7 @@ import io.dropwizard.testing.junit5.DropwizardAppExtension;
 import io.dropwizard.testing.junit5.DropwizardExtensionsSupport;
 import io.dropwizard.util.Duration;
 import org.apache.http.conn.ssl.NoopHostnameVerifier;
+import org.apache.http.conn.ssl.SSLInitializationException;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.glassfish.jersey.client.ClientResponse;
 import org.junit.jupiter.api.AfterAll;
@@ -33,6 +34,7 @@ import java.io.File;
 import java.io.IOException;
 import java.net.SocketException;
 import java.net.URISyntaxException;
+import java.security.NoSuchProviderException;
 import java.security.Security;
 import java.util.Collections;
 
@@ -125,6 +127,24 @@ class DropwizardSSLConnectionSocketFactoryTest {
         assertThat(response.getStatus()).isEqualTo(200);
     }
 
+    @Test
+    void shouldErrorIfProviderIsNotAvailableAndFallbackIsDisabled() {
+        tlsConfiguration.setProvider("NoSuchProvider");
+        tlsConfiguration.setFallbackToDefaultProvider(false);
+        final DropwizardSSLConnectionSocketFactory socketFactory = new DropwizardSSLConnectionSocketFactory(tlsConfiguration);
+        assertThatExceptionOfType(SSLInitializationException.class)
+            .isThrownBy(socketFactory::getSocketFactory)
+            .withCauseInstanceOf(NoSuchProviderException.class);
+    }
+
+    @Test
+    void shouldFallBackToDefaultProviderByDefault() {
+        tlsConfiguration.setProvider("NoSuchProvider");
+        final Client client = new JerseyClientBuilder(TLS_APP_RULE.getEnvironment()).using(jerseyClientConfiguration).build("tls_fallback_client");
+        final Response response = client.target(String.format("https://localhost:%d", TLS_APP_RULE.getLocalPort())).request().get();
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
     @Test
     void shouldErrorIfServerCertNotFoundInTruststore() throws Exception {
         tlsConfiguration.setTrustStorePath(toFile("stores/server/other_cert_truststore.ts"));
@@ -4,6 +4,10 @@ import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.httpclient.HttpClientMetricNameStrategies;
 import com.codahale.metrics.httpclient.InstrumentedHttpClientConnectionManager;
 import com.codahale.metrics.httpclient.InstrumentedHttpRequestExecutor;
+import io.dropwizard.client.cache.CacheConfiguration;
+import io.dropwizard.client.cache.CaffeineHttpCacheStorage;
+import io.dropwizard.client.pool.AdaptiveHttpClientConnectionManager;
+import io.dropwizard.client.pool.ConnectionPoolConfiguration;
 import io.dropwizard.client.proxy.AuthConfiguration;
 import io.dropwizard.client.proxy.ProxyConfiguration;
 import io.dropwizard.client.ssl.TlsConfiguration;
@@ -42,12 +46,14 @@ import org.apache.http.impl.DefaultConnectionReuseStrategy;
 import org.apache.http.impl.NoConnectionReuseStrategy;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.cache.CachingHttpClientBuilder;
 import org.apache.http.impl.conn.DefaultRoutePlanner;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.impl.conn.SystemDefaultDnsResolver;
 import org.apache.http.impl.conn.SystemDefaultRoutePlanner;
 import org.apache.http.message.BasicHeader;
 import org.apache.http.message.BasicListHeaderIterator;
+import org.apache.http.pool.PoolStats;
 import org.apache.http.protocol.BasicHttpContext;
 import org.apache.http.protocol.HTTP;
 import org.apache.http.protocol.HttpContext;
@@ -70,10 +76,13 @@ import java.net.URI;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.validateMockitoUsage;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -583,6 +592,32 @@ class HttpClientBuilderTest {
         return httpClient;
     }
 
+    @Test
+    void doesNotCacheResponsesByDefault() {
+        assertThat(builder.using(configuration).createBuilder()).isNotInstanceOf(CachingHttpClientBuilder.class);
+    }
+
+    @Test
+    void cachesResponsesIfCacheIsConfigured() throws Exception {
+        configuration.setCacheConfiguration(new CacheConfiguration());
+        final org.apache.http.impl.client.HttpClientBuilder cachingBuilder = builder.using(configuration).createBuilder();
+        assertThat(cachingBuilder).isInstanceOf(CachingHttpClientBuilder.class);
+
+        assertThat(builder.createClient(cachingBuilder, connectionManager, "test")).isNotNull();
+        assertThat(getInaccessibleField(CachingHttpClientBuilder.class, "storage").get(cachingBuilder))
+            .isInstanceOf(CaffeineHttpCacheStorage.class);
+    }
+
+    @Test
+    void createsAnAdaptiveConnectionManagerIfAConnectionPoolIsConfigured() throws Exception {
+        assertThat(builder.using(configuration).createConnectionManager(builder.createConfiguredRegistry(), "test"))
+            .isNotInstanceOf(AdaptiveHttpClientConnectionManager.class);
+
+        configuration.setConnectionPool(new ConnectionPoolConfiguration());
+        assertThat(builder.using(configuration).createConnectionManager(builder.createConfiguredRegistry(), "adaptive"))
+            .isInstanceOf(AdaptiveHttpClientConnectionManager.class);
+    }
+
     @Test
     void setValidateAfterInactivityPeriodFromConfiguration() throws Exception {
         int validateAfterInactivityPeriod = 50000;
@@ -659,6 +694,72 @@ class HttpClientBuilderTest {
         verify(httpClient).close();
     }
 
+    @Test
+    void closesIdleConnectionsBeforeACheckpoint() throws Exception {
+        final Environment environment = mock(Environment.class);
+        when(environment.getName()).thenReturn("test-env");
+        when(environment.metrics()).thenReturn(new MetricRegistry());
+
+        final LifecycleEnvironment lifecycle = new LifecycleEnvironment(new MetricRegistry());
+        lifecycle.enableCheckpoint();
+        when(environment.lifecycle()).thenReturn(lifecycle);
+
+        final InstrumentedHttpClientConnectionManager otherConnectionManager =
+            mock(InstrumentedHttpClientConnectionManager.class);
+        when(otherConnectionManager.getTotalStats()).thenReturn(new PoolStats(0, 0, 0, 10));
+        assertThat(new HttpClientBuilder(environment).createClient(apacheBuilder, connectionManager, "test"))
+            .isNotNull();
+        assertThat(new HttpClientBuilder(environment).createClient(apacheBuilder, otherConnectionManager, "other"))
+            .isNotNull();
+
+        // A single participant closes the connections of all clients
+        assertThat(lifecycle.getManagedObjects()).hasSize(1);
+        final CheckpointConnectionCloser closer = CheckpointConnectionCloser.find(lifecycle);
+        assertThat(closer).isNotNull();
+        closer.beforeCheckpoint();
+        verify(connectionManager).closeIdleConnections(0, TimeUnit.MILLISECONDS);
+        verify(otherConnectionManager).closeIdleConnections(0, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    void drainsConnectionsInUseBeforeACheckpoint() throws Exception {
+        final PoolingHttpClientConnectionManager manager = mock(PoolingHttpClientConnectionManager.class);
+        when(manager.getTotalStats())
+            .thenReturn(new PoolStats(1, 0, 0, 10), new PoolStats(1, 0, 0, 10), new PoolStats(0, 0, 1, 10));
+        final CheckpointConnectionCloser closer = new CheckpointConnectionCloser(Duration.seconds(5));
+        closer.add(manager);
+
+        closer.beforeCheckpoint();
+        verify(manager, times(3)).closeIdleConnections(0, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    void abortsACheckpointIfConnectionsAreStillInUse() {
+        final PoolingHttpClientConnectionManager manager = mock(PoolingHttpClientConnectionManager.class);
+        when(manager.getTotalStats()).thenReturn(new PoolStats(2, 0, 0, 10));
+        final CheckpointConnectionCloser closer = new CheckpointConnectionCloser(Duration.milliseconds(50));
+        closer.add(manager);
+
+        assertThatIllegalStateException()
+            .isThrownBy(closer::beforeCheckpoint)
+            .withMessageStartingWith("2 HTTP client connections are still in use");
+    }
+
+    @Test
+    void onlyPreparesForACheckpointIfItIsEnabled() throws Exception {
+        final Environment environment = mock(Environment.class);
+        when(environment.getName()).thenReturn("test-env");
+        when(environment.metrics()).thenReturn(new MetricRegistry());
+
+        final LifecycleEnvironment lifecycle = new LifecycleEnvironment(new MetricRegistry());
+        when(environment.lifecycle()).thenReturn(lifecycle);
+
+        assertThat(new HttpClientBuilder(environment).createClient(apacheBuilder, connectionManager, "test"))
+            .isNotNull();
+
+        assertThat(lifecycle.getManagedObjects()).isEmpty();
+    }
+
     @Test
     void usesACustomRedirectStrategy() throws Exception {
         RedirectStrategy neverFollowRedirectStrategy = new RedirectStrategy() {
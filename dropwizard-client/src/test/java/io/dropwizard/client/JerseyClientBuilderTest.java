@@ -4,9 +4,15 @@ import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.httpclient.HttpClientMetricNameStrategies;
 import com.codahale.metrics.httpclient.HttpClientMetricNameStrategy;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.dropwizard.client.executor.ConcurrencyLimitedExecutorService;
+import io.dropwizard.client.executor.VirtualThreadsConfiguration;
+import io.dropwizard.client.cache.CacheConfiguration;
+import io.dropwizard.client.http2.Http2ClientConfiguration;
+import io.dropwizard.client.http2.Http2ConnectorProvider;
 import io.dropwizard.jersey.gzip.ConfiguredGZipEncoder;
 import io.dropwizard.jersey.gzip.GZipDecoder;
 import io.dropwizard.jersey.validation.Validators;
+import io.dropwizard.lifecycle.ExecutorServiceManager;
 import io.dropwizard.lifecycle.setup.ExecutorServiceBuilder;
 import io.dropwizard.lifecycle.setup.LifecycleEnvironment;
 import io.dropwizard.setup.Environment;
@@ -67,6 +73,8 @@ import java.util.concurrent.Executors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
@@ -205,6 +213,31 @@ class JerseyClientBuilderTest {
             .isSameAs(clientB.getConfiguration().getConnectorProvider());
     }
 
+    @Test
+    void usesTheHttp2ConnectorProviderIfHttp2IsConfigured() {
+        final JerseyClientConfiguration configuration = new JerseyClientConfiguration();
+        configuration.setHttp2(new Http2ClientConfiguration());
+
+        final JerseyClient client = (JerseyClient) builder.using(environment)
+            .using(configuration)
+            .using(executorService, objectMapper)
+            .build("test");
+
+        assertThat(client.getConfiguration().getConnectorProvider()).isInstanceOf(Http2ConnectorProvider.class);
+        verify(lifecycleEnvironment).manage(any(Http2ConnectorProvider.class));
+    }
+
+    @Test
+    void doesNotCombineHttp2WithApacheHttpClientFeatures() {
+        final JerseyClientConfiguration configuration = new JerseyClientConfiguration();
+        configuration.setHttp2(new Http2ClientConfiguration());
+        configuration.setCacheConfiguration(new CacheConfiguration());
+
+        assertThatIllegalStateException()
+            .isThrownBy(() -> builder.using(configuration).using(executorService, objectMapper).build("test"))
+            .withMessageContaining("can't be combined");
+    }
+
     @Test
     void addBidirectionalGzipSupportIfEnabled() {
         final JerseyClientConfiguration configuration = new JerseyClientConfiguration();
@@ -259,6 +292,22 @@ class JerseyClientBuilderTest {
         assertThat(arrayBlockingQueueCaptor.getValue().remainingCapacity()).isEqualTo(16);
     }
 
+    @Test
+    void usesAConcurrencyLimitedExecutorServiceIfVirtualThreadsAreConfigured() {
+        final JerseyClientConfiguration configuration = new JerseyClientConfiguration();
+        configuration.setVirtualThreads(new VirtualThreadsConfiguration());
+
+        final Client client = builder.using(configuration).using(environment).build("test");
+
+        assertThat(client.getConfiguration().getInstances())
+            .filteredOn(DropwizardExecutorProvider.class::isInstance)
+            .singleElement()
+            .satisfies(provider -> assertThat(((DropwizardExecutorProvider) provider).getExecutorService())
+                .isInstanceOf(ConcurrencyLimitedExecutorService.class));
+        verify(lifecycleEnvironment).manage(any(ExecutorServiceManager.class));
+        verify(lifecycleEnvironment, never()).executorService(anyString());
+    }
+
     @Test
     void usesACustomHttpClientMetricNameStrategy() {
         final HttpClientMetricNameStrategy customStrategy = HttpClientMetricNameStrategies.HOST_AND_METHOD;
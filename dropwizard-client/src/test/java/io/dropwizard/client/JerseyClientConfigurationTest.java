@@ -3,6 +3,8 @@ package io.dropwizard.client;
 import io.dropwizard.configuration.ResourceConfigurationSourceProvider;
 import io.dropwizard.configuration.YamlConfigurationFactory;
 import io.dropwizard.jackson.Jackson;
+import io.dropwizard.client.cache.CacheConfiguration;
+import io.dropwizard.client.http2.Http2ClientConfiguration;
 import io.dropwizard.jersey.validation.Validators;
 import org.junit.jupiter.api.Test;
 
@@ -22,4 +24,22 @@ class JerseyClientConfigurationTest {
         assertThat(configuration.isGzipEnabledForRequests()).isFalse();
         assertThat(configuration.isChunkedEncodingEnabled()).isFalse();
     }
+
+    @Test
+    void http2CanNotBeCombinedWithApacheHttpClientFeatures() {
+        final JerseyClientConfiguration configuration = new JerseyClientConfiguration();
+        configuration.setHttp2(new Http2ClientConfiguration());
+        assertThat(Validators.newValidator().validate(configuration)).isEmpty();
+
+        configuration.setRetries(1);
+        assertThat(Validators.newValidator().validate(configuration))
+            .extracting(violation -> violation.getMessage())
+            .singleElement()
+            .asString()
+            .startsWith(".http2 can't be combined");
+
+        configuration.setRetries(0);
+        configuration.setCacheConfiguration(new CacheConfiguration());
+        assertThat(Validators.newValidator().validate(configuration)).hasSize(1);
+    }
 }
@@ -16,11 +16,14 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import javax.annotation.Nullable;
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.Invocation;
 import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.InetSocketAddress;
@@ -28,6 +31,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Random;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -37,6 +41,7 @@ import java.util.zip.GZIPOutputStream;
 
 import static java.util.stream.Collectors.toList;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+import static javax.ws.rs.core.MediaType.APPLICATION_OCTET_STREAM;
 import static javax.ws.rs.core.MediaType.TEXT_PLAIN;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -192,6 +197,90 @@ class JerseyClientIntegrationTest {
         postRequest(configuration);
     }
 
+    @Test
+    void testBufferedPostOfAnEntityLargerThanABufferChunk() throws Exception {
+        final byte[] entity = new byte[100_000];
+        new Random(42).nextBytes(entity);
+        final CompletableFuture<Headers> headers = new CompletableFuture<>();
+        final CompletableFuture<byte[]> body = new CompletableFuture<>();
+        httpServer.createContext("/upload", httpExchange -> {
+            try {
+                headers.complete(httpExchange.getRequestHeaders());
+                body.complete(readFully(httpExchange.getRequestBody()));
+                httpExchange.sendResponseHeaders(204, -1);
+            } finally {
+                httpExchange.close();
+            }
+        });
+        httpServer.start();
+
+        final JerseyClientConfiguration configuration = new JerseyClientConfiguration();
+        configuration.setChunkedEncodingEnabled(false);
+        configuration.setGzipEnabledForRequests(false);
+        final Response response = upload(configuration, Entity.entity(entity, APPLICATION_OCTET_STREAM), null);
+
+        assertThat(response.getStatus()).isEqualTo(204);
+        assertThat(headers.get(5, TimeUnit.SECONDS).get(HttpHeaders.CONTENT_LENGTH)).containsExactly("100000");
+        assertThat(headers.get(5, TimeUnit.SECONDS).get(TRANSFER_ENCODING)).isNull();
+        assertThat(body.get(5, TimeUnit.SECONDS)).isEqualTo(entity);
+    }
+
+    @Test
+    void testStreamedPostOfAnEntityWithAKnownLength() throws Exception {
+        final byte[] entity = new byte[100_000];
+        new Random(42).nextBytes(entity);
+        final CompletableFuture<Headers> headers = new CompletableFuture<>();
+        final CompletableFuture<byte[]> body = new CompletableFuture<>();
+        httpServer.createContext("/upload", httpExchange -> {
+            try {
+                headers.complete(httpExchange.getRequestHeaders());
+                body.complete(readFully(httpExchange.getRequestBody()));
+                httpExchange.sendResponseHeaders(204, -1);
+            } finally {
+                httpExchange.close();
+            }
+        });
+        httpServer.start();
+
+        final JerseyClientConfiguration configuration = new JerseyClientConfiguration();
+        configuration.setGzipEnabledForRequests(false);
+        final Response response = upload(configuration, Entity.entity(entity, APPLICATION_OCTET_STREAM),
+                String.valueOf(entity.length));
+
+        assertThat(response.getStatus()).isEqualTo(204);
+        assertThat(headers.get(5, TimeUnit.SECONDS).get(HttpHeaders.CONTENT_LENGTH)).containsExactly("100000");
+        assertThat(headers.get(5, TimeUnit.SECONDS).get(TRANSFER_ENCODING)).isNull();
+        assertThat(body.get(5, TimeUnit.SECONDS)).isEqualTo(entity);
+    }
+
+    private Response upload(JerseyClientConfiguration configuration, Entity<byte[]> entity,
+                            @Nullable String contentLength) {
+        configuration.setTimeout(Duration.seconds(10));
+        configuration.setConnectionTimeout(Duration.seconds(10));
+
+        final Client jersey = new JerseyClientBuilder(new MetricRegistry())
+                .using(Executors.newSingleThreadExecutor(), JSON_MAPPER)
+                .using(configuration)
+                .build("jersey-test");
+        final Invocation.Builder request = jersey
+                .target("http://127.0.0.1:" + httpServer.getAddress().getPort() + "/upload")
+                .request();
+        if (contentLength != null) {
+            request.header(HttpHeaders.CONTENT_LENGTH, contentLength);
+        }
+        return request.post(entity);
+    }
+
+    private static byte[] readFully(InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[4096];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
     private void postRequest(JerseyClientConfiguration configuration) {
         // Avoid flakiness with CI by increasing timeouts
         configuration.setTimeout(Duration.seconds(10));
@@ -0,0 +1,319 @@
+package io.dropwizard.client.balancing;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.MetricRegistry;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.dropwizard.client.HttpClientBuilder;
+import io.dropwizard.client.HttpClientConfiguration;
+import io.dropwizard.util.Duration;
+import org.apache.http.HttpException;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.DefaultRoutePlanner;
+import org.apache.http.impl.execchain.RequestAbortedException;
+import org.apache.http.message.BasicHttpRequest;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.BasicHttpContext;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.util.EntityUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Objects.requireNonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class LoadBalancingRoutePlannerTest {
+    private static final HttpHost SERVICE = new HttpHost("users", 80, "http");
+
+    private final MetricRegistry metrics = new MetricRegistry();
+    private final LoadBalancerConfiguration configuration = new LoadBalancerConfiguration();
+    private final List<HttpServer> servers = new ArrayList<>();
+    private long tick = 0;
+    private final Clock clock = new Clock() {
+        @Override
+        public long getTick() {
+            return tick;
+        }
+    };
+
+    LoadBalancingRoutePlannerTest() {
+        configuration.setServiceHost("users");
+    }
+
+    @AfterEach
+    void tearDown() {
+        servers.forEach(server -> server.stop(0));
+    }
+
+    @Test
+    void balancesTheRequestsToTheServiceOverItsEndpoints() throws Exception {
+        final AtomicInteger first = new AtomicInteger();
+        final AtomicInteger second = new AtomicInteger();
+        configuration.setEndpoints(Arrays.asList(startServer(first), startServer(second)));
+        final HttpClientConfiguration clientConfiguration = new HttpClientConfiguration();
+        clientConfiguration.setLoadBalancer(configuration);
+
+        try (CloseableHttpClient client = new HttpClientBuilder(metrics).using(clientConfiguration)
+            .build("balanced")) {
+            for (int i = 0; i < 20; i++) {
+                try (CloseableHttpResponse response = client.execute(new HttpGet("http://users/hello"))) {
+                    assertThat(EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8))
+                        .startsWith("127.0.0.1:");
+                }
+            }
+        }
+
+        assertThat(first.get()).isPositive();
+        assertThat(second.get()).isPositive();
+        assertThat(first.get() + second.get()).isEqualTo(20);
+        assertThat(metrics.getMeters().keySet())
+            .filteredOn(name -> name.startsWith("org.apache.http.client.HttpClient.balanced.load-balancer."))
+            .filteredOn(name -> name.endsWith(".requests"))
+            .hasSize(2);
+    }
+
+    @Test
+    void prefersTheEndpointWithFewerRequestsInFlight() throws Exception {
+        configuration.setEndpoints(Arrays.asList(URI.create("http://10.0.0.1:8080"),
+            URI.create("http://10.0.0.2:8080")));
+        final LoadBalancingRoutePlanner planner = planner();
+
+        for (int i = 0; i < 10; i++) {
+            final HttpContext busy = new BasicHttpContext();
+            final HttpHost busyHost = route(planner, busy);
+
+            final HttpContext idle = new BasicHttpContext();
+            assertThat(route(planner, idle)).isNotEqualTo(busyHost);
+
+            planner.onResponse(busy, false);
+            planner.onResponse(idle, false);
+        }
+    }
+
+    @Test
+    void ejectsEndpointsWhichKeepFailing() throws Exception {
+        configuration.setEndpoints(Arrays.asList(URI.create("http://10.0.0.1:8080"),
+            URI.create("http://10.0.0.2:8080")));
+        configuration.setConsecutiveFailures(2);
+        configuration.setEjectionTime(Duration.seconds(30));
+        final LoadBalancingRoutePlanner planner = planner();
+
+        // Fail every request to the first endpoint until it is ejected
+        int failures = 0;
+        while (failures < 2) {
+            final HttpContext context = new BasicHttpContext();
+            final boolean failed = route(planner, context).getHostName().equals("10.0.0.1");
+            planner.onResponse(context, failed);
+            failures += failed ? 1 : 0;
+        }
+        assertThat(metrics.meter("org.apache.http.client.HttpClient.test.load-balancer.10.0.0.1:8080.ejections")
+            .getCount()).isEqualTo(1);
+        for (int i = 0; i < 10; i++) {
+            final HttpContext context = new BasicHttpContext();
+            assertThat(route(planner, context).getHostName()).isEqualTo("10.0.0.2");
+            planner.onResponse(context, false);
+        }
+
+        tick += TimeUnit.SECONDS.toNanos(30);
+        final List<String> hosts = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            final HttpContext context = new BasicHttpContext();
+            hosts.add(route(planner, context).getHostName());
+            planner.onResponse(context, false);
+        }
+        assertThat(hosts).contains("10.0.0.1");
+    }
+
+    @Test
+    void doesNotCountCancelledRequestsAsFailures() throws Exception {
+        configuration.setEndpoints(Arrays.asList(URI.create("http://10.0.0.1:8080"),
+            URI.create("http://10.0.0.2:8080")));
+        configuration.setConsecutiveFailures(1);
+        final LoadBalancingRoutePlanner planner = planner();
+        final String prefix = "org.apache.http.client.HttpClient.test.load-balancer.";
+
+        try (CloseableHttpClient client = new LoadBalancingHttpClient(new AbortingHttpClient(planner), planner)) {
+            for (int i = 0; i < 10; i++) {
+                assertThatExceptionOfType(RequestAbortedException.class)
+                    .isThrownBy(() -> client.execute(SERVICE, new BasicHttpRequest("GET", "/")));
+            }
+        }
+
+        for (String endpoint : Arrays.asList("10.0.0.1:8080", "10.0.0.2:8080")) {
+            assertThat(metrics.meter(prefix + endpoint + ".failures").getCount()).isZero();
+            assertThat(metrics.meter(prefix + endpoint + ".ejections").getCount()).isZero();
+            assertThat(requireNonNull(metrics.getGauges().get(prefix + endpoint + ".in-flight")).getValue())
+                .isEqualTo(0);
+        }
+    }
+
+    @Test
+    void assumesUnmeasuredEndpointsHaveTheMeanLatency() throws Exception {
+        configuration.setEndpoints(Arrays.asList(URI.create("http://10.0.0.1:8080"),
+            URI.create("http://10.0.0.2:8080")));
+        configuration.setLoad(LoadBalancerConfiguration.Load.LATENCY);
+        final LoadBalancingRoutePlanner planner = planner();
+
+        // Measure the latency of the first endpoint only
+        final HttpContext measured = routeTo(planner, "10.0.0.1");
+        tick += TimeUnit.MILLISECONDS.toNanos(10);
+        planner.onResponse(measured, false);
+        // Keep a request to the unmeasured endpoint in flight
+        routeTo(planner, "10.0.0.2");
+
+        for (int i = 0; i < 10; i++) {
+            final HttpContext context = new BasicHttpContext();
+            assertThat(route(planner, context).getHostName()).isEqualTo("10.0.0.1");
+            planner.onCancelled(context);
+        }
+    }
+
+    @Test
+    void ejectsNoMoreThanTheMaxEjectionPercent() throws Exception {
+        configuration.setEndpoints(Collections.singletonList(URI.create("http://10.0.0.1:8080")));
+        configuration.setConsecutiveFailures(1);
+        final LoadBalancingRoutePlanner planner = planner();
+
+        final HttpContext context = new BasicHttpContext();
+        route(planner, context);
+        planner.onResponse(context, true);
+
+        assertThat(metrics.meter("org.apache.http.client.HttpClient.test.load-balancer.10.0.0.1:8080.ejections")
+            .getCount()).isZero();
+    }
+
+    @Test
+    void reloadsTheEndpointsFileWhenItChanges(@TempDir Path directory) throws Exception {
+        final Path file = directory.resolve("endpoints");
+        Files.write(file, Arrays.asList("# users", "http://10.0.0.1:8080", ""), StandardCharsets.UTF_8);
+        configuration.setEndpointsFile(file.toString());
+        configuration.setRefreshInterval(Duration.seconds(10));
+        final LoadBalancingRoutePlanner planner = planner();
+        assertThat(planner.getEndpoints()).containsExactly("10.0.0.1:8080");
+
+        Files.write(file, Arrays.asList("http://10.0.0.2:8080", "http://10.0.0.3:8080"), StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 60_000));
+        route(planner, new BasicHttpContext());
+        assertThat(planner.getEndpoints()).containsExactly("10.0.0.1:8080");
+
+        tick += TimeUnit.SECONDS.toNanos(10);
+        route(planner, new BasicHttpContext());
+        assertThat(planner.getEndpoints()).containsExactly("10.0.0.2:8080", "10.0.0.3:8080");
+        assertThat(metrics.getGauges().keySet())
+            .noneMatch(name -> name.contains("10.0.0.1:8080"));
+    }
+
+    @Test
+    void routesRequestsToOtherHostsAsUsual() throws Exception {
+        configuration.setEndpoints(Collections.singletonList(URI.create("http://10.0.0.1:8080")));
+        final LoadBalancingRoutePlanner planner = planner();
+        final BasicHttpRequest request = new BasicHttpRequest("GET", "/");
+
+        assertThat(planner.determineRoute(new HttpHost("example.com", 443, "https"), request,
+            new BasicHttpContext()).getTargetHost()).isEqualTo(new HttpHost("example.com", 443, "https"));
+        assertThat(request.containsHeader("Host")).isFalse();
+    }
+
+    private LoadBalancingRoutePlanner planner() {
+        return new LoadBalancingRoutePlanner(new DefaultRoutePlanner(null), configuration, metrics, "test", clock);
+    }
+
+    private static HttpHost route(LoadBalancingRoutePlanner planner, HttpContext context) throws Exception {
+        return planner.determineRoute(SERVICE, new BasicHttpRequest("GET", "/"), context).getTargetHost();
+    }
+
+    /**
+     * Routes requests until one is routed to the given host, and cancels the others.
+     */
+    private static HttpContext routeTo(LoadBalancingRoutePlanner planner, String host) throws Exception {
+        while (true) {
+            final HttpContext context = new BasicHttpContext();
+            if (route(planner, context).getHostName().equals(host)) {
+                return context;
+            }
+            planner.onCancelled(context);
+        }
+    }
+
+    private URI startServer(AtomicInteger requests) throws IOException {
+        final HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/hello", exchange -> {
+            requests.incrementAndGet();
+            respond(exchange, exchange.getRequestHeaders().getFirst("Host"));
+        });
+        server.start();
+        servers.add(server);
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * A client which routes the requests with the planner, as the execution chain does, and then aborts them, as a
+     * hedged request which lost its race is aborted.
+     */
+    private static class AbortingHttpClient extends CloseableHttpClient {
+        private final LoadBalancingRoutePlanner planner;
+
+        private AbortingHttpClient(LoadBalancingRoutePlanner planner) {
+            this.planner = planner;
+        }
+
+        @Override
+        protected CloseableHttpResponse doExecute(@Nullable HttpHost target, HttpRequest request,
+                                                  @Nullable HttpContext context) throws IOException {
+            try {
+                planner.determineRoute(SERVICE, request, requireNonNull(context));
+            } catch (HttpException e) {
+                throw new IOException(e);
+            }
+            throw new RequestAbortedException("Request aborted");
+        }
+
+        @Override
+        @Deprecated
+        public HttpParams getParams() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        @Deprecated
+        public ClientConnectionManager getConnectionManager() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package io.dropwizard.client.cache;
+
+import com.codahale.metrics.MetricRegistry;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.dropwizard.client.HttpClientBuilder;
+import io.dropwizard.client.HttpClientConfiguration;
+import io.dropwizard.client.JerseyClientBuilder;
+import io.dropwizard.client.JerseyClientConfiguration;
+import io.dropwizard.jackson.Jackson;
+import org.apache.http.HttpHeaders;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.ws.rs.client.Client;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingHttpClientTest {
+    private static final String LAST_MODIFIED = "Tue, 15 Nov 1994 12:45:26 GMT";
+
+    private final MetricRegistry metrics = new MetricRegistry();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger notModified = new AtomicInteger();
+    private final HttpClientConfiguration configuration = new HttpClientConfiguration();
+    private HttpServer httpServer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        configuration.setCacheConfiguration(new CacheConfiguration());
+
+        httpServer = HttpServer.create(new InetSocketAddress(0), 0);
+        httpServer.createContext("/fresh", exchange -> respond(exchange, "max-age=60", "fresh"));
+        httpServer.createContext("/etag", exchange -> {
+            exchange.getResponseHeaders().add(HttpHeaders.ETAG, "\"v1\"");
+            if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst(HttpHeaders.IF_NONE_MATCH))) {
+                notModified(exchange, "max-age=0");
+            } else {
+                respond(exchange, "max-age=0", "etag");
+            }
+        });
+        httpServer.createContext("/modified", exchange -> {
+            exchange.getResponseHeaders().add(HttpHeaders.LAST_MODIFIED, LAST_MODIFIED);
+            if (LAST_MODIFIED.equals(exchange.getRequestHeaders().getFirst(HttpHeaders.IF_MODIFIED_SINCE))) {
+                notModified(exchange, "max-age=0");
+            } else {
+                respond(exchange, "max-age=0", "modified");
+            }
+        });
+        httpServer.createContext("/uncacheable", exchange -> respond(exchange, "no-store", "uncacheable"));
+        httpServer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        httpServer.stop(0);
+    }
+
+    @Test
+    void servesFreshResponsesFromTheCache() throws Exception {
+        try (CloseableHttpClient client = new HttpClientBuilder(metrics).using(configuration).build("cached")) {
+            assertThat(get(client, "/fresh")).isEqualTo("fresh");
+            assertThat(get(client, "/fresh")).isEqualTo("fresh");
+        }
+
+        assertThat(requests).hasValue(1);
+        assertThat(metrics.meter("org.apache.http.client.HttpClient.cached.cache-misses").getCount()).isEqualTo(1);
+        assertThat(metrics.meter("org.apache.http.client.HttpClient.cached.cache-hits").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void revalidatesStaleResponsesWithETag() throws Exception {
+        try (CloseableHttpClient client = new HttpClientBuilder(metrics).using(configuration).build("cached")) {
+            assertThat(get(client, "/etag")).isEqualTo("etag");
+            assertThat(get(client, "/etag")).isEqualTo("etag");
+        }
+
+        assertThat(requests).hasValue(1);
+        assertThat(notModified).hasValue(1);
+        assertThat(metrics.meter("org.apache.http.client.HttpClient.cached.cache-revalidations").getCount())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void revalidatesStaleResponsesWithIfModifiedSince() throws Exception {
+        try (CloseableHttpClient client = new HttpClientBuilder(metrics).using(configuration).build("cached")) {
+            assertThat(get(client, "/modified")).isEqualTo("modified");
+            assertThat(get(client, "/modified")).isEqualTo("modified");
+        }
+
+        assertThat(requests).hasValue(1);
+        assertThat(notModified).hasValue(1);
+        assertThat(metrics.meter("org.apache.http.client.HttpClient.cached.cache-revalidations").getCount())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void doesNotCacheUncacheableResponses() throws Exception {
+        try (CloseableHttpClient client = new HttpClientBuilder(metrics).using(configuration).build("cached")) {
+            assertThat(get(client, "/uncacheable")).isEqualTo("uncacheable");
+            assertThat(get(client, "/uncacheable")).isEqualTo("uncacheable");
+        }
+
+        assertThat(requests).hasValue(2);
+        assertThat(metrics.meter("org.apache.http.client.HttpClient.cached.cache-misses").getCount()).isEqualTo(2);
+    }
+
+    @Test
+    void storesResponseBodiesInMappedFiles(@TempDir Path directory) throws Exception {
+        final CacheConfiguration cache = new CacheConfiguration();
+        cache.setDirectory(directory.toString());
+        configuration.setCacheConfiguration(cache);
+
+        try (CloseableHttpClient client = new HttpClientBuilder(metrics).using(configuration).build("cached")) {
+            assertThat(get(client, "/fresh")).isEqualTo("fresh");
+            assertThat(get(client, "/fresh")).isEqualTo("fresh");
+        }
+
+        assertThat(requests).hasValue(1);
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files).hasSize(1);
+        }
+    }
+
+    @Test
+    void cachesResponsesOfJerseyClients() {
+        final JerseyClientConfiguration jerseyConfiguration = new JerseyClientConfiguration();
+        jerseyConfiguration.setCacheConfiguration(new CacheConfiguration());
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final Client client = new JerseyClientBuilder(metrics)
+            .using(jerseyConfiguration)
+            .using(executor, Jackson.newObjectMapper())
+            .build("jersey");
+        try {
+            final String uri = "http://localhost:" + httpServer.getAddress().getPort() + "/fresh";
+            assertThat(client.target(uri).request().get(String.class)).isEqualTo("fresh");
+            assertThat(client.target(uri).request().get(String.class)).isEqualTo("fresh");
+        } finally {
+            client.close();
+            executor.shutdown();
+        }
+
+        assertThat(requests).hasValue(1);
+        assertThat(metrics.meter("org.apache.http.client.HttpClient.jersey.cache-hits").getCount()).isEqualTo(1);
+    }
+
+    private String get(CloseableHttpClient client, String path) throws IOException {
+        final HttpGet get = new HttpGet("http://localhost:" + httpServer.getAddress().getPort() + path);
+        try (CloseableHttpResponse response = client.execute(get)) {
+            return EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private void respond(HttpExchange exchange, String cacheControl, String body) throws IOException {
+        requests.incrementAndGet();
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add(HttpHeaders.CACHE_CONTROL, cacheControl);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private void notModified(HttpExchange exchange, String cacheControl) throws IOException {
+        notModified.incrementAndGet();
+        exchange.getResponseHeaders().add(HttpHeaders.CACHE_CONTROL, cacheControl);
+        exchange.sendResponseHeaders(304, -1);
+        exchange.close();
+    }
+}
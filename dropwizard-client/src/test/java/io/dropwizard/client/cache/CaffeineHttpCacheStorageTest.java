@@ -0,0 +1,96 @@
+package io.dropwizard.client.cache;
+
+import org.apache.http.Header;
+import org.apache.http.HttpStatus;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.cache.HttpCacheEntry;
+import org.apache.http.client.cache.Resource;
+import org.apache.http.impl.client.cache.HeapResource;
+import org.apache.http.message.BasicStatusLine;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CaffeineHttpCacheStorageTest {
+    private final CaffeineHttpCacheStorage storage = new CaffeineHttpCacheStorage(1024);
+
+    @Test
+    void storesAndRemovesEntries() throws Exception {
+        final TrackingResource resource = new TrackingResource(10);
+        final HttpCacheEntry entry = entry(resource);
+
+        storage.putEntry("key", entry);
+        assertThat(storage.getEntry("key")).isSameAs(entry);
+
+        storage.removeEntry("key");
+        assertThat(storage.getEntry("key")).isNull();
+        assertThat(resource.disposed).isTrue();
+    }
+
+    @Test
+    void disposesTheResourcesOfReplacedEntries() throws Exception {
+        final TrackingResource first = new TrackingResource(10);
+        final TrackingResource second = new TrackingResource(10);
+
+        storage.putEntry("key", entry(first));
+        storage.updateEntry("key", existing -> entry(second));
+
+        assertThat(first.disposed).isTrue();
+        assertThat(second.disposed).isFalse();
+    }
+
+    @Test
+    void keepsSharedResourcesOfUpdatedEntries() throws Exception {
+        final TrackingResource resource = new TrackingResource(10);
+
+        storage.putEntry("key", entry(resource));
+        storage.updateEntry("key", existing -> entry(existing.getResource()));
+
+        assertThat(resource.disposed).isFalse();
+    }
+
+    @Test
+    void evictsEntriesAboveTheMaximumSize() throws Exception {
+        final TrackingResource large = new TrackingResource(2048);
+
+        storage.putEntry("large", entry(large));
+        storage.putEntry("small", entry(new TrackingResource(10)));
+
+        assertThat(storage.getEntry("large")).isNull();
+        assertThat(large.disposed).isTrue();
+        assertThat(storage.size()).isEqualTo(1);
+    }
+
+    @Test
+    void disposesAllResourcesWhenClosed() throws Exception {
+        final TrackingResource resource = new TrackingResource(10);
+        storage.putEntry("key", entry(resource));
+
+        storage.close();
+
+        assertThat(storage.size()).isZero();
+        assertThat(resource.disposed).isTrue();
+    }
+
+    private static HttpCacheEntry entry(Resource resource) {
+        return new HttpCacheEntry(new Date(), new Date(), new BasicStatusLine(HttpVersion.HTTP_1_1, HttpStatus.SC_OK, "OK"),
+            new Header[0], resource);
+    }
+
+    private static class TrackingResource extends HeapResource {
+        private static final long serialVersionUID = 1L;
+
+        private boolean disposed;
+
+        TrackingResource(int length) {
+            super(new byte[length]);
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package io.dropwizard.client.cache;
+
+import org.apache.http.client.cache.InputLimit;
+import org.apache.http.client.cache.Resource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+
+class MappedFileResourceFactoryTest {
+    private static final byte[] CONTENT = "cached response body".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void storesContentInAFile(@TempDir Path directory) throws Exception {
+        final Resource resource = new MappedFileResourceFactory(directory)
+            .generate("request", new ByteArrayInputStream(CONTENT), null);
+
+        assertThat(resource.length()).isEqualTo(CONTENT.length);
+        assertThat(read(resource)).isEqualTo(CONTENT);
+        assertThat(read(resource)).isEqualTo(CONTENT);
+        assertThat(files(directory)).isEqualTo(1);
+    }
+
+    @Test
+    void deletesTheFileWhenDisposed(@TempDir Path directory) throws Exception {
+        final Resource resource = new MappedFileResourceFactory(directory)
+            .generate("request", new ByteArrayInputStream(CONTENT), null);
+
+        resource.dispose();
+
+        assertThat(files(directory)).isZero();
+        assertThatIOException().isThrownBy(resource::getInputStream);
+    }
+
+    @Test
+    void keepsTheMappingUntilTheLastStreamIsClosed(@TempDir Path directory) throws Exception {
+        final Resource resource = new MappedFileResourceFactory(directory)
+            .generate("request", new ByteArrayInputStream(CONTENT), null);
+
+        try (InputStream in = resource.getInputStream()) {
+            resource.dispose();
+            assertThat(files(directory)).isEqualTo(1);
+
+            final byte[] content = new byte[CONTENT.length];
+            assertThat(in.read(content)).isEqualTo(CONTENT.length);
+            assertThat(content).isEqualTo(CONTENT);
+        }
+
+        assertThat(files(directory)).isZero();
+    }
+
+    @Test
+    void stopsReadingOnceTheLimitIsReached(@TempDir Path directory) throws Exception {
+        final InputLimit limit = new InputLimit(4);
+        new MappedFileResourceFactory(directory).generate("request", new ByteArrayInputStream(CONTENT), limit);
+
+        assertThat(limit.isReached()).isTrue();
+    }
+
+    @Test
+    void copiesResourcesIntoNewFiles(@TempDir Path directory) throws Exception {
+        final MappedFileResourceFactory factory = new MappedFileResourceFactory(directory);
+        final Resource resource = factory.generate("request", new ByteArrayInputStream(CONTENT), null);
+
+        final Resource copy = factory.copy("request", resource);
+        resource.dispose();
+
+        assertThat(read(copy)).isEqualTo(CONTENT);
+        assertThat(files(directory)).isEqualTo(1);
+    }
+
+    private static long files(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static byte[] read(Resource resource) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = resource.getInputStream()) {
+            final byte[] buffer = new byte[8];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+        return out.toByteArray();
+    }
+}
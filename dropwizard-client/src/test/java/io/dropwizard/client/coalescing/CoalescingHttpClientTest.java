@@ -0,0 +1,250 @@
+package io.dropwizard.client.coalescing;
+
+import com.codahale.metrics.MetricRegistry;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.dropwizard.client.HttpClientBuilder;
+import io.dropwizard.client.HttpClientConfiguration;
+import io.dropwizard.util.DataSize;
+import io.dropwizard.util.Duration;
+import org.apache.http.HttpHeaders;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.impl.client.BasicCookieStore;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.util.EntityUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CoalescingHttpClientTest {
+    private static final String LARGE_BODY = new String(new char[1024]).replace('\0', 'x');
+
+    private final MetricRegistry metrics = new MetricRegistry();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService serverExecutor = Executors.newCachedThreadPool();
+    private final HttpClientConfiguration configuration = new HttpClientConfiguration();
+    private final CoalescingConfiguration coalescing = new CoalescingConfiguration();
+    private final List<Thread> callers = new ArrayList<>();
+    private HttpServer httpServer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        configuration.setCoalescing(coalescing);
+        configuration.setTimeout(Duration.seconds(5));
+
+        httpServer = HttpServer.create(new InetSocketAddress(0), 0);
+        httpServer.setExecutor(serverExecutor);
+        httpServer.createContext("/small", exchange -> {
+            final int request = requests.incrementAndGet();
+            awaitRelease();
+            respond(exchange, "response " + request);
+        });
+        httpServer.createContext("/large", exchange -> {
+            requests.incrementAndGet();
+            awaitRelease();
+            respond(exchange, LARGE_BODY);
+        });
+        httpServer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        httpServer.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void sharesOneRequestBetweenIdenticalConcurrentRequests() throws Exception {
+        try (CloseableHttpClient client = new HttpClientBuilder(metrics).using(configuration).build("coalescing")) {
+            final List<CompletableFuture<String>> responses = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                responses.add(execute(client, new HttpGet(uri("/small"))));
+            }
+            awaitCondition(() -> requests.get() == 1 && waitingCallers() == 3);
+            release.countDown();
+
+            for (CompletableFuture<String> response : responses) {
+                assertThat(response.get(5, TimeUnit.SECONDS)).isEqualTo("response 1");
+            }
+        }
+
+        assertThat(requests).hasValue(1);
+        assertThat(metrics.meter("org.apache.http.client.HttpClient.coalescing.coalesced").getCount())
+            .isEqualTo(3);
+    }
+
+    @Test
+    void doesNotCoalesceRequestsWithDifferentVaryHeaders() throws Exception {
+        try (CloseableHttpClient client = new HttpClientBuilder(metrics).using(configuration).build("coalescing")) {
+            final HttpGet alice = new HttpGet(uri("/small"));
+            alice.setHeader(HttpHeaders.AUTHORIZATION, "Bearer alice");
+            final HttpGet bob = new HttpGet(uri("/small"));
+            bob.setHeader(HttpHeaders.AUTHORIZATION, "Bearer bob");
+
+            final List<CompletableFuture<String>> responses = Arrays.asList(execute(client, alice),
+                execute(client, bob));
+            awaitCondition(() -> requests.get() == 2);
+            release.countDown();
+
+            assertThat(responses.get(0).get(5, TimeUnit.SECONDS)).startsWith("response ");
+            assertThat(responses.get(1).get(5, TimeUnit.SECONDS)).startsWith("response ");
+        }
+
+        assertThat(metrics.meter("org.apache.http.client.HttpClient.coalescing.coalesced").getCount()).isZero();
+    }
+
+    @Test
+    void doesNotCoalesceRequestsWithDifferentCookieStores() throws Exception {
+        try (CloseableHttpClient client = new HttpClientBuilder(metrics).using(configuration).build("coalescing")) {
+            final HttpClientContext alice = HttpClientContext.create();
+            alice.setCookieStore(new BasicCookieStore());
+            final HttpClientContext bob = HttpClientContext.create();
+            bob.setCookieStore(new BasicCookieStore());
+
+            final List<CompletableFuture<String>> responses = Arrays.asList(
+                execute(client, new HttpGet(uri("/small")), alice), execute(client, new HttpGet(uri("/small")), bob),
+                execute(client, new HttpGet(uri("/small")), alice));
+            awaitCondition(() -> requests.get() == 2 && waitingCallers() == 1);
+            release.countDown();
+
+            for (CompletableFuture<String> response : responses) {
+                assertThat(response.get(5, TimeUnit.SECONDS)).startsWith("response ");
+            }
+        }
+
+        assertThat(requests).hasValue(2);
+        assertThat(metrics.meter("org.apache.http.client.HttpClient.coalescing.coalesced").getCount())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void doesNotCoalesceNoCacheRequests() throws Exception {
+        try (CloseableHttpClient client = new HttpClientBuilder(metrics).using(configuration).build("coalescing")) {
+            final HttpGet noCache = new HttpGet(uri("/small"));
+            noCache.setHeader(HttpHeaders.CACHE_CONTROL, "max-age=0, no-cache");
+
+            final List<CompletableFuture<String>> responses = Arrays.asList(
+                execute(client, new HttpGet(uri("/small"))), execute(client, noCache));
+            awaitCondition(() -> requests.get() == 2);
+            release.countDown();
+
+            assertThat(responses.get(0).get(5, TimeUnit.SECONDS)).startsWith("response ");
+            assertThat(responses.get(1).get(5, TimeUnit.SECONDS)).startsWith("response ");
+        }
+
+        assertThat(metrics.meter("org.apache.http.client.HttpClient.coalescing.coalesced").getCount()).isZero();
+    }
+
+    @Test
+    void doesNotCoalesceNonIdempotentRequests() throws Exception {
+        try (CloseableHttpClient client = new HttpClientBuilder(metrics).using(configuration).build("coalescing")) {
+            final List<CompletableFuture<String>> responses = Arrays.asList(
+                execute(client, new HttpPost(uri("/small"))), execute(client, new HttpPost(uri("/small"))));
+            awaitCondition(() -> requests.get() == 2);
+            release.countDown();
+
+            assertThat(responses.get(0).get(5, TimeUnit.SECONDS)).startsWith("response ");
+            assertThat(responses.get(1).get(5, TimeUnit.SECONDS)).startsWith("response ");
+        }
+
+        assertThat(metrics.meter("org.apache.http.client.HttpClient.coalescing.coalesced").getCount()).isZero();
+    }
+
+    @Test
+    void sendsTheWaitingRequestsOnTheirOwnIfTheResponseIsTooLarge() throws Exception {
+        coalescing.setMaxResponseSize(DataSize.bytes(16));
+        try (CloseableHttpClient client = new HttpClientBuilder(metrics).using(configuration).build("coalescing")) {
+            final List<CompletableFuture<String>> responses = Arrays.asList(
+                execute(client, new HttpGet(uri("/large"))), execute(client, new HttpGet(uri("/large"))));
+            awaitCondition(() -> requests.get() == 1 && waitingCallers() == 1);
+            release.countDown();
+
+            assertThat(responses.get(0).get(5, TimeUnit.SECONDS)).isEqualTo(LARGE_BODY);
+            assertThat(responses.get(1).get(5, TimeUnit.SECONDS)).isEqualTo(LARGE_BODY);
+        }
+
+        assertThat(requests).hasValue(2);
+        assertThat(metrics.meter("org.apache.http.client.HttpClient.coalescing.coalesced").getCount()).isZero();
+        assertThat(metrics.meter("org.apache.http.client.HttpClient.coalescing.coalescing-oversized").getCount())
+            .isEqualTo(1);
+    }
+
+    private CompletableFuture<String> execute(CloseableHttpClient client, HttpUriRequest request) {
+        return execute(client, request, null);
+    }
+
+    private CompletableFuture<String> execute(CloseableHttpClient client, HttpUriRequest request,
+                                              @Nullable HttpContext context) {
+        final CompletableFuture<String> response = new CompletableFuture<>();
+        final Thread caller = new Thread(() -> {
+            try (CloseableHttpResponse httpResponse = client.execute(request, context)) {
+                response.complete(EntityUtils.toString(httpResponse.getEntity(), StandardCharsets.UTF_8));
+            } catch (IOException | RuntimeException e) {
+                response.completeExceptionally(e);
+            }
+        });
+        callers.add(caller);
+        caller.start();
+        return response;
+    }
+
+    /**
+     * Counts the callers which are parked waiting for the response of another request.
+     */
+    private long waitingCallers() {
+        return callers.stream().filter(caller -> caller.getState() == Thread.State.WAITING).count();
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private String uri(String path) {
+        return "http://localhost:" + httpServer.getAddress().getPort() + path;
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package io.dropwizard.client.executor;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class ConcurrencyLimitedExecutorServiceTest {
+    private final MetricRegistry metrics = new MetricRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger completed = new AtomicInteger();
+    private final ConcurrencyLimitedExecutorService executor =
+        ConcurrencyLimitedExecutorService.onVirtualThreads("jersey-client-test", 2, metrics);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void runsAtMostTheMaxConcurrentCallsAtOnce() throws Exception {
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(executor.submit(this::awaitRelease));
+        }
+        awaitCondition(() -> executor.getActiveCalls() == 2);
+        assertThat(executor.getQueuedCalls()).isEqualTo(3);
+        assertThat(metrics.getGauges())
+            .hasEntrySatisfying("jersey-client-test.active-calls", gauge -> assertThat(gauge.getValue()).isEqualTo(2))
+            .hasEntrySatisfying("jersey-client-test.queued-calls", gauge -> assertThat(gauge.getValue()).isEqualTo(3));
+
+        release.countDown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+
+        assertThat(completed).hasValue(5);
+        awaitCondition(() -> executor.getActiveCalls() == 0);
+        assertThat(metrics.timer("jersey-client-test.queue-wait").getCount()).isEqualTo(5);
+    }
+
+    @Test
+    void runsTheQueuedTasksBeforeItTerminates() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            executor.execute(this::awaitRelease);
+        }
+        executor.shutdown();
+
+        assertThat(executor.isShutdown()).isTrue();
+        assertThat(executor.isTerminated()).isFalse();
+        assertThatExceptionOfType(RejectedExecutionException.class)
+            .isThrownBy(() -> executor.execute(this::awaitRelease));
+        assertThat(executor.awaitTermination(10, TimeUnit.MILLISECONDS)).isFalse();
+
+        release.countDown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(executor.isTerminated()).isTrue();
+        assertThat(completed).hasValue(4);
+    }
+
+    @Test
+    void returnsTheQueuedTasksIfItIsShutDownNow() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            executor.execute(this::awaitRelease);
+        }
+        awaitCondition(() -> executor.getActiveCalls() == 2);
+
+        assertThat(executor.shutdownNow()).hasSize(1);
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void namesItsThreadsAfterTheExecutor() throws Exception {
+        assertThat(executor.submit(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS))
+            .startsWith("jersey-client-test-");
+    }
+
+    private void awaitRelease() {
+        try {
+            if (release.await(5, TimeUnit.SECONDS)) {
+                completed.incrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
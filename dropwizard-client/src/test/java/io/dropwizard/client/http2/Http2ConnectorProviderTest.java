@@ -0,0 +1,216 @@
+package io.dropwizard.client.http2;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.client.JerseyClientConfiguration;
+import io.dropwizard.client.proxy.ProxyConfiguration;
+import io.dropwizard.client.ssl.TlsConfiguration;
+import io.dropwizard.http2.Http2CConnectorFactory;
+import io.dropwizard.http2.Http2ConnectorFactory;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.annotation.Nullable;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static io.dropwizard.testing.ResourceHelpers.resourceFilePath;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class Http2ConnectorProviderTest {
+    private final MetricRegistry metrics = new MetricRegistry();
+    private final JerseyClientConfiguration configuration = new JerseyClientConfiguration();
+    private final Server server = new Server();
+
+    @Nullable
+    private Http2ConnectorProvider provider;
+
+    @Nullable
+    private Client client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        final Http2CConnectorFactory h2c = new Http2CConnectorFactory();
+        h2c.setBindHost("localhost");
+        h2c.setPort(0);
+        server.addConnector(h2c.build(server, metrics, "h2c", null));
+
+        final Http2ConnectorFactory h2 = new Http2ConnectorFactory();
+        h2.setBindHost("localhost");
+        h2.setPort(0);
+        h2.setKeyStorePath(resourceFilePath("stores/server/keycert.p12"));
+        h2.setKeyStorePassword("password");
+        h2.setKeyStoreType("PKCS12");
+        server.addConnector(h2.build(server, metrics, "h2", null));
+
+        server.setHandler(new AbstractHandler() {
+            @Override
+            public void handle(String target, Request baseRequest, HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+                final String entity = new String(readFully(request), StandardCharsets.UTF_8);
+                response.setContentType(MediaType.TEXT_PLAIN);
+                response.getWriter().print(request.getProtocol() + " " + request.getMethod() + " " + entity);
+                baseRequest.setHandled(true);
+            }
+        });
+        server.start();
+        configuration.setHttp2(new Http2ClientConfiguration());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (client != null) {
+            client.close();
+        }
+        if (provider != null) {
+            provider.stop();
+        }
+        server.stop();
+    }
+
+    @Test
+    void sendsRequestsOverCleartextHttp2() {
+        final Response response = client().target(uri("http", 0)).request().get();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.readEntity(String.class)).isEqualTo("HTTP/2.0 GET ");
+        assertThat(metrics.getTimers())
+            .hasEntrySatisfying("org.apache.http.client.HttpClient.test.get-requests",
+                timer -> assertThat(timer.getCount()).isEqualTo(1));
+    }
+
+    @Test
+    void streamsRequestEntities() {
+        final Response response = client().target(uri("http", 0)).request()
+            .post(Entity.text("streamed"));
+
+        assertThat(response.readEntity(String.class)).isEqualTo("HTTP/2.0 POST streamed");
+    }
+
+    @Test
+    void buffersRequestEntitiesIfChunkedEncodingIsDisabled() {
+        configuration.setChunkedEncodingEnabled(false);
+
+        final Response response = client().target(uri("http", 0)).request()
+            .post(Entity.text("buffered"));
+
+        assertThat(response.readEntity(String.class)).isEqualTo("HTTP/2.0 POST buffered");
+    }
+
+    @Test
+    void negotiatesHttp2OverTls() {
+        final TlsConfiguration tls = new TlsConfiguration();
+        tls.setTrustStorePath(new File(resourceFilePath("stores/server/ca_truststore.ts")));
+        tls.setTrustStorePassword("password");
+        configuration.setTlsConfiguration(tls);
+
+        final Response response = client().target(uri("https", 1)).request().get();
+
+        assertThat(response.readEntity(String.class)).isEqualTo("HTTP/2.0 GET ");
+    }
+
+    @Test
+    void bypassesTheProxyForNonProxyHosts() {
+        final ProxyConfiguration proxy = new ProxyConfiguration("192.0.2.1", 3128);
+        proxy.setNonProxyHosts(Collections.singletonList("local*"));
+        configuration.setProxyConfiguration(proxy);
+
+        final Response response = client().target(uri("http", 0)).request().get();
+
+        assertThat(response.readEntity(String.class)).isEqualTo("HTTP/2.0 GET ");
+    }
+
+    @Test
+    void matchesNonProxyHostsLiterally() {
+        final List<Pattern> patterns = Http2ConnectorProvider.nonProxyHostPatterns(
+            Arrays.asList("*.example.com", "10.0.0.1"));
+
+        assertThat(patterns.get(0).matcher("api.example.com").matches()).isTrue();
+        assertThat(patterns.get(0).matcher("API.Example.com").matches()).isTrue();
+        assertThat(patterns.get(0).matcher("api-example.com").matches()).isFalse();
+        assertThat(patterns.get(1).matcher("10.0.0.1").matches()).isTrue();
+        assertThat(patterns.get(1).matcher("10.0.011").matches()).isFalse();
+    }
+
+    @Test
+    void treatsTimeoutsOfZeroAsInfinite() {
+        final Response response = client().target(uri("http", 0))
+            .property(ClientProperties.CONNECT_TIMEOUT, 0)
+            .property(ClientProperties.READ_TIMEOUT, 0)
+            .request().get();
+
+        assertThat(response.readEntity(String.class)).isEqualTo("HTTP/2.0 GET ");
+    }
+
+    @Test
+    void honoursTheConnectTimeoutOfTheRequest() {
+        final Response response = client().target(uri("http", 0))
+            .property(ClientProperties.CONNECT_TIMEOUT, 1000)
+            .request().get();
+
+        assertThat(response.readEntity(String.class)).isEqualTo("HTTP/2.0 GET ");
+    }
+
+    @Test
+    void stopsTheJettyClientOnceTheLastClientIsClosed() {
+        final Http2ConnectorProvider provider = new Http2ConnectorProvider(configuration, metrics, "test", "agent");
+        this.provider = provider;
+        final Client first = ClientBuilder.newClient(new ClientConfig().connectorProvider(provider));
+        final Client second = ClientBuilder.newClient(new ClientConfig().connectorProvider(provider));
+
+        assertThat(first.target(uri("http", 0)).request().get().readEntity(String.class)).isEqualTo("HTTP/2.0 GET ");
+        assertThat(second.target(uri("http", 0)).request().get().readEntity(String.class)).isEqualTo("HTTP/2.0 GET ");
+
+        first.close();
+        assertThat(provider.getHttpClient().isStarted()).isTrue();
+
+        second.close();
+        assertThat(provider.getHttpClient().isStopped()).isTrue();
+
+        // A new client starts it again
+        final Client third = ClientBuilder.newClient(new ClientConfig().connectorProvider(provider));
+        this.client = third;
+        assertThat(third.target(uri("http", 0)).request().get().readEntity(String.class)).isEqualTo("HTTP/2.0 GET ");
+    }
+
+    private Client client() {
+        final Http2ConnectorProvider provider = new Http2ConnectorProvider(configuration, metrics, "test", "agent");
+        final Client client = ClientBuilder.newClient(new ClientConfig().connectorProvider(provider));
+        this.provider = provider;
+        this.client = client;
+        return client;
+    }
+
+    private String uri(String scheme, int connector) {
+        return scheme + "://localhost:" + ((ServerConnector) server.getConnectors()[connector]).getLocalPort() + "/";
+    }
+
+    private static byte[] readFully(HttpServletRequest request) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[1024];
+        int read;
+        while ((read = request.getInputStream().read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,102 @@
+package io.dropwizard.client.pool;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.util.Duration;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpHost;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class AdaptiveHttpClientConnectionManagerTest {
+    private static final String PREFIX = "org.apache.http.conn.HttpClientConnectionManager.test.example.com:80";
+
+    private final MetricRegistry metrics = new MetricRegistry();
+    private final ConnectionPoolConfiguration pool = new ConnectionPoolConfiguration();
+    private final HttpRoute route = new HttpRoute(new HttpHost("example.com", 80, "http"));
+
+    @Test
+    void recordsTheLeaseWaitPerRoute() throws Exception {
+        final AdaptiveHttpClientConnectionManager manager = manager();
+        release(manager, lease(manager));
+        manager.shutdown();
+
+        assertThat(metrics.timer(PREFIX + ".lease-wait").getCount()).isEqualTo(1);
+        assertThat(metrics.getGauges()).hasEntrySatisfying(PREFIX + ".max-connections",
+            gauge -> assertThat(gauge.getValue()).isEqualTo(1));
+    }
+
+    @Test
+    void keepsTheMaximumIfAdaptiveSizingIsDisabled() throws Exception {
+        pool.setTargetLeaseWait(Duration.milliseconds(0));
+        pool.setAdaptationInterval(Duration.milliseconds(1));
+        final AdaptiveHttpClientConnectionManager manager = manager();
+
+        final HttpClientConnection connection = lease(manager);
+        assertThatExceptionOfType(ConnectionPoolTimeoutException.class).isThrownBy(() -> lease(manager));
+        release(manager, connection);
+
+        assertThat(manager.getMaxPerRoute(route)).isEqualTo(1);
+        manager.shutdown();
+    }
+
+    @Test
+    void growsThePoolOfRoutesWhichCannotBeServedWithoutDelay() throws Exception {
+        pool.setAdaptiveMaxConnectionsPerRoute(4);
+        pool.setTargetLeaseWait(Duration.milliseconds(1));
+        pool.setAdaptationInterval(Duration.milliseconds(1));
+        final AdaptiveHttpClientConnectionManager manager = manager();
+
+        final HttpClientConnection connection = lease(manager);
+        assertThatExceptionOfType(ConnectionPoolTimeoutException.class).isThrownBy(() -> lease(manager));
+        release(manager, connection);
+
+        assertThat(manager.getMaxPerRoute(route)).isEqualTo(2);
+        manager.shutdown();
+    }
+
+    @Test
+    void shrinksThePoolOfIdleRoutes() throws Exception {
+        pool.setAdaptiveMaxConnectionsPerRoute(16);
+        pool.setTargetLeaseWait(Duration.seconds(1));
+        pool.setAdaptationInterval(Duration.milliseconds(0));
+        final AdaptiveHttpClientConnectionManager manager = manager();
+        manager.setMaxPerRoute(route, 8);
+
+        release(manager, lease(manager));
+        assertThat(manager.getMaxPerRoute(route)).isEqualTo(6);
+
+        for (int i = 0; i < 10; i++) {
+            release(manager, lease(manager));
+        }
+        assertThat(manager.getMaxPerRoute(route)).isEqualTo(1);
+        manager.shutdown();
+    }
+
+    private HttpClientConnection lease(AdaptiveHttpClientConnectionManager manager) throws Exception {
+        return manager.requestConnection(route, null).get(50, TimeUnit.MILLISECONDS);
+    }
+
+    private void release(AdaptiveHttpClientConnectionManager manager, HttpClientConnection connection) {
+        manager.releaseConnection(connection, null, 0, TimeUnit.MILLISECONDS);
+    }
+
+    private AdaptiveHttpClientConnectionManager manager() {
+        final AdaptiveHttpClientConnectionManager manager = new AdaptiveHttpClientConnectionManager(metrics,
+            RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .build(),
+            new SystemDefaultDnsResolver(), 1, TimeUnit.HOURS, "test", pool);
+        manager.setDefaultMaxPerRoute(1);
+        return manager;
+    }
+}
@@ -0,0 +1,114 @@
+package io.dropwizard.client.pool;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.util.Duration;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.impl.conn.DefaultRoutePlanner;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConnectionPoolPrewarmerTest {
+    private final RequestConfig requestConfig = RequestConfig.custom()
+        .setConnectTimeout(1000)
+        .setConnectionRequestTimeout(1000)
+        .build();
+    private final AtomicInteger accepted = new AtomicInteger();
+    private final List<Socket> sockets = Collections.synchronizedList(new ArrayList<>());
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final AdaptiveHttpClientConnectionManager manager = new AdaptiveHttpClientConnectionManager(
+        new MetricRegistry(),
+        RegistryBuilder.<ConnectionSocketFactory>create()
+            .register("http", PlainConnectionSocketFactory.getSocketFactory())
+            .build(),
+        new SystemDefaultDnsResolver(), 1, TimeUnit.HOURS, "test", new ConnectionPoolConfiguration());
+    private ServerSocket serverSocket;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        manager.setDefaultMaxPerRoute(2);
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        executor.execute(() -> {
+            while (!serverSocket.isClosed()) {
+                try {
+                    sockets.add(serverSocket.accept());
+                    accepted.incrementAndGet();
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        manager.shutdown();
+        serverSocket.close();
+        for (Socket socket : sockets) {
+            socket.close();
+        }
+        executor.shutdownNow();
+    }
+
+    @Test
+    void opensConnectionsUpToTheMaximumPerRoute() throws Exception {
+        final ConnectionPoolPrewarmer prewarmer = prewarmer(Collections.singletonList(uri()), 3);
+
+        assertThat(prewarmer.prewarm()).isEqualTo(2);
+
+        assertThat(manager.getTotalStats().getAvailable()).isEqualTo(2);
+        assertThat(manager.getTotalStats().getLeased()).isZero();
+        waitForConnections(2);
+    }
+
+    @Test
+    void skipsHostsWhichCannotBeReached() throws Exception {
+        final int closedPort;
+        try (ServerSocket closed = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            closedPort = closed.getLocalPort();
+        }
+        final ConnectionPoolPrewarmer prewarmer = prewarmer(
+            Arrays.asList(URI.create("http://127.0.0.1:" + closedPort), uri()), 1);
+
+        assertThat(prewarmer.prewarm()).isEqualTo(1);
+
+        assertThat(manager.getTotalStats().getAvailable()).isEqualTo(1);
+        assertThat(manager.getTotalStats().getLeased()).isZero();
+    }
+
+    private ConnectionPoolPrewarmer prewarmer(List<URI> hosts, int connections) {
+        return new ConnectionPoolPrewarmer(manager, new DefaultRoutePlanner(null), hosts, connections, requestConfig,
+            Duration.minutes(1));
+    }
+
+    private URI uri() {
+        return URI.create("http://127.0.0.1:" + serverSocket.getLocalPort());
+    }
+
+    private void waitForConnections(int connections) throws InterruptedException {
+        for (int i = 0; i < 100 && accepted.get() < connections; i++) {
+            Thread.sleep(10);
+        }
+        assertThat(accepted).hasValue(connections);
+    }
+}
@@ -0,0 +1,178 @@
+package io.dropwizard.client.resilience;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.util.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+    private final MetricRegistry metrics = new MetricRegistry();
+    private final CircuitBreakerConfiguration configuration = new CircuitBreakerConfiguration();
+    private long tick;
+    private final Clock clock = new Clock() {
+        @Override
+        public long getTick() {
+            return tick;
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        configuration.setWindowSize(10);
+        configuration.setMinimumCalls(4);
+        configuration.setFailureRateThreshold(50);
+        configuration.setSlowCallDuration(Duration.seconds(1));
+        configuration.setOpenDuration(Duration.seconds(30));
+        configuration.setHalfOpenCalls(2);
+    }
+
+    @Test
+    void staysClosedBelowTheMinimumNumberOfCalls() {
+        final CircuitBreaker breaker = breaker();
+
+        for (int i = 0; i < 3; i++) {
+            breaker.onResult(breaker.tryAcquire(), 0, true);
+        }
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void opensOnceTheFailureRateIsReached() {
+        final CircuitBreaker breaker = breaker();
+
+        breaker.onResult(breaker.tryAcquire(), 0, false);
+        breaker.onResult(breaker.tryAcquire(), 0, false);
+        breaker.onResult(breaker.tryAcquire(), 0, true);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        breaker.onResult(breaker.tryAcquire(), 0, true);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isNegative();
+        assertThat(metrics.meter("test.opened").getCount()).isEqualTo(1);
+        assertThat(metrics.meter("test.rejected").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void opensOnceTheSlowCallRateIsReached() {
+        configuration.setSlowCallRateThreshold(75);
+        final CircuitBreaker breaker = breaker();
+
+        breaker.onResult(breaker.tryAcquire(), 0, false);
+        for (int i = 0; i < 3; i++) {
+            breaker.onResult(breaker.tryAcquire(), TimeUnit.SECONDS.toNanos(2), false);
+        }
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void forgetsCallsWhichLeaveTheWindow() {
+        configuration.setWindowSize(4);
+        final CircuitBreaker breaker = breaker();
+
+        breaker.onResult(breaker.tryAcquire(), 0, true);
+        for (int i = 0; i < 6; i++) {
+            breaker.onResult(breaker.tryAcquire(), 0, false);
+        }
+        breaker.onResult(breaker.tryAcquire(), 0, true);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void closesAfterSuccessfulTrialCalls() {
+        final CircuitBreaker breaker = open();
+
+        tick += TimeUnit.SECONDS.toNanos(30);
+        final long first = breaker.tryAcquire();
+        final long second = breaker.tryAcquire();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isNegative();
+
+        breaker.onResult(first, 0, false);
+        breaker.onResult(second, 0, false);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(metrics.meter("test.half-opened").getCount()).isEqualTo(1);
+        assertThat(metrics.meter("test.closed").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void givesThePermitOfACancelledTrialCallBack() {
+        final CircuitBreaker breaker = open();
+
+        tick += TimeUnit.SECONDS.toNanos(30);
+        final long first = breaker.tryAcquire();
+        final long cancelled = breaker.tryAcquire();
+        assertThat(breaker.tryAcquire()).isNegative();
+        breaker.onCancelled(cancelled);
+        final long second = breaker.tryAcquire();
+        assertThat(second).isNotNegative();
+
+        breaker.onResult(first, 0, false);
+        breaker.onResult(second, 0, false);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void doesNotCountCancelledCalls() {
+        final CircuitBreaker breaker = breaker();
+
+        for (int i = 0; i < 10; i++) {
+            breaker.onCancelled(breaker.tryAcquire());
+        }
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(metrics.meter("test.opened").getCount()).isZero();
+    }
+
+    @Test
+    void reopensIfATrialCallFails() {
+        final CircuitBreaker breaker = open();
+
+        tick += TimeUnit.SECONDS.toNanos(30);
+        breaker.onResult(breaker.tryAcquire(), 0, true);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(metrics.meter("test.opened").getCount()).isEqualTo(2);
+    }
+
+    @Test
+    void ignoresCallsPermittedBeforeTheLastTransition() {
+        final CircuitBreaker breaker = breaker();
+        final long stale = breaker.tryAcquire();
+        for (int i = 0; i < 4; i++) {
+            breaker.onResult(breaker.tryAcquire(), 0, true);
+        }
+
+        tick += TimeUnit.SECONDS.toNanos(30);
+        final long trial = breaker.tryAcquire();
+        breaker.onResult(stale, 0, false);
+        breaker.onResult(stale, 0, false);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        breaker.onResult(trial, 0, false);
+        breaker.onResult(breaker.tryAcquire(), 0, false);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    private CircuitBreaker open() {
+        final CircuitBreaker breaker = breaker();
+        for (int i = 0; i < 4; i++) {
+            breaker.onResult(breaker.tryAcquire(), 0, true);
+        }
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        return breaker;
+    }
+
+    private CircuitBreaker breaker() {
+        return new CircuitBreaker(configuration, clock, metrics, "test");
+    }
+}
@@ -0,0 +1,257 @@
+package io.dropwizard.client.resilience;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.health.HealthCheck;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.dropwizard.client.HttpClientBuilder;
+import io.dropwizard.client.HttpClientConfiguration;
+import io.dropwizard.client.retry.RetryPolicyConfiguration;
+import io.dropwizard.util.Duration;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResilientHttpClientTest {
+    private final MetricRegistry metrics = new MetricRegistry();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final CountDownLatch received = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final HttpClientConfiguration configuration = new HttpClientConfiguration();
+    private final AtomicLong tick = new AtomicLong();
+    private final Clock clock = new Clock() {
+        @Override
+        public long getTick() {
+            return tick.get();
+        }
+    };
+    private HttpServer httpServer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        configuration.setTimeout(Duration.seconds(5));
+
+        httpServer = HttpServer.create(new InetSocketAddress(0), 0);
+        httpServer.setExecutor(executor);
+        httpServer.createContext("/error", exchange -> {
+            requests.incrementAndGet();
+            respond(exchange, 503, "unavailable");
+        });
+        httpServer.createContext("/ok", exchange -> respond(exchange, 200, "ok"));
+        httpServer.createContext("/blocking", exchange -> {
+            received.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "ok");
+        });
+        httpServer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        httpServer.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void rejectsRequestsWhileTheCircuitIsOpen() throws Exception {
+        final CircuitBreakerConfiguration circuitBreaker = new CircuitBreakerConfiguration();
+        circuitBreaker.setMinimumCalls(2);
+        configuration.setCircuitBreaker(circuitBreaker);
+        // Rejected requests must not be retried
+        configuration.setRetryPolicy(new RetryPolicyConfiguration());
+        configuration.setRetries(3);
+
+        try (CloseableHttpClient client = new HttpClientBuilder(metrics).using(configuration).build("resilient")) {
+            assertThat(status(client, "/error")).isEqualTo(503);
+            assertThat(status(client, "/error")).isEqualTo(503);
+            assertThatExceptionOfType(RequestRejectedException.class).isThrownBy(() -> status(client, "/error"))
+                .withMessageContaining("circuit breaker of localhost:" + port());
+        }
+
+        assertThat(requests).hasValue(2);
+        final String prefix = "org.apache.http.client.HttpClient.resilient.circuit-breaker.localhost:" + port();
+        assertThat(metrics.getGauges()).hasEntrySatisfying(prefix + ".state",
+            gauge -> assertThat(gauge.getValue()).isEqualTo(CircuitBreaker.State.OPEN.ordinal()));
+        assertThat(metrics.meter(prefix + ".opened").getCount()).isEqualTo(1);
+        assertThat(metrics.meter(prefix + ".rejected").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void reportsOpenCircuitsAsUnhealthy() throws Exception {
+        final CircuitBreakerConfiguration circuitBreaker = new CircuitBreakerConfiguration();
+        circuitBreaker.setMinimumCalls(1);
+
+        try (ResilientHttpClient client = new ResilientHttpClient(new HttpClientBuilder(metrics).using(configuration)
+            .build("resilient"), circuitBreaker, null, metrics, "resilient", clock)) {
+            final HealthCheck healthCheck = new CircuitBreakerHealthCheck(client);
+            assertThat(healthCheck.execute().isHealthy()).isTrue();
+
+            status(client, "/error");
+
+            assertThat(client.getOpenCircuits()).containsExactly("localhost:" + port());
+            assertThat(healthCheck.execute().isHealthy()).isFalse();
+            assertThat(healthCheck.execute().getMessage()).isEqualTo("Open circuits: localhost:" + port());
+
+            tick.addAndGet(circuitBreaker.getOpenDuration().toNanoseconds());
+
+            assertThat(client.getOpenCircuits()).isEmpty();
+            assertThat(client.getHalfOpenCircuits()).containsExactly("localhost:" + port());
+            assertThat(healthCheck.execute().isHealthy()).isTrue();
+            assertThat(healthCheck.execute().getMessage()).isEqualTo("Half open circuits: localhost:" + port());
+        }
+    }
+
+    @Test
+    void rejectsRequestsOnceTheBulkheadIsFull() throws Exception {
+        final BulkheadConfiguration bulkhead = new BulkheadConfiguration();
+        bulkhead.setMaxConcurrentRequests(1);
+        configuration.setBulkhead(bulkhead);
+
+        try (CloseableHttpClient client = new HttpClientBuilder(metrics).using(configuration).build("resilient")) {
+            final Future<Integer> blocked = executor.submit(() -> status(client, "/blocking"));
+            assertThat(received.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThatExceptionOfType(RequestRejectedException.class).isThrownBy(() -> status(client, "/blocking"))
+                .withMessageContaining("bulkhead of localhost:" + port());
+
+            release.countDown();
+            assertThat(blocked.get(5, TimeUnit.SECONDS)).isEqualTo(200);
+            assertThat(status(client, "/blocking")).isEqualTo(200);
+        }
+
+        assertThat(metrics.meter("org.apache.http.client.HttpClient.resilient.bulkhead.localhost:" + port()
+            + ".rejected").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void holdsThePermitUntilTheResponseIsRead() throws Exception {
+        final BulkheadConfiguration bulkhead = new BulkheadConfiguration();
+        bulkhead.setMaxConcurrentRequests(1);
+
+        try (ResilientHttpClient client = new ResilientHttpClient(new HttpClientBuilder(metrics).using(configuration)
+            .build("resilient"), null, bulkhead, metrics, "resilient")) {
+            final CloseableHttpResponse unread = client.execute(new HttpGet("http://localhost:" + port() + "/error"));
+
+            assertThatExceptionOfType(RequestRejectedException.class).isThrownBy(() -> status(client, "/error"))
+                .withMessageContaining("bulkhead of localhost:" + port());
+
+            assertThat(EntityUtils.toString(unread.getEntity())).isEqualTo("unavailable");
+            unread.close();
+            assertThat(status(client, "/error")).isEqualTo(503);
+
+            final CloseableHttpResponse closed = client.execute(new HttpGet("http://localhost:" + port() + "/error"));
+            closed.close();
+            assertThat(status(client, "/error")).isEqualTo(503);
+        }
+    }
+
+    @Test
+    void doesNotCountAbortedRequestsAsFailures() throws Exception {
+        final CircuitBreakerConfiguration circuitBreaker = new CircuitBreakerConfiguration();
+        circuitBreaker.setMinimumCalls(1);
+        final BulkheadConfiguration bulkhead = new BulkheadConfiguration();
+        bulkhead.setMaxConcurrentRequests(1);
+
+        try (ResilientHttpClient client = new ResilientHttpClient(new HttpClientBuilder(metrics).using(configuration)
+            .build("resilient"), circuitBreaker, bulkhead, metrics, "resilient")) {
+            final HttpGet request = new HttpGet("http://localhost:" + port() + "/blocking");
+            final Future<CloseableHttpResponse> aborted = executor.submit(() -> client.execute(request));
+            assertThat(received.await(5, TimeUnit.SECONDS)).isTrue();
+
+            request.abort();
+
+            assertThatThrownBy(() -> aborted.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IOException.class);
+            release.countDown();
+            assertThat(client.getOpenCircuits()).isEmpty();
+            assertThat(status(client, "/ok")).isEqualTo(200);
+        }
+    }
+
+    @Test
+    void countsTheTimeToReadTheResponseAsPartOfTheCall() throws Exception {
+        final CircuitBreakerConfiguration circuitBreaker = new CircuitBreakerConfiguration();
+        circuitBreaker.setMinimumCalls(1);
+        circuitBreaker.setSlowCallRateThreshold(100);
+
+        try (ResilientHttpClient client = new ResilientHttpClient(new HttpClientBuilder(metrics).using(configuration)
+            .build("resilient"), circuitBreaker, null, metrics, "resilient", clock)) {
+            try (CloseableHttpResponse response = client.execute(new HttpGet("http://localhost:" + port() + "/ok"))) {
+                assertThat(client.getOpenCircuits()).isEmpty();
+                tick.addAndGet(circuitBreaker.getSlowCallDuration().toNanoseconds());
+                EntityUtils.consume(response.getEntity());
+            }
+
+            assertThat(client.getOpenCircuits()).containsExactly("localhost:" + port());
+        }
+    }
+
+    @Test
+    void expiresTheStateOfIdleHosts() throws Exception {
+        final CircuitBreakerConfiguration circuitBreaker = new CircuitBreakerConfiguration();
+        final BulkheadConfiguration bulkhead = new BulkheadConfiguration();
+
+        try (ResilientHttpClient client = new ResilientHttpClient(new HttpClientBuilder(metrics).using(configuration)
+            .build("resilient"), circuitBreaker, bulkhead, metrics, "resilient", clock)) {
+            assertThat(status(client, "/ok")).isEqualTo(200);
+            tick.addAndGet(ResilientHttpClient.ROUTE_EXPIRY_NANOS);
+
+            try (CloseableHttpResponse response = client.execute(new HttpGet("http://127.0.0.1:" + port() + "/ok"))) {
+                EntityUtils.consume(response.getEntity());
+            }
+        }
+
+        assertThat(metrics.getNames())
+            .noneMatch(name -> name.contains("localhost:" + port()))
+            .contains("org.apache.http.client.HttpClient.resilient.circuit-breaker.127.0.0.1:" + port() + ".state",
+                "org.apache.http.client.HttpClient.resilient.bulkhead.127.0.0.1:" + port() + ".available");
+    }
+
+    private int port() {
+        return httpServer.getAddress().getPort();
+    }
+
+    private int status(CloseableHttpClient client, String path) throws IOException {
+        try (CloseableHttpResponse response = client.execute(new HttpGet("http://localhost:" + port() + path))) {
+            EntityUtils.consume(response.getEntity());
+            return response.getStatusLine().getStatusCode();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
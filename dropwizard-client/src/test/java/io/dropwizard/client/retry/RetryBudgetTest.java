@@ -0,0 +1,41 @@
+package io.dropwizard.client.retry;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RetryBudgetTest {
+    @Test
+    void allowsABurstOfRetries() {
+        final RetryBudget budget = new RetryBudget(0, 2);
+
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isFalse();
+    }
+
+    @Test
+    void allowsAShareOfTheRequestsToBeRetried() {
+        final RetryBudget budget = new RetryBudget(25, 0);
+
+        for (int i = 0; i < 3; i++) {
+            budget.deposit();
+        }
+        assertThat(budget.tryWithdraw()).isFalse();
+
+        budget.deposit();
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isFalse();
+    }
+
+    @Test
+    void capsTheBalanceAtTheBurst() {
+        final RetryBudget budget = new RetryBudget(100, 1);
+
+        for (int i = 0; i < 10; i++) {
+            budget.deposit();
+        }
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isFalse();
+    }
+}
@@ -0,0 +1,235 @@
+package io.dropwizard.client.retry;
+
+import com.codahale.metrics.MetricRegistry;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.dropwizard.client.HttpClientBuilder;
+import io.dropwizard.client.HttpClientConfiguration;
+import io.dropwizard.util.Duration;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.utils.DateUtils;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.util.EntityUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+
+class RetryingHttpClientTest {
+    private final MetricRegistry metrics = new MetricRegistry();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService serverExecutor = Executors.newCachedThreadPool();
+    private final HttpClientConfiguration configuration = new HttpClientConfiguration();
+    private final RetryPolicyConfiguration policy = new RetryPolicyConfiguration();
+    private HttpServer httpServer;
+    private volatile String retryAfter = "0";
+
+    @BeforeEach
+    void setUp() throws Exception {
+        policy.setInitialBackoff(Duration.milliseconds(1));
+        policy.setMaxBackoff(Duration.milliseconds(10));
+        configuration.setRetryPolicy(policy);
+        configuration.setTimeout(Duration.seconds(5));
+
+        httpServer = HttpServer.create(new InetSocketAddress(0), 0);
+        httpServer.setExecutor(serverExecutor);
+        httpServer.createContext("/ok", exchange -> respond(exchange, "ok"));
+        httpServer.createContext("/flaky", exchange -> {
+            if (requests.incrementAndGet() <= 2) {
+                // Closing the exchange without a response makes the client fail with an I/O error
+                exchange.close();
+            } else {
+                respond(exchange, "recovered");
+            }
+        });
+        httpServer.createContext("/unavailable", exchange -> {
+            if (requests.incrementAndGet() <= 2) {
+                exchange.getResponseHeaders().add("Retry-After", retryAfter);
+                exchange.sendResponseHeaders(503, -1);
+                exchange.close();
+            } else {
+                respond(exchange, "available");
+            }
+        });
+        httpServer.createContext("/slow-once", exchange -> {
+            if (requests.incrementAndGet() == 1) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            respond(exchange, "attempt " + requests.get());
+        });
+        httpServer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        httpServer.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void retriesFailedIdempotentRequests() throws Exception {
+        configuration.setRetries(2);
+        try (CloseableHttpClient client = new HttpClientBuilder(metrics).using(configuration).build("retrying")) {
+            assertThat(client).isInstanceOf(RetryingHttpClient.class);
+            assertThat(execute(client, new HttpGet(uri("/flaky")))).isEqualTo("recovered");
+        }
+
+        assertThat(requests).hasValue(3);
+        assertThat(metrics.meter("org.apache.http.client.HttpClient.retrying.retries").getCount()).isEqualTo(2);
+    }
+
+    @Test
+    void retriesUnavailableResponses() throws Exception {
+        configuration.setRetries(2);
+        try (CloseableHttpClient client = new HttpClientBuilder(metrics).using(configuration).build("retrying")) {
+            assertThat(execute(client, new HttpGet(uri("/unavailable")))).isEqualTo("available");
+        }
+
+        assertThat(requests).hasValue(3);
+        assertThat(metrics.meter("org.apache.http.client.HttpClient.retrying.retries").getCount()).isEqualTo(2);
+    }
+
+    @Test
+    void returnsTheLastResponseOnceTheRetriesAreUsedUp() throws Exception {
+        configuration.setRetries(1);
+        try (CloseableHttpClient client = new HttpClientBuilder(metrics).using(configuration).build("retrying");
+             CloseableHttpResponse response = client.execute(new HttpGet(uri("/unavailable")))) {
+            assertThat(response.getStatusLine().getStatusCode()).isEqualTo(503);
+        }
+
+        assertThat(requests).hasValue(2);
+    }
+
+    @Test
+    void doesNotWaitForLongRetryAfterDelays() throws Exception {
+        configuration.setRetries(2);
+        policy.setMaxRetryAfter(Duration.seconds(1));
+        retryAfter = "120";
+        try (CloseableHttpClient client = new HttpClientBuilder(metrics).using(configuration).build("retrying");
+             CloseableHttpResponse response = client.execute(new HttpGet(uri("/unavailable")))) {
+            assertThat(response.getStatusLine().getStatusCode()).isEqualTo(503);
+        }
+
+        assertThat(requests).hasValue(1);
+    }
+
+    @Test
+    void doesNotRetryUnavailableNonIdempotentRequests() throws Exception {
+        configuration.setRetries(2);
+        try (CloseableHttpClient client = new HttpClientBuilder(metrics).using(configuration).build("retrying");
+             CloseableHttpResponse response = client.execute(new HttpPost(uri("/unavailable")))) {
+            assertThat(response.getStatusLine().getStatusCode()).isEqualTo(503);
+        }
+
+        assertThat(requests).hasValue(1);
+    }
+
+    @Test
+    void parsesRetryAfterHeaders() {
+        final HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 503, "Service Unavailable");
+        assertThat(RetryingHttpClient.retryAfterNanos(response)).isEqualTo(-1);
+
+        response.setHeader("Retry-After", "2");
+        assertThat(RetryingHttpClient.retryAfterNanos(response)).isEqualTo(TimeUnit.SECONDS.toNanos(2));
+
+        response.setHeader("Retry-After", DateUtils.formatDate(new Date(System.currentTimeMillis() + 60_000)));
+        assertThat(RetryingHttpClient.retryAfterNanos(response))
+            .isBetween(TimeUnit.SECONDS.toNanos(50), TimeUnit.SECONDS.toNanos(60));
+
+        response.setHeader("Retry-After", "soon");
+        assertThat(RetryingHttpClient.retryAfterNanos(response)).isEqualTo(-1);
+    }
+
+    @Test
+    void doesNotRetryNonIdempotentRequests() throws Exception {
+        configuration.setRetries(2);
+        try (CloseableHttpClient client = new HttpClientBuilder(metrics).using(configuration).build("retrying")) {
+            assertThatIOException().isThrownBy(() -> execute(client, new HttpPost(uri("/flaky"))));
+        }
+
+        assertThat(requests).hasValue(1);
+    }
+
+    @Test
+    void stopsRetryingOnceTheBudgetIsExhausted() throws Exception {
+        configuration.setRetries(2);
+        policy.setBudgetPercent(0);
+        policy.setBudgetBurst(1);
+        try (CloseableHttpClient client = new HttpClientBuilder(metrics).using(configuration).build("retrying")) {
+            assertThatIOException().isThrownBy(() -> execute(client, new HttpGet(uri("/flaky"))));
+        }
+
+        assertThat(requests).hasValue(2);
+        assertThat(metrics.meter("org.apache.http.client.HttpClient.retrying.retry-budget-exhausted").getCount())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void hedgesSlowRequests() throws Exception {
+        policy.setHedgingEnabled(true);
+        policy.setMinHedgeDelay(Duration.milliseconds(50));
+        try (CloseableHttpClient client = new HttpClientBuilder(metrics).using(configuration).build("hedging")) {
+            final long start = System.nanoTime();
+            assertThat(execute(client, new HttpGet(uri("/slow-once")))).isEqualTo("attempt 2");
+            assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(4));
+        }
+
+        assertThat(metrics.meter("org.apache.http.client.HttpClient.hedging.hedges").getCount()).isEqualTo(1);
+        assertThat(metrics.meter("org.apache.http.client.HttpClient.hedging.hedge-wins").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotHedgeFastRequests() throws Exception {
+        policy.setHedgingEnabled(true);
+        policy.setMinHedgeDelay(Duration.seconds(5));
+        try (CloseableHttpClient client = new HttpClientBuilder(metrics).using(configuration).build("hedging")) {
+            assertThat(execute(client, new HttpGet(uri("/ok")))).isEqualTo("ok");
+            assertThat(execute(client, new HttpGet(uri("/ok")))).isEqualTo("ok");
+        }
+
+        assertThat(metrics.meter("org.apache.http.client.HttpClient.hedging.hedges").getCount()).isZero();
+    }
+
+    private String uri(String path) {
+        return "http://localhost:" + httpServer.getAddress().getPort() + path;
+    }
+
+    private static String execute(CloseableHttpClient client, HttpUriRequest request) throws IOException {
+        try (CloseableHttpResponse response = client.execute(request)) {
+            return EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -16,12 +16,16 @@ import com.fasterxml.jackson.databind.node.TreeTraversingParser;
 import javax.annotation.Nullable;
 import javax.validation.ConstraintViolation;
 import javax.validation.Validator;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -52,6 +56,9 @@ public abstract class BaseConfigurationFactory<T> implements ConfigurationFactor
     private final String formatName;
     private final JsonFactory parserFactory;
 
+    @Nullable
+    private ConfigurationSnapshots snapshots;
+
     /**
      * Creates a new configuration factory for the given class.
      *
@@ -79,15 +86,24 @@ public abstract class BaseConfigurationFactory<T> implements ConfigurationFactor
     @Override
     public T build(ConfigurationSourceProvider provider, String path) throws IOException, ConfigurationException {
         try (InputStream input = provider.open(requireNonNull(path))) {
-            final JsonNode node = mapper.readTree(createParser(input));
+            final ConfigurationSnapshots cache = snapshots;
+            if (cache == null) {
+                return build(readTree(input, path), path);
+            }
 
-            if (node == null) {
-                throw ConfigurationParsingException
-                    .builder("Configuration at " + path + " must not be empty")
-                    .build(path);
+            final byte[] source = toByteArray(input);
+            final Optional<String> key = cache.key(klass, formatName, source, overrides());
+            final Optional<JsonNode> snapshot = key.flatMap(cache::read);
+            if (snapshot.isPresent()) {
+                // the snapshot already has its overrides and was validated before it was written
+                return bind(snapshot.get(), path);
             }
 
-            return build(node, path);
+            final JsonNode node = readTree(new ByteArrayInputStream(source), path);
+            // building applies the overrides to the tree, so only a valid tree with its overrides is written
+            final T config = build(node, path);
+            key.ifPresent(k -> cache.write(k, node));
+            return config;
         } catch (JsonParseException e) {
             throw ConfigurationParsingException
                 .builder("Malformed " + formatName)
@@ -98,6 +114,38 @@ public abstract class BaseConfigurationFactory<T> implements ConfigurationFactor
         }
     }
 
+    private JsonNode readTree(InputStream input, String path) throws IOException, ConfigurationException {
+        final JsonNode node = mapper.readTree(createParser(input));
+
+        if (node == null) {
+            throw ConfigurationParsingException
+                .builder("Configuration at " + path + " must not be empty")
+                .build(path);
+        }
+        return node;
+    }
+
+    private static byte[] toByteArray(InputStream input) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[8192];
+        int read;
+        while ((read = input.read(buffer)) != -1) {
+            output.write(buffer, 0, read);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Sets the cache of validated configuration snapshots used when building configurations from a
+     * {@link ConfigurationSourceProvider}, or {@code null} not to cache them, which is the default.
+     *
+     * @param snapshots the cache of configuration snapshots
+     * @since 2.1
+     */
+    public void setSnapshots(@Nullable ConfigurationSnapshots snapshots) {
+        this.snapshots = snapshots;
+    }
+
     protected JsonParser createParser(InputStream input) throws IOException {
         return parserFactory.createParser(input);
     }
@@ -116,18 +164,33 @@ public abstract class BaseConfigurationFactory<T> implements ConfigurationFactor
     }
 
     protected T build(JsonNode node, String path) throws IOException, ConfigurationException {
+        for (Map.Entry<String, String> override : overrides().entrySet()) {
+            addOverride(node, override.getKey(), override.getValue());
+        }
+
+        final T config = bind(node, path);
+        validate(path, config);
+        return config;
+    }
+
+    /**
+     * Returns the overrides from the system properties, by configuration name.
+     */
+    private Map<String, String> overrides() {
+        final Map<String, String> overrides = new LinkedHashMap<>();
         for (Map.Entry<Object, Object> pref : System.getProperties().entrySet()) {
             final String prefName = (String) pref.getKey();
             if (prefName.startsWith(propertyPrefix)) {
                 final String configName = prefName.substring(propertyPrefix.length());
-                addOverride(node, configName, System.getProperty(prefName));
+                overrides.put(configName, System.getProperty(prefName));
             }
         }
+        return overrides;
+    }
 
+    private T bind(JsonNode node, String path) throws IOException, ConfigurationException {
         try {
-            final T config = mapper.readValue(new TreeTraversingParser(node, mapper), klass);
-            validate(path, config);
-            return config;
+            return mapper.readValue(new TreeTraversingParser(node, mapper), klass);
         } catch (UnrecognizedPropertyException e) {
             final List<String> properties = e.getKnownPropertyIds().stream()
                 .map(Object::toString)
@@ -0,0 +1,190 @@
+package io.dropwizard.configuration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.dropwizard.util.JarLocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A cache of validated configurations, stored as binary (Smile) snapshots of their JSON trees, after their variables
+ * were substituted and their overrides were applied.
+ * <p/>
+ * A snapshot is keyed by a SHA-256 hash of the configuration class and its code source, the Dropwizard version, the
+ * format and the content of the configuration source, and the overrides from the system properties. A snapshot is
+ * only written once its configuration was validated. When a configuration is built again from the same inputs, its
+ * snapshot is bound instead of parsing the source and validating the configuration, which is faster for text formats
+ * like YAML and for configurations with many constraints. Constraints which depend on anything else than the
+ * configuration, such as the existence of a file, are therefore not checked again until an input changes.
+ * <p/>
+ * The code source of a jar is identified by its size and the time it was last modified, and a class directory by the
+ * time the class file of the configuration class was last modified. When the code source of a class cannot be
+ * determined, its configurations are not cached. Snapshots may contain secrets substituted from environment
+ * variables: they are only readable by their owner, where the file system supports it, and the directory should not
+ * be shared.
+ *
+ * @see BaseConfigurationFactory#setSnapshots(ConfigurationSnapshots)
+ * @since 2.1
+ */
+public class ConfigurationSnapshots {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConfigurationSnapshots.class);
+    private static final String SUFFIX = ".smile";
+
+    private final Path directory;
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+
+    /**
+     * Creates a cache which stores its snapshots in the given directory, which is created if it does not exist.
+     *
+     * @param directory the directory of the snapshots
+     */
+    public ConfigurationSnapshots(Path directory) {
+        this.directory = requireNonNull(directory);
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Returns the key of the snapshot of a configuration.
+     *
+     * @param klass      the configuration class
+     * @param formatName the format of the source
+     * @param source     the content of the source, with its variables substituted
+     * @param overrides  the overrides from the system properties, by configuration name
+     * @return the key, or an empty optional if the code of the configuration class or of Dropwizard cannot be
+     * identified, in which case the configuration is not cached
+     */
+    Optional<String> key(Class<?> klass, String formatName, byte[] source, Map<String, String> overrides) {
+        final Optional<String> classStamp = codeStamp(klass);
+        final Optional<String> dropwizardStamp = codeStamp(ConfigurationSnapshots.class);
+        if (!classStamp.isPresent() || !dropwizardStamp.isPresent()) {
+            return Optional.empty();
+        }
+
+        final MessageDigest digest = sha256();
+        update(digest, klass.getName());
+        update(digest, classStamp.get());
+        update(digest, new JarLocation(ConfigurationSnapshots.class).getVersion().orElse("unknown"));
+        update(digest, dropwizardStamp.get());
+        update(digest, formatName);
+        digest.update(source);
+        for (Map.Entry<String, String> override : new TreeMap<>(overrides).entrySet()) {
+            update(digest, override.getKey());
+            update(digest, override.getValue());
+        }
+
+        final StringBuilder key = new StringBuilder();
+        for (byte b : digest.digest()) {
+            key.append(String.format(Locale.ROOT, "%02x", b));
+        }
+        return Optional.of(key.toString());
+    }
+
+    /**
+     * Reads the snapshot with the given key.
+     *
+     * @return the snapshot, or an empty optional if there is none or it cannot be read
+     */
+    Optional<JsonNode> read(String key) {
+        final Path snapshot = directory.resolve(key + SUFFIX);
+        if (!Files.isRegularFile(snapshot)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.ofNullable(smileMapper.readTree(snapshot.toFile()));
+        } catch (IOException e) {
+            LOGGER.warn("Unable to read the configuration snapshot {}", snapshot, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes the snapshot with the given key. The snapshot is only visible once it has been completely written.
+     */
+    void write(String key, JsonNode node) {
+        final Path snapshot = directory.resolve(key + SUFFIX);
+        try {
+            Files.createDirectories(directory);
+            // temporary files are only readable by their owner
+            final Path temporary = Files.createTempFile(directory, key, ".tmp");
+            try {
+                Files.write(temporary, smileMapper.writeValueAsBytes(node));
+                move(temporary, snapshot);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Unable to write the configuration snapshot {}", snapshot, e);
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Returns a stamp which changes when the code a class was loaded from changes: the location of its code source
+     * with, for a jar, its size and the time it was last modified, or, for a class directory, the time the class
+     * file was last modified.
+     */
+    private static Optional<String> codeStamp(Class<?> klass) {
+        try {
+            @Nullable
+            final CodeSource codeSource = klass.getProtectionDomain().getCodeSource();
+            @Nullable
+            final URL location = codeSource == null ? null : codeSource.getLocation();
+            if (location == null) {
+                return Optional.empty();
+            }
+            final Path path = Paths.get(location.toURI());
+            final Path stamped = Files.isDirectory(path)
+                ? path.resolve(klass.getName().replace('.', '/') + ".class")
+                : path;
+            return Optional.of(location + "@" + Files.size(stamped) + "@"
+                + Files.getLastModifiedTime(stamped).toMillis());
+        } catch (IOException | URISyntaxException | RuntimeException e) {
+            LOGGER.debug("Unable to identify the code source of {}, its configurations are not cached", klass, e);
+            return Optional.empty();
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -3,20 +3,40 @@ package io.dropwizard.configuration;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import javax.annotation.Nullable;
 import javax.validation.Validator;
 
 public class DefaultConfigurationFactoryFactory<T> implements ConfigurationFactoryFactory<T> {
+    @Nullable
+    private final ConfigurationSnapshots snapshots;
+
+    public DefaultConfigurationFactoryFactory() {
+        this(null);
+    }
+
+    /**
+     * Creates a factory of configuration factories which cache the parsed configuration sources as snapshots.
+     *
+     * @param snapshots the cache of configuration snapshots, or {@code null} not to cache configurations
+     * @since 2.1
+     */
+    public DefaultConfigurationFactoryFactory(@Nullable ConfigurationSnapshots snapshots) {
+        this.snapshots = snapshots;
+    }
+
     @Override
     public ConfigurationFactory<T> create(
             Class<T>     klass,
             Validator    validator,
             ObjectMapper objectMapper,
             String       propertyPrefix) {
-        return new YamlConfigurationFactory<>(
+        final YamlConfigurationFactory<T> factory = new YamlConfigurationFactory<>(
             klass,
             validator,
             configureObjectMapper(objectMapper.copy()),
             propertyPrefix);
+        factory.setSnapshots(snapshots);
+        return factory;
     }
 
     /**
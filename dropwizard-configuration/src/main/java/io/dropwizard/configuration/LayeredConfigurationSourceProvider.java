@@ -0,0 +1,101 @@
+package io.dropwizard.configuration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A delegating {@link ConfigurationSourceProvider} which layers overlays over the configuration source. The source and
+ * each overlay are opened with the underlying provider and parsed as YAML, and each overlay is merged into the layers
+ * below it, in order: objects are merged field by field, and any other value, including arrays, replaces the value
+ * below it. An explicit {@code null} in an overlay replaces the value below it as well.
+ * <p/>
+ * To substitute environment variables in every layer, use a {@link SubstitutingSourceProvider} as the underlying
+ * provider. The {@code dw.} system properties are applied to the merged configuration, on top of all the layers.
+ *
+ * @since 2.1
+ */
+public class LayeredConfigurationSourceProvider implements ConfigurationSourceProvider {
+    private static final ObjectMapper YAML = new ObjectMapper(new YAMLFactory());
+
+    private final ConfigurationSourceProvider delegate;
+    private final List<String> overlays;
+
+    /**
+     * Create a new instance.
+     *
+     * @param delegate the underlying {@link ConfigurationSourceProvider}, which opens the source and the overlays
+     * @param overlays the paths of the overlays, from the lowest to the highest priority
+     */
+    public LayeredConfigurationSourceProvider(ConfigurationSourceProvider delegate, List<String> overlays) {
+        this.delegate = requireNonNull(delegate);
+        this.overlays = Collections.unmodifiableList(new ArrayList<>(overlays));
+    }
+
+    /**
+     * Returns the underlying provider.
+     */
+    public ConfigurationSourceProvider getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Returns the paths of the overlays, from the lowest to the highest priority.
+     */
+    public List<String> getOverlays() {
+        return overlays;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputStream open(String path) throws IOException {
+        JsonNode merged = read(path);
+        for (String overlay : overlays) {
+            merged = merge(merged, read(overlay));
+        }
+        return new ByteArrayInputStream(YAML.writeValueAsBytes(merged));
+    }
+
+    private JsonNode read(String path) throws IOException {
+        try (InputStream input = delegate.open(path)) {
+            final JsonNode node = YAML.readTree(input);
+            // an empty document is an empty layer
+            return node == null || node.isMissingNode() ? YAML.createObjectNode() : node;
+        }
+    }
+
+    /**
+     * Merges an overlay into a base tree, which is modified in place if it is an object.
+     *
+     * @param base    the lower layer
+     * @param overlay the higher layer
+     * @return the merged tree
+     */
+    static JsonNode merge(JsonNode base, JsonNode overlay) {
+        if (!base.isObject() || !overlay.isObject()) {
+            return overlay;
+        }
+        final ObjectNode merged = (ObjectNode) base;
+        final Iterator<Map.Entry<String, JsonNode>> fields = overlay.fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            final JsonNode below = merged.get(field.getKey());
+            merged.set(field.getKey(), below == null ? field.getValue() : merge(below, field.getValue()));
+        }
+        return merged;
+    }
+}
@@ -31,6 +31,15 @@ public class SubstitutingSourceProvider implements ConfigurationSourceProvider {
         this.substitutor = requireNonNull(substitutor);
     }
 
+    /**
+     * Returns the underlying provider.
+     *
+     * @since 2.1
+     */
+    public ConfigurationSourceProvider getDelegate() {
+        return delegate;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,138 @@
+package io.dropwizard.configuration;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.dropwizard.configuration.BaseConfigurationFactoryTest.Example;
+import io.dropwizard.validation.BaseValidator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static io.dropwizard.jackson.Jackson.newObjectMapper;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class ConfigurationSnapshotsTest {
+    private final ConfigurationSourceProvider provider = new ResourceConfigurationSourceProvider();
+
+    @AfterEach
+    void resetSystemProperties() {
+        System.clearProperty("dw.name");
+    }
+
+    @Test
+    void skipsParsingAndValidatingAnUnchangedConfiguration(@TempDir Path tempDir) throws Exception {
+        final ConfigurationSnapshots snapshots = new ConfigurationSnapshots(tempDir.resolve("snapshots"));
+        final Example built = factory(snapshots, BaseValidator.newValidator()).build(provider, "factory-test-valid.yml");
+        assertThat(snapshots(snapshots)).hasSize(1);
+
+        final AtomicInteger builds = new AtomicInteger();
+        final AtomicInteger validations = new AtomicInteger();
+        final YamlConfigurationFactory<Example> cached = new YamlConfigurationFactory<Example>(Example.class,
+            countingValidator(validations), newObjectMapper(), "dw") {
+            @Override
+            protected JsonParser createParser(InputStream input) {
+                throw new AssertionError("The configuration was parsed");
+            }
+
+            @Override
+            protected Example build(JsonNode node, String path) throws IOException, ConfigurationException {
+                builds.incrementAndGet();
+                return super.build(node, path);
+            }
+        };
+        cached.setSnapshots(snapshots);
+        final Example snapshot = cached.build(provider, "factory-test-valid.yml");
+
+        assertThat(snapshot.getName()).isEqualTo(built.getName()).isEqualTo("Coda Hale");
+        assertThat(snapshot.getType()).isEqualTo(built.getType());
+        assertThat(snapshot.getServers()).hasSize(3);
+        assertThat(snapshot.getLogger()).isEqualTo(built.getLogger());
+        assertThat(builds).hasValue(0);
+        assertThat(validations).hasValue(0);
+    }
+
+    @Test
+    void keysTheSnapshotsBySourceAndOverrides(@TempDir Path tempDir) throws Exception {
+        final ConfigurationSnapshots snapshots = new ConfigurationSnapshots(tempDir.resolve("snapshots"));
+        final Path config = tempDir.resolve("config.yml");
+        Files.write(config, Arrays.asList("name: Coda Hale"), StandardCharsets.UTF_8);
+        final FileConfigurationSourceProvider files = new FileConfigurationSourceProvider();
+
+        assertThat(factory(snapshots, BaseValidator.newValidator()).build(files, config.toString()).getName())
+            .isEqualTo("Coda Hale");
+
+        System.setProperty("dw.name", "Overridden Name");
+        assertThat(factory(snapshots, BaseValidator.newValidator()).build(files, config.toString()).getName())
+            .isEqualTo("Overridden Name");
+        assertThat(snapshots(snapshots)).hasSize(2);
+        System.clearProperty("dw.name");
+        assertThat(factory(snapshots, BaseValidator.newValidator()).build(files, config.toString()).getName())
+            .isEqualTo("Coda Hale");
+        assertThat(snapshots(snapshots)).hasSize(2);
+
+        Files.write(config, Arrays.asList("name: Changed Name"), StandardCharsets.UTF_8);
+        assertThat(factory(snapshots, BaseValidator.newValidator()).build(files, config.toString()).getName())
+            .isEqualTo("Changed Name");
+
+        assertThat(snapshots(snapshots)).hasSize(3);
+    }
+
+    @Test
+    void validatesTheConfigurationsBeforeCachingThem(@TempDir Path tempDir) throws Exception {
+        final ConfigurationSnapshots snapshots = new ConfigurationSnapshots(tempDir.resolve("snapshots"));
+        factory(snapshots, BaseValidator.newValidator()).build(provider, "factory-test-valid.yml");
+
+        System.setProperty("dw.name", "Invalid");
+
+        assertThatExceptionOfType(ConfigurationValidationException.class)
+            .isThrownBy(() -> factory(snapshots, BaseValidator.newValidator()).build(provider, "factory-test-valid.yml"));
+        assertThatExceptionOfType(ConfigurationValidationException.class)
+            .isThrownBy(() -> factory(snapshots, BaseValidator.newValidator()).build(provider, "factory-test-valid.yml"));
+        assertThat(snapshots(snapshots)).hasSize(1);
+    }
+
+    @Test
+    void doesNotCacheInvalidConfigurations(@TempDir Path tempDir) throws Exception {
+        final ConfigurationSnapshots snapshots = new ConfigurationSnapshots(tempDir.resolve("snapshots"));
+
+        assertThatExceptionOfType(ConfigurationValidationException.class)
+            .isThrownBy(() -> factory(snapshots, BaseValidator.newValidator()).build(provider, "factory-test-invalid.yml"));
+        assertThat(tempDir.resolve("snapshots")).doesNotExist();
+    }
+
+    private static YamlConfigurationFactory<Example> factory(ConfigurationSnapshots snapshots, Validator validator) {
+        final YamlConfigurationFactory<Example> factory =
+            new YamlConfigurationFactory<>(Example.class, validator, newObjectMapper(), "dw");
+        factory.setSnapshots(snapshots);
+        return factory;
+    }
+
+    private static Validator countingValidator(AtomicInteger validations) {
+        final Validator validator = BaseValidator.newValidator();
+        return (Validator) Proxy.newProxyInstance(Validator.class.getClassLoader(), new Class<?>[]{Validator.class},
+            (proxy, method, args) -> {
+                if ("validate".equals(method.getName())) {
+                    validations.incrementAndGet();
+                }
+                return method.invoke(validator, args);
+            });
+    }
+
+    private static Path[] snapshots(ConfigurationSnapshots snapshots) throws IOException {
+        try (Stream<Path> files = Files.list(snapshots.getDirectory())) {
+            return files.toArray(Path[]::new);
+        }
+    }
+}
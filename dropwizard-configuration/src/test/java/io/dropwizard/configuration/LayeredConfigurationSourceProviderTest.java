@@ -0,0 +1,63 @@
+package io.dropwizard.configuration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import org.apache.commons.text.StringSubstitutor;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LayeredConfigurationSourceProviderTest {
+    private static final ObjectMapper YAML = new ObjectMapper(new YAMLFactory());
+
+    // the paths are the contents of the layers
+    private final ConfigurationSourceProvider contents =
+        path -> new ByteArrayInputStream(path.getBytes(StandardCharsets.UTF_8));
+
+    @Test
+    void mergesObjectsAndReplacesOtherValues() throws IOException {
+        final LayeredConfigurationSourceProvider provider = new LayeredConfigurationSourceProvider(contents,
+            Arrays.asList("server: {port: 8081}\nlist: [3]", "logging: {level: DEBUG}\nname: overlay"));
+
+        final JsonNode merged = read(provider, "server: {port: 8080, host: localhost}\nlist: [1, 2]\nname: base");
+
+        assertThat(merged).isEqualTo(YAML.readTree("server: {port: 8081, host: localhost}\nlist: [3]\n" +
+            "name: overlay\nlogging: {level: DEBUG}"));
+    }
+
+    @Test
+    void appliesTheOverlaysInOrder() throws IOException {
+        final LayeredConfigurationSourceProvider provider = new LayeredConfigurationSourceProvider(contents,
+            Arrays.asList("name: first", "name: second"));
+
+        assertThat(read(provider, "name: base").get("name").asText()).isEqualTo("second");
+    }
+
+    @Test
+    void treatsEmptyLayersAsEmptyObjects() throws IOException {
+        final LayeredConfigurationSourceProvider provider = new LayeredConfigurationSourceProvider(contents,
+            Collections.singletonList(""));
+
+        assertThat(read(provider, "name: base")).isEqualTo(YAML.readTree("name: base"));
+    }
+
+    @Test
+    void substitutesEachLayerWithTheUnderlyingProvider() throws IOException {
+        final LayeredConfigurationSourceProvider provider = new LayeredConfigurationSourceProvider(
+            new SubstitutingSourceProvider(contents, new StringSubstitutor(name -> "substituted")),
+            Collections.singletonList("port: ${PORT}"));
+
+        assertThat(read(provider, "name: base").get("port").asText()).isEqualTo("substituted");
+    }
+
+    private static JsonNode read(ConfigurationSourceProvider provider, String path) throws IOException {
+        return YAML.readTree(provider.open(path));
+    }
+}
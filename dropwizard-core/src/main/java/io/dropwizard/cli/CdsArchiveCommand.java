@@ -0,0 +1,85 @@
+package io.dropwizard.cli;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+import io.dropwizard.Application;
+import io.dropwizard.Configuration;
+import io.dropwizard.setup.Environment;
+import net.sourceforge.argparse4j.inf.Namespace;
+import net.sourceforge.argparse4j.inf.Subparser;
+import org.eclipse.jetty.server.Server;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Runs an application as an HTTP server, warms it up, stops it and writes a dynamic class-data sharing (AppCDS)
+ * archive of the classes it loaded. Starting the application with {@code -XX:SharedArchiveFile=<archive>} then maps
+ * these classes from the archive instead of loading and verifying them again.
+ * <p/>
+ * The archive is either written when the JVM exits, if it runs with {@code -XX:ArchiveClassesAtExit=<archive>}
+ * (Java 13 or later), or right after the server stopped, to the path given by {@code --archive}, if it runs with
+ * {@code -XX:+RecordDynamicDumpInfo} (Java 19 or later).
+ *
+ * @param <T> the {@link Configuration} subclass which is loaded from the configuration file
+ * @since 2.1
+ */
+public class CdsArchiveCommand<T extends Configuration> extends ServerCommand<T> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CdsArchiveCommand.class);
+
+    public CdsArchiveCommand(Application<T> application) {
+        super(application, "cds-archive",
+            "Runs the Dropwizard application, warms it up, stops it and writes a class-data sharing archive");
+    }
+
+    @Override
+    public void configure(Subparser subparser) {
+        super.configure(subparser);
+        WarmupArguments.addArguments(subparser);
+
+        subparser.addArgument("--archive")
+                 .dest("archive")
+                 .help("the archive to write, if the JVM runs with -XX:+RecordDynamicDumpInfo");
+    }
+
+    @Override
+    protected void serverStarted(Server server, Environment environment, Namespace namespace, T configuration)
+        throws Exception {
+        WarmupArguments.warmUp(environment, namespace);
+        server.stop();
+
+        final String archiveAtExit = vmOption("ArchiveClassesAtExit");
+        if (archiveAtExit != null && !archiveAtExit.isEmpty()) {
+            LOGGER.info("The class-data sharing archive is written to {} when the JVM exits", archiveAtExit);
+            return;
+        }
+
+        final String archive = namespace.getString("archive");
+        if (!"true".equals(vmOption("RecordDynamicDumpInfo")) || archive == null) {
+            throw new IllegalStateException("Unable to write a class-data sharing archive, run the JVM with "
+                + "-XX:ArchiveClassesAtExit=<archive>, or with -XX:+RecordDynamicDumpInfo and --archive <archive>");
+        }
+        ManagementFactory.getPlatformMBeanServer().invoke(
+            new ObjectName("com.sun.management:type=DiagnosticCommand"), "vmCds",
+            new Object[]{new String[]{"dynamic_dump", archive}}, new String[]{String[].class.getName()});
+        LOGGER.info("Wrote the class-data sharing archive {}", archive);
+    }
+
+    /**
+     * Returns the value of the given HotSpot option, or {@code null} if the JVM does not have it.
+     */
+    @Nullable
+    private static String vmOption(String name) {
+        final HotSpotDiagnosticMXBean hotSpot = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+        if (hotSpot == null) {
+            return null;
+        }
+        try {
+            return hotSpot.getVMOption(name).getValue();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
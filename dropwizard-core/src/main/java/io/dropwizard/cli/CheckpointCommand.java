@@ -0,0 +1,70 @@
+package io.dropwizard.cli;
+
+import io.dropwizard.Application;
+import io.dropwizard.Configuration;
+import io.dropwizard.server.AbstractServerFactory;
+import io.dropwizard.server.CheckpointRestoreResource;
+import io.dropwizard.server.ServerFactory;
+import io.dropwizard.setup.Environment;
+import net.sourceforge.argparse4j.inf.Namespace;
+import net.sourceforge.argparse4j.inf.Subparser;
+import org.crac.Core;
+import org.eclipse.jetty.server.Server;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+/**
+ * Runs an application as an HTTP server, warms it up and checkpoints its JVM with Coordinated Restore at Checkpoint
+ * (CRaC), which must be enabled with {@code -XX:CRaCCheckpointTo=<directory>}. The JVM exits after the checkpoint.
+ * Restoring it with {@code -XX:CRaCRestoreFrom=<directory>} resumes the application, which then runs like the
+ * {@link ServerCommand server command}.
+ * <p/>
+ * The warmup sends {@code GET} requests to the given paths, relative to the root path of Jersey, with a
+ * {@link io.dropwizard.warmup.WarmupRunner}, in process, so that it doesn't open any sockets.
+ *
+ * @param <T> the {@link Configuration} subclass which is loaded from the configuration file
+ * @see CheckpointRestoreResource
+ * @since 2.1
+ */
+public class CheckpointCommand<T extends Configuration> extends ServerCommand<T> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CheckpointCommand.class);
+
+    @Nullable
+    private CheckpointRestoreResource resource;
+
+    public CheckpointCommand(Application<T> application) {
+        super(application, "checkpoint",
+            "Runs the Dropwizard application as an HTTP server, warms it up and checkpoints its JVM");
+    }
+
+    @Override
+    public void configure(Subparser subparser) {
+        super.configure(subparser);
+        WarmupArguments.addArguments(subparser);
+    }
+
+    @Override
+    protected boolean isCheckpointing() {
+        return true;
+    }
+
+    @Override
+    protected void serverStarted(Server server, Environment environment, Namespace namespace, T configuration)
+        throws Exception {
+        WarmupArguments.warmUp(environment, namespace);
+
+        // CRaC only keeps a weak reference to the resource
+        final ServerFactory serverFactory = configuration.getServerFactory();
+        resource = new CheckpointRestoreResource(server, environment.lifecycle(), configuration.getLoggingFactory(),
+            serverFactory instanceof AbstractServerFactory
+                ? ((AbstractServerFactory) serverFactory).getRequestLogFactory() : null,
+            environment.metrics(), environment.getName());
+        Core.getGlobalContext().register(resource);
+
+        LOGGER.info("Checkpointing the JVM");
+        Core.checkpointRestore();
+        LOGGER.info("Restored the JVM from the checkpoint");
+    }
+}
@@ -2,11 +2,25 @@ package io.dropwizard.cli;
 
 import io.dropwizard.Application;
 import io.dropwizard.Configuration;
+import io.dropwizard.configuration.ConfigurationFactory;
+import io.dropwizard.configuration.ConfigurationSourceProvider;
+import io.dropwizard.health.DefaultHealthFactory;
+import io.dropwizard.health.HealthFactory;
+import io.dropwizard.logging.DefaultLoggingFactory;
+import io.dropwizard.reload.ConfigurationReloader;
+import io.dropwizard.reload.ReloadHandler;
+import io.dropwizard.reload.ReloadableReporters;
 import io.dropwizard.setup.Bootstrap;
 import io.dropwizard.setup.Environment;
+import io.dropwizard.setup.StartupServlet;
+import io.dropwizard.setup.StartupTracer;
 import net.sourceforge.argparse4j.inf.Namespace;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
+import java.nio.file.Path;
+import java.util.List;
 
 /**
  * A command which executes with a configured {@link Environment}.
@@ -15,9 +29,13 @@ import javax.annotation.Nullable;
  * @see Configuration
  */
 public abstract class EnvironmentCommand<T extends Configuration> extends ConfiguredCommand<T> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EnvironmentCommand.class);
+
     private final Application<T> application;
     @Nullable
     private Environment environment;
+    @Nullable
+    private StartupTracer startupTracer;
 
     /**
      * Creates a new environment command.
@@ -42,32 +60,116 @@ public abstract class EnvironmentCommand<T extends Configuration> extends Config
         return environment;
     }
 
+    /**
+     * Returns the tracer of the startup of the application or {@code null} if the command hasn't run yet.
+     *
+     * @return Returns the tracer of the startup of the application or {@code null} if the command hasn't run yet
+     * @since 2.1
+     */
+    @Nullable
+    public StartupTracer getStartupTracer() {
+        return startupTracer;
+    }
+
     @SuppressWarnings("NullAway")
     @Override
     protected void run(Bootstrap<T> bootstrap, Namespace namespace, T configuration) throws Exception {
-        this.environment = new Environment(bootstrap.getApplication().getName(),
-                                           bootstrap.getObjectMapper(),
-                                           bootstrap.getValidatorFactory(),
-                                           bootstrap.getMetricRegistry(),
-                                           bootstrap.getClassLoader(),
-                                           bootstrap.getHealthCheckRegistry(),
-                                           configuration);
-        configuration.getMetricsFactory().configure(environment.lifecycle(),
-                                                    bootstrap.getMetricRegistry());
-        configuration.getServerFactory().configure(environment);
-        configuration.getHealthFactory().ifPresent(health -> health.configure(
-                environment.lifecycle(),
-                environment.servlets(),
-                environment.jersey(),
-                environment.health(),
-                environment.getObjectMapper(),
-                application.getName()));
+        this.startupTracer = bootstrap.getStartupTracer();
+        try (StartupTracer.Phase phase = startupTracer.begin("environment")) {
+            this.environment = new Environment(bootstrap.getApplication().getName(),
+                                               bootstrap.getObjectMapper(),
+                                               bootstrap.getValidatorFactory(),
+                                               bootstrap.getMetricRegistry(),
+                                               bootstrap.getClassLoader(),
+                                               bootstrap.getHealthCheckRegistry(),
+                                               configuration);
+            if (isCheckpointing()) {
+                environment.lifecycle().enableCheckpoint();
+            }
+            final String path = namespace.getString("file");
+            // only the server command has the --reload argument
+            if (Boolean.TRUE.equals(namespace.getBoolean("reload")) && path != null) {
+                configureReload(bootstrap, path, configuration, environment);
+            } else {
+                configuration.getMetricsFactory().configure(environment.lifecycle(),
+                                                            bootstrap.getMetricRegistry());
+            }
+            bootstrap.registerJmxReporter(configuration.getMetricsFactory().getJmx(), environment.lifecycle());
+            configuration.getServerFactory().configure(environment);
+            configuration.getHealthFactory().ifPresent(health -> health.configure(
+                    environment.lifecycle(),
+                    environment.servlets(),
+                    environment.jersey(),
+                    environment.health(),
+                    environment.getObjectMapper(),
+                    application.getName()));
+            if (configuration.getAdminFactory().getStartup().isServletEnabled()) {
+                environment.admin().addServlet("startup",
+                        new StartupServlet(startupTracer, environment.getObjectMapper())).addMapping("/startup");
+            }
+        }
 
         bootstrap.run(configuration, environment);
-        application.run(configuration, environment);
+        try (StartupTracer.Phase phase = startupTracer.begin("application.run")) {
+            application.run(configuration, environment);
+        }
         run(environment, namespace, configuration);
     }
 
+    private void configureReload(Bootstrap<T> bootstrap, String path, T configuration, Environment environment) {
+        final ConfigurationSourceProvider provider = bootstrap.getConfigurationSourceProvider();
+        final List<Path> files = ConfigurationReloader.files(provider, path);
+        final ConfigurationFactory<T> factory = bootstrap.getConfigurationFactoryFactory().create(
+            getConfigurationClass(), bootstrap.getValidatorFactory().getValidator(), bootstrap.getObjectMapper(), "dw");
+        environment.lifecycle().manage(new ConfigurationReloader<>(factory, provider, path, files, configuration,
+            environment.reload(), bootstrap.getMetricRegistry()));
+
+        final ReloadableReporters reporters = new ReloadableReporters(configuration.getMetricsFactory(),
+            bootstrap.getMetricRegistry());
+        environment.lifecycle().manage(reporters);
+        final ReloadHandler<T> reporterHandler = (previous, next) -> reporters.reload(next.getMetricsFactory());
+        environment.reload().register("/metrics/frequency", reporterHandler);
+        environment.reload().register("/metrics/reporters", reporterHandler);
+        environment.reload().register("/metrics/reportOnStop", reporterHandler);
+
+        final ReloadHandler<T> levelHandler = (previous, next) -> {
+            if (previous.getLoggingFactory() instanceof DefaultLoggingFactory
+                && next.getLoggingFactory() instanceof DefaultLoggingFactory) {
+                ((DefaultLoggingFactory) next.getLoggingFactory())
+                    .reloadLevels((DefaultLoggingFactory) previous.getLoggingFactory());
+            } else {
+                LOGGER.warn("The log levels are only applied when the application restarts");
+            }
+        };
+        environment.reload().register("/logging/level", levelHandler);
+        // the appenders and the additivity of a logger are only applied when the application restarts
+        environment.reload().registerValue("/logging/loggers/*", levelHandler);
+        environment.reload().register("/logging/loggers/*/level", levelHandler);
+
+        // the health checks keep running with the manager of the configuration they were configured with
+        final HealthFactory runningHealth = configuration.getHealthFactory().orElse(null);
+        final ReloadHandler<T> scheduleHandler = (previous, next) -> {
+            final HealthFactory nextHealth = next.getHealthFactory().orElse(null);
+            if (runningHealth instanceof DefaultHealthFactory && nextHealth instanceof DefaultHealthFactory) {
+                ((DefaultHealthFactory) nextHealth).reloadSchedules((DefaultHealthFactory) runningHealth);
+            } else {
+                LOGGER.warn("The health check schedules are only applied when the application restarts");
+            }
+        };
+        environment.reload().register("/health/healthChecks/*/schedule", scheduleHandler);
+    }
+
+    /**
+     * Returns whether the command checkpoints the JVM, in which case the checkpoint of the
+     * {@link Environment#lifecycle() lifecycle} is enabled before the application runs. The default implementation returns {@code false}.
+     *
+     * @return whether the command checkpoints the JVM
+     * @since 2.1
+     */
+    protected boolean isCheckpointing() {
+        return false;
+    }
+
     /**
      * Runs the command with the given {@link Environment} and {@link Configuration}.
      *
@@ -3,7 +3,11 @@ package io.dropwizard.cli;
 import io.dropwizard.Application;
 import io.dropwizard.Configuration;
 import io.dropwizard.setup.Environment;
+import io.dropwizard.setup.StartupTracer;
+import net.sourceforge.argparse4j.impl.Arguments;
 import net.sourceforge.argparse4j.inf.Namespace;
+import net.sourceforge.argparse4j.inf.Subparser;
+import org.eclipse.jetty.server.Connector;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.util.component.LifeCycle;
 import org.slf4j.Logger;
@@ -43,13 +47,33 @@ public class ServerCommand<T extends Configuration> extends EnvironmentCommand<T
         return configurationClass;
     }
 
+    @Override
+    public void configure(Subparser subparser) {
+        super.configure(subparser);
+        subparser.addArgument("--reload")
+                 .action(Arguments.storeTrue())
+                 .dest("reload")
+                 .help("apply the changes to the configuration files while the application runs");
+    }
+
     @Override
     protected void run(Environment environment, Namespace namespace, T configuration) throws Exception {
+        final StartupTracer tracer = getStartupTracer();
+        final StartupTracer.Phase buildPhase = tracer == null ? null : tracer.begin("server.build");
         final Server server = configuration.getServerFactory().build(environment);
+        if (buildPhase != null) {
+            buildPhase.close();
+        }
         try {
             server.addLifeCycleListener(new LifeCycleListener());
             cleanupAsynchronously();
-            server.start();
+            if (tracer == null) {
+                server.start();
+            } else {
+                start(server, environment, tracer);
+                tracer.complete(environment.metrics(), configuration.getAdminFactory().getStartup());
+            }
+            serverStarted(server, environment, namespace, configuration);
         } catch (Exception e) {
             LOGGER.error("Unable to start server, shutting down", e);
             try {
@@ -66,6 +90,33 @@ public class ServerCommand<T extends Configuration> extends EnvironmentCommand<T
         }
     }
 
+    /**
+     * Called once the server has started. If this fails, the server is stopped. The default implementation is a no-op.
+     *
+     * @param server        the started server
+     * @param environment   the application's {@link Environment}
+     * @param namespace     the parsed command line namespace
+     * @param configuration the configuration object
+     * @throws Exception if something goes wrong
+     * @since 2.1
+     */
+    protected void serverStarted(Server server, Environment environment, Namespace namespace, T configuration)
+        throws Exception {
+    }
+
+    private static void start(Server server, Environment environment, StartupTracer tracer) throws Exception {
+        tracer.trace(environment.getApplicationContext(), "server.start.application");
+        tracer.trace(environment.getAdminContext(), "server.start.admin");
+        final Connector[] connectors = server.getConnectors();
+        for (int i = 0; i < connectors.length; i++) {
+            final String name = connectors[i].getName();
+            tracer.trace(connectors[i], "server.start.connector." + (name == null ? Integer.toString(i) : name));
+        }
+        try (StartupTracer.Phase phase = tracer.begin("server.start")) {
+            server.start();
+        }
+    }
+
     private class LifeCycleListener implements LifeCycle.Listener {
         @Override
         public void lifeCycleStopped(LifeCycle event) {
@@ -0,0 +1,64 @@
+package io.dropwizard.cli;
+
+import io.dropwizard.setup.Environment;
+import io.dropwizard.warmup.WarmupConfiguration;
+import io.dropwizard.warmup.WarmupRequest;
+import io.dropwizard.warmup.WarmupRunner;
+import net.sourceforge.argparse4j.impl.Arguments;
+import net.sourceforge.argparse4j.inf.Namespace;
+import net.sourceforge.argparse4j.inf.Subparser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The command line arguments of the commands which warm up a started server with a {@link WarmupRunner}, by sending
+ * {@code GET} requests to the given paths, relative to the root path of Jersey, in process.
+ */
+final class WarmupArguments {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WarmupArguments.class);
+
+    private WarmupArguments() {
+    }
+
+    static void addArguments(Subparser subparser) {
+        subparser.addArgument("--warmup-path")
+                 .action(Arguments.append())
+                 .dest("warmup-paths")
+                 .help("send GET requests to the given path, relative to the root path of Jersey, to warm up the "
+                     + "application");
+
+        subparser.addArgument("--warmup-requests")
+                 .type(Integer.class)
+                 .dest("warmup-requests")
+                 .setDefault(100)
+                 .help("the number of requests sent to each warmup path");
+    }
+
+    static void warmUp(Environment environment, Namespace namespace) throws InterruptedException {
+        final List<String> paths = namespace.getList("warmup-paths");
+        final Integer requests = namespace.getInt("warmup-requests");
+        if (paths == null || paths.isEmpty() || requests == null || requests <= 0) {
+            return;
+        }
+
+        final List<WarmupRequest> warmupRequests = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            final WarmupRequest request = new WarmupRequest();
+            request.setPath(path);
+            request.setIterations(requests);
+            warmupRequests.add(request);
+        }
+        final WarmupConfiguration configuration = new WarmupConfiguration();
+        configuration.setRequests(warmupRequests);
+
+        final WarmupRunner runner = WarmupRunner.forEnvironment(environment, configuration);
+        if (runner == null) {
+            LOGGER.warn("Not warming up, as Jersey does not run in a Jersey servlet container");
+            return;
+        }
+        LOGGER.info("Warmed up: {}", runner.run());
+    }
+}
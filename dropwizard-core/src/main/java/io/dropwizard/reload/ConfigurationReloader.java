@@ -0,0 +1,359 @@
+package io.dropwizard.reload;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import io.dropwizard.Configuration;
+import io.dropwizard.configuration.ConfigurationException;
+import io.dropwizard.configuration.ConfigurationFactory;
+import io.dropwizard.configuration.ConfigurationSourceProvider;
+import io.dropwizard.configuration.LayeredConfigurationSourceProvider;
+import io.dropwizard.configuration.SubstitutingSourceProvider;
+import io.dropwizard.lifecycle.Managed;
+import io.dropwizard.util.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reloads the configuration of a running application when its files change. The files are watched with a
+ * {@link WatchService}; when one of them changes, the configuration source is read again and its tree is compared with
+ * the tree of the configuration which is applied. The configuration is then built and validated, and the handlers of
+ * the {@link ReloadEnvironment} registered for the changed parts are called. Changes to the other parts are logged, as
+ * they are only applied when the application restarts. An invalid configuration is not applied at all. The parts whose
+ * handlers failed keep their previous values in the applied tree, so that their handlers are called again on the
+ * next reload.
+ * <p/>
+ * The time each reload took is recorded by the timer {@code io.dropwizard.reload.ConfigurationReloader.reloads}, and
+ * the reloads which failed, entirely or in one of their handlers, are counted by the meter
+ * {@code io.dropwizard.reload.ConfigurationReloader.failures}.
+ *
+ * @param <T> the type of the configuration of the application
+ * @since 2.1
+ */
+public class ConfigurationReloader<T extends Configuration> implements Managed {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConfigurationReloader.class);
+    private static final ObjectMapper YAML = new ObjectMapper(new YAMLFactory());
+    private static final Duration DEBOUNCE = Duration.milliseconds(100);
+
+    private final ConfigurationFactory<T> factory;
+    private final ConfigurationSourceProvider provider;
+    private final String path;
+    private final List<Path> files;
+    private final ReloadEnvironment handlers;
+    private final Timer reloads;
+    private final Meter failures;
+
+    private T configuration;
+    @Nullable
+    private JsonNode tree;
+    @Nullable
+    private WatchService watchService;
+
+    /**
+     * Creates a new reloader.
+     *
+     * @param factory       the factory which builds the configuration
+     * @param provider      the provider of the configuration source
+     * @param path          the path of the configuration source
+     * @param files         the files to watch, e.g. the configuration file and its overlays
+     * @param configuration the configuration which is applied
+     * @param handlers      the handlers of the changed parts of the configuration
+     * @param metrics       the registry of the reload metrics
+     */
+    public ConfigurationReloader(ConfigurationFactory<T> factory,
+                                 ConfigurationSourceProvider provider,
+                                 String path,
+                                 List<Path> files,
+                                 T configuration,
+                                 ReloadEnvironment handlers,
+                                 MetricRegistry metrics) {
+        this.factory = requireNonNull(factory);
+        this.provider = requireNonNull(provider);
+        this.path = requireNonNull(path);
+        this.files = new ArrayList<>();
+        for (Path file : files) {
+            this.files.add(file.toAbsolutePath().normalize());
+        }
+        this.configuration = requireNonNull(configuration);
+        this.handlers = requireNonNull(handlers);
+        this.reloads = metrics.timer(name(ConfigurationReloader.class, "reloads"));
+        this.failures = metrics.meter(name(ConfigurationReloader.class, "failures"));
+    }
+
+    /**
+     * Returns the files a configuration source is read from: the file of its path, and the files of the overlays of
+     * the {@link LayeredConfigurationSourceProvider layered providers} among the given provider and the providers
+     * it wraps, such as the delegate of a {@link SubstitutingSourceProvider}.
+     *
+     * @param provider the provider of the configuration source
+     * @param path     the path of the configuration source
+     * @return the files to watch
+     */
+    public static List<Path> files(ConfigurationSourceProvider provider, String path) {
+        final List<Path> files = new ArrayList<>();
+        files.add(Paths.get(path));
+        ConfigurationSourceProvider current = provider;
+        while (true) {
+            if (current instanceof SubstitutingSourceProvider) {
+                current = ((SubstitutingSourceProvider) current).getDelegate();
+            } else if (current instanceof LayeredConfigurationSourceProvider) {
+                final LayeredConfigurationSourceProvider layered = (LayeredConfigurationSourceProvider) current;
+                for (String overlay : layered.getOverlays()) {
+                    files.add(Paths.get(overlay));
+                }
+                current = layered.getDelegate();
+            } else {
+                return files;
+            }
+        }
+    }
+
+    /**
+     * Returns the configuration which is applied.
+     */
+    public synchronized T getConfiguration() {
+        return configuration;
+    }
+
+    @Override
+    public void start() throws Exception {
+        synchronized (this) {
+            tree = readTree();
+        }
+        final Set<Path> directories = new LinkedHashSet<>();
+        for (Path file : files) {
+            final Path directory = file.getParent();
+            if (directory != null && Files.isRegularFile(file)) {
+                directories.add(directory);
+            }
+        }
+        if (directories.isEmpty()) {
+            LOGGER.warn("Not watching the configuration, as none of {} is a file", files);
+            return;
+        }
+
+        final WatchService service = FileSystems.getDefault().newWatchService();
+        for (Path directory : directories) {
+            directory.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        }
+        watchService = service;
+        final Thread thread = new Thread(() -> watch(service), "dw-configuration-reloader");
+        thread.setDaemon(true);
+        thread.start();
+        LOGGER.info("Watching {} for changes", files);
+    }
+
+    @Override
+    public void stop() throws Exception {
+        final WatchService service = watchService;
+        if (service != null) {
+            watchService = null;
+            service.close();
+        }
+    }
+
+    private void watch(WatchService service) {
+        try {
+            while (true) {
+                if (isWatched(service.take())) {
+                    // editors often write a file in several steps, so wait for the writes to settle
+                    Thread.sleep(DEBOUNCE.toMilliseconds());
+                    WatchKey key;
+                    while ((key = service.poll()) != null) {
+                        isWatched(key);
+                    }
+                    reload();
+                }
+            }
+        } catch (ClosedWatchServiceException ignored) {
+            // stopped
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean isWatched(WatchKey key) {
+        boolean watched = false;
+        final Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.context() instanceof Path && files.contains(directory.resolve((Path) event.context()))) {
+                watched = true;
+            }
+        }
+        key.reset();
+        return watched;
+    }
+
+    /**
+     * Reads the configuration source, and applies the parts which changed since the last reload.
+     *
+     * @return whether the configuration changed and was valid
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public synchronized boolean reload() {
+        try (Timer.Context context = reloads.time()) {
+            final JsonNode next = readTree();
+            final Set<String> changed = new TreeSet<>();
+            diff("", tree, next, changed);
+            if (changed.isEmpty()) {
+                return false;
+            }
+
+            final T nextConfiguration = factory.build(provider, path);
+            final Map<ReloadHandler<?>, Set<String>> called = new LinkedHashMap<>();
+            final Set<String> unhandled = new TreeSet<>();
+            for (String pointer : changed) {
+                if (!handlers.isHandled(pointer)) {
+                    unhandled.add(pointer);
+                }
+                for (ReloadHandler<?> handler : handlers.getHandlers(pointer)) {
+                    called.computeIfAbsent(handler, h -> new TreeSet<>()).add(pointer);
+                }
+            }
+            final Set<String> failed = new TreeSet<>();
+            for (Map.Entry<ReloadHandler<?>, Set<String>> entry : called.entrySet()) {
+                try {
+                    ((ReloadHandler) entry.getKey()).reload(configuration, nextConfiguration);
+                } catch (Exception e) {
+                    failures.mark();
+                    failed.addAll(entry.getValue());
+                    LOGGER.error("Unable to apply the reloaded configuration with {}", entry.getKey(), e);
+                }
+            }
+            if (!unhandled.isEmpty()) {
+                LOGGER.warn("The configuration of {} changed, but is only applied when the application restarts",
+                    unhandled);
+            }
+            if (!failed.isEmpty()) {
+                LOGGER.warn("The configuration of {} was not applied, and is applied again on the next reload", failed);
+            }
+            LOGGER.info("Reloaded the configuration from {}: {} changed", path, changed);
+            configuration = nextConfiguration;
+            tree = restore(tree, next, failed);
+            return true;
+        } catch (IOException | ConfigurationException | RuntimeException e) {
+            failures.mark();
+            LOGGER.error("Unable to reload the configuration from {}", path, e);
+            return false;
+        }
+    }
+
+    private JsonNode readTree() throws IOException {
+        try (InputStream input = provider.open(path)) {
+            final JsonNode node = YAML.readTree(input);
+            return node == null ? MissingNode.getInstance() : node;
+        }
+    }
+
+    /**
+     * Returns the next tree, with the values of the given JSON pointers restored from the previous tree, so that
+     * they are considered as changed again by the next reload.
+     */
+    static JsonNode restore(@Nullable JsonNode previous, JsonNode next, Set<String> pointers) {
+        if (previous == null || pointers.isEmpty()) {
+            return next;
+        }
+        if (pointers.contains("")) {
+            return previous;
+        }
+        JsonNode restored = next.deepCopy();
+        for (String pointer : pointers) {
+            restored = restore(previous, restored, JsonPointer.compile(pointer));
+        }
+        return restored;
+    }
+
+    private static JsonNode restore(JsonNode previous, JsonNode restored, JsonPointer pointer) {
+        final JsonPointer head = pointer.head();
+        if (head == null) {
+            return previous;
+        }
+        final JsonNode parent = restored.at(head);
+        final JsonNode value = previous.at(pointer);
+        if (parent instanceof ObjectNode) {
+            final String name = pointer.last().getMatchingProperty();
+            if (value.isMissingNode()) {
+                ((ObjectNode) parent).remove(name);
+            } else {
+                ((ObjectNode) parent).set(name, value.deepCopy());
+            }
+            return restored;
+        }
+        final int index = pointer.last().getMatchingIndex();
+        if (parent instanceof ArrayNode && index >= 0 && index < parent.size() && !value.isMissingNode()) {
+            ((ArrayNode) parent).set(index, value.deepCopy());
+            return restored;
+        }
+        // the parent of the value changed as well, e.g. it was removed, so it is restored as a whole
+        return restore(previous, restored, head);
+    }
+
+    /**
+     * Collects the JSON pointers of the values which differ between two trees. Objects are compared field by field,
+     * including the fields of an object which was added, removed, or replaced by another kind of value, and lists of
+     * the same size element by element; any other value is compared as a whole.
+     */
+    static void diff(String pointer, @Nullable JsonNode previous, @Nullable JsonNode next, Set<String> changed) {
+        @Nullable
+        final JsonNode previousObject = previous != null && previous.isObject() ? previous : null;
+        @Nullable
+        final JsonNode nextObject = next != null && next.isObject() ? next : null;
+        if (previousObject != null || nextObject != null) {
+            final Set<String> names = new TreeSet<>();
+            if (previousObject != null) {
+                previousObject.fieldNames().forEachRemaining(names::add);
+            }
+            if (nextObject != null) {
+                nextObject.fieldNames().forEachRemaining(names::add);
+            }
+            // the value itself changed if it was replaced by another kind of value, or is an empty object which was
+            // added or removed
+            if ((previousObject == null && previous != null) || (nextObject == null && next != null)
+                || (names.isEmpty() && (previousObject == null || nextObject == null))) {
+                changed.add(pointer);
+            }
+            for (String name : names) {
+                diff(pointer + "/" + name.replace("~", "~0").replace("/", "~1"),
+                    previousObject == null ? null : previousObject.get(name),
+                    nextObject == null ? null : nextObject.get(name), changed);
+            }
+        } else if (previous != null && next != null && previous.isArray() && next.isArray()
+            && previous.size() == next.size()) {
+            for (int i = 0; i < previous.size(); i++) {
+                diff(pointer + "/" + i, previous.get(i), next.get(i), changed);
+            }
+        } else if (previous == null ? next != null : !previous.equals(next)) {
+            changed.add(pointer);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package io.dropwizard.reload;
+
+import io.dropwizard.Configuration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The handlers which apply the changed parts of the configuration when it is reloaded by a
+ * {@link ConfigurationReloader}. Each handler is registered for a part of the configuration, identified by a JSON
+ * pointer such as {@code /logging/level} or {@code /database}, in which a reference token of {@code *} matches any
+ * token, such as the name of a logger or the index of a list element. Changes to the parts for which no handler is
+ * registered are only applied when the application restarts.
+ *
+ * @since 2.1
+ */
+public class ReloadEnvironment {
+    private static final String WILDCARD = "*";
+
+    private final List<Registration> registrations = new CopyOnWriteArrayList<>();
+
+    /**
+     * Registers a handler for a part of the configuration. The handler is called when anything in that part changes.
+     *
+     * @param path    the JSON pointer of the part of the configuration, e.g. {@code /metrics/reporters}
+     * @param handler the handler which applies the changes
+     * @param <T>     the type of the configuration of the application
+     */
+    public <T extends Configuration> void register(String path, ReloadHandler<T> handler) {
+        registrations.add(new Registration(tokens(path), handler, false));
+    }
+
+    /**
+     * Registers a handler for a single value of the configuration, which does not apply the parts nested in that
+     * value. This suits a value which may also be configured as an object with more parts, such as a logger which is
+     * configured either by its level or by an object with its level and its appenders: the changes to the parts of
+     * that object are only applied by the handlers registered for them.
+     *
+     * @param path    the JSON pointer of the value, e.g. {@code /logging/loggers/*}
+     * @param handler the handler which applies the changes
+     * @param <T>     the type of the configuration of the application
+     */
+    public <T extends Configuration> void registerValue(String path, ReloadHandler<T> handler) {
+        registrations.add(new Registration(tokens(path), handler, true));
+    }
+
+    /**
+     * Returns the handlers registered for the parts of the configuration which contain, or are contained in, a
+     * changed path, in the order in which they were registered.
+     */
+    List<ReloadHandler<?>> getHandlers(String changed) {
+        final List<String> tokens = tokens(changed);
+        final List<ReloadHandler<?>> handlers = new ArrayList<>();
+        for (Registration registration : registrations) {
+            if (registration.covers(tokens) || registration.isWithin(tokens)) {
+                handlers.add(registration.handler);
+            }
+        }
+        return handlers;
+    }
+
+    /**
+     * Returns whether a handler applies all of a changed path, rather than only some of the parts it contains.
+     */
+    boolean isHandled(String changed) {
+        final List<String> tokens = tokens(changed);
+        for (Registration registration : registrations) {
+            if (registration.covers(tokens)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<String> tokens(String pointer) {
+        if (pointer.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (!pointer.startsWith("/")) {
+            throw new IllegalArgumentException("Not a JSON pointer: " + pointer);
+        }
+        return Arrays.asList(pointer.substring(1).split("/", -1));
+    }
+
+    private static class Registration {
+        private final List<String> tokens;
+        private final ReloadHandler<?> handler;
+        private final boolean value;
+
+        Registration(List<String> tokens, ReloadHandler<?> handler, boolean value) {
+            this.tokens = tokens;
+            this.handler = handler;
+            this.value = value;
+        }
+
+        /**
+         * Returns whether the changed path is the registered part or, unless a single value is registered, one of
+         * its parts.
+         */
+        boolean covers(List<String> changed) {
+            return (value ? changed.size() == tokens.size() : changed.size() >= tokens.size())
+                && matches(changed, tokens.size());
+        }
+
+        /**
+         * Returns whether the registered part is one of the parts of the changed path.
+         */
+        boolean isWithin(List<String> changed) {
+            return changed.size() < tokens.size() && matches(changed, changed.size());
+        }
+
+        private boolean matches(List<String> changed, int count) {
+            for (int i = 0; i < count; i++) {
+                final String token = tokens.get(i);
+                if (!WILDCARD.equals(token) && !token.equals(changed.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package io.dropwizard.reload;
+
+import io.dropwizard.Configuration;
+
+/**
+ * Applies a changed part of the configuration to the running application.
+ *
+ * @param <T> the type of the configuration of the application
+ * @see ReloadEnvironment#register(String, ReloadHandler)
+ * @since 2.1
+ */
+@FunctionalInterface
+public interface ReloadHandler<T extends Configuration> {
+    /**
+     * Applies the changes between two configurations. Both configurations have been validated.
+     *
+     * @param previous the configuration which was applied before
+     * @param next     the configuration to apply
+     * @throws Exception if the changes cannot be applied
+     */
+    void reload(T previous, T next) throws Exception;
+}
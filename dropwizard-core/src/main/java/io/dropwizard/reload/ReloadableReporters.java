@@ -0,0 +1,70 @@
+package io.dropwizard.reload;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.lifecycle.Managed;
+import io.dropwizard.metrics.MetricsFactory;
+import io.dropwizard.metrics.ScheduledReporterManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Manages the metrics reporters of a {@link MetricsFactory}, which can be replaced by the reporters of another one
+ * while the application runs.
+ *
+ * @since 2.1
+ */
+public class ReloadableReporters implements Managed {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReloadableReporters.class);
+
+    private final MetricRegistry registry;
+    private List<ScheduledReporterManager> managers;
+    private boolean started;
+
+    public ReloadableReporters(MetricsFactory metricsFactory, MetricRegistry registry) {
+        this.registry = registry;
+        this.managers = metricsFactory.build(registry);
+    }
+
+    @Override
+    public synchronized void start() throws Exception {
+        for (ScheduledReporterManager manager : managers) {
+            manager.start();
+        }
+        started = true;
+    }
+
+    @Override
+    public synchronized void stop() throws Exception {
+        started = false;
+        stopAll();
+    }
+
+    /**
+     * Stops the current reporters, and replaces them with the reporters of the given factory, which are started if
+     * the current ones were.
+     *
+     * @param metricsFactory the factory of the new reporters
+     * @throws Exception if a new reporter cannot be started
+     */
+    public synchronized void reload(MetricsFactory metricsFactory) throws Exception {
+        stopAll();
+        managers = metricsFactory.build(registry);
+        if (started) {
+            for (ScheduledReporterManager manager : managers) {
+                manager.start();
+            }
+        }
+    }
+
+    private void stopAll() {
+        for (ScheduledReporterManager manager : managers) {
+            try {
+                manager.stop();
+            } catch (Exception e) {
+                LOGGER.warn("Unable to stop the reporter {}", manager, e);
+            }
+        }
+    }
+}
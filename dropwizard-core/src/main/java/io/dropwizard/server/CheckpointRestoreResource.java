@@ -0,0 +1,106 @@
+package io.dropwizard.server;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.lifecycle.setup.LifecycleEnvironment;
+import io.dropwizard.logging.LoggingFactory;
+import io.dropwizard.request.logging.RequestLogFactory;
+import org.crac.Context;
+import org.crac.Resource;
+import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.RequestLog;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.handler.RequestLogHandler;
+import org.eclipse.jetty.util.component.LifeCycle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+/**
+ * Closes the sockets and files of a running application before a checkpoint of its JVM with Coordinated Restore at
+ * Checkpoint (CRaC), and reopens them once the JVM has been restored:
+ * <ol>
+ *     <li>the connectors of the server stop accepting connections and close the connections they have accepted;</li>
+ *     <li>the {@link io.dropwizard.lifecycle.Managed managed objects} are notified, in the reverse of the order in
+ *     which they started;</li>
+ *     <li>the request log is stopped, which closes its appenders;</li>
+ *     <li>the appenders are flushed and replaced by a console appender.</li>
+ * </ol>
+ * After the restore, the same steps are undone in the reverse order, and a new request log is built, as a stopped one
+ * can't be started again. Without a request log factory, the request log is left open.
+ * <p/>
+ * The resource must be kept reachable while it is registered, as CRaC only keeps weak references to resources.
+ *
+ * @since 2.1
+ */
+public class CheckpointRestoreResource implements Resource {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CheckpointRestoreResource.class);
+
+    private final Server server;
+    private final LifecycleEnvironment lifecycle;
+    private final LoggingFactory loggingFactory;
+    @Nullable
+    private final RequestLogFactory<?> requestLogFactory;
+    private final MetricRegistry metrics;
+    private final String name;
+
+    /**
+     * @param server            the server of the application
+     * @param lifecycle         the managed objects of the application
+     * @param loggingFactory    the logging of the application
+     * @param requestLogFactory the request log of the server, or {@code null} if it is unknown
+     * @param metrics           the registry the logging is instrumented with
+     * @param name              the name of the application
+     */
+    public CheckpointRestoreResource(Server server, LifecycleEnvironment lifecycle, LoggingFactory loggingFactory,
+                                     @Nullable RequestLogFactory<?> requestLogFactory, MetricRegistry metrics,
+                                     String name) {
+        this.server = server;
+        this.lifecycle = lifecycle;
+        this.loggingFactory = loggingFactory;
+        this.requestLogFactory = requestLogFactory;
+        this.metrics = metrics;
+        this.name = name;
+    }
+
+    @Override
+    public void beforeCheckpoint(Context<? extends Resource> context) throws Exception {
+        LOGGER.info("Closing connectors and managed objects before the checkpoint");
+        for (Connector connector : server.getConnectors()) {
+            connector.stop();
+        }
+        lifecycle.beforeCheckpoint();
+        if (requestLogFactory != null) {
+            for (Handler handler : server.getChildHandlersByClass(RequestLogHandler.class)) {
+                final RequestLog requestLog = ((RequestLogHandler) handler).getRequestLog();
+                if (requestLog instanceof LifeCycle) {
+                    ((LifeCycle) requestLog).stop();
+                }
+                server.removeBean(requestLog);
+            }
+        }
+        loggingFactory.stop();
+        loggingFactory.reset();
+    }
+
+    @Override
+    public void afterRestore(Context<? extends Resource> context) throws Exception {
+        loggingFactory.configure(metrics, name);
+        if (requestLogFactory != null) {
+            for (Handler handler : server.getChildHandlersByClass(RequestLogHandler.class)) {
+                final RequestLog requestLog = requestLogFactory.build(name);
+                ((RequestLogHandler) handler).setRequestLog(requestLog);
+                server.addBean(requestLog, true);
+                if (requestLog instanceof LifeCycle && !((LifeCycle) requestLog).isStarted()) {
+                    ((LifeCycle) requestLog).start();
+                }
+            }
+        }
+        lifecycle.afterRestore();
+        for (Connector connector : server.getConnectors()) {
+            connector.start();
+        }
+        LOGGER.info("Reopened connectors and managed objects after the restore");
+    }
+}
@@ -21,6 +21,10 @@ public class AdminFactory {
     @NotNull
     private TaskConfiguration tasks = new TaskConfiguration();
 
+    @Valid
+    @NotNull
+    private StartupConfiguration startup = new StartupConfiguration();
+
     @JsonProperty("healthChecks")
     public HealthCheckConfiguration getHealthChecks() {
         return healthChecks;
@@ -41,11 +45,28 @@ public class AdminFactory {
         this.tasks = tasks;
     }
 
+    /**
+     * @since 2.1
+     */
+    @JsonProperty("startup")
+    public StartupConfiguration getStartup() {
+        return startup;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty("startup")
+    public void setStartup(StartupConfiguration startup) {
+        this.startup = startup;
+    }
+
     @Override
     public String toString() {
         return new StringJoiner(", ", AdminFactory.class.getSimpleName() + "[", "]")
                 .add("healthChecks=" + healthChecks)
                 .add("tasks=" + tasks)
+                .add("startup=" + startup)
                 .toString();
     }
 }
@@ -1,9 +1,11 @@
 package io.dropwizard.setup;
 
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.MetricSet;
 import com.codahale.metrics.health.HealthCheckRegistry;
 import com.codahale.metrics.jmx.JmxReporter;
 import com.codahale.metrics.jvm.BufferPoolMetricSet;
+import com.codahale.metrics.jvm.CachedThreadStatesGaugeSet;
 import com.codahale.metrics.jvm.ClassLoadingGaugeSet;
 import com.codahale.metrics.jvm.FileDescriptorRatioGauge;
 import com.codahale.metrics.jvm.GarbageCollectorMetricSet;
@@ -22,12 +24,18 @@ import io.dropwizard.configuration.DefaultConfigurationFactoryFactory;
 import io.dropwizard.configuration.FileConfigurationSourceProvider;
 import io.dropwizard.jackson.Jackson;
 import io.dropwizard.jersey.validation.Validators;
+import io.dropwizard.lifecycle.Managed;
+import io.dropwizard.lifecycle.setup.LifecycleEnvironment;
+import io.dropwizard.metrics.CachedMetricSet;
+import io.dropwizard.metrics.JmxFactory;
+import io.dropwizard.util.Duration;
 
 import javax.annotation.Nullable;
 import javax.validation.ValidatorFactory;
 import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static java.util.Objects.requireNonNull;
 
@@ -38,9 +46,12 @@ import static java.util.Objects.requireNonNull;
  * @param <T> the configuration type
  */
 public class Bootstrap<T extends Configuration> {
+    private static final String DEFAULT_JMX_DOMAIN = "metrics";
+
     private final Application<T> application;
     private final List<ConfiguredBundle<? super T>> configuredBundles;
     private final List<Command> commands;
+    private final StartupTracer startupTracer;
 
     private ObjectMapper objectMapper;
     private MetricRegistry metricRegistry;
@@ -50,8 +61,10 @@ public class Bootstrap<T extends Configuration> {
     private ClassLoader classLoader;
     private ConfigurationFactoryFactory<T> configurationFactoryFactory;
     private ValidatorFactory validatorFactory;
+    private Duration jvmMetricsCacheTimeout = Duration.milliseconds(0);
 
     private boolean metricsAreRegistered;
+    private boolean jmxReporterIsRegistered;
     private HealthCheckRegistry healthCheckRegistry;
 
     /**
@@ -70,34 +83,96 @@ public class Bootstrap<T extends Configuration> {
         this.classLoader = Thread.currentThread().getContextClassLoader();
         this.configurationFactoryFactory = new DefaultConfigurationFactoryFactory<>();
         this.healthCheckRegistry = new HealthCheckRegistry();
+        this.startupTracer = new StartupTracer();
     }
 
     /**
-     * Registers the JVM metrics to the metric registry and start to report
-     * the registry metrics via JMX.
+     * Registers the JVM metrics to the metric registry and builds the {@link JmxReporter} of the registry, which
+     * reports the metrics via JMX once the application is configured and started.
+     * <p/>
+     * If a {@link #getJvmMetricsCacheTimeout() JVM metrics cache timeout} is set, the values of the JVM metrics are
+     * cached for that time, so that reading them does not query the platform MXBeans each time.
+     *
+     * @see #registerJmxReporter(JmxFactory, LifecycleEnvironment)
      */
     public void registerMetrics() {
         if (metricsAreRegistered) {
             return;
         }
 
-        getMetricRegistry().register("jvm.attribute", new JvmAttributeGaugeSet());
-        getMetricRegistry().register("jvm.buffers", new BufferPoolMetricSet(ManagementFactory
-                                                                               .getPlatformMBeanServer()));
-        getMetricRegistry().register("jvm.classloader", new ClassLoadingGaugeSet());
-        getMetricRegistry().register("jvm.filedescriptor", new FileDescriptorRatioGauge());
-        getMetricRegistry().register("jvm.gc", new GarbageCollectorMetricSet());
-        getMetricRegistry().register("jvm.memory", new MemoryUsageGaugeSet());
-        getMetricRegistry().register("jvm.threads", new ThreadStatesGaugeSet());
+        try (StartupTracer.Phase phase = startupTracer.begin("bootstrap.registerMetrics")) {
+            registerJvmMetrics();
+        }
 
         jmxReporter = JmxReporter.forRegistry(metricRegistry).build();
-        jmxReporter.start();
-
         metricsAreRegistered = true;
     }
 
+    private void registerJvmMetrics() {
+        final long cacheTimeout = jvmMetricsCacheTimeout.toMilliseconds();
+        final MetricRegistry registry = getMetricRegistry();
+        registry.register("jvm.attribute", cached(new JvmAttributeGaugeSet(), cacheTimeout));
+        registry.register("jvm.buffers", cached(new BufferPoolMetricSet(ManagementFactory.getPlatformMBeanServer()),
+            cacheTimeout));
+        registry.register("jvm.classloader", cached(new ClassLoadingGaugeSet(), cacheTimeout));
+        registry.register("jvm.filedescriptor", cacheTimeout > 0
+            ? CachedMetricSet.cached(new FileDescriptorRatioGauge(), cacheTimeout, TimeUnit.MILLISECONDS)
+            : new FileDescriptorRatioGauge());
+        registry.register("jvm.gc", cached(new GarbageCollectorMetricSet(), cacheTimeout));
+        registry.register("jvm.memory", cached(new MemoryUsageGaugeSet(), cacheTimeout));
+        // reads the states of all threads only once per timeout, instead of once per gauge
+        registry.register("jvm.threads", cacheTimeout > 0
+            ? new CachedThreadStatesGaugeSet(cacheTimeout, TimeUnit.MILLISECONDS)
+            : new ThreadStatesGaugeSet());
+    }
+
+    private static MetricSet cached(MetricSet metricSet, long cacheTimeout) {
+        return cacheTimeout > 0 ? new CachedMetricSet(metricSet, cacheTimeout, TimeUnit.MILLISECONDS) : metricSet;
+    }
+
     /**
-     * Returns the {@link JmxReporter} registered with the bootstrap's {@link MetricRegistry}.
+     * Reports the registry metrics via JMX, as configured by the given {@link JmxFactory}. The MBeans are registered
+     * when the given lifecycle starts or, if the factory is {@link JmxFactory#isLazy() lazy}, in the background once
+     * the server has started, and unregistered when the lifecycle stops.
+     * <p/>
+     * The reporter built by {@link #registerMetrics()} is kept unless the factory sets another domain or filters the
+     * metrics, in which case it is replaced by a reporter built from the factory. Does nothing unless the
+     * {@link #registerMetrics() metrics are registered}, and does not start the reporter if JMX is disabled.
+     *
+     * @param jmx       the JMX configuration
+     * @param lifecycle the lifecycle of the application
+     * @since 2.1
+     */
+    public void registerJmxReporter(JmxFactory jmx, LifecycleEnvironment lifecycle) {
+        final JmxReporter registered = jmxReporter;
+        if (!metricsAreRegistered || registered == null || jmxReporterIsRegistered) {
+            return;
+        }
+        jmxReporterIsRegistered = true;
+        if (!jmx.isEnabled()) {
+            return;
+        }
+
+        // keeps the reporter of the default configuration, which may already be referenced by the bundles
+        final JmxReporter reporter = DEFAULT_JMX_DOMAIN.equals(jmx.getDomain()) && jmx.getIncludes().isEmpty()
+            && jmx.getExcludes().isEmpty()
+            ? registered
+            : JmxReporter.forRegistry(metricRegistry).inDomain(jmx.getDomain()).filter(jmx.getFilter()).build();
+        final JmxReporterManager manager = new JmxReporterManager(reporter, jmx.isLazy());
+        lifecycle.manage(manager);
+        if (jmx.isLazy()) {
+            lifecycle.addServerLifecycleListener(server -> manager.startInBackground());
+        }
+        jmxReporter = reporter;
+    }
+
+    /**
+     * Returns the {@link JmxReporter} registered with the bootstrap's {@link MetricRegistry}, or {@code null} until
+     * the {@link #registerMetrics() metrics are registered}.
+     * <p/>
+     * Its MBeans are registered when the application starts, as configured by the {@code metrics.jmx}
+     * configuration, and not at all if JMX is disabled. If that configuration sets another domain or filters the
+     * metrics, the reporter is replaced by one built from it once the configuration has been parsed.
      *
      * @since 2.1
      */
@@ -106,6 +181,35 @@ public class Bootstrap<T extends Configuration> {
         return jmxReporter;
     }
 
+    /**
+     * Returns how long the values of the JVM metrics are cached for, {@code 0} by default, which does not cache them.
+     *
+     * @since 2.1
+     */
+    public Duration getJvmMetricsCacheTimeout() {
+        return jvmMetricsCacheTimeout;
+    }
+
+    /**
+     * Sets how long the values of the JVM metrics are cached for, or {@code 0} not to cache them. Must be called
+     * before the metrics are {@link #registerMetrics() registered}, e.g. in
+     * {@link Application#initialize(Bootstrap)}.
+     *
+     * @since 2.1
+     */
+    public void setJvmMetricsCacheTimeout(Duration jvmMetricsCacheTimeout) {
+        this.jvmMetricsCacheTimeout = requireNonNull(jvmMetricsCacheTimeout);
+    }
+
+    /**
+     * Returns the {@link StartupTracer} which records the phases of the startup of the application.
+     *
+     * @since 2.1
+     */
+    public StartupTracer getStartupTracer() {
+        return startupTracer;
+    }
+
     /**
      * Returns the bootstrap's {@link Application}.
      */
@@ -147,7 +251,9 @@ public class Bootstrap<T extends Configuration> {
      * @param bundle a {@link ConfiguredBundle}
      */
     public void addBundle(ConfiguredBundle<? super T> bundle) {
-        bundle.initialize(this);
+        try (StartupTracer.Phase phase = startupTracer.begin("bundle.initialize." + bundle.getClass().getName())) {
+            bundle.initialize(this);
+        }
         configuredBundles.add(bundle);
     }
 
@@ -196,7 +302,9 @@ public class Bootstrap<T extends Configuration> {
      */
     public void run(T configuration, Environment environment) throws Exception {
         for (ConfiguredBundle<? super T> bundle : configuredBundles) {
-            bundle.run(configuration, environment);
+            try (StartupTracer.Phase phase = startupTracer.begin("bundle.run." + bundle.getClass().getName())) {
+                bundle.run(configuration, environment);
+            }
         }
     }
 
@@ -252,4 +360,43 @@ public class Bootstrap<T extends Configuration> {
     public void setHealthCheckRegistry(HealthCheckRegistry healthCheckRegistry) {
         this.healthCheckRegistry = healthCheckRegistry;
     }
+
+    private static class JmxReporterManager implements Managed {
+        private final JmxReporter reporter;
+        private final boolean lazy;
+        @Nullable
+        private Thread thread;
+
+        JmxReporterManager(JmxReporter reporter, boolean lazy) {
+            this.reporter = reporter;
+            this.lazy = lazy;
+        }
+
+        @Override
+        public void start() {
+            if (!lazy) {
+                reporter.start();
+            }
+        }
+
+        synchronized void startInBackground() {
+            if (thread == null) {
+                thread = new Thread(reporter::start, "dw-jmx-reporter");
+                thread.setDaemon(true);
+                thread.start();
+            }
+        }
+
+        @Override
+        public void stop() throws InterruptedException {
+            final Thread started;
+            synchronized (this) {
+                started = thread;
+            }
+            if (started != null) {
+                started.join();
+            }
+            reporter.stop();
+        }
+    }
 }
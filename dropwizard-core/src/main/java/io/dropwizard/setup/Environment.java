@@ -16,6 +16,7 @@ import io.dropwizard.jersey.validation.Validators;
 import io.dropwizard.jetty.MutableServletContextHandler;
 import io.dropwizard.jetty.setup.ServletEnvironment;
 import io.dropwizard.lifecycle.setup.LifecycleEnvironment;
+import io.dropwizard.reload.ReloadEnvironment;
 import io.dropwizard.validation.InjectValidatorFeature;
 
 import javax.annotation.Nullable;
@@ -53,6 +54,8 @@ public class Environment {
 
     private final HealthEnvironment healthEnvironment;
 
+    private final ReloadEnvironment reloadEnvironment;
+
     private final ExecutorService healthCheckExecutorService;
 
     /**
@@ -86,6 +89,8 @@ public class Environment {
 
         this.healthEnvironment = new HealthEnvironment(healthCheckRegistry);
 
+        this.reloadEnvironment = new ReloadEnvironment();
+
         this.lifecycleEnvironment = new LifecycleEnvironment(metricRegistry);
 
         final DropwizardResourceConfig jerseyConfig = new DropwizardResourceConfig(metricRegistry);
@@ -176,6 +181,15 @@ public class Environment {
         return healthEnvironment;
     }
 
+    /**
+     * Returns the application's {@link ReloadEnvironment}.
+     *
+     * @since 2.1
+     */
+    public ReloadEnvironment reload() {
+        return reloadEnvironment;
+    }
+
     /**
      * Returns the application's {@link ObjectMapper}.
      */
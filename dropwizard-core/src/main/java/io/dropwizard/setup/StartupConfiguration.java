@@ -0,0 +1,84 @@
+package io.dropwizard.setup;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+
+import javax.annotation.Nullable;
+import java.util.StringJoiner;
+
+/**
+ * A factory for configuring the startup report of the application.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>budget</td>
+ *         <td>(none)</td>
+ *         <td>The time from the start of the JVM in which the application should have started.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>failOnBudgetExceeded</td>
+ *         <td>false</td>
+ *         <td>Whether the application fails to start, instead of logging a warning, if it exceeds the budget.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>servletEnabled</td>
+ *         <td>true</td>
+ *         <td>Whether to enable the admin startup servlet.</td>
+ *     </tr>
+ * </table>
+ *
+ * @see StartupTracer
+ * @since 2.1
+ */
+public class StartupConfiguration {
+    @Nullable
+    private Duration budget;
+    private boolean failOnBudgetExceeded = false;
+    private boolean servletEnabled = true;
+
+    @JsonProperty("budget")
+    @Nullable
+    public Duration getBudget() {
+        return budget;
+    }
+
+    @JsonProperty("budget")
+    public void setBudget(@Nullable Duration budget) {
+        this.budget = budget;
+    }
+
+    @JsonProperty("failOnBudgetExceeded")
+    public boolean isFailOnBudgetExceeded() {
+        return failOnBudgetExceeded;
+    }
+
+    @JsonProperty("failOnBudgetExceeded")
+    public void setFailOnBudgetExceeded(boolean failOnBudgetExceeded) {
+        this.failOnBudgetExceeded = failOnBudgetExceeded;
+    }
+
+    @JsonProperty("servletEnabled")
+    public boolean isServletEnabled() {
+        return servletEnabled;
+    }
+
+    @JsonProperty("servletEnabled")
+    public void setServletEnabled(boolean servletEnabled) {
+        this.servletEnabled = servletEnabled;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", StartupConfiguration.class.getSimpleName() + "[", "]")
+                .add("budget=" + budget)
+                .add("failOnBudgetExceeded=" + failOnBudgetExceeded)
+                .add("servletEnabled=" + servletEnabled)
+                .toString();
+    }
+}
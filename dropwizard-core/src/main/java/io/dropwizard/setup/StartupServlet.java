@@ -0,0 +1,49 @@
+package io.dropwizard.setup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A servlet which responds with the phases of the startup recorded by a {@link StartupTracer}, as JSON like
+ * <pre>{"totalMillis":1523,"phases":[{"name":"jvm","millis":412},{"name":"configuration","millis":87},...]}</pre>
+ * The total is {@code null} while the application is starting.
+ *
+ * @since 2.1
+ */
+public class StartupServlet extends HttpServlet {
+    private static final long serialVersionUID = -4209174624585468322L;
+
+    private final transient StartupTracer tracer;
+    private final transient ObjectMapper mapper;
+
+    public StartupServlet(StartupTracer tracer, ObjectMapper mapper) {
+        this.tracer = tracer;
+        this.mapper = mapper;
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        final List<Map<String, Object>> phases = new ArrayList<>();
+        for (StartupTracer.Phase phase : tracer.getPhases()) {
+            final Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("name", phase.getName());
+            entry.put("millis", phase.getMillis());
+            phases.add(entry);
+        }
+        final Map<String, Object> report = new LinkedHashMap<>();
+        report.put("totalMillis", tracer.getTotalMillis());
+        report.put("phases", phases);
+
+        resp.setContentType("application/json");
+        resp.setHeader("Cache-Control", "must-revalidate,no-cache,no-store");
+        mapper.writeValue(resp.getOutputStream(), report);
+    }
+}
@@ -0,0 +1,210 @@
+package io.dropwizard.setup;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.util.Duration;
+import org.eclipse.jetty.util.component.LifeCycle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Records how long each phase of the startup of an application takes: the start of the JVM, the registration of the
+ * metrics, the initialization and run of each bundle, the parsing of the configuration, the run of the application,
+ * and the start of the server and its connectors.
+ * <p/>
+ * Once the application has started, {@link #complete(MetricRegistry, StartupConfiguration)} logs the phases in a
+ * single line and exports them as the gauges {@code io.dropwizard.setup.StartupTracer.<phase>}, in milliseconds.
+ *
+ * @since 2.1
+ */
+public class StartupTracer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(StartupTracer.class);
+
+    private final long startNanos;
+    private final List<Phase> phases = new CopyOnWriteArrayList<>();
+    private volatile long totalMillis = -1;
+
+    /**
+     * Creates a tracer which measures the startup from the start of the JVM.
+     */
+    public StartupTracer() {
+        this(ManagementFactory.getRuntimeMXBean().getUptime());
+    }
+
+    /**
+     * Creates a tracer which measures the startup from the given number of milliseconds ago.
+     *
+     * @param elapsedMillis the time which has elapsed since the start of the JVM, recorded as the phase {@code jvm}
+     */
+    public StartupTracer(long elapsedMillis) {
+        this.startNanos = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(elapsedMillis);
+        final Phase jvm = new Phase("jvm", startNanos);
+        jvm.close();
+        phases.add(jvm);
+    }
+
+    /**
+     * Begins a phase of the startup, which ends when the returned phase is closed. Phases with the same name are
+     * numbered, like {@code bundle.run.MyBundle-2}.
+     *
+     * @param name the name of the phase
+     * @return the phase
+     */
+    public synchronized Phase begin(String name) {
+        String uniqueName = name;
+        for (int index = 2; contains(uniqueName); index++) {
+            uniqueName = name + "-" + index;
+        }
+        final Phase phase = new Phase(uniqueName, System.nanoTime());
+        phases.add(phase);
+        return phase;
+    }
+
+    /**
+     * Records the first start of the given Jetty component as a phase.
+     *
+     * @param lifeCycle the component
+     * @param name      the name of the phase
+     */
+    public void trace(LifeCycle lifeCycle, String name) {
+        lifeCycle.addLifeCycleListener(new LifeCycle.Listener() {
+            @Nullable
+            private Phase phase;
+
+            @Override
+            public void lifeCycleStarting(LifeCycle event) {
+                phase = begin(name);
+            }
+
+            @Override
+            public void lifeCycleStarted(LifeCycle event) {
+                end(event);
+            }
+
+            @Override
+            public void lifeCycleFailure(LifeCycle event, Throwable cause) {
+                end(event);
+            }
+
+            private void end(LifeCycle event) {
+                if (phase != null) {
+                    phase.close();
+                }
+                event.removeLifeCycleListener(this);
+            }
+        });
+    }
+
+    private boolean contains(String name) {
+        for (Phase phase : phases) {
+            if (phase.name.equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the phases which have ended, in the order they began.
+     */
+    public List<Phase> getPhases() {
+        final List<Phase> ended = new ArrayList<>(phases.size());
+        for (Phase phase : phases) {
+            if (phase.isEnded()) {
+                ended.add(phase);
+            }
+        }
+        return ended;
+    }
+
+    /**
+     * Returns the time from the start of the JVM until the application had started, in milliseconds, or
+     * {@code null} if it is still starting.
+     */
+    @Nullable
+    public Long getTotalMillis() {
+        final long total = totalMillis;
+        return total < 0 ? null : total;
+    }
+
+    /**
+     * Marks the application as started, logs the phases of the startup, and registers them as gauges. If the startup
+     * took longer than the budget of the given configuration, this logs a warning or, if configured, fails.
+     *
+     * @param metrics       the registry of the gauges
+     * @param configuration the startup budget
+     * @throws IllegalStateException if the startup exceeded its budget and should fail because of that
+     */
+    public void complete(MetricRegistry metrics, StartupConfiguration configuration) {
+        final long total = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        totalMillis = total;
+
+        final StringBuilder line = new StringBuilder();
+        for (Phase phase : getPhases()) {
+            line.append(' ').append(phase.name).append('=').append(phase.getMillis());
+            metrics.<Gauge<Long>>gauge(name(StartupTracer.class, phase.name), () -> phase::getMillis);
+        }
+        metrics.<Gauge<Long>>gauge(name(StartupTracer.class, "total"), () -> () -> totalMillis);
+        LOGGER.info("Started in {} ms, phases in ms:{}", total, line);
+
+        final Duration budget = configuration.getBudget();
+        if (budget != null && total > budget.toMilliseconds()) {
+            if (configuration.isFailOnBudgetExceeded()) {
+                throw new IllegalStateException(String.format(Locale.ROOT,
+                    "Startup took %d ms, which exceeds its budget of %s", total, budget));
+            }
+            LOGGER.warn("Startup took {} ms, which exceeds its budget of {}", total, budget);
+        }
+    }
+
+    /**
+     * A phase of the startup.
+     */
+    public static class Phase implements AutoCloseable {
+        private final String name;
+        private final long beginNanos;
+        private volatile long endNanos;
+        private volatile boolean ended;
+
+        private Phase(String name, long beginNanos) {
+            this.name = name;
+            this.beginNanos = beginNanos;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns how long the phase took, in milliseconds, or how long it has taken so far if it has not ended.
+         */
+        public long getMillis() {
+            return TimeUnit.NANOSECONDS.toMillis((ended ? endNanos : System.nanoTime()) - beginNanos);
+        }
+
+        boolean isEnded() {
+            return ended;
+        }
+
+        /**
+         * Ends the phase. Only the first call has an effect.
+         */
+        @Override
+        public synchronized void close() {
+            if (!ended) {
+                endNanos = System.nanoTime();
+                ended = true;
+            }
+        }
+    }
+}
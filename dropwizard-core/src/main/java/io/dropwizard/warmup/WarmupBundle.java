@@ -0,0 +1,91 @@
+package io.dropwizard.warmup;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.health.HealthCheck;
+import io.dropwizard.ConfiguredBundle;
+import io.dropwizard.setup.Environment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * A bundle which warms up the application once its server has started, by sending the requests of a
+ * {@link WarmupConfiguration} to Jersey, in process. Until the warmup is done, the application is held unhealthy, so
+ * that load balancers do not send it traffic while its JIT compiler and caches are cold.
+ * <p/>
+ * The warmup runs in the background. The time it took is logged, reported by the {@code warmup} health check, and
+ * exported as the gauge {@code io.dropwizard.warmup.WarmupBundle.duration}, in milliseconds.
+ *
+ * @param <T> the type of the configuration of the application
+ * @see WarmupRunner
+ * @since 2.1
+ */
+public abstract class WarmupBundle<T> implements ConfiguredBundle<T> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WarmupBundle.class);
+    private static final String NAME = "warmup";
+
+    private final WarmupHealthCheck healthCheck = new WarmupHealthCheck();
+
+    /**
+     * Returns the configuration of the warmup.
+     *
+     * @param configuration the configuration of the application
+     */
+    protected abstract WarmupConfiguration getWarmupConfiguration(T configuration);
+
+    @Override
+    public void run(T configuration, Environment environment) {
+        final WarmupConfiguration warmup = getWarmupConfiguration(configuration);
+        environment.health().hold(NAME);
+        environment.healthChecks().register(NAME, healthCheck);
+        environment.metrics().register(name(WarmupBundle.class, "duration"), (Gauge<Long>) healthCheck::getMillis);
+
+        environment.lifecycle().addServerLifecycleListener(server -> {
+            final Thread thread = new Thread(() -> warmUp(environment, warmup), "dw-warmup");
+            thread.setDaemon(true);
+            thread.start();
+        });
+    }
+
+    private void warmUp(Environment environment, WarmupConfiguration warmup) {
+        final long start = System.nanoTime();
+        try {
+            final WarmupRunner runner = WarmupRunner.forEnvironment(environment, warmup);
+            if (runner == null) {
+                LOGGER.warn("Not warming up, as Jersey does not run in a Jersey servlet container");
+                return;
+            }
+            final List<WarmupRunner.Result> results = runner.run();
+            LOGGER.info("Warmed up in {} ms: {}", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), results);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            LOGGER.error("Unable to warm up", e);
+        } finally {
+            healthCheck.done(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            environment.health().release(NAME);
+        }
+    }
+
+    private static class WarmupHealthCheck extends HealthCheck {
+        private volatile long millis = -1;
+
+        long getMillis() {
+            return millis;
+        }
+
+        void done(long millis) {
+            this.millis = millis;
+        }
+
+        @Override
+        protected Result check() {
+            final long warmedUpIn = millis;
+            return warmedUpIn < 0 ? Result.unhealthy("Warming up") : Result.healthy("Warmed up in %d ms", warmedUpIn);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package io.dropwizard.warmup;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.MinDuration;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import java.util.Collections;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * The configuration of the warmup of an application.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>requests</td>
+ *         <td>(none)</td>
+ *         <td>The {@link WarmupRequest requests} which are sent to the application, in order.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>timeout</td>
+ *         <td>5 minutes</td>
+ *         <td>How long the warmup may take. Once it has, the remaining requests are skipped.</td>
+ *     </tr>
+ * </table>
+ *
+ * @see WarmupBundle
+ * @since 2.1
+ */
+public class WarmupConfiguration {
+    @Valid
+    @NotNull
+    private List<WarmupRequest> requests = Collections.emptyList();
+
+    @NotNull
+    @MinDuration(1)
+    private Duration timeout = Duration.minutes(5);
+
+    @JsonProperty
+    public List<WarmupRequest> getRequests() {
+        return requests;
+    }
+
+    @JsonProperty
+    public void setRequests(List<WarmupRequest> requests) {
+        this.requests = requests;
+    }
+
+    @JsonProperty
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    @JsonProperty
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", WarmupConfiguration.class.getSimpleName() + "[", "]")
+                .add("requests=" + requests)
+                .add("timeout=" + timeout)
+                .toString();
+    }
+}
@@ -0,0 +1,128 @@
+package io.dropwizard.warmup;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.util.Collections;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * A synthetic request which is sent to the application during its warmup.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>method</td>
+ *         <td>GET</td>
+ *         <td>The HTTP method of the request.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>path</td>
+ *         <td>REQUIRED</td>
+ *         <td>The path of the request, relative to the root path of Jersey, with an optional query string.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>headers</td>
+ *         <td>(none)</td>
+ *         <td>The headers of the request.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>body</td>
+ *         <td>(none)</td>
+ *         <td>The body of the request. Its content type defaults to {@code application/json}.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>iterations</td>
+ *         <td>100</td>
+ *         <td>How many times the request is sent.</td>
+ *     </tr>
+ * </table>
+ *
+ * @since 2.1
+ */
+public class WarmupRequest {
+    @NotEmpty
+    private String method = "GET";
+
+    @NotEmpty
+    private String path = "/";
+
+    @NotNull
+    private Map<String, String> headers = Collections.emptyMap();
+
+    @Nullable
+    private String body;
+
+    @Min(1)
+    private int iterations = 100;
+
+    @JsonProperty
+    public String getMethod() {
+        return method;
+    }
+
+    @JsonProperty
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    @JsonProperty
+    public String getPath() {
+        return path;
+    }
+
+    @JsonProperty
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    @JsonProperty
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    @JsonProperty
+    public void setHeaders(Map<String, String> headers) {
+        this.headers = headers;
+    }
+
+    @JsonProperty
+    @Nullable
+    public String getBody() {
+        return body;
+    }
+
+    @JsonProperty
+    public void setBody(@Nullable String body) {
+        this.body = body;
+    }
+
+    @JsonProperty
+    public int getIterations() {
+        return iterations;
+    }
+
+    @JsonProperty
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", WarmupRequest.class.getSimpleName() + "[", "]")
+                .add("method=" + method)
+                .add("path=" + path)
+                .add("headers=" + headers)
+                .add("iterations=" + iterations)
+                .toString();
+    }
+}
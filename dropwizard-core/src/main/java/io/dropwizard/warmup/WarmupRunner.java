@@ -0,0 +1,242 @@
+package io.dropwizard.warmup;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import io.dropwizard.setup.Environment;
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.spi.ContainerResponseWriter;
+import org.glassfish.jersey.servlet.ServletContainer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import javax.servlet.Servlet;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.SecurityContext;
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Sends the requests of a {@link WarmupConfiguration} to a Jersey {@link ApplicationHandler}, in process, without
+ * going through a connector. The responses are discarded, and the time each request took is recorded by the timers
+ * {@code io.dropwizard.warmup.WarmupRunner.<method> <path>}.
+ *
+ * @since 2.1
+ */
+public class WarmupRunner {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WarmupRunner.class);
+    private static final URI BASE_URI = URI.create("http://localhost/");
+
+    private final ApplicationHandler handler;
+    private final WarmupConfiguration configuration;
+    private final MetricRegistry metrics;
+
+    public WarmupRunner(ApplicationHandler handler, WarmupConfiguration configuration, MetricRegistry metrics) {
+        this.handler = handler;
+        this.configuration = configuration;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Creates a runner which sends the requests to the Jersey application of an environment, whose server must have
+     * started.
+     *
+     * @param environment   the environment of the application
+     * @param configuration the requests to send
+     * @return the runner, or {@code null} if Jersey does not run in a Jersey servlet container
+     */
+    @Nullable
+    public static WarmupRunner forEnvironment(Environment environment, WarmupConfiguration configuration) {
+        final Servlet container = environment.getJerseyServletContainer();
+        if (!(container instanceof ServletContainer)) {
+            return null;
+        }
+        return new WarmupRunner(((ServletContainer) container).getApplicationHandler(), configuration,
+            environment.metrics());
+    }
+
+    /**
+     * Sends the requests, until they have all been sent or the warmup timed out.
+     *
+     * @return the results of the requests, in order
+     */
+    public List<Result> run() throws InterruptedException {
+        final long deadline = System.nanoTime() + configuration.getTimeout().toNanoseconds();
+        final List<Result> results = new ArrayList<>();
+        for (WarmupRequest request : configuration.getRequests()) {
+            final String requestName = request.getMethod() + " " + request.getPath();
+            final Timer timer = metrics.timer(name(WarmupRunner.class, requestName));
+            final long start = System.nanoTime();
+            int succeeded = 0;
+            int sent = 0;
+            while (sent < request.getIterations() && System.nanoTime() - deadline < 0) {
+                try (Timer.Context context = timer.time()) {
+                    if (send(request, deadline)) {
+                        succeeded++;
+                    }
+                }
+                sent++;
+            }
+            final Result result = new Result(requestName, sent, succeeded,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            results.add(result);
+            if (sent < request.getIterations()) {
+                LOGGER.warn("The warmup timed out after {} while sending {}", configuration.getTimeout(), requestName);
+                break;
+            }
+        }
+        return results;
+    }
+
+    private boolean send(WarmupRequest request, long deadline) throws InterruptedException {
+        final ContainerRequest containerRequest = new ContainerRequest(BASE_URI, BASE_URI.resolve(relative(request)),
+            request.getMethod(), ANONYMOUS, new MapPropertiesDelegate(), handler.getConfiguration());
+        for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+            containerRequest.header(header.getKey(), header.getValue());
+        }
+        final String body = request.getBody();
+        if (body != null) {
+            if (containerRequest.getHeaderString(HttpHeaders.CONTENT_TYPE) == null) {
+                containerRequest.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON);
+            }
+            containerRequest.setEntityStream(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+        }
+        containerRequest.setWriter(new DiscardingResponseWriter());
+
+        try {
+            final ContainerResponse response = handler.apply(containerRequest)
+                .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return response.getStatus() < 400;
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            LOGGER.debug("Unable to send the warmup request {}", request, e);
+            return false;
+        }
+    }
+
+    private static String relative(WarmupRequest request) {
+        final String path = request.getPath();
+        return path.startsWith("/") ? path.substring(1) : path;
+    }
+
+    /**
+     * The result of a {@link WarmupRequest}.
+     */
+    public static class Result {
+        private final String name;
+        private final int sent;
+        private final int succeeded;
+        private final long millis;
+
+        Result(String name, int sent, int succeeded, long millis) {
+            this.name = name;
+            this.sent = sent;
+            this.succeeded = succeeded;
+            this.millis = millis;
+        }
+
+        /**
+         * Returns the method and the path of the request.
+         */
+        public String getName() {
+            return name;
+        }
+
+        public int getSent() {
+            return sent;
+        }
+
+        public int getSucceeded() {
+            return succeeded;
+        }
+
+        /**
+         * Returns how long sending the request took, in milliseconds.
+         */
+        public long getMillis() {
+            return millis;
+        }
+
+        @Override
+        public String toString() {
+            return name + "=" + millis + " ms (" + succeeded + "/" + sent + " succeeded)";
+        }
+    }
+
+    private static final SecurityContext ANONYMOUS = new SecurityContext() {
+        @Override
+        @Nullable
+        public Principal getUserPrincipal() {
+            return null;
+        }
+
+        @Override
+        public boolean isUserInRole(String role) {
+            return false;
+        }
+
+        @Override
+        public boolean isSecure() {
+            return false;
+        }
+
+        @Override
+        @Nullable
+        public String getAuthenticationScheme() {
+            return null;
+        }
+    };
+
+    private static class DiscardingResponseWriter implements ContainerResponseWriter {
+        private static final OutputStream DISCARDING = new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        };
+
+        @Override
+        public OutputStream writeResponseStatusAndHeaders(long contentLength, ContainerResponse responseContext) {
+            return DISCARDING;
+        }
+
+        @Override
+        public boolean suspend(long timeOut, TimeUnit timeUnit, TimeoutHandler timeoutHandler) {
+            return true;
+        }
+
+        @Override
+        public void setSuspendTimeout(long timeOut, TimeUnit timeUnit) {
+        }
+
+        @Override
+        public void commit() {
+        }
+
+        @Override
+        public void failure(Throwable error) {
+        }
+
+        @Override
+        public boolean enableResponseBuffering() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package io.dropwizard.cli;
+
+import io.dropwizard.Application;
+import io.dropwizard.Configuration;
+import io.dropwizard.setup.Bootstrap;
+import io.dropwizard.setup.Environment;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CdsArchiveCommandTest {
+    /**
+     * An application which halts the JVM once its server has started, if the system property {@code halt-on-start} is
+     * set, so that its startup can be checked and timed.
+     */
+    public static class TrainedApplication extends Application<Configuration> {
+        public static void main(String[] args) throws Exception {
+            new TrainedApplication().run(args);
+        }
+
+        @Override
+        public void initialize(Bootstrap<Configuration> bootstrap) {
+            bootstrap.addCommand(new CdsArchiveCommand<>(this));
+        }
+
+        @Override
+        public void run(Configuration configuration, Environment environment) {
+            if (Boolean.getBoolean("halt-on-start")) {
+                environment.lifecycle().addServerLifecycleListener(server -> Runtime.getRuntime().halt(0));
+            }
+        }
+    }
+
+    private final CdsArchiveCommand<Configuration> command = new CdsArchiveCommand<>(new TrainedApplication());
+
+    @Test
+    void hasAName() {
+        assertThat(command.getName())
+                .isEqualTo("cds-archive");
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_13)
+    void writesAnArchiveWhichTheJvmLoadsTheApplicationFrom(@TempDir Path tempDir) throws Exception {
+        final Path config = writeConfig(tempDir);
+        final Path archive = tempDir.resolve("app.jsa");
+        final String classPath = archivableClassPath(tempDir);
+
+        assertThat(java(tempDir, "-XX:ArchiveClassesAtExit=" + archive, "-cp", classPath,
+            TrainedApplication.class.getName(), "cds-archive", config.toString()))
+            .isNotNegative();
+        assertThat(archive).isRegularFile();
+
+        // -Xshare:on fails if the archive cannot be mapped
+        assertThat(java(tempDir, "-Dhalt-on-start=true", "-Xshare:on", "-XX:SharedArchiveFile=" + archive,
+            "-Xlog:class+load=info", "-cp", classPath, TrainedApplication.class.getName(), "server",
+            config.toString()))
+            .isNotNegative();
+        assertThat(new String(Files.readAllBytes(tempDir.resolve("java.log")), StandardCharsets.UTF_8))
+            .contains(TrainedApplication.class.getName() + " source: shared objects file");
+    }
+
+    /**
+     * Compares the startup time with and without the archive. It is a benchmark rather than a test, as the timings
+     * depend on the machine, so it only runs with {@code -Dbenchmarks=true}.
+     */
+    @Test
+    @Tag("benchmark")
+    @EnabledForJreRange(min = JRE.JAVA_13)
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void startsFasterWithTheArchive(@TempDir Path tempDir, TestReporter reporter) throws Exception {
+        final Path config = writeConfig(tempDir);
+        final Path archive = tempDir.resolve("app.jsa");
+        final String classPath = archivableClassPath(tempDir);
+        assertThat(java(tempDir, "-XX:ArchiveClassesAtExit=" + archive, "-cp", classPath,
+            TrainedApplication.class.getName(), "cds-archive", config.toString()))
+            .isNotNegative();
+
+        final long withoutArchive = java(tempDir, "-Dhalt-on-start=true", "-cp", classPath,
+            TrainedApplication.class.getName(), "server", config.toString());
+        final long withArchive = java(tempDir, "-Dhalt-on-start=true", "-Xshare:on", "-XX:SharedArchiveFile=" + archive,
+            "-cp", classPath, TrainedApplication.class.getName(), "server", config.toString());
+
+        reporter.publishEntry("startup-without-archive-ms", Long.toString(withoutArchive));
+        reporter.publishEntry("startup-with-archive-ms", Long.toString(withArchive));
+        assertThat(withoutArchive).isNotNegative();
+        assertThat(withArchive).isNotNegative().isLessThan(withoutArchive);
+    }
+
+    private static Path writeConfig(Path tempDir) throws IOException {
+        final Path config = tempDir.resolve("config.yml");
+        Files.write(config, Arrays.asList(
+            "server:",
+            "  type: simple",
+            "  connector:",
+            "    type: http",
+            "    port: 0",
+            "logging:",
+            "  level: WARN"), StandardCharsets.UTF_8);
+        return config;
+    }
+
+    /**
+     * Runs a JVM with the given arguments, writing its output to {@code java.log} in the given directory, and returns
+     * the time it ran for in milliseconds, or -1 if it failed.
+     */
+    private static long java(Path tempDir, String... args) throws Exception {
+        final List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(Arrays.asList(args));
+        final long start = System.nanoTime();
+        final Process process = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(tempDir.resolve("java.log").toFile())
+            .start();
+        if (!process.waitFor(2, TimeUnit.MINUTES)) {
+            process.destroyForcibly();
+            return -1;
+        }
+        final long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        return process.exitValue() == 0 ? millis : -1;
+    }
+
+    /**
+     * Returns the class path of the tests with its directories packaged as JARs, as class-data sharing only archives
+     * classes which are loaded from JARs.
+     */
+    private static String archivableClassPath(Path tempDir) throws IOException {
+        final List<String> entries = new ArrayList<>();
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            final Path path = Paths.get(entry);
+            if (Files.isDirectory(path)) {
+                final Path jar = tempDir.resolve("classes-" + entries.size() + ".jar");
+                jar(path, jar);
+                entries.add(jar.toString());
+            } else {
+                entries.add(entry);
+            }
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+
+    private static void jar(Path directory, Path jar) throws IOException {
+        final List<Path> files;
+        try (Stream<Path> walk = Files.walk(directory)) {
+            files = walk.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+        try (OutputStream out = Files.newOutputStream(jar); JarOutputStream jarOut = new JarOutputStream(out)) {
+            for (Path file : files) {
+                jarOut.putNextEntry(new JarEntry(directory.relativize(file).toString().replace(File.separatorChar, '/')));
+                Files.copy(file, jarOut);
+                jarOut.closeEntry();
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package io.dropwizard.cli;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.Application;
+import io.dropwizard.Configuration;
+import io.dropwizard.lifecycle.setup.LifecycleEnvironment;
+import io.dropwizard.logging.LoggingFactory;
+import io.dropwizard.server.ServerFactory;
+import io.dropwizard.setup.Environment;
+import net.sourceforge.argparse4j.inf.Namespace;
+import org.crac.CheckpointException;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.servlet.ServletContainer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.UriInfo;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CheckpointCommandTest {
+    private static class MyApplication extends Application<Configuration> {
+        @Override
+        public void run(Configuration configuration, Environment environment) throws Exception {
+        }
+    }
+
+    private final MyApplication application = new MyApplication();
+    private final CheckpointCommand<Configuration> command = new CheckpointCommand<>(application);
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final Server server = new Server(0);
+
+    private final Environment environment = mock(Environment.class);
+    private final Namespace namespace = mock(Namespace.class);
+    private final ServerFactory serverFactory = mock(ServerFactory.class);
+    private final Configuration configuration = mock(Configuration.class);
+
+    @Path("/ping")
+    public static class PingResource {
+        private final List<String> requests;
+
+        PingResource(List<String> requests) {
+            this.requests = requests;
+        }
+
+        @GET
+        public String ping(@Context UriInfo uriInfo) {
+            requests.add("/" + uriInfo.getPath());
+            return "pong";
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        final ServletContainer jersey = new ServletContainer(new ResourceConfig().register(new PingResource(requests)));
+        final ServletContextHandler context = new ServletContextHandler();
+        final ServletHolder holder = new ServletHolder(jersey);
+        holder.setInitOrder(1);
+        context.addServlet(holder, "/*");
+        server.setHandler(context);
+        when(environment.getJerseyServletContainer()).thenReturn(jersey);
+        final MetricRegistry metrics = new MetricRegistry();
+        when(environment.lifecycle()).thenReturn(new LifecycleEnvironment(metrics));
+        when(environment.metrics()).thenReturn(metrics);
+        when(environment.getName()).thenReturn("test");
+        when(serverFactory.build(environment)).thenReturn(server);
+        when(configuration.getServerFactory()).thenReturn(serverFactory);
+        when(configuration.getLoggingFactory()).thenReturn(mock(LoggingFactory.class));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.stop();
+    }
+
+    @Test
+    void hasAName() {
+        assertThat(command.getName())
+                .isEqualTo("checkpoint");
+    }
+
+    @Test
+    void hasTheApplicationsConfigurationClass() {
+        assertThat(command.getConfigurationClass())
+                .isEqualTo(application.getConfigurationClass());
+    }
+
+    @Test
+    void warmsUpTheServerAndStopsItIfTheJvmCannotBeCheckpointed() {
+        when(namespace.getList("warmup-paths")).thenReturn(Collections.singletonList("/ping"));
+        when(namespace.getInt("warmup-requests")).thenReturn(3);
+
+        // This JVM does not support CRaC, or was not started with -XX:CRaCCheckpointTo
+        assertThatThrownBy(() -> command.run(environment, namespace, configuration))
+            .isInstanceOfAny(UnsupportedOperationException.class, CheckpointException.class);
+
+        assertThat(requests)
+            .containsExactly("/ping", "/ping", "/ping");
+        assertThat(server.isStarted())
+            .isFalse();
+    }
+}
@@ -4,6 +4,8 @@ import io.dropwizard.Application;
 import io.dropwizard.Configuration;
 import io.dropwizard.server.ServerFactory;
 import io.dropwizard.setup.Environment;
+import net.sourceforge.argparse4j.ArgumentParsers;
+import net.sourceforge.argparse4j.inf.ArgumentParser;
 import net.sourceforge.argparse4j.inf.Namespace;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.util.component.AbstractLifeCycle;
@@ -73,6 +75,15 @@ class ServerCommandTest {
                 .isEqualTo(application.getConfigurationClass());
     }
 
+    @Test
+    void hasAReloadArgument() throws Exception {
+        final ArgumentParser parser = ArgumentParsers.newFor("java -jar dw-thing.jar").build();
+        command.configure(parser.addSubparsers().addParser("server"));
+
+        assertThat(parser.parseArgs(new String[]{"server", "--reload"}).getBoolean("reload")).isTrue();
+        assertThat(parser.parseArgs(new String[]{"server"}).getBoolean("reload")).isFalse();
+    }
+
     @Test
     void buildsAndRunsAConfiguredServer() throws Exception {
         command.run(environment, namespace, configuration);
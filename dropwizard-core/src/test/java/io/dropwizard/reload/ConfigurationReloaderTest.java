@@ -0,0 +1,267 @@
+package io.dropwizard.reload;
+
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.dropwizard.Configuration;
+import io.dropwizard.configuration.ConfigurationSourceProvider;
+import io.dropwizard.configuration.EnvironmentVariableSubstitutor;
+import io.dropwizard.configuration.FileConfigurationSourceProvider;
+import io.dropwizard.configuration.LayeredConfigurationSourceProvider;
+import io.dropwizard.configuration.SubstitutingSourceProvider;
+import io.dropwizard.configuration.YamlConfigurationFactory;
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.jersey.validation.Validators;
+import io.dropwizard.logging.DefaultLoggingFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class ConfigurationReloaderTest {
+    private static final String CONFIGURATION = "logging:\n  level: INFO\nmetrics:\n  frequency: 1 minute\n";
+
+    private final ObjectMapper objectMapper = Jackson.newObjectMapper();
+    private final YamlConfigurationFactory<Configuration> factory = new YamlConfigurationFactory<>(
+        Configuration.class, Validators.newValidator(), objectMapper, "dw");
+    private final MetricRegistry metrics = new MetricRegistry();
+    private final ReloadEnvironment handlers = new ReloadEnvironment();
+    private final List<String> levels = new ArrayList<>();
+    private final List<String> frequencies = new ArrayList<>();
+
+    private Path file;
+    private ConfigurationReloader<Configuration> reloader;
+
+    @BeforeEach
+    void setUp(@TempDir Path tempDir) throws Exception {
+        file = tempDir.resolve("config.yml");
+        write(CONFIGURATION);
+        handlers.register("/logging/level", (Configuration previous, Configuration next) ->
+            levels.add(level(previous) + " -> " + level(next)));
+        handlers.register("/metrics", (Configuration previous, Configuration next) ->
+            frequencies.add(next.getMetricsFactory().getFrequency().toString()));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (reloader != null) {
+            reloader.stop();
+        }
+    }
+
+    @Test
+    void appliesOnlyTheChangedParts() throws Exception {
+        reloader = reloader(Collections.emptyList());
+        reloader.start();
+
+        write(CONFIGURATION.replace("INFO", "DEBUG"));
+
+        assertThat(reloader.reload()).isTrue();
+        assertThat(levels).containsExactly("INFO -> DEBUG");
+        assertThat(frequencies).isEmpty();
+        assertThat(level(reloader.getConfiguration())).isEqualTo("DEBUG");
+        assertThat(metrics.timer("io.dropwizard.reload.ConfigurationReloader.reloads").getCount()).isEqualTo(1);
+        assertThat(metrics.meter("io.dropwizard.reload.ConfigurationReloader.failures").getCount()).isZero();
+    }
+
+    @Test
+    void ignoresUnchangedConfigurations() throws Exception {
+        reloader = reloader(Collections.emptyList());
+        reloader.start();
+
+        write("# reformatted\n" + CONFIGURATION);
+
+        assertThat(reloader.reload()).isFalse();
+        assertThat(levels).isEmpty();
+        assertThat(frequencies).isEmpty();
+    }
+
+    @Test
+    void doesNotApplyInvalidConfigurations() throws Exception {
+        reloader = reloader(Collections.emptyList());
+        reloader.start();
+        final Configuration configuration = reloader.getConfiguration();
+
+        write(CONFIGURATION.replace("1 minute", "not a duration"));
+
+        assertThat(reloader.reload()).isFalse();
+        assertThat(frequencies).isEmpty();
+        assertThat(reloader.getConfiguration()).isSameAs(configuration);
+        assertThat(metrics.meter("io.dropwizard.reload.ConfigurationReloader.failures").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void countsTheFailuresOfHandlers() throws Exception {
+        handlers.register("/logging", (Configuration previous, Configuration next) -> {
+            throw new IllegalStateException("Unable to reload");
+        });
+        reloader = reloader(Collections.emptyList());
+        reloader.start();
+
+        write(CONFIGURATION.replace("INFO", "WARN"));
+
+        assertThat(reloader.reload()).isTrue();
+        assertThat(levels).containsExactly("INFO -> WARN");
+        assertThat(metrics.meter("io.dropwizard.reload.ConfigurationReloader.failures").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void appliesThePartsWhoseHandlersFailedAgainOnTheNextReload() throws Exception {
+        final AtomicBoolean failing = new AtomicBoolean(true);
+        handlers.register("/logging/level", (Configuration previous, Configuration next) -> {
+            if (failing.getAndSet(false)) {
+                throw new IllegalStateException("Unable to reload");
+            }
+        });
+        reloader = reloader(Collections.emptyList());
+        reloader.start();
+
+        write(CONFIGURATION.replace("INFO", "WARN").replace("1 minute", "2 minutes"));
+        assertThat(reloader.reload()).isTrue();
+        assertThat(frequencies).hasSize(1);
+
+        assertThat(reloader.reload()).isTrue();
+        assertThat(levels).containsExactly("INFO -> WARN", "WARN -> WARN");
+        assertThat(frequencies).hasSize(1);
+        assertThat(reloader.reload()).isFalse();
+        assertThat(metrics.meter("io.dropwizard.reload.ConfigurationReloader.failures").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void restoresThePreviousValuesOfTheFailedParts() throws Exception {
+        final JsonNode previous = objectMapper.readTree("{\"a\": {\"b\": 1, \"c\": 1}, \"d\": 1}");
+        final JsonNode next = objectMapper.readTree("{\"a\": {\"b\": 2, \"c\": 2, \"e\": 2}}");
+
+        assertThat(ConfigurationReloader.restore(previous, next, new TreeSet<>(Arrays.asList("/a/b", "/a/e", "/d"))))
+            .isEqualTo(objectMapper.readTree("{\"a\": {\"b\": 1, \"c\": 2}, \"d\": 1}"));
+        assertThat(ConfigurationReloader.restore(previous, next, Collections.singleton(""))).isSameAs(previous);
+        assertThat(next).isEqualTo(objectMapper.readTree("{\"a\": {\"b\": 2, \"c\": 2, \"e\": 2}}"));
+    }
+
+    @Test
+    void restoresTheElementsOfListsAndTheRemovedParents() throws Exception {
+        final JsonNode previous = objectMapper.readTree("{\"a\": [{\"b\": 1}, {\"b\": 1}], \"c\": {\"d\": 1}}");
+        final JsonNode next = objectMapper.readTree("{\"a\": [{\"b\": 2}, {\"b\": 2}]}");
+
+        assertThat(ConfigurationReloader.restore(previous, next, new TreeSet<>(Arrays.asList("/a/1/b", "/c/d"))))
+            .isEqualTo(objectMapper.readTree("{\"a\": [{\"b\": 2}, {\"b\": 1}], \"c\": {\"d\": 1}}"));
+    }
+
+    @Test
+    void reloadsWhenTheWatchedFileChanges() throws Exception {
+        final CountDownLatch reloaded = new CountDownLatch(1);
+        handlers.register("/logging/level", (Configuration previous, Configuration next) -> reloaded.countDown());
+        reloader = reloader(Collections.singletonList(file));
+        reloader.start();
+
+        write(CONFIGURATION.replace("INFO", "ERROR"));
+
+        assertThat(reloaded.await(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(level(reloader.getConfiguration())).isEqualTo("ERROR");
+    }
+
+    @Test
+    void diffsTheTreesByJsonPointer() throws Exception {
+        final JsonNode previous = objectMapper.readTree("{\"a\": {\"b\": 1, \"c/d\": [1]}, \"e\": true}");
+        final JsonNode next = objectMapper.readTree("{\"a\": {\"b\": 2, \"c/d\": [1]}, \"f\": {\"g\": 1}}");
+        final Set<String> changed = new TreeSet<>();
+
+        ConfigurationReloader.diff("", previous, next, changed);
+
+        assertThat(changed).containsExactly("/a/b", "/e", "/f/g");
+    }
+
+    @Test
+    void diffsTheElementsOfListsOfTheSameSize() throws Exception {
+        final JsonNode previous = objectMapper.readTree("{\"a\": [{\"b\": 1, \"c\": 1}], \"d\": [1]}");
+        final JsonNode next = objectMapper.readTree("{\"a\": [{\"b\": 2, \"c\": 1}], \"d\": [1, 2]}");
+        final Set<String> changed = new TreeSet<>();
+
+        ConfigurationReloader.diff("", previous, next, changed);
+
+        assertThat(changed).containsExactly("/a/0/b", "/d");
+    }
+
+    @Test
+    void diffsTheObjectsWhichReplaceOtherValues() throws Exception {
+        final JsonNode previous = objectMapper.readTree("{\"loggers\": {\"a\": \"INFO\", \"b\": {}}}");
+        final JsonNode next = objectMapper.readTree("{\"loggers\": {\"a\": {\"level\": \"DEBUG\"}}}");
+        final Set<String> changed = new TreeSet<>();
+
+        ConfigurationReloader.diff("", previous, next, changed);
+
+        assertThat(changed).containsExactly("/loggers/a", "/loggers/a/level", "/loggers/b");
+    }
+
+    @Test
+    void watchesTheOverlaysOfWrappedProviders() {
+        final ConfigurationSourceProvider files = new SubstitutingSourceProvider(
+            new FileConfigurationSourceProvider(), new EnvironmentVariableSubstitutor());
+        final ConfigurationSourceProvider provider = new SubstitutingSourceProvider(
+            new LayeredConfigurationSourceProvider(files, Arrays.asList("local.yml", "secrets.yml")),
+            new EnvironmentVariableSubstitutor());
+
+        assertThat(ConfigurationReloader.files(provider, "config.yml"))
+            .containsExactly(Paths.get("config.yml"), Paths.get("local.yml"), Paths.get("secrets.yml"));
+        assertThat(ConfigurationReloader.files(new FileConfigurationSourceProvider(), "config.yml"))
+            .containsExactly(Paths.get("config.yml"));
+    }
+
+    @Test
+    void matchesTheHandlersOfTheChangedParts() {
+        assertThat(handlers.getHandlers("/logging/level")).hasSize(1);
+        assertThat(handlers.getHandlers("/logging")).hasSize(1);
+        assertThat(handlers.getHandlers("/metrics/reporters/0/type")).hasSize(1);
+        assertThat(handlers.getHandlers("/logging/appenders")).isEmpty();
+        assertThat(handlers.getHandlers("/metricsx")).isEmpty();
+        assertThatIllegalArgumentException().isThrownBy(() -> handlers.register("logging", (previous, next) -> { }));
+    }
+
+    @Test
+    void handlesOnlyTheRegisteredPartsOfWildcards() {
+        final ReloadEnvironment loggers = new ReloadEnvironment();
+        final ReloadHandler<Configuration> handler = (previous, next) -> { };
+        loggers.registerValue("/logging/loggers/*", handler);
+        loggers.register("/logging/loggers/*/level", handler);
+
+        assertThat(loggers.isHandled("/logging/loggers/com.example")).isTrue();
+        assertThat(loggers.isHandled("/logging/loggers/com.example/level")).isTrue();
+        assertThat(loggers.isHandled("/logging/loggers/com.example/appenders")).isFalse();
+        assertThat(loggers.isHandled("/logging/loggers/com.example/appenders/0/type")).isFalse();
+        assertThat(loggers.isHandled("/logging/loggers/com.example/additive")).isFalse();
+        assertThat(loggers.isHandled("/logging/loggers")).isFalse();
+        assertThat(loggers.getHandlers("/logging/loggers")).hasSize(2);
+        assertThat(loggers.getHandlers("/logging/loggers/com.example/appenders")).isEmpty();
+    }
+
+    private ConfigurationReloader<Configuration> reloader(List<Path> files) throws Exception {
+        final FileConfigurationSourceProvider provider = new FileConfigurationSourceProvider();
+        return new ConfigurationReloader<>(factory, provider, file.toString(), files,
+            factory.build(provider, file.toString()), handlers, metrics);
+    }
+
+    private void write(String configuration) throws Exception {
+        Files.write(file, configuration.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String level(Configuration configuration) {
+        return ((DefaultLoggingFactory) configuration.getLoggingFactory()).getLevel();
+    }
+}
@@ -1,21 +1,33 @@
 package io.dropwizard.setup;
 
+import com.codahale.metrics.CachedGauge;
 import com.codahale.metrics.Histogram;
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.RatioGauge;
 import com.codahale.metrics.UniformReservoir;
 import com.codahale.metrics.health.HealthCheckRegistry;
+import com.codahale.metrics.jmx.JmxReporter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.dropwizard.Application;
 import io.dropwizard.Configuration;
 import io.dropwizard.configuration.DefaultConfigurationFactoryFactory;
 import io.dropwizard.configuration.FileConfigurationSourceProvider;
 import io.dropwizard.jackson.Jackson;
+import io.dropwizard.lifecycle.setup.LifecycleEnvironment;
+import io.dropwizard.metrics.JmxFactory;
+import io.dropwizard.util.Duration;
+import org.assertj.core.api.Condition;
+import org.eclipse.jetty.util.component.ContainerLifeCycle;
 import org.hibernate.validator.HibernateValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 import javax.validation.Validation;
 import javax.validation.ValidatorFactory;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -102,6 +114,73 @@ class BootstrapTest {
         assertThat(bootstrap.getJmxReporter()).isNotNull();
     }
 
+    @Test
+    void keepsTheJmxReporterOfTheDefaultConfiguration() {
+        bootstrap.registerMetrics();
+        final JmxReporter reporter = bootstrap.getJmxReporter();
+        final LifecycleEnvironment lifecycle = new LifecycleEnvironment(bootstrap.getMetricRegistry());
+        bootstrap.registerJmxReporter(new JmxFactory(), lifecycle);
+
+        assertThat(bootstrap.getJmxReporter()).isSameAs(reporter);
+        assertThat(lifecycle.getManagedObjects()).hasSize(1);
+    }
+
+    @Test
+    void doesNotReportViaJmxWhenDisabled() {
+        final JmxFactory jmx = new JmxFactory();
+        jmx.setEnabled(false);
+        final LifecycleEnvironment lifecycle = new LifecycleEnvironment(bootstrap.getMetricRegistry());
+        bootstrap.registerMetrics();
+        bootstrap.registerJmxReporter(jmx, lifecycle);
+        assertThat(lifecycle.getManagedObjects()).isEmpty();
+    }
+
+    @Test
+    void registersTheFilteredMetricsAsMBeansWhileStarted() throws Exception {
+        final JmxFactory jmx = new JmxFactory();
+        jmx.setDomain("bootstrap-test");
+        jmx.setIncludes(Collections.singleton("jvm.threads"));
+        jmx.setUseSubstringMatching(true);
+        final LifecycleEnvironment lifecycle = new LifecycleEnvironment(bootstrap.getMetricRegistry());
+        bootstrap.registerMetrics();
+        bootstrap.registerJmxReporter(jmx, lifecycle);
+
+        final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName threads = new ObjectName("bootstrap-test:name=jvm.threads.count,*");
+        assertThat(mBeanServer.queryNames(threads, null)).isEmpty();
+
+        final ContainerLifeCycle container = new ContainerLifeCycle();
+        lifecycle.attach(container);
+        container.start();
+        try {
+            assertThat(mBeanServer.queryNames(threads, null)).hasSize(1);
+            assertThat(mBeanServer.queryNames(new ObjectName("bootstrap-test:name=jvm.memory.heap.used,*"), null))
+                .isEmpty();
+        } finally {
+            container.stop();
+        }
+        assertThat(mBeanServer.queryNames(threads, null)).isEmpty();
+    }
+
+    @Test
+    void doesNotCacheTheValuesOfTheJvmMetricsByDefault() {
+        bootstrap.registerMetrics();
+
+        assertThat(bootstrap.getJvmMetricsCacheTimeout()).isEqualTo(Duration.milliseconds(0));
+        assertThat(bootstrap.getMetricRegistry().getGauges())
+            .doesNotHaveValue(new Condition<>(CachedGauge.class::isInstance, "cached"));
+    }
+
+    @Test
+    void cachesTheValuesOfTheJvmMetrics() {
+        bootstrap.setJvmMetricsCacheTimeout(Duration.minutes(1));
+        bootstrap.registerMetrics();
+
+        assertThat(bootstrap.getMetricRegistry().getGauges())
+            .hasValueSatisfying(new Condition<>(CachedGauge.class::isInstance, "cached"))
+            .hasEntrySatisfying("jvm.filedescriptor", gauge -> assertThat(gauge).isInstanceOf(RatioGauge.class));
+    }
+
     @Test
     void canUseCustomValidatorFactory() throws Exception {
         ValidatorFactory factory = Validation
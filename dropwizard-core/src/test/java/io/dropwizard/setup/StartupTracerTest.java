@@ -0,0 +1,111 @@
+package io.dropwizard.setup;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.util.Duration;
+import org.eclipse.jetty.util.component.AbstractLifeCycle;
+import org.junit.jupiter.api.Test;
+
+import static java.util.Objects.requireNonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class StartupTracerTest {
+    private final StartupTracer tracer = new StartupTracer(100);
+    private final MetricRegistry metrics = new MetricRegistry();
+    private final StartupConfiguration configuration = new StartupConfiguration();
+
+    @Test
+    void recordsTheStartOfTheJvmAsTheFirstPhase() {
+        assertThat(tracer.getPhases())
+            .singleElement()
+            .satisfies(phase -> {
+                assertThat(phase.getName()).isEqualTo("jvm");
+                assertThat(phase.getMillis()).isBetween(99L, 101L);
+            });
+    }
+
+    @Test
+    void reportsOnlyPhasesWhichHaveEnded() {
+        final StartupTracer.Phase running = tracer.begin("running");
+        try (StartupTracer.Phase phase = tracer.begin("ended")) {
+            assertThat(phase.getName()).isEqualTo("ended");
+        }
+
+        assertThat(tracer.getPhases())
+            .extracting(StartupTracer.Phase::getName)
+            .containsExactly("jvm", "ended");
+
+        running.close();
+        assertThat(tracer.getPhases())
+            .extracting(StartupTracer.Phase::getName)
+            .containsExactly("jvm", "running", "ended");
+    }
+
+    @Test
+    void numbersPhasesWithTheSameName() {
+        tracer.begin("bundle.run.MyBundle").close();
+        tracer.begin("bundle.run.MyBundle").close();
+
+        assertThat(tracer.getPhases())
+            .extracting(StartupTracer.Phase::getName)
+            .containsExactly("jvm", "bundle.run.MyBundle", "bundle.run.MyBundle-2");
+    }
+
+    @Test
+    void tracesTheStartOfALifeCycle() throws Exception {
+        final AbstractLifeCycle lifeCycle = new AbstractLifeCycle() {
+        };
+        tracer.trace(lifeCycle, "server.start.connector.application");
+        lifeCycle.start();
+        lifeCycle.stop();
+        lifeCycle.start();
+
+        assertThat(tracer.getPhases())
+            .extracting(StartupTracer.Phase::getName)
+            .containsExactly("jvm", "server.start.connector.application");
+    }
+
+    @Test
+    void registersGaugesOnceComplete() {
+        tracer.begin("configuration").close();
+        assertThat(tracer.getTotalMillis()).isNull();
+
+        tracer.complete(metrics, configuration);
+
+        assertThat(tracer.getTotalMillis()).isGreaterThanOrEqualTo(100L);
+        assertThat(metrics.getGauges().keySet())
+            .containsExactlyInAnyOrder("io.dropwizard.setup.StartupTracer.jvm",
+                "io.dropwizard.setup.StartupTracer.configuration", "io.dropwizard.setup.StartupTracer.total");
+        assertThat(requireNonNull(metrics.getGauges().get("io.dropwizard.setup.StartupTracer.total")).getValue())
+            .isEqualTo(tracer.getTotalMillis());
+    }
+
+    @Test
+    void warnsIfTheBudgetIsExceeded() {
+        configuration.setBudget(Duration.milliseconds(10));
+
+        tracer.complete(metrics, configuration);
+
+        assertThat(tracer.getTotalMillis()).isNotNull();
+    }
+
+    @Test
+    void failsIfTheBudgetIsExceededAndConfiguredToFail() {
+        configuration.setBudget(Duration.milliseconds(10));
+        configuration.setFailOnBudgetExceeded(true);
+
+        assertThatIllegalStateException()
+            .isThrownBy(() -> tracer.complete(metrics, configuration))
+            .withMessageContaining("exceeds its budget of 10 milliseconds");
+    }
+
+    @Test
+    void doesNotFailWithinTheBudget() {
+        configuration.setBudget(Duration.minutes(1));
+        configuration.setFailOnBudgetExceeded(true);
+
+        tracer.complete(metrics, configuration);
+
+        assertThat(tracer.getTotalMillis()).isLessThan(60_000L);
+    }
+}
@@ -0,0 +1,28 @@
+package io.dropwizard.warmup;
+
+import io.dropwizard.setup.Environment;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WarmupBundleTest {
+    private final Environment environment = new Environment("test");
+    private final WarmupBundle<WarmupConfiguration> bundle = new WarmupBundle<WarmupConfiguration>() {
+        @Override
+        protected WarmupConfiguration getWarmupConfiguration(WarmupConfiguration configuration) {
+            return configuration;
+        }
+    };
+
+    @Test
+    void holdsTheApplicationUnhealthyUntilItIsWarmedUp() {
+        bundle.run(new WarmupConfiguration(), environment);
+
+        assertThat(environment.health().holds())
+            .containsExactly("warmup");
+        assertThat(environment.healthChecks().runHealthCheck("warmup").isHealthy())
+            .isFalse();
+        assertThat(environment.metrics().getGauges())
+            .containsKey("io.dropwizard.warmup.WarmupBundle.duration");
+    }
+}
@@ -0,0 +1,96 @@
+package io.dropwizard.warmup;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.util.Duration;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.junit.jupiter.api.Test;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.core.MediaType;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class WarmupRunnerTest {
+    private static final List<String> CALLS = new CopyOnWriteArrayList<>();
+
+    @Path("/")
+    public static class WarmedUpResource {
+        @GET
+        @Path("hello")
+        public String hello(@HeaderParam("X-Name") String name) {
+            CALLS.add("hello " + name);
+            return "Hello, " + name;
+        }
+
+        @POST
+        @Path("echo")
+        @Consumes(MediaType.APPLICATION_JSON)
+        public String echo(String body) {
+            CALLS.add("echo " + body);
+            return body;
+        }
+
+        @GET
+        @Path("slow")
+        public String slow() throws InterruptedException {
+            Thread.sleep(600);
+            return "slow";
+        }
+    }
+
+    private final MetricRegistry metrics = new MetricRegistry();
+    private final ApplicationHandler handler = new ApplicationHandler(new ResourceConfig(WarmedUpResource.class));
+    private final WarmupConfiguration configuration = new WarmupConfiguration();
+
+    @Test
+    void sendsTheRequestsInProcess() throws Exception {
+        CALLS.clear();
+        final WarmupRequest hello = request("GET", "/hello", 2);
+        hello.setHeaders(Collections.singletonMap("X-Name", "Coda"));
+        final WarmupRequest echo = request("POST", "echo", 1);
+        echo.setBody("{\"name\":\"Coda\"}");
+        final WarmupRequest missing = request("GET", "/missing", 3);
+        configuration.setRequests(Arrays.asList(hello, echo, missing));
+
+        final List<WarmupRunner.Result> results = new WarmupRunner(handler, configuration, metrics).run();
+
+        assertThat(CALLS).containsExactly("hello Coda", "hello Coda", "echo {\"name\":\"Coda\"}");
+        assertThat(results)
+            .extracting(WarmupRunner.Result::getName, WarmupRunner.Result::getSent, WarmupRunner.Result::getSucceeded)
+            .containsExactly(
+                tuple("GET /hello", 2, 2),
+                tuple("POST echo", 1, 1),
+                tuple("GET /missing", 3, 0));
+        assertThat(metrics.timer("io.dropwizard.warmup.WarmupRunner.GET /hello").getCount()).isEqualTo(2);
+    }
+
+    @Test
+    void stopsOnceTheWarmupTimedOut() throws Exception {
+        configuration.setTimeout(Duration.seconds(1));
+        configuration.setRequests(Arrays.asList(request("GET", "/slow", 10), request("GET", "/hello", 1)));
+
+        final List<WarmupRunner.Result> results = new WarmupRunner(handler, configuration, metrics).run();
+
+        assertThat(results)
+            .singleElement()
+            .satisfies(result -> assertThat(result.getSent()).isLessThan(10));
+    }
+
+    private static WarmupRequest request(String method, String path, int iterations) {
+        final WarmupRequest request = new WarmupRequest();
+        request.setMethod(method);
+        request.setPath(path);
+        request.setIterations(iterations);
+        return request;
+    }
+}
@@ -6,7 +6,10 @@ import org.apache.tomcat.jdbc.pool.ConnectionPool;
 import org.apache.tomcat.jdbc.pool.DataSourceProxy;
 import org.apache.tomcat.jdbc.pool.PoolConfiguration;
 
+import java.sql.Connection;
 import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Logger;
 
 import static com.codahale.metrics.MetricRegistry.name;
@@ -73,4 +76,36 @@ public class ManagedPooledDataSource extends DataSourceProxy implements ManagedD
     public void stop() throws Exception {
         close();
     }
+
+    /**
+     * Closes the idle connections of the pool, and the busy ones as soon as they are returned.
+     */
+    @Override
+    public void beforeCheckpoint() throws Exception {
+        final ConnectionPool connectionPool = pool;
+        if (connectionPool != null) {
+            connectionPool.purge();
+        }
+    }
+
+    /**
+     * Reopens the initial connections of the pool.
+     */
+    @Override
+    public void afterRestore() throws Exception {
+        final ConnectionPool connectionPool = pool;
+        if (connectionPool == null) {
+            return;
+        }
+        final List<Connection> connections = new ArrayList<>();
+        try {
+            for (int i = 0; i < getPoolProperties().getInitialSize(); i++) {
+                connections.add(connectionPool.getConnection());
+            }
+        } finally {
+            for (Connection connection : connections) {
+                connection.close();
+            }
+        }
+    }
 }
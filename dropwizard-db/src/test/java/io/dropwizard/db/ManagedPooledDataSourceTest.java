@@ -2,10 +2,12 @@ package io.dropwizard.db;
 
 import com.codahale.metrics.MetricRegistry;
 import org.apache.tomcat.jdbc.pool.PoolProperties;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
 import java.sql.SQLFeatureNotSupportedException;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 class ManagedPooledDataSourceTest {
@@ -13,9 +15,29 @@ class ManagedPooledDataSourceTest {
     private final MetricRegistry metricRegistry = new MetricRegistry();
     private final ManagedPooledDataSource dataSource = new ManagedPooledDataSource(config, metricRegistry);
 
+    @AfterEach
+    void tearDown() throws Exception {
+        dataSource.stop();
+    }
+
     @Test
     void hasNoParentLogger() {
         assertThatExceptionOfType(SQLFeatureNotSupportedException.class)
             .isThrownBy(dataSource::getParentLogger);
     }
+
+    @Test
+    void closesAndReopensConnectionsAroundCheckpoints() throws Exception {
+        config.setDriverClassName("org.h2.Driver");
+        config.setUrl("jdbc:h2:mem:ManagedPooledDataSourceTest-" + System.currentTimeMillis() + ";user=sa");
+        config.setInitialSize(2);
+        dataSource.start();
+        assertThat(dataSource.getPool().getIdle()).isEqualTo(2);
+
+        dataSource.beforeCheckpoint();
+        assertThat(dataSource.getPool().getSize()).isZero();
+
+        dataSource.afterRestore();
+        assertThat(dataSource.getPool().getIdle()).isEqualTo(2);
+    }
 }
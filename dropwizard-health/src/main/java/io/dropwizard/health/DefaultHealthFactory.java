@@ -4,6 +4,7 @@ import com.codahale.metrics.InstrumentedScheduledExecutorService;
 import com.codahale.metrics.InstrumentedThreadFactory;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.health.HealthCheckRegistry;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -21,6 +22,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
+import javax.annotation.Nullable;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
@@ -68,6 +70,10 @@ public class DefaultHealthFactory implements HealthFactory {
     @JsonProperty("responder")
     private HealthResponderFactory healthResponderFactory = new ServletHealthResponderFactory();
 
+    @Nullable
+    @JsonIgnore
+    private HealthCheckManager healthCheckManager;
+
     public boolean isEnabled() {
         return enabled;
     }
@@ -171,8 +177,9 @@ public class DefaultHealthFactory implements HealthFactory {
         final HealthCheckScheduler scheduler = new HealthCheckScheduler(scheduledHealthCheckExecutor);
         // configure health manager to receive registered health state listeners from HealthEnvironment (via reference)
         final HealthCheckManager healthCheckManager = new HealthCheckManager(healthCheckConfigs, scheduler, metrics,
-                shutdownWaitPeriod, initialOverallState, health.healthStateListeners());
+                shutdownWaitPeriod, initialOverallState, health.healthStateListeners(), health.holds());
         healthCheckManager.initializeAppHealth();
+        this.healthCheckManager = healthCheckManager;
 
         // setup response provider and responder to respond to health check requests
         final HealthResponseProvider responseProvider = healthResponseProviderFactory.build(healthCheckManager,
@@ -198,6 +205,22 @@ public class DefaultHealthFactory implements HealthFactory {
         LOGGER.debug("Configured ongoing health check monitoring for healthChecks: {}", getHealthChecks());
     }
 
+    /**
+     * Applies the schedules of this configuration to the health checks which were configured by the given
+     * configuration. The other settings of the health checks are only applied when the application restarts.
+     *
+     * @param previous the health configuration which configured the running health checks
+     * @since 2.1
+     */
+    public void reloadSchedules(DefaultHealthFactory previous) {
+        final HealthCheckManager manager = previous.healthCheckManager;
+        if (manager == null) {
+            LOGGER.warn("The health check schedules are only applied when the application restarts");
+            return;
+        }
+        manager.reschedule(getHealthCheckConfigurations());
+    }
+
     private ScheduledExecutorService createScheduledExecutorForHealthChecks(
             final int numberOfScheduledHealthChecks,
             final MetricRegistry metrics,
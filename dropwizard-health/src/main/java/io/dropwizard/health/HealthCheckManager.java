@@ -12,15 +12,17 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 class HealthCheckManager implements HealthCheckRegistryListener, HealthStatusChecker, ShutdownNotifier,
     HealthStateListener, HealthStateAggregator {
@@ -45,6 +47,8 @@ class HealthCheckManager implements HealthCheckRegistryListener, HealthStatusChe
     @Nonnull
     private final String aggregateUnhealthyName;
     @Nonnull
+    private final Collection<String> holds;
+    @Nonnull
     private Map<String, ScheduledHealthCheck> checks;
     private volatile boolean shuttingDown = false;
 
@@ -54,14 +58,26 @@ class HealthCheckManager implements HealthCheckRegistryListener, HealthStatusChe
                               final Duration shutdownWaitPeriod,
                               final boolean initialOverallState,
                               final Collection<HealthStateListener> healthStateListeners) {
-        this.configs = configs.stream()
-            .collect(Collectors.toMap(HealthCheckConfiguration::getName, Function.identity()));
+        this(configs, scheduler, metrics, shutdownWaitPeriod, initialOverallState, healthStateListeners,
+            Collections.emptySet());
+    }
+
+    public HealthCheckManager(final List<HealthCheckConfiguration> configs,
+                              final HealthCheckScheduler scheduler,
+                              final MetricRegistry metrics,
+                              final Duration shutdownWaitPeriod,
+                              final boolean initialOverallState,
+                              final Collection<HealthStateListener> healthStateListeners,
+                              final Collection<String> holds) {
+        this.configs = new ConcurrentHashMap<>(configs.stream()
+            .collect(Collectors.toMap(HealthCheckConfiguration::getName, Function.identity())));
         this.scheduler = Objects.requireNonNull(scheduler);
         this.metrics = Objects.requireNonNull(metrics);
         this.shutdownWaitPeriod = shutdownWaitPeriod;
         this.initialOverallState = initialOverallState;
-        this.checks = new HashMap<>();
+        this.checks = new ConcurrentHashMap<>();
         this.healthStateListeners = Objects.requireNonNull(healthStateListeners);
+        this.holds = Objects.requireNonNull(holds);
 
         this.aggregateHealthyName = MetricRegistry.name("health", "aggregate", "healthy");
         this.aggregateUnhealthyName = MetricRegistry.name("health", "aggregate", "unhealthy");
@@ -105,6 +121,48 @@ class HealthCheckManager implements HealthCheckRegistryListener, HealthStatusChe
         scheduler.scheduleInitial(check);
     }
 
+    /**
+     * Applies the schedules of the given configurations to the health checks which are already scheduled. A check
+     * whose schedule changed keeps its current state and is rescheduled with the interval matching that state; the
+     * checks which are not registered yet pick up their new schedule when they are added.
+     *
+     * @param configs the reloaded health check configurations
+     */
+    void reschedule(final List<HealthCheckConfiguration> configs) {
+        for (HealthCheckConfiguration config : configs) {
+            final String name = config.getName();
+            final HealthCheckConfiguration previous = this.configs.get(name);
+            if (previous == null) {
+                LOGGER.warn("Ignoring the schedule of a health check that wasn't configured at startup: name={}", name);
+                continue;
+            }
+            final Schedule schedule = config.getSchedule();
+            this.configs.put(name, withSchedule(previous, schedule));
+
+            final ScheduledHealthCheck check = checks.get(name);
+            if (check == null || check.getSchedule().equals(schedule)) {
+                continue;
+            }
+            final State state = new State(name, schedule.getFailureAttempts(), schedule.getSuccessAttempts(),
+                check.isHealthy(), this);
+            final ScheduledHealthCheck rescheduled = check.withSchedule(schedule, state);
+            checks.put(name, rescheduled);
+            scheduler.schedule(rescheduled, rescheduled.isHealthy());
+            LOGGER.info("Rescheduled health check: name={} schedule={}", name, schedule);
+        }
+    }
+
+    private static HealthCheckConfiguration withSchedule(final HealthCheckConfiguration config,
+                                                         final Schedule schedule) {
+        final HealthCheckConfiguration copy = new HealthCheckConfiguration();
+        copy.setName(config.getName());
+        copy.setType(config.getType());
+        copy.setCritical(config.isCritical());
+        copy.setInitialState(config.isInitialState());
+        copy.setSchedule(schedule);
+        return copy;
+    }
+
     @Override
     public void onHealthCheckRemoved(final String name, final HealthCheck healthCheck) {
         scheduler.unschedule(name);
@@ -152,10 +210,11 @@ class HealthCheckManager implements HealthCheckRegistryListener, HealthStatusChe
     }
 
     private long calculateNumberOfUnhealthyChecks() {
+        // Every hold counts as an unhealthy check, so that the gauges agree with isHealthy()
         return checks.values()
             .stream()
             .filter(check -> !check.isHealthy())
-            .count();
+            .count() + holds.size();
     }
 
     private void handleCriticalHealthChange(final String name, final HealthCheckType type, final boolean isNowHealthy) {
@@ -210,7 +269,7 @@ class HealthCheckManager implements HealthCheckRegistryListener, HealthStatusChe
 
     @Override
     public boolean isHealthy() {
-        return isAppAlive.get() && isAppHealthy.get();
+        return isAppAlive.get() && isAppHealthy.get() && holds.isEmpty();
     }
 
     @Override
@@ -265,16 +324,24 @@ class HealthCheckManager implements HealthCheckRegistryListener, HealthStatusChe
     @Nonnull
     @Override
     public Collection<HealthStateView> healthStateViews() {
-        return checks.values()
-            .stream()
-            .map(ScheduledHealthCheck::view)
+        return Stream.concat(
+                checks.values().stream().map(ScheduledHealthCheck::view),
+                holds.stream().map(HealthCheckManager::holdView))
             .collect(Collectors.toList());
     }
 
     @Nonnull
     @Override
     public Optional<HealthStateView> healthStateView(@Nonnull final String name) {
-        return Optional.ofNullable(checks.get(name))
+        final Optional<HealthStateView> view = Optional.ofNullable(checks.get(name))
             .map(ScheduledHealthCheck::view);
+        if (view.isPresent() || !holds.contains(name)) {
+            return view;
+        }
+        return Optional.of(holdView(name));
+    }
+
+    private static HealthStateView holdView(final String name) {
+        return new HealthStateView(name, false, HealthCheckType.READY, true);
     }
 }
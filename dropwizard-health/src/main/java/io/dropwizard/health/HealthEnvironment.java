@@ -9,6 +9,8 @@ import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class HealthEnvironment {
     private static final Logger LOGGER = LoggerFactory.getLogger(HealthEnvironment.class);
@@ -17,6 +19,8 @@ public class HealthEnvironment {
     private final HealthCheckRegistry healthCheckRegistry;
     @Nonnull
     private final Collection<HealthStateListener> healthStateListeners;
+    @Nonnull
+    private final Set<String> holds = ConcurrentHashMap.newKeySet();
     @Nullable
     private HealthStateAggregator healthStateAggregator;
 
@@ -29,6 +33,56 @@ public class HealthEnvironment {
         healthStateListeners.add(listener);
     }
 
+    /**
+     * Holds the application unhealthy, whatever the state of its health checks, until {@link #release(String)} is
+     * called with the same name. Whether the application is alive is not affected.
+     * <p/>
+     * A hold is reported like an unhealthy, critical readiness check with its name: it is counted by the
+     * {@code health.aggregate.unhealthy} gauge, has a {@link HealthStateView}, and the
+     * {@link HealthStateListener health state listeners} are notified when it changes state.
+     *
+     * @param name the name of what the application waits for, like {@code warmup}
+     * @since 2.1
+     */
+    public void hold(final String name) {
+        if (holds.add(Objects.requireNonNull(name))) {
+            notifyStateChanged(name, false);
+        }
+    }
+
+    /**
+     * Releases a hold of {@link #hold(String)}.
+     *
+     * @param name the name of the hold
+     * @since 2.1
+     */
+    public void release(final String name) {
+        if (holds.remove(name)) {
+            notifyStateChanged(name, true);
+        }
+    }
+
+    private void notifyStateChanged(final String name, final boolean isNowHealthy) {
+        for (HealthStateListener listener : healthStateListeners) {
+            try {
+                listener.onStateChanged(name, isNowHealthy);
+            } catch (final RuntimeException e) {
+                LOGGER.warn("Exception thrown for hold: {} from Health State listener onStateChanged: {}",
+                    name, listener, e);
+            }
+        }
+    }
+
+    /**
+     * Returns the names of the holds which have not been released.
+     *
+     * @since 2.1
+     */
+    @Nonnull
+    public Collection<String> holds() {
+        return holds;
+    }
+
     @Nonnull
     public HealthCheckRegistry healthChecks() {
         return healthCheckRegistry;
@@ -37,6 +37,15 @@ class ScheduledHealthCheck implements Runnable {
         this.unhealthyCheckCounter = Objects.requireNonNull(unhealthyCheckCounter);
     }
 
+    /**
+     * Returns a copy of this check which runs on the given schedule and tracks its state with the given {@link State},
+     * sharing the underlying health check and its counters.
+     */
+    ScheduledHealthCheck withSchedule(final Schedule schedule, final State state) {
+        return new ScheduledHealthCheck(name, type, critical, healthCheck, schedule, state, healthyCheckCounter,
+            unhealthyCheckCounter);
+    }
+
     public String getName() {
         return name;
     }
@@ -17,7 +17,9 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -26,7 +28,9 @@ import java.util.concurrent.atomic.AtomicInteger;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.requireNonNull;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -60,6 +64,60 @@ class HealthCheckManagerTest {
             .isEmpty();
     }
 
+    @Test
+    void shouldRescheduleHealthChecksWhoseScheduleChanged() {
+        // given
+        final HealthCheckConfiguration config = new HealthCheckConfiguration();
+        config.setName(NAME);
+        config.setSchedule(new Schedule());
+        final HealthCheckManager manager = new HealthCheckManager(singletonList(config), scheduler,
+            new MetricRegistry(), SHUTDOWN_WAIT, true, Collections.emptyList());
+        manager.onHealthCheckAdded(NAME, mock(HealthCheck.class));
+        final Schedule schedule = new Schedule();
+        schedule.setCheckInterval(Duration.seconds(42));
+        final HealthCheckConfiguration reloaded = new HealthCheckConfiguration();
+        reloaded.setName(NAME);
+        reloaded.setSchedule(schedule);
+
+        // when
+        manager.reschedule(singletonList(reloaded));
+        manager.reschedule(singletonList(reloaded));
+
+        // then
+        final ArgumentCaptor<ScheduledHealthCheck> checkCaptor = ArgumentCaptor.forClass(ScheduledHealthCheck.class);
+        verify(scheduler).schedule(checkCaptor.capture(), eq(true));
+        assertThat(checkCaptor.getValue().getSchedule()).isEqualTo(schedule);
+        assertThat(checkCaptor.getValue().isHealthy()).isTrue();
+    }
+
+    @Test
+    void shouldBeUnhealthyButAliveWhileHeld() {
+        // given
+        final Set<String> holds = new HashSet<>(singletonList("warmup"));
+        final MetricRegistry metrics = new MetricRegistry();
+        final HealthCheckManager manager = new HealthCheckManager(Collections.emptyList(), scheduler,
+            metrics, SHUTDOWN_WAIT, true, Collections.emptyList(), holds);
+        manager.initializeAppHealth();
+
+        // then
+        assertThat(manager.isHealthy()).isFalse();
+        assertThat(manager.isHealthy(HealthCheckType.ALIVE.name())).isTrue();
+        assertThat(requireNonNull(metrics.getGauges().get(manager.getAggregateUnhealthyName())).getValue()).isEqualTo(1L);
+        assertThat(manager.healthStateView("warmup"))
+            .hasValueSatisfying(view -> assertThat(view.isHealthy()).isFalse());
+        assertThat(manager.healthStateViews())
+            .extracting(HealthStateView::getName)
+            .containsExactly("warmup");
+
+        // when
+        holds.clear();
+
+        // then
+        assertThat(manager.isHealthy()).isTrue();
+        assertThat(requireNonNull(metrics.getGauges().get(manager.getAggregateUnhealthyName())).getValue()).isEqualTo(0L);
+        assertThat(manager.healthStateView("warmup")).isEmpty();
+    }
+
     @Test
     void shouldScheduleHealthCheckWhenConfiguredHealthCheckAdded() {
         // given
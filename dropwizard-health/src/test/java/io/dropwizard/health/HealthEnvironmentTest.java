@@ -9,6 +9,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 class HealthEnvironmentTest {
@@ -35,4 +36,26 @@ class HealthEnvironmentTest {
 
         assertThat(healthEnvironment.healthStateListeners()).contains(healthStateListener);
     }
+
+    @Test
+    void shouldHoldUntilReleased() {
+        healthEnvironment.hold("warmup");
+        assertThat(healthEnvironment.holds()).containsExactly("warmup");
+
+        healthEnvironment.release("warmup");
+        assertThat(healthEnvironment.holds()).isEmpty();
+    }
+
+    @Test
+    void shouldNotifyTheListenersOfAHold() {
+        healthEnvironment.addHealthStateListener(healthStateListener);
+
+        healthEnvironment.hold("warmup");
+        healthEnvironment.hold("warmup");
+        verify(healthStateListener).onStateChanged("warmup", false);
+
+        healthEnvironment.release("warmup");
+        healthEnvironment.release("warmup");
+        verify(healthStateListener).onStateChanged("warmup", true);
+    }
 }
@@ -5,7 +5,9 @@ import com.codahale.metrics.jetty9.InstrumentedConnectionFactory;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import io.dropwizard.jetty.HttpsConnectorFactory;
+import io.dropwizard.jetty.InstrumentedConnectionListener;
 import io.dropwizard.jetty.SslReload;
+import io.dropwizard.util.Duration;
 import org.eclipse.jetty.alpn.server.ALPNServerConnectionFactory;
 import org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory;
 import org.eclipse.jetty.server.Connector;
@@ -13,14 +15,14 @@ import org.eclipse.jetty.server.HttpConfiguration;
 import org.eclipse.jetty.server.HttpConnectionFactory;
 import org.eclipse.jetty.server.NegotiatingServerConnectionFactory;
 import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
 import org.eclipse.jetty.server.SslConnectionFactory;
 import org.eclipse.jetty.util.ssl.SslContextFactory;
 import org.eclipse.jetty.util.thread.ScheduledExecutorScheduler;
 import org.eclipse.jetty.util.thread.ThreadPool;
 
 import javax.annotation.Nullable;
-import javax.validation.constraints.Max;
-import javax.validation.constraints.Min;
+import javax.validation.Valid;
 import java.util.Arrays;
 import java.util.Collections;
 
@@ -28,29 +30,13 @@ import java.util.Collections;
  * Builds HTTP/2 over TLS (h2) connectors.
  * <p/>
  * <b>Configuration Parameters:</b>
- * <table>
- *     <tr>
- *         <td>Name</td>
- *         <td>Default</td>
- *         <td>Description</td>
- *     </tr>
- *     <tr>
- *         <td>{@code maxConcurrentStreams}</td>
- *         <td>1024</td>
- *         <td>
- *             The maximum number of concurrently open streams allowed on a single HTTP/2 connection.
- *             Larger values increase parallelism, but cost a memory commitment.
- *         </td>
- *     </tr>
- *     <tr>
- *         <td>{@code initialStreamRecvWindow}</td>
- *         <td>65535</td>
- *         <td>
- *             The initial flow control window size for a new stream. Larger values may allow greater throughput,
- *             but also risk head of line blocking if TCP/IP flow control is triggered.
- *         </td>
- *     </tr>
- * </table>
+ * <p/>
+ * The HTTP/2 parameters of {@link Http2Settings}, such as {@code maxConcurrentStreams}, {@code maxFrameSize} or
+ * the flow control windows.
+ * <p/>
+ * If {@code enableConnectionMetrics} is set, the connector additionally records the number of streams per
+ * connection and how often and for how long connections and streams were stalled by flow control, see
+ * {@link InstrumentedHttp2ConnectionListener}.
  * <p/>
  * For more configuration parameters, see {@link HttpsConnectorFactory}.
  *
@@ -60,32 +46,135 @@ import java.util.Collections;
 public class Http2ConnectorFactory extends HttpsConnectorFactory {
     private static final String HTTP2_DEFAULT_CIPHER = "TLS_ECDHE_RSA_WITH_AES_128_GCM_SHA256";
 
-    @Min(100)
-    @Max(Integer.MAX_VALUE)
-    private int maxConcurrentStreams = 1024;
-
-    @Min(1)
-    @Max(Integer.MAX_VALUE)
-    private int initialStreamRecvWindow = 65535;
+    @Valid
+    private final Http2Settings http2Settings = new Http2Settings();
 
     @JsonProperty
     public int getMaxConcurrentStreams() {
-        return maxConcurrentStreams;
+        return http2Settings.getMaxConcurrentStreams();
     }
 
     @JsonProperty
     public void setMaxConcurrentStreams(int maxConcurrentStreams) {
-        this.maxConcurrentStreams = maxConcurrentStreams;
+        http2Settings.setMaxConcurrentStreams(maxConcurrentStreams);
     }
 
     @JsonProperty
     public int getInitialStreamRecvWindow() {
-        return initialStreamRecvWindow;
+        return http2Settings.getInitialStreamRecvWindow();
     }
 
     @JsonProperty
     public void setInitialStreamRecvWindow(int initialStreamRecvWindow) {
-        this.initialStreamRecvWindow = initialStreamRecvWindow;
+        http2Settings.setInitialStreamRecvWindow(initialStreamRecvWindow);
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public int getInitialSessionRecvWindow() {
+        return http2Settings.getInitialSessionRecvWindow();
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setInitialSessionRecvWindow(int initialSessionRecvWindow) {
+        http2Settings.setInitialSessionRecvWindow(initialSessionRecvWindow);
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public int getMaxFrameSize() {
+        return http2Settings.getMaxFrameSize();
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setMaxFrameSize(int maxFrameSize) {
+        http2Settings.setMaxFrameSize(maxFrameSize);
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public int getMaxDynamicTableSize() {
+        return http2Settings.getMaxDynamicTableSize();
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setMaxDynamicTableSize(int maxDynamicTableSize) {
+        http2Settings.setMaxDynamicTableSize(maxDynamicTableSize);
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    @Nullable
+    public Duration getStreamIdleTimeout() {
+        return http2Settings.getStreamIdleTimeout();
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setStreamIdleTimeout(@Nullable Duration streamIdleTimeout) {
+        http2Settings.setStreamIdleTimeout(streamIdleTimeout);
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public int getMaxEventsPerSecond() {
+        return http2Settings.getMaxEventsPerSecond();
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setMaxEventsPerSecond(int maxEventsPerSecond) {
+        http2Settings.setMaxEventsPerSecond(maxEventsPerSecond);
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public int getMaxSettingsKeys() {
+        return http2Settings.getMaxSettingsKeys();
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setMaxSettingsKeys(int maxSettingsKeys) {
+        http2Settings.setMaxSettingsKeys(maxSettingsKeys);
+    }
+
+    @Override
+    protected void addConnectionMetrics(ServerConnector connector, MetricRegistry metrics) {
+        super.addConnectionMetrics(connector, metrics);
+        Http2Settings.addFlowControlMetrics(connector);
+    }
+
+    @Override
+    protected InstrumentedConnectionListener buildConnectionListener(MetricRegistry metrics, String prefix) {
+        return new InstrumentedHttp2ConnectionListener(metrics, prefix);
     }
 
     @Override
@@ -98,9 +187,7 @@ public class Http2ConnectorFactory extends HttpsConnectorFactory {
         // Setup connection factories
         final HttpConfiguration httpConfig = buildHttpConfiguration();
         final HttpConnectionFactory http1 = buildHttpConnectionFactory(httpConfig);
-        final HTTP2ServerConnectionFactory http2 = new HTTP2ServerConnectionFactory(httpConfig);
-        http2.setMaxConcurrentStreams(maxConcurrentStreams);
-        http2.setInitialStreamRecvWindow(initialStreamRecvWindow);
+        final HTTP2ServerConnectionFactory http2 = http2Settings.buildHttp2ConnectionFactory(httpConfig);
 
         final NegotiatingServerConnectionFactory alpn = new ALPNServerConnectionFactory();
         alpn.setDefaultProtocol("http/1.1"); // Speak HTTP 1.1 over TLS if negotiation fails
@@ -114,10 +201,13 @@ public class Http2ConnectorFactory extends HttpsConnectorFactory {
         // via HTTPS. New clients, however, that want to use HTTP/2 will use TLS with ALPN extension.
         // If negotiation succeeds, the client and server switch to HTTP/2 protocol.
         final SslConnectionFactory sslConnectionFactory = new SslConnectionFactory(sslContextFactory, "alpn");
+        addSslHandshakeMetrics(sslConnectionFactory, metrics, name);
 
-        return buildConnector(server, new ScheduledExecutorScheduler(), buildBufferPool(), name, threadPool,
+        final ServerConnector connector = buildConnector(server, new ScheduledExecutorScheduler(), buildBufferPool(server, metrics, name), name, threadPool,
             new InstrumentedConnectionFactory(sslConnectionFactory, metrics.timer(httpConnections())),
             alpn, http2, http1);
+        addConnectionMetrics(connector, metrics);
+        return connector;
     }
 
     void checkSupportedCipherSuites() {
@@ -0,0 +1,248 @@
+package io.dropwizard.http2;
+
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.MinDuration;
+import org.eclipse.jetty.http2.frames.Frame;
+import org.eclipse.jetty.http2.frames.SettingsFrame;
+import org.eclipse.jetty.http2.parser.WindowRateControl;
+import org.eclipse.jetty.http2.server.AbstractHTTP2ServerConnectionFactory;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.ServerConnector;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The HTTP/2 settings shared by the {@link Http2ConnectorFactory h2} and {@link Http2CConnectorFactory h2c}
+ * connectors, which build their HTTP/2 connection factories from them.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxConcurrentStreams}</td>
+ *         <td>1024</td>
+ *         <td>
+ *             The maximum number of concurrently open streams allowed on a single HTTP/2 connection.
+ *             Larger values increase parallelism, but cost a memory commitment.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code initialStreamRecvWindow}</td>
+ *         <td>65535</td>
+ *         <td>
+ *             The initial flow control window size for a new stream. Larger values may allow greater throughput,
+ *             but also risk head of line blocking if TCP/IP flow control is triggered.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code initialSessionRecvWindow}</td>
+ *         <td>1048576</td>
+ *         <td>
+ *             The initial flow control window size for a new connection, shared by all of its streams. It should be
+ *             larger than {@code initialStreamRecvWindow} so that a single stream cannot stall the connection.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxFrameSize}</td>
+ *         <td>16384</td>
+ *         <td>
+ *             The largest frame payload, in bytes, that the server accepts and advertises to clients. Larger frames
+ *             reduce the framing overhead of large bodies. Must be between 16384 and 16777215.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxDynamicTableSize}</td>
+ *         <td>4096</td>
+ *         <td>The size, in bytes, of the HPACK dynamic table used to compress headers.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code streamIdleTimeout}</td>
+ *         <td>(none)</td>
+ *         <td>
+ *             How long a stream may be idle before it is reset. If not set, the {@code idleTimeout} of the connector
+ *             is used.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxEventsPerSecond}</td>
+ *         <td>50</td>
+ *         <td>
+ *             The maximum rate of suspicious frames, such as empty data frames, pings or stream resets, that a client
+ *             may send before its connection is closed.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxSettingsKeys}</td>
+ *         <td>64</td>
+ *         <td>The maximum number of keys a client may send in all of its SETTINGS frames.</td>
+ *     </tr>
+ * </table>
+ *
+ * @since 2.1
+ */
+public class Http2Settings {
+    @Min(100)
+    @Max(Integer.MAX_VALUE)
+    private int maxConcurrentStreams = 1024;
+
+    @Min(1)
+    @Max(Integer.MAX_VALUE)
+    private int initialStreamRecvWindow = 65535;
+
+    @Min(1)
+    @Max(Integer.MAX_VALUE)
+    private int initialSessionRecvWindow = 1024 * 1024;
+
+    @Min(Frame.DEFAULT_MAX_LENGTH)
+    @Max(Frame.MAX_MAX_LENGTH)
+    private int maxFrameSize = Frame.DEFAULT_MAX_LENGTH;
+
+    @Min(0)
+    private int maxDynamicTableSize = 4096;
+
+    @Nullable
+    @MinDuration(value = 1, unit = TimeUnit.MILLISECONDS)
+    private Duration streamIdleTimeout;
+
+    @Min(1)
+    private int maxEventsPerSecond = 50;
+
+    @Min(1)
+    private int maxSettingsKeys = SettingsFrame.DEFAULT_MAX_KEYS;
+
+    public int getMaxConcurrentStreams() {
+        return maxConcurrentStreams;
+    }
+
+    public void setMaxConcurrentStreams(int maxConcurrentStreams) {
+        this.maxConcurrentStreams = maxConcurrentStreams;
+    }
+
+    public int getInitialStreamRecvWindow() {
+        return initialStreamRecvWindow;
+    }
+
+    public void setInitialStreamRecvWindow(int initialStreamRecvWindow) {
+        this.initialStreamRecvWindow = initialStreamRecvWindow;
+    }
+
+    public int getInitialSessionRecvWindow() {
+        return initialSessionRecvWindow;
+    }
+
+    public void setInitialSessionRecvWindow(int initialSessionRecvWindow) {
+        this.initialSessionRecvWindow = initialSessionRecvWindow;
+    }
+
+    public int getMaxFrameSize() {
+        return maxFrameSize;
+    }
+
+    public void setMaxFrameSize(int maxFrameSize) {
+        this.maxFrameSize = maxFrameSize;
+    }
+
+    public int getMaxDynamicTableSize() {
+        return maxDynamicTableSize;
+    }
+
+    public void setMaxDynamicTableSize(int maxDynamicTableSize) {
+        this.maxDynamicTableSize = maxDynamicTableSize;
+    }
+
+    @Nullable
+    public Duration getStreamIdleTimeout() {
+        return streamIdleTimeout;
+    }
+
+    public void setStreamIdleTimeout(@Nullable Duration streamIdleTimeout) {
+        this.streamIdleTimeout = streamIdleTimeout;
+    }
+
+    public int getMaxEventsPerSecond() {
+        return maxEventsPerSecond;
+    }
+
+    public void setMaxEventsPerSecond(int maxEventsPerSecond) {
+        this.maxEventsPerSecond = maxEventsPerSecond;
+    }
+
+    public int getMaxSettingsKeys() {
+        return maxSettingsKeys;
+    }
+
+    public void setMaxSettingsKeys(int maxSettingsKeys) {
+        this.maxSettingsKeys = maxSettingsKeys;
+    }
+
+    /**
+     * Builds the connection factory of HTTP/2 over TLS (h2).
+     */
+    public HTTP2ServerConnectionFactory buildHttp2ConnectionFactory(HttpConfiguration httpConfig) {
+        return configure(new HTTP2ServerConnectionFactory(httpConfig) {
+            @Override
+            protected Map<Integer, Integer> newSettings() {
+                return advertiseMaxFrameSize(super.newSettings(), getMaxFrameLength());
+            }
+        });
+    }
+
+    /**
+     * Builds the connection factory of HTTP/2 clear text (h2c).
+     */
+    public HTTP2ServerConnectionFactory buildHttp2CConnectionFactory(HttpConfiguration httpConfig) {
+        return configure(new HTTP2CServerConnectionFactory(httpConfig) {
+            @Override
+            protected Map<Integer, Integer> newSettings() {
+                return advertiseMaxFrameSize(super.newSettings(), getMaxFrameLength());
+            }
+        });
+    }
+
+    /**
+     * Applies the flow control and stream settings to an HTTP/2 connection factory.
+     */
+    public <T extends AbstractHTTP2ServerConnectionFactory> T configure(T factory) {
+        factory.setMaxConcurrentStreams(maxConcurrentStreams);
+        factory.setInitialStreamRecvWindow(initialStreamRecvWindow);
+        factory.setInitialSessionRecvWindow(initialSessionRecvWindow);
+        factory.setMaxFrameLength(maxFrameSize);
+        factory.setMaxDynamicTableSize(maxDynamicTableSize);
+        if (streamIdleTimeout != null) {
+            factory.setStreamIdleTimeout(streamIdleTimeout.toMilliseconds());
+        }
+        factory.setRateControlFactory(new WindowRateControl.Factory(maxEventsPerSecond));
+        factory.setMaxSettingsKeys(maxSettingsKeys);
+        return factory;
+    }
+
+    /**
+     * Records the flow control stalls of the HTTP/2 connections of a connector, if the connector has an
+     * {@link InstrumentedHttp2ConnectionListener}.
+     */
+    static void addFlowControlMetrics(ServerConnector connector) {
+        final InstrumentedHttp2ConnectionListener listener = connector.getBean(InstrumentedHttp2ConnectionListener.class);
+        final AbstractHTTP2ServerConnectionFactory http2 = connector.getConnectionFactory(AbstractHTTP2ServerConnectionFactory.class);
+        if (listener != null && http2 != null) {
+            http2.setFlowControlStrategyFactory(listener.flowControlStrategyFactory());
+        }
+    }
+
+    private static Map<Integer, Integer> advertiseMaxFrameSize(Map<Integer, Integer> settings, int maxFrameLength) {
+        // Jetty only accepts larger frames, so advertise them to let clients send them
+        if (maxFrameLength != Frame.DEFAULT_MAX_LENGTH) {
+            settings.put(SettingsFrame.MAX_FRAME_SIZE, maxFrameLength);
+        }
+        return settings;
+    }
+}
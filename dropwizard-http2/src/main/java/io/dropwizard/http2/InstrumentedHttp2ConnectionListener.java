@@ -0,0 +1,85 @@
+package io.dropwizard.http2;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import io.dropwizard.jetty.InstrumentedConnectionListener;
+import org.eclipse.jetty.http2.AbstractFlowControlStrategy;
+import org.eclipse.jetty.http2.BufferingFlowControlStrategy;
+import org.eclipse.jetty.http2.FlowControlStrategy;
+import org.eclipse.jetty.http2.HTTP2Connection;
+import org.eclipse.jetty.http2.HTTP2Session;
+import org.eclipse.jetty.http2.ISession;
+import org.eclipse.jetty.http2.IStream;
+import org.eclipse.jetty.io.Connection;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * An {@link InstrumentedConnectionListener} which additionally records per HTTP/2 connection:
+ * <ul>
+ *     <li>{@code streams-per-connection}: the number of streams opened before the connection was closed.</li>
+ *     <li>{@code session-stalls} and {@code stream-stalls}: how often sending data stalled because the flow control
+ *     window of the connection or of a stream was exhausted.</li>
+ *     <li>{@code session-stall-time} and {@code stream-stall-time}: the total time a closed connection, or all of its
+ *     streams, spent stalled by flow control.</li>
+ * </ul>
+ * The stall metrics are only recorded if the connection factory uses the {@link #flowControlStrategyFactory()}.
+ *
+ * @since 2.1
+ */
+public class InstrumentedHttp2ConnectionListener extends InstrumentedConnectionListener {
+    private final Histogram streamsPerConnection;
+    private final Meter sessionStalls;
+    private final Meter streamStalls;
+    private final Timer sessionStallTime;
+    private final Timer streamStallTime;
+
+    public InstrumentedHttp2ConnectionListener(MetricRegistry metrics, String prefix) {
+        super(metrics, prefix);
+        this.streamsPerConnection = metrics.histogram(name(prefix, "streams-per-connection"));
+        this.sessionStalls = metrics.meter(name(prefix, "session-stalls"));
+        this.streamStalls = metrics.meter(name(prefix, "stream-stalls"));
+        this.sessionStallTime = metrics.timer(name(prefix, "session-stall-time"));
+        this.streamStallTime = metrics.timer(name(prefix, "stream-stall-time"));
+    }
+
+    @Override
+    public void onClosed(Connection connection) {
+        super.onClosed(connection);
+        if (connection instanceof HTTP2Connection) {
+            final Object session = ((HTTP2Connection) connection).getSession();
+            if (session instanceof HTTP2Session) {
+                streamsPerConnection.update(((HTTP2Session) session).getStreamsOpened());
+
+                final FlowControlStrategy flowControl = ((HTTP2Session) session).getFlowControlStrategy();
+                if (flowControl instanceof AbstractFlowControlStrategy) {
+                    sessionStallTime.update(((AbstractFlowControlStrategy) flowControl).getSessionStallTime(), TimeUnit.MILLISECONDS);
+                    streamStallTime.update(((AbstractFlowControlStrategy) flowControl).getStreamsStallTime(), TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a factory of Jetty's default flow control strategy, which additionally counts stalls.
+     */
+    public FlowControlStrategy.Factory flowControlStrategyFactory() {
+        return () -> new BufferingFlowControlStrategy(0.5F) {
+            @Override
+            protected void onSessionStalled(ISession session) {
+                super.onSessionStalled(session);
+                sessionStalls.mark();
+            }
+
+            @Override
+            protected void onStreamStalled(IStream stream) {
+                super.onStreamStalled(stream);
+                streamStalls.mark();
+            }
+        };
+    }
+}
@@ -5,7 +5,12 @@ import io.dropwizard.Application;
 import io.dropwizard.Configuration;
 import io.dropwizard.setup.Environment;
 
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
+import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
@@ -13,6 +18,7 @@ import javax.ws.rs.core.MediaType;
 public class FakeApplication extends Application<Configuration> {
 
     public static final String HELLO_WORLD = "{\"hello\": \"World\"}";
+    public static final int LARGE_CONTENT_LENGTH = 1024 * 1024;
 
     @Override
     public void run(Configuration configuration, Environment environment) throws Exception {
@@ -33,5 +39,25 @@ public class FakeApplication extends Application<Configuration> {
         public String get() throws Exception {
             return HELLO_WORLD;
         }
+
+        @GET
+        @Path("/large")
+        @Produces(MediaType.APPLICATION_OCTET_STREAM)
+        public byte[] getLarge() {
+            return new byte[LARGE_CONTENT_LENGTH];
+        }
+
+        @POST
+        @Path("/upload")
+        @Consumes(MediaType.APPLICATION_OCTET_STREAM)
+        public long upload(InputStream body) throws IOException {
+            final byte[] buffer = new byte[64 * 1024];
+            long length = 0;
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                length += read;
+            }
+            return length;
+        }
     }
 }
@@ -1,20 +1,44 @@
 package io.dropwizard.http2;
 
+import com.codahale.metrics.MetricRegistry;
 import io.dropwizard.Configuration;
 import io.dropwizard.configuration.ResourceConfigurationSourceProvider;
 import io.dropwizard.testing.junit5.DropwizardAppExtension;
 import io.dropwizard.testing.junit5.DropwizardExtensionsSupport;
 import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpURI;
 import org.eclipse.jetty.http.HttpVersion;
+import org.eclipse.jetty.http.MetaData;
+import org.eclipse.jetty.http2.FlowControlStrategy;
+import org.eclipse.jetty.http2.api.Session;
+import org.eclipse.jetty.http2.api.Stream;
 import org.eclipse.jetty.http2.client.HTTP2Client;
 import org.eclipse.jetty.http2.client.HTTP2ClientConnectionFactory;
 import org.eclipse.jetty.http2.client.http.HttpClientTransportOverHTTP2;
+import org.eclipse.jetty.http2.frames.DataFrame;
+import org.eclipse.jetty.http2.frames.HeadersFrame;
+import org.eclipse.jetty.http2.server.AbstractHTTP2ServerConnectionFactory;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.util.Callback;
+import org.eclipse.jetty.util.FuturePromise;
+import org.eclipse.jetty.util.Promise;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 
 @ExtendWith(DropwizardExtensionsSupport.class)
 class Http2CIntegrationTest extends Http2TestCommon {
@@ -56,4 +80,95 @@ class Http2CIntegrationTest extends Http2TestCommon {
         assertThat(performManyAsyncRequests(http2Client, "http://localhost:" + appRule.getLocalPort() + "/api/test"))
             .isTrue();
     }
+
+    @Test
+    void testHttp2cConnectionMetrics() throws Exception {
+        assertResponse(http2Client.GET("http://localhost:" + appRule.getLocalPort() + "/api/test"), HttpVersion.HTTP_2);
+        http2Client.stop();
+
+        final MetricRegistry metrics = appRule.getEnvironment().metrics();
+        final String prefix = "org.eclipse.jetty.server.HttpConnectionFactory." + appRule.getEnvironment().getName() + ".0";
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() ->
+            assertThat(metrics.histogram(prefix + ".streams-per-connection").getCount())
+                .isEqualTo(1));
+        assertThat(metrics.meter(prefix + ".requests").getCount()).isEqualTo(1);
+        assertThat(metrics.getGauges())
+            .hasEntrySatisfying(prefix + ".bytes-in",
+                gauge -> assertThat(gauge.getValue()).isNotEqualTo(0L));
+    }
+
+    @Test
+    void testHttp2cFlowControlSettings() {
+        final Server server = appRule.getEnvironment().getApplicationContext().getServer();
+        final AbstractHTTP2ServerConnectionFactory http2 = ((ServerConnector) server.getConnectors()[0])
+            .getConnectionFactory(AbstractHTTP2ServerConnectionFactory.class);
+
+        assertThat(http2).isNotNull();
+        assertThat(http2.getInitialSessionRecvWindow()).isEqualTo(4194304);
+        assertThat(http2.getInitialStreamRecvWindow()).isEqualTo(65535);
+        assertThat(http2.getMaxFrameLength()).isEqualTo(65536);
+        assertThat(http2.getMaxDynamicTableSize()).isEqualTo(8192);
+        assertThat(http2.getStreamIdleTimeout()).isEqualTo(10_000L);
+        assertThat(http2.getMaxSettingsKeys()).isEqualTo(32);
+    }
+
+    @Test
+    void testHttp2cFlowControlMetrics() throws Exception {
+        final MetricRegistry metrics = appRule.getEnvironment().metrics();
+        final String prefix = "org.eclipse.jetty.server.HttpConnectionFactory." + appRule.getEnvironment().getName() + ".0";
+        final HTTP2Client client = new HTTP2Client();
+        client.setInitialStreamRecvWindow(FlowControlStrategy.DEFAULT_WINDOW_SIZE);
+        client.start();
+        try {
+            final FuturePromise<Session> sessionPromise = new FuturePromise<>();
+            client.connect(new InetSocketAddress("localhost", appRule.getLocalPort()), new Session.Listener.Adapter(),
+                sessionPromise);
+            final Session session = sessionPromise.get(5, TimeUnit.SECONDS);
+
+            // Hold back the received data, so that no window updates are sent and the server stalls
+            final List<Callback> pending = new ArrayList<>();
+            final AtomicBoolean release = new AtomicBoolean();
+            final AtomicLong received = new AtomicLong();
+            final CountDownLatch done = new CountDownLatch(1);
+            final MetaData.Request request = new MetaData.Request("GET",
+                new HttpURI("http://localhost:" + appRule.getLocalPort() + "/api/test/large"), HttpVersion.HTTP_2,
+                new HttpFields());
+            session.newStream(new HeadersFrame(request, null, true), new Promise.Adapter<>(), new Stream.Listener.Adapter() {
+                @Override
+                public void onData(Stream stream, DataFrame frame, Callback callback) {
+                    received.addAndGet(frame.remaining());
+                    synchronized (pending) {
+                        if (release.get()) {
+                            callback.succeeded();
+                        } else {
+                            pending.add(callback);
+                        }
+                    }
+                    if (frame.isEndStream()) {
+                        done.countDown();
+                    }
+                }
+            });
+
+            await().atMost(5, TimeUnit.SECONDS).untilAsserted(() ->
+                assertThat(metrics.meter(prefix + ".stream-stalls").getCount())
+                    .isPositive());
+            synchronized (pending) {
+                release.set(true);
+                pending.forEach(Callback::succeeded);
+            }
+            assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(received).hasValue(FakeApplication.LARGE_CONTENT_LENGTH);
+        } finally {
+            client.stop();
+        }
+
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() ->
+            assertThat(metrics.timer(prefix + ".stream-stall-time").getCount())
+                .isEqualTo(1));
+        assertThat(metrics.timer(prefix + ".stream-stall-time").getSnapshot().getMax())
+            .isPositive();
+        assertThat(metrics.timer(prefix + ".session-stall-time").getCount())
+            .isEqualTo(1);
+    }
 }
@@ -0,0 +1,100 @@
+package io.dropwizard.http2;
+
+import io.dropwizard.Configuration;
+import io.dropwizard.configuration.ResourceConfigurationSourceProvider;
+import io.dropwizard.testing.ConfigOverride;
+import io.dropwizard.testing.DropwizardTestSupport;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.api.ContentResponse;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.util.BytesContentProvider;
+import org.eclipse.jetty.client.util.FutureResponseListener;
+import org.eclipse.jetty.http2.client.HTTP2Client;
+import org.eclipse.jetty.http2.client.HTTP2ClientConnectionFactory;
+import org.eclipse.jetty.http2.client.http.HttpClientTransportOverHTTP2;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the upload throughput of a single h2c connection with the default flow control settings and with larger
+ * windows and frames. It is a benchmark rather than a test, as the throughput depends on the machine, so it only runs
+ * with {@code -Dbenchmarks=true}.
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class Http2CLoadTest {
+    private static final int STREAMS = 8;
+    private static final int BODY_LENGTH = 8 * 1024 * 1024;
+    private static final int ROUNDS = 5;
+
+    @Test
+    void uploadsFasterWithLargerWindowsAndFrames(TestReporter reporter) throws Exception {
+        final double defaults = throughput();
+        final double tuned = throughput(
+            ConfigOverride.config("server.connector.initialStreamRecvWindow", Integer.toString(4 * 1024 * 1024)),
+            ConfigOverride.config("server.connector.initialSessionRecvWindow", Integer.toString(32 * 1024 * 1024)),
+            ConfigOverride.config("server.connector.maxFrameSize", Integer.toString(256 * 1024)));
+
+        reporter.publishEntry("default-settings-mib-per-second", String.format(Locale.ROOT, "%.1f", defaults));
+        reporter.publishEntry("tuned-settings-mib-per-second", String.format(Locale.ROOT, "%.1f", tuned));
+        assertThat(defaults).isPositive();
+        assertThat(tuned).isPositive();
+    }
+
+    /**
+     * Starts the application with the given settings, and returns the best throughput of a few rounds of concurrent
+     * uploads on one connection, in MiB per second.
+     */
+    private static double throughput(ConfigOverride... overrides) throws Exception {
+        final DropwizardTestSupport<Configuration> app = new DropwizardTestSupport<>(FakeApplication.class,
+            "test-http2c-load.yml", new ResourceConfigurationSourceProvider(), overrides);
+        app.before();
+        final HTTP2Client http2Client = new HTTP2Client();
+        http2Client.setClientConnectionFactory(new HTTP2ClientConnectionFactory()); // No need for ALPN
+        final HttpClient client = new HttpClient(new HttpClientTransportOverHTTP2(http2Client), null);
+        client.setMaxConnectionsPerDestination(1);
+        client.start();
+        try {
+            final String url = "http://localhost:" + app.getLocalPort() + "/api/test/upload";
+            final byte[] body = new byte[BODY_LENGTH];
+            // the first round warms up the connection and the JIT
+            upload(client, url, body);
+            double best = 0;
+            for (int round = 0; round < ROUNDS; round++) {
+                final long start = System.nanoTime();
+                upload(client, url, body);
+                final double seconds = (System.nanoTime() - start) / 1e9;
+                best = Math.max(best, STREAMS * (double) BODY_LENGTH / (1024 * 1024) / seconds);
+            }
+            return best;
+        } finally {
+            client.stop();
+            app.after();
+        }
+    }
+
+    private static void upload(HttpClient client, String url, byte[] body) throws Exception {
+        final List<FutureResponseListener> responses = new ArrayList<>();
+        for (int i = 0; i < STREAMS; i++) {
+            final Request request = client.POST(url)
+                .content(new BytesContentProvider("application/octet-stream", body));
+            final FutureResponseListener response = new FutureResponseListener(request);
+            request.send(response);
+            responses.add(response);
+        }
+        for (FutureResponseListener response : responses) {
+            final ContentResponse result = response.get(2, TimeUnit.MINUTES);
+            assertThat(result.getStatus()).isEqualTo(200);
+            assertThat(result.getContentAsString()).isEqualTo(Integer.toString(BODY_LENGTH));
+        }
+    }
+}
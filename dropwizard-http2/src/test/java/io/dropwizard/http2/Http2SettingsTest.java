@@ -0,0 +1,45 @@
+package io.dropwizard.http2;
+
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.BaseValidator;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.junit.jupiter.api.Test;
+
+import javax.validation.ConstraintViolation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class Http2SettingsTest {
+    private final Http2Settings settings = new Http2Settings();
+
+    @Test
+    void configuresBothConnectionFactories() {
+        settings.setInitialSessionRecvWindow(4 * 1024 * 1024);
+        settings.setMaxFrameSize(65536);
+        settings.setStreamIdleTimeout(Duration.seconds(10));
+
+        final HTTP2ServerConnectionFactory h2 = settings.buildHttp2ConnectionFactory(new HttpConfiguration());
+        final HTTP2ServerConnectionFactory h2c = settings.buildHttp2CConnectionFactory(new HttpConfiguration());
+
+        assertThat(h2c).isInstanceOf(HTTP2CServerConnectionFactory.class);
+        for (HTTP2ServerConnectionFactory factory : new HTTP2ServerConnectionFactory[]{h2, h2c}) {
+            assertThat(factory.getMaxConcurrentStreams()).isEqualTo(1024);
+            assertThat(factory.getInitialSessionRecvWindow()).isEqualTo(4 * 1024 * 1024);
+            assertThat(factory.getMaxFrameLength()).isEqualTo(65536);
+            assertThat(factory.getStreamIdleTimeout()).isEqualTo(10_000L);
+        }
+    }
+
+    @Test
+    void validatesTheFactoriesSettings() {
+        final Http2CConnectorFactory factory = new Http2CConnectorFactory();
+        factory.setMaxFrameSize(1024);
+
+        assertThat(BaseValidator.newValidator().validate(factory))
+            .extracting(ConstraintViolation::getPropertyPath)
+            .extracting(Object::toString)
+            .containsExactly("http2Settings.maxFrameSize");
+    }
+}
@@ -1,6 +1,7 @@
 package io.dropwizard.jetty;
 
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.MetricSet;
 import com.codahale.metrics.jetty9.InstrumentedConnectionFactory;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
@@ -12,7 +13,6 @@ import io.dropwizard.validation.MinDuration;
 import io.dropwizard.validation.PortRange;
 import org.eclipse.jetty.http.CookieCompliance;
 import org.eclipse.jetty.http.HttpCompliance;
-import org.eclipse.jetty.io.ArrayByteBufferPool;
 import org.eclipse.jetty.io.ByteBufferPool;
 import org.eclipse.jetty.server.ConnectionFactory;
 import org.eclipse.jetty.server.Connector;
@@ -139,6 +139,43 @@ import static com.codahale.metrics.MetricRegistry.name;
  *         <td>The maximum size of the buffer pool.</td>
  *     </tr>
  *     <tr>
+ *         <td>{@code bufferPoolType}</td>
+ *         <td>ARRAY</td>
+ *         <td>
+ *             The strategy used to pool buffers, see {@link InstrumentedByteBufferPool.Type}:
+ *             <ul>
+ *                 <li>ARRAY: Buckets of linearly increasing capacity.</li>
+ *                 <li>LOGARITHMIC: Buckets of exponentially increasing capacity.</li>
+ *                 <li>DIRECT: Like ARRAY, but only direct buffers are retained.</li>
+ *             </ul>
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxBufferPoolHeapMemory}</td>
+ *         <td>(Jetty's default)</td>
+ *         <td>
+ *             The maximum amount of heap memory retained by the buffer pool. By default this is a quarter of
+ *             the maximum heap size.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxBufferPoolDirectMemory}</td>
+ *         <td>(Jetty's default)</td>
+ *         <td>
+ *             The maximum amount of direct memory retained by the buffer pool. By default this is a quarter of
+ *             the maximum heap size.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code bufferPoolName}</td>
+ *         <td>(none)</td>
+ *         <td>
+ *             The name of a buffer pool to share with other connectors. Connectors configured with the same
+ *             name use a single pool, built from the settings of the first of them. By default every
+ *             connector uses its own pool.
+ *         </td>
+ *     </tr>
+ *     <tr>
  *         <td>{@code acceptorThreads}</td>
  *         <td>(Jetty's default)</td>
  *         <td>The number of worker threads dedicated to accepting connections.
@@ -200,6 +237,14 @@ import static com.codahale.metrics.MetricRegistry.name;
  *         </td>
  *     </tr>
  *     <tr>
+ *         <td>{@code enableConnectionMetrics}</td>
+ *         <td>false</td>
+ *         <td>
+ *             Whether or not to record the bytes read and written, the request rate and the number of requests
+ *             (or HTTP/2 streams) per connection of this connector. See {@link InstrumentedConnectionListener}.
+ *         </td>
+ *     </tr>
+ *     <tr>
  *         <td>{@code httpCompliance}</td>
  *         <td>RFC7230</td>
  *         <td>
@@ -250,6 +295,8 @@ import static com.codahale.metrics.MetricRegistry.name;
  */
 @JsonTypeName("http")
 public class HttpConnectorFactory implements ConnectorFactory {
+    private static final String SHARED_BUFFER_POOL_ATTRIBUTE = HttpConnectorFactory.class.getName() + ".bufferPool.";
+
     public static ConnectorFactory application() {
         final HttpConnectorFactory factory = new HttpConnectorFactory();
         factory.port = 8080;
@@ -314,6 +361,18 @@ public class HttpConnectorFactory implements ConnectorFactory {
     @MinDataSize(value = 1, unit = DataSizeUnit.BYTES)
     private DataSize maxBufferPoolSize = DataSize.kibibytes(64);
 
+    @NotNull
+    private InstrumentedByteBufferPool.Type bufferPoolType = InstrumentedByteBufferPool.Type.ARRAY;
+
+    @Nullable
+    private DataSize maxBufferPoolHeapMemory;
+
+    @Nullable
+    private DataSize maxBufferPoolDirectMemory;
+
+    @Nullable
+    private String bufferPoolName;
+
     @Min(value = 1, payload = Unwrapping.Unwrap.class)
     private Optional<Integer> acceptorThreads = Optional.empty();
 
@@ -330,6 +389,7 @@ public class HttpConnectorFactory implements ConnectorFactory {
     private boolean useDateHeader = true;
     private boolean useForwardedHeaders = false;
     private boolean useProxyProtocol = false;
+    private boolean enableConnectionMetrics = false;
     private HttpCompliance httpCompliance = HttpCompliance.RFC7230;
     private CookieCompliance requestCookieCompliance = CookieCompliance.RFC6265;
     private CookieCompliance responseCookieCompliance = CookieCompliance.RFC6265;
@@ -455,6 +515,73 @@ public class HttpConnectorFactory implements ConnectorFactory {
         this.maxBufferPoolSize = maxBufferPoolSize;
     }
 
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public InstrumentedByteBufferPool.Type getBufferPoolType() {
+        return bufferPoolType;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setBufferPoolType(InstrumentedByteBufferPool.Type bufferPoolType) {
+        this.bufferPoolType = bufferPoolType;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    @Nullable
+    public DataSize getMaxBufferPoolHeapMemory() {
+        return maxBufferPoolHeapMemory;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setMaxBufferPoolHeapMemory(@Nullable DataSize maxBufferPoolHeapMemory) {
+        this.maxBufferPoolHeapMemory = maxBufferPoolHeapMemory;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    @Nullable
+    public DataSize getMaxBufferPoolDirectMemory() {
+        return maxBufferPoolDirectMemory;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setMaxBufferPoolDirectMemory(@Nullable DataSize maxBufferPoolDirectMemory) {
+        this.maxBufferPoolDirectMemory = maxBufferPoolDirectMemory;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    @Nullable
+    public String getBufferPoolName() {
+        return bufferPoolName;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setBufferPoolName(@Nullable String bufferPoolName) {
+        this.bufferPoolName = bufferPoolName;
+    }
+
     @JsonProperty
     public DataSize getMinResponseDataPerSecond() {
         return minResponseDataPerSecond;
@@ -562,6 +689,22 @@ public class HttpConnectorFactory implements ConnectorFactory {
         this.useProxyProtocol = useProxyProtocol;
     }
 
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public boolean isEnableConnectionMetrics() {
+        return enableConnectionMetrics;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setEnableConnectionMetrics(boolean enableConnectionMetrics) {
+        this.enableConnectionMetrics = enableConnectionMetrics;
+    }
+
     @JsonProperty
     public HttpCompliance getHttpCompliance() {
         return httpCompliance;
@@ -616,11 +759,13 @@ public class HttpConnectorFactory implements ConnectorFactory {
 
         final Scheduler scheduler = new ScheduledExecutorScheduler();
 
-        final ByteBufferPool bufferPool = buildBufferPool();
+        final ByteBufferPool bufferPool = buildBufferPool(server, metrics, name);
 
-        return buildConnector(server, scheduler, bufferPool, name, threadPool,
-                              new InstrumentedConnectionFactory(httpConnectionFactory,
-                                                                metrics.timer(httpConnections())));
+        final ServerConnector connector = buildConnector(server, scheduler, bufferPool, name, threadPool,
+                                                         new InstrumentedConnectionFactory(httpConnectionFactory,
+                                                                                           metrics.timer(httpConnections())));
+        addConnectionMetrics(connector, metrics);
+        return connector;
     }
 
     /**
@@ -630,6 +775,28 @@ public class HttpConnectorFactory implements ConnectorFactory {
         return name(HttpConnectionFactory.class,  bindHost, Integer.toString(port), "connections");
     }
 
+    /**
+     * Adds a listener recording the traffic of the connector if {@code enableConnectionMetrics} is set. Its metrics
+     * are named after the connector, as connectors bound to an ephemeral port all have the same port.
+     *
+     * @since 2.1
+     */
+    protected void addConnectionMetrics(ServerConnector connector, MetricRegistry metrics) {
+        if (enableConnectionMetrics) {
+            final InstrumentedConnectionListener listener = buildConnectionListener(metrics,
+                name(HttpConnectionFactory.class, connector.getName(), bindHost, Integer.toString(port)));
+            connector.addBean(listener);
+            connector.addBean(listener.requestListener());
+        }
+    }
+
+    /**
+     * @since 2.1
+     */
+    protected InstrumentedConnectionListener buildConnectionListener(MetricRegistry metrics, String prefix) {
+        return new InstrumentedConnectionListener(metrics, prefix);
+    }
+
     protected ServerConnector buildConnector(Server server,
                                              Scheduler scheduler,
                                              ByteBufferPool bufferPool,
@@ -694,6 +861,46 @@ public class HttpConnectorFactory implements ConnectorFactory {
         return httpConfig;
     }
 
+    /**
+     * Builds the buffer pool of this connector and registers its metrics, or looks up the pool shared under
+     * {@code bufferPoolName} if another connector of the same server already built it.
+     *
+     * @param name the name of the connector
+     * @since 2.1
+     */
+    protected ByteBufferPool buildBufferPool(Server server, MetricRegistry metrics, String name) {
+        final String attribute = bufferPoolName == null ? null : SHARED_BUFFER_POOL_ATTRIBUTE + bufferPoolName;
+        if (attribute != null) {
+            final Object sharedPool = server.getAttribute(attribute);
+            if (sharedPool instanceof ByteBufferPool) {
+                return (ByteBufferPool) sharedPool;
+            }
+        }
+
+        final ByteBufferPool bufferPool = buildBufferPool();
+        if (bufferPool instanceof MetricSet) {
+            metrics.registerAll(bufferPoolMetrics(name), (MetricSet) bufferPool);
+        }
+        if (attribute != null) {
+            server.setAttribute(attribute, bufferPool);
+        }
+        return bufferPool;
+    }
+
+    /**
+     * Get the prefix of the metrics that track the buffer pool. Pools which are not shared are named after their
+     * connector, as connectors bound to an ephemeral port all have the same port.
+     *
+     * @param name the name of the connector
+     * @since 2.1
+     */
+    protected String bufferPoolMetrics(String name) {
+        if (bufferPoolName != null) {
+            return name(ByteBufferPool.class, bufferPoolName);
+        }
+        return name(ByteBufferPool.class, name, bindHost, Integer.toString(port));
+    }
+
     protected ByteBufferPool buildBufferPool() {
         return buildBufferPool((int) minBufferPoolSize.toBytes(),
                                (int) bufferPoolIncrement.toBytes(),
@@ -702,6 +909,8 @@ public class HttpConnectorFactory implements ConnectorFactory {
 
     // This method only exists so that mockito can spy on the constructor parameters.
     ByteBufferPool buildBufferPool(int minCapacity, int factor, int maxCapacity) {
-        return new ArrayByteBufferPool(minCapacity, factor, maxCapacity);
+        return new InstrumentedByteBufferPool(bufferPoolType, minCapacity, factor, maxCapacity,
+                                              maxBufferPoolHeapMemory == null ? 0 : maxBufferPoolHeapMemory.toBytes(),
+                                              maxBufferPoolDirectMemory == null ? 0 : maxBufferPoolDirectMemory.toBytes());
     }
 }
@@ -4,6 +4,9 @@ import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.jetty9.InstrumentedConnectionFactory;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.dropwizard.util.Duration;
+import io.dropwizard.util.SecurityProviders;
+import io.dropwizard.validation.MinDuration;
 import io.dropwizard.validation.ValidationMethod;
 import org.eclipse.jetty.http.HttpVersion;
 import org.eclipse.jetty.io.ByteBufferPool;
@@ -12,6 +15,7 @@ import org.eclipse.jetty.server.HttpConfiguration;
 import org.eclipse.jetty.server.HttpConnectionFactory;
 import org.eclipse.jetty.server.SecureRequestCustomizer;
 import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
 import org.eclipse.jetty.server.SslConnectionFactory;
 import org.eclipse.jetty.util.component.AbstractLifeCycle;
 import org.eclipse.jetty.util.component.LifeCycle;
@@ -24,19 +28,25 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLSessionContext;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotEmpty;
 import java.io.File;
 import java.net.URI;
 import java.security.KeyStore;
+import java.security.Provider;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import static com.codahale.metrics.MetricRegistry.name;
+
 /**
  * Builds HTTPS connectors (HTTP over TLS/SSL).
  * <p/>
@@ -152,7 +162,20 @@ import java.util.stream.Collectors;
  *     <tr>
  *         <td>{@code jceProvider}</td>
  *         <td>(none)</td>
- *         <td>The name of the JCE provider to use for cryptographic support.</td>
+ *         <td>
+ *             The name of the JCE provider to use for cryptographic support. The accelerated providers
+ *             {@code Conscrypt} and {@code openssl} (wildfly-openssl), or any provider given by its class name,
+ *             are installed on demand if they are on the class path.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code fallbackToDefaultProvider}</td>
+ *         <td>false</td>
+ *         <td>
+ *             Whether or not to fall back to the JVM's default provider if {@code jceProvider} is not
+ *             available, e.g. because its native library cannot be loaded on this platform, instead of
+ *             failing to start.
+ *         </td>
  *     </tr>
  *     <tr>
  *         <td>{@code validateCerts}</td>
@@ -217,8 +240,37 @@ import java.util.stream.Collectors;
  *             Which endpoint identification algorithm, if any, to use during the TLS handshake.
  *         </td>
  *     </tr>
+ *     <tr>
+ *         <td>{@code sslSessionCacheSize}</td>
+ *         <td>JVM default</td>
+ *         <td>
+ *             The maximum number of TLS sessions kept in the server-side session cache, or 0 for no limit.
+ *             Cached sessions allow returning clients to resume a session with an abbreviated handshake.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code sslSessionTimeout}</td>
+ *         <td>JVM default</td>
+ *         <td>
+ *             How long a TLS session may be resumed after it has been created.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code enableStatelessSessionTickets}</td>
+ *         <td>JVM default</td>
+ *         <td>
+ *             Whether or not sessions are resumed from stateless session tickets (RFC 5077) held by the
+ *             client instead of the server-side session cache. This sets the JVM-wide
+ *             {@code jdk.tls.server.enableSessionTicketExtension} system property, which the JDK only reads
+ *             when TLS is first used in the JVM: it has no effect if TLS was used before the connector is
+ *             built, nor on reload, and all connectors which set it must agree on its value.
+ *         </td>
+ *     </tr>
  * </table>
  * <p/>
+ * The duration of TLS handshakes is tracked by an {@link InstrumentedSslHandshakeListener}, separately
+ * for full and resumed handshakes, in timers named after the connector, its host and its port.
+ * <p/>
  * For more configuration parameters, see {@link HttpConnectorFactory}.
  *
  * @see HttpConnectorFactory
@@ -227,6 +279,7 @@ import java.util.stream.Collectors;
 public class HttpsConnectorFactory extends HttpConnectorFactory {
     private static final Logger LOGGER = LoggerFactory.getLogger(HttpsConnectorFactory.class);
     private static final AtomicBoolean LOGGED = new AtomicBoolean(false);
+    private static final String SESSION_TICKETS_PROPERTY = "jdk.tls.server.enableSessionTicketExtension";
 
     @Nullable
     private String keyStorePath;
@@ -301,6 +354,19 @@ public class HttpsConnectorFactory extends HttpConnectorFactory {
     @Nullable
     private String endpointIdentificationAlgorithm;
 
+    @Nullable
+    @Min(0)
+    private Integer sslSessionCacheSize;
+
+    @Nullable
+    @MinDuration(value = 1, unit = TimeUnit.SECONDS)
+    private Duration sslSessionTimeout;
+
+    @Nullable
+    private Boolean enableStatelessSessionTickets;
+
+    private boolean fallbackToDefaultProvider = false;
+
     @JsonProperty
     public boolean getAllowRenegotiation() {
         return allowRenegotiation;
@@ -322,6 +388,73 @@ public class HttpsConnectorFactory extends HttpConnectorFactory {
         this.endpointIdentificationAlgorithm = endpointIdentificationAlgorithm;
     }
 
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    @Nullable
+    public Integer getSslSessionCacheSize() {
+        return sslSessionCacheSize;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setSslSessionCacheSize(@Nullable Integer sslSessionCacheSize) {
+        this.sslSessionCacheSize = sslSessionCacheSize;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    @Nullable
+    public Duration getSslSessionTimeout() {
+        return sslSessionTimeout;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setSslSessionTimeout(@Nullable Duration sslSessionTimeout) {
+        this.sslSessionTimeout = sslSessionTimeout;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    @Nullable
+    public Boolean getEnableStatelessSessionTickets() {
+        return enableStatelessSessionTickets;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setEnableStatelessSessionTickets(@Nullable Boolean enableStatelessSessionTickets) {
+        this.enableStatelessSessionTickets = enableStatelessSessionTickets;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public boolean getFallbackToDefaultProvider() {
+        return fallbackToDefaultProvider;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setFallbackToDefaultProvider(boolean fallbackToDefaultProvider) {
+        this.fallbackToDefaultProvider = fallbackToDefaultProvider;
+    }
+
     @JsonProperty
     @Nullable
     public String getKeyStorePath() {
@@ -607,16 +740,31 @@ public class HttpsConnectorFactory extends HttpConnectorFactory {
 
         final SslConnectionFactory sslConnectionFactory =
                 new SslConnectionFactory(sslContextFactory, HttpVersion.HTTP_1_1.toString());
+        addSslHandshakeMetrics(sslConnectionFactory, metrics, name);
 
         final Scheduler scheduler = new ScheduledExecutorScheduler();
 
-        final ByteBufferPool bufferPool = buildBufferPool();
+        final ByteBufferPool bufferPool = buildBufferPool(server, metrics, name);
+
+        final ServerConnector connector = buildConnector(server, scheduler, bufferPool, name, threadPool,
+                                                         new InstrumentedConnectionFactory(
+                                                                 sslConnectionFactory,
+                                                                 metrics.timer(httpConnections())),
+                                                                 httpConnectionFactory);
+        addConnectionMetrics(connector, metrics);
+        return connector;
+    }
 
-        return buildConnector(server, scheduler, bufferPool, name, threadPool,
-                              new InstrumentedConnectionFactory(
-                                      sslConnectionFactory,
-                                      metrics.timer(httpConnections())),
-                                      httpConnectionFactory);
+    /**
+     * Adds a listener recording the duration of TLS handshakes to the given connection factory. Its metrics are named
+     * after the connector, as connectors bound to an ephemeral port all have the same port.
+     *
+     * @since 2.1
+     */
+    protected void addSslHandshakeMetrics(SslConnectionFactory sslConnectionFactory, MetricRegistry metrics,
+                                          String name) {
+        sslConnectionFactory.addBean(new InstrumentedSslHandshakeListener(metrics,
+            name(SslConnectionFactory.class, name, getBindHost(), Integer.toString(getPort()), "handshakes")));
     }
 
     @Override
@@ -716,10 +864,32 @@ public class HttpsConnectorFactory extends HttpConnectorFactory {
                 contextFactory.getIncludeCipherSuites()
             );
 
+            LOGGER.info("JSSE provider: {}", contextFactory.getSslContext().getProvider().getName());
             LOGGER.info("Enabled protocols: {}", protocols.get(true));
             LOGGER.info("Disabled protocols: {}", protocols.get(false));
             LOGGER.info("Enabled cipher suites: {}", ciphers.get(true));
             LOGGER.info("Disabled cipher suites: {}", ciphers.get(false));
+
+            final SSLSessionContext sessionContext = contextFactory.getSslContext().getServerSessionContext();
+            LOGGER.info("TLS session cache size: {}, session timeout: {} seconds, stateless session tickets: {}",
+                sessionContext.getSessionCacheSize(),
+                sessionContext.getSessionTimeout(),
+                System.getProperty(SESSION_TICKETS_PROPERTY, "JVM default"));
+        }
+    }
+
+    /**
+     * Sets the JVM-wide {@code jdk.tls.server.enableSessionTicketExtension} system property. The JDK reads it only
+     * once, when TLS is first used in the JVM, so connectors which ask for different values are rejected rather than
+     * silently ignored.
+     */
+    private static synchronized void configureStatelessSessionTickets(boolean enabled) {
+        final String current = System.getProperty(SESSION_TICKETS_PROPERTY);
+        if (current == null) {
+            System.setProperty(SESSION_TICKETS_PROPERTY, Boolean.toString(enabled));
+        } else if (Boolean.parseBoolean(current) != enabled) {
+            throw new IllegalStateException("enableStatelessSessionTickets is " + enabled + ", but the JVM-wide "
+                + SESSION_TICKETS_PROPERTY + " property is already set to " + current);
         }
     }
 
@@ -808,7 +978,26 @@ public class HttpsConnectorFactory extends HttpConnectorFactory {
         }
 
         if (jceProvider != null) {
-            factory.setProvider(jceProvider);
+            final Optional<Provider> provider = SecurityProviders.install(jceProvider);
+            if (provider.isPresent()) {
+                factory.setProvider(provider.get().getName());
+            } else if (fallbackToDefaultProvider) {
+                LOGGER.warn("JCE provider {} is not available, falling back to the default provider", jceProvider);
+            } else {
+                factory.setProvider(jceProvider);
+            }
+        }
+
+        if (sslSessionCacheSize != null) {
+            factory.setSslSessionCacheSize(sslSessionCacheSize);
+        }
+
+        if (sslSessionTimeout != null) {
+            factory.setSslSessionTimeout((int) sslSessionTimeout.toSeconds());
+        }
+
+        if (enableStatelessSessionTickets != null) {
+            configureStatelessSessionTickets(enableStatelessSessionTickets);
         }
 
         factory.setRenegotiationAllowed(allowRenegotiation);
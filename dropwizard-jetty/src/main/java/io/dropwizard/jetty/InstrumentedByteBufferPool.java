@@ -0,0 +1,163 @@
+package io.dropwizard.jetty;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricSet;
+import org.eclipse.jetty.io.ArrayByteBufferPool;
+import org.eclipse.jetty.io.ByteBufferPool;
+import org.eclipse.jetty.io.LogarithmicArrayByteBufferPool;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link ByteBufferPool} which keeps track of how it is used, exposing the pooled memory and the number of
+ * acquisitions, misses and releases as a {@link MetricSet}.
+ *
+ * <p>A miss is an acquisition which could not be served from the pool and had to allocate a new buffer.</p>
+ *
+ * @since 2.1
+ */
+public class InstrumentedByteBufferPool implements ByteBufferPool, MetricSet {
+    /**
+     * The strategy used to pool buffers.
+     */
+    public enum Type {
+        /**
+         * Buckets of linearly increasing capacity, see {@link ArrayByteBufferPool}.
+         */
+        ARRAY,
+
+        /**
+         * Buckets of exponentially increasing capacity, see {@link LogarithmicArrayByteBufferPool}.
+         */
+        LOGARITHMIC,
+
+        /**
+         * Buckets of linearly increasing capacity, but only direct buffers are retained. Heap buffers are handed out
+         * as usual but left to the garbage collector once released.
+         */
+        DIRECT
+    }
+
+    private final Type type;
+    private final ArrayByteBufferPool delegate;
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder releases = new LongAdder();
+
+    /**
+     * @param type            the pooling strategy
+     * @param minCapacity     the minimum capacity of a pooled buffer
+     * @param factor          the capacity factor of the buckets, ignored by {@link Type#LOGARITHMIC}
+     * @param maxCapacity     the maximum capacity of a pooled buffer
+     * @param maxHeapMemory   the maximum pooled heap memory in bytes, -1 for unlimited or 0 for Jetty's heuristic
+     * @param maxDirectMemory the maximum pooled direct memory in bytes, -1 for unlimited or 0 for Jetty's heuristic
+     */
+    public InstrumentedByteBufferPool(Type type,
+                                      int minCapacity,
+                                      int factor,
+                                      int maxCapacity,
+                                      long maxHeapMemory,
+                                      long maxDirectMemory) {
+        this.type = type;
+        if (type == Type.LOGARITHMIC) {
+            this.delegate = new LogarithmicArrayByteBufferPool(minCapacity, maxCapacity, -1, maxHeapMemory, maxDirectMemory) {
+                @Override
+                public ByteBuffer newByteBuffer(int capacity, boolean direct) {
+                    misses.increment();
+                    return super.newByteBuffer(capacity, direct);
+                }
+            };
+        } else {
+            this.delegate = new ArrayByteBufferPool(minCapacity, factor, maxCapacity, -1, maxHeapMemory, maxDirectMemory) {
+                @Override
+                public ByteBuffer newByteBuffer(int capacity, boolean direct) {
+                    misses.increment();
+                    return super.newByteBuffer(capacity, direct);
+                }
+            };
+        }
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    @Override
+    public ByteBuffer acquire(int size, boolean direct) {
+        acquisitions.increment();
+        return delegate.acquire(size, direct);
+    }
+
+    @Override
+    public void release(ByteBuffer buffer) {
+        if (buffer == null) {
+            return;
+        }
+        releases.increment();
+        if (type == Type.DIRECT && !buffer.isDirect()) {
+            return;
+        }
+        delegate.release(buffer);
+    }
+
+    @Override
+    public void remove(ByteBuffer buffer) {
+        delegate.remove(buffer);
+    }
+
+    public void clear() {
+        delegate.clear();
+    }
+
+    public long getHeapMemory() {
+        return delegate.getHeapMemory();
+    }
+
+    public long getDirectMemory() {
+        return delegate.getDirectMemory();
+    }
+
+    public long getHeapByteBufferCount() {
+        return delegate.getHeapByteBufferCount();
+    }
+
+    public long getDirectByteBufferCount() {
+        return delegate.getDirectByteBufferCount();
+    }
+
+    public long getAcquisitions() {
+        return acquisitions.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getReleases() {
+        return releases.sum();
+    }
+
+    @Override
+    public Map<String, Metric> getMetrics() {
+        final Map<String, Metric> metrics = new HashMap<>();
+        metrics.put("heap-memory", (Gauge<Long>) this::getHeapMemory);
+        metrics.put("direct-memory", (Gauge<Long>) this::getDirectMemory);
+        metrics.put("heap-buffers", (Gauge<Long>) this::getHeapByteBufferCount);
+        metrics.put("direct-buffers", (Gauge<Long>) this::getDirectByteBufferCount);
+        metrics.put("acquisitions", (Gauge<Long>) this::getAcquisitions);
+        metrics.put("misses", (Gauge<Long>) this::getMisses);
+        metrics.put("releases", (Gauge<Long>) this::getReleases);
+        return Collections.unmodifiableMap(metrics);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s@%x{type=%s,heap=%d,direct=%d}", getClass().getSimpleName(), hashCode(),
+            type, getHeapMemory(), getDirectMemory());
+    }
+}
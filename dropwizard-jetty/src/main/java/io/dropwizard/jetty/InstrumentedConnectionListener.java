@@ -0,0 +1,114 @@
+package io.dropwizard.jetty;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import org.eclipse.jetty.io.Connection;
+import org.eclipse.jetty.io.EndPoint;
+import org.eclipse.jetty.io.ssl.SslConnection;
+import org.eclipse.jetty.server.HttpChannel;
+import org.eclipse.jetty.server.HttpConnection;
+import org.eclipse.jetty.server.Request;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Records per-connector traffic metrics. Once added as a bean to a connector, along with its
+ * {@link #requestListener()}, it is registered with every {@link Connection} and {@link HttpChannel} the connector
+ * creates and reports:
+ * <ul>
+ *     <li>{@code bytes-in} and {@code bytes-out}: the bytes read from and written to the network. The traffic of a
+ *     connection is recorded whenever it completes a request, and when it is closed.</li>
+ *     <li>{@code requests}: the rate of requests received by the connector.</li>
+ *     <li>{@code requests-per-connection}: the number of HTTP/1.x requests served by a connection before it was
+ *     closed, which reflects how well keep-alive works.</li>
+ * </ul>
+ *
+ * @since 2.1
+ */
+public class InstrumentedConnectionListener implements Connection.Listener {
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+    private final Meter requests;
+    private final Histogram requestsPerConnection;
+    private final Map<Connection, RecordedBytes> recorded = new ConcurrentHashMap<>();
+
+    public InstrumentedConnectionListener(MetricRegistry metrics, String prefix) {
+        metrics.register(name(prefix, "bytes-in"), (Gauge<Long>) bytesIn::sum);
+        metrics.register(name(prefix, "bytes-out"), (Gauge<Long>) bytesOut::sum);
+        this.requests = metrics.meter(name(prefix, "requests"));
+        this.requestsPerConnection = metrics.histogram(name(prefix, "requests-per-connection"));
+    }
+
+    @Override
+    public void onOpened(Connection connection) {
+        // Connections on top of TLS see the decrypted traffic, which is already counted by the TLS connection.
+        if (!(connection.getEndPoint() instanceof SslConnection.DecryptedEndPoint)) {
+            recorded.put(connection, new RecordedBytes());
+        }
+    }
+
+    @Override
+    public void onClosed(Connection connection) {
+        final RecordedBytes bytes = recorded.remove(connection);
+        if (bytes != null) {
+            bytes.record(connection);
+        }
+        if (connection instanceof HttpConnection) {
+            requestsPerConnection.update(connection.getMessagesIn());
+        }
+    }
+
+    /**
+     * Returns the listener which counts the requests received by the connector.
+     */
+    public HttpChannel.Listener requestListener() {
+        return new HttpChannel.Listener() {
+            @Override
+            public void onRequestBegin(Request request) {
+                requests.mark();
+            }
+
+            @Override
+            public void onComplete(Request request) {
+                final EndPoint endPoint = request.getHttpChannel().getEndPoint();
+                final Connection connection = endPoint instanceof SslConnection.DecryptedEndPoint
+                    ? ((SslConnection.DecryptedEndPoint) endPoint).getSslConnection() : endPoint.getConnection();
+                final RecordedBytes bytes = connection == null ? null : recorded.get(connection);
+                if (bytes != null) {
+                    bytes.record(connection);
+                }
+            }
+        };
+    }
+
+    public long getBytesIn() {
+        return bytesIn.sum();
+    }
+
+    public long getBytesOut() {
+        return bytesOut.sum();
+    }
+
+    /**
+     * The bytes of a connection which have already been added to the totals.
+     */
+    private class RecordedBytes {
+        private long in;
+        private long out;
+
+        synchronized void record(Connection connection) {
+            final long currentIn = connection.getBytesIn();
+            final long currentOut = connection.getBytesOut();
+            bytesIn.add(currentIn - in);
+            bytesOut.add(currentOut - out);
+            in = currentIn;
+            out = currentOut;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package io.dropwizard.jetty;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.eclipse.jetty.io.Connection;
+import org.eclipse.jetty.io.ssl.SslConnection;
+import org.eclipse.jetty.io.ssl.SslHandshakeListener;
+
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLSession;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Records the duration of TLS handshakes, from the time a TLS connection is opened until its handshake completes.
+ * Once added as a bean to an {@link org.eclipse.jetty.server.SslConnectionFactory}, it reports:
+ * <ul>
+ *     <li>{@code full}: handshakes which negotiated a new TLS session.</li>
+ *     <li>{@code resumed}: handshakes which resumed a TLS session created by an earlier connection, from the
+ *     session cache, a TLS 1.3 pre-shared key or a session ticket. A resumed {@link SSLSession} keeps the creation time
+ *     of the session it resumes, which precedes the handshake.</li>
+ *     <li>{@code failures}: handshakes which failed.</li>
+ * </ul>
+ *
+ * @since 2.1
+ */
+public class InstrumentedSslHandshakeListener implements SslHandshakeListener, Connection.Listener {
+    private final Map<SSLEngine, Handshake> handshakes = new ConcurrentHashMap<>();
+    private final Timer full;
+    private final Timer resumed;
+    private final Meter failures;
+
+    public InstrumentedSslHandshakeListener(MetricRegistry metrics, String prefix) {
+        this.full = metrics.timer(name(prefix, "full"));
+        this.resumed = metrics.timer(name(prefix, "resumed"));
+        this.failures = metrics.meter(name(prefix, "failures"));
+    }
+
+    @Override
+    public void onOpened(Connection connection) {
+        if (connection instanceof SslConnection) {
+            handshakes.put(((SslConnection) connection).getSSLEngine(), new Handshake());
+        }
+    }
+
+    @Override
+    public void onClosed(Connection connection) {
+        if (connection instanceof SslConnection) {
+            handshakes.remove(((SslConnection) connection).getSSLEngine());
+        }
+    }
+
+    @Override
+    public void handshakeSucceeded(Event event) {
+        final SSLEngine engine = event.getSSLEngine();
+        final Handshake handshake = handshakes.remove(engine);
+        if (handshake == null) {
+            return;
+        }
+
+        final long duration = System.nanoTime() - handshake.startNanos;
+        final SSLSession session = engine.getSession();
+        // The session of a full handshake is created during the handshake
+        if (session != null && session.getCreationTime() < handshake.startMillis) {
+            resumed.update(duration, TimeUnit.NANOSECONDS);
+        } else {
+            full.update(duration, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void handshakeFailed(Event event, Throwable failure) {
+        handshakes.remove(event.getSSLEngine());
+        failures.mark();
+    }
+
+    private static class Handshake {
+        private final long startNanos = System.nanoTime();
+        private final long startMillis = System.currentTimeMillis();
+    }
+}
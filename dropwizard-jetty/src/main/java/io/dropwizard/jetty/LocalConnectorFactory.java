@@ -0,0 +1,79 @@
+package io.dropwizard.jetty;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.jetty9.InstrumentedConnectionFactory;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.HttpConnectionFactory;
+import org.eclipse.jetty.server.LocalConnector;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.util.thread.ThreadPool;
+
+import javax.annotation.Nullable;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Builds Jetty {@link LocalConnector local connectors}, which accept HTTP requests in process instead of from a
+ * socket. Requests sent through a local connector go through the same handlers as requests from the network, but
+ * without the cost of a socket or a port, which makes them useful in tests.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <p/>
+ * All the parameters of the {@link HttpConnectorFactory} which configure HTTP, such as {@code outputBufferSize},
+ * {@code useDateHeader} or {@code httpCompliance}. The parameters which configure the socket, such as {@code port},
+ * {@code bindHost} or {@code acceptQueueSize}, are ignored.
+ *
+ * @see LocalConnector#getResponse(String)
+ * @since 2.1
+ */
+@JsonTypeName("local")
+public class LocalConnectorFactory extends HttpConnectorFactory {
+    /**
+     * Creates a local connector factory with the HTTP settings of the given connector factory, e.g. to replace the
+     * connectors of a server with local ones. The settings of the socket, and of TLS or HTTP/2 if the given factory
+     * configures them, are not copied: the local connector speaks plain HTTP/1.1.
+     *
+     * @param factory the connector factory to replace
+     * @return a local connector factory with the same HTTP settings
+     * @throws IllegalArgumentException if the given factory is not an {@link HttpConnectorFactory}, whose settings
+     *                                  cannot be mapped to a local connector
+     */
+    public static LocalConnectorFactory of(ConnectorFactory factory) {
+        if (!(factory instanceof HttpConnectorFactory)) {
+            throw new IllegalArgumentException("Unable to replace a " + factory.getClass().getName()
+                + " with a local connector, as it is not an HttpConnectorFactory");
+        }
+        final HttpConnectorFactory http = (HttpConnectorFactory) factory;
+        final LocalConnectorFactory local = new LocalConnectorFactory();
+        local.setHeaderCacheSize(http.getHeaderCacheSize());
+        local.setOutputBufferSize(http.getOutputBufferSize());
+        local.setMaxRequestHeaderSize(http.getMaxRequestHeaderSize());
+        local.setMaxResponseHeaderSize(http.getMaxResponseHeaderSize());
+        local.setInputBufferSize(http.getInputBufferSize());
+        local.setIdleTimeout(http.getIdleTimeout());
+        local.setMinResponseDataPerSecond(http.getMinResponseDataPerSecond());
+        local.setMinRequestDataPerSecond(http.getMinRequestDataPerSecond());
+        local.setUseServerHeader(http.isUseServerHeader());
+        local.setUseDateHeader(http.isUseDateHeader());
+        local.setUseForwardedHeaders(http.isUseForwardedHeaders());
+        local.setHttpCompliance(http.getHttpCompliance());
+        local.setRequestCookieCompliance(http.getRequestCookieCompliance());
+        local.setResponseCookieCompliance(http.getResponseCookieCompliance());
+        return local;
+    }
+
+    @Override
+    public Connector build(Server server,
+                           MetricRegistry metrics,
+                           String name,
+                           @Nullable ThreadPool threadPool) {
+        final HttpConnectionFactory httpConnectionFactory = buildHttpConnectionFactory(buildHttpConfiguration());
+        final LocalConnector connector = new LocalConnector(server, threadPool, null, null, -1,
+            new InstrumentedConnectionFactory(httpConnectionFactory,
+                                              metrics.timer(name(LocalConnector.class, name, "connections"))));
+        connector.setIdleTimeout(getIdleTimeout().toMilliseconds());
+        connector.setName(name);
+        return connector;
+    }
+}
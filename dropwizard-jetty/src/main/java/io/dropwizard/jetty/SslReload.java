@@ -1,11 +1,16 @@
 package io.dropwizard.jetty;
 
 import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import javax.net.ssl.SSLSessionContext;
 import java.util.function.Consumer;
 
 /** Provides the ability to modify an existing SSL factory with new configuration options. */
 public class SslReload {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SslReload.class);
+
     private final SslContextFactory factory;
     private final Consumer<SslContextFactory> configurer;
 
@@ -14,8 +19,18 @@ public class SslReload {
         this.configurer = configurer;
     }
 
+    /**
+     * Reload the configuration of the SSL factory. The configurer is applied again, so TLS session cache settings
+     * carry over to the new SSL context, whose session cache starts out empty.
+     */
     public void reload() throws Exception {
         getFactory().reload(configurer);
+
+        final SSLSessionContext sessionContext = getFactory().getSslContext().getServerSessionContext();
+        if (sessionContext != null) {
+            LOGGER.info("Reloaded SSL context, TLS session cache size: {}, session timeout: {} seconds",
+                sessionContext.getSessionCacheSize(), sessionContext.getSessionTimeout());
+        }
     }
 
     /**
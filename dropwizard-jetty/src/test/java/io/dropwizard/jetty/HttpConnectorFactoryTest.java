@@ -70,6 +70,10 @@ class HttpConnectorFactoryTest {
         assertThat(http.getMinBufferPoolSize()).isEqualTo(DataSize.bytes(64));
         assertThat(http.getBufferPoolIncrement()).isEqualTo(DataSize.bytes(1024));
         assertThat(http.getMaxBufferPoolSize()).isEqualTo(DataSize.kibibytes(64));
+        assertThat(http.getBufferPoolType()).isEqualTo(InstrumentedByteBufferPool.Type.ARRAY);
+        assertThat(http.getMaxBufferPoolHeapMemory()).isNull();
+        assertThat(http.getMaxBufferPoolDirectMemory()).isNull();
+        assertThat(http.getBufferPoolName()).isNull();
         assertThat(http.getMinRequestDataPerSecond()).isEqualTo(DataSize.bytes(0));
         assertThat(http.getMinResponseDataPerSecond()).isEqualTo(DataSize.bytes(0));
         assertThat(http.getAcceptorThreads()).isEmpty();
@@ -102,6 +106,10 @@ class HttpConnectorFactoryTest {
         assertThat(http.getMinBufferPoolSize()).isEqualTo(DataSize.bytes(128));
         assertThat(http.getBufferPoolIncrement()).isEqualTo(DataSize.bytes(500));
         assertThat(http.getMaxBufferPoolSize()).isEqualTo(DataSize.kibibytes(32));
+        assertThat(http.getBufferPoolType()).isEqualTo(InstrumentedByteBufferPool.Type.LOGARITHMIC);
+        assertThat(http.getMaxBufferPoolHeapMemory()).isEqualTo(DataSize.mebibytes(16));
+        assertThat(http.getMaxBufferPoolDirectMemory()).isEqualTo(DataSize.mebibytes(32));
+        assertThat(http.getBufferPoolName()).isEqualTo("shared");
         assertThat(http.getMinRequestDataPerSecond()).isEqualTo(DataSize.bytes(42));
         assertThat(http.getMinResponseDataPerSecond()).isEqualTo(DataSize.bytes(200));
         assertThat(http.getAcceptorThreads()).contains(1);
@@ -150,6 +158,8 @@ class HttpConnectorFactoryTest {
                 assertThat(connector.getExecutor()).isSameAs(threadPool);
 
                 verify(http).buildBufferPool(64, 1024, 64 * 1024);
+                assertThat(connector.getByteBufferPool()).isInstanceOf(InstrumentedByteBufferPool.class);
+                assertThat(metrics.getGauges()).containsKey("org.eclipse.jetty.io.ByteBufferPool.test-http-connector.127.0.0.1.8080.misses");
 
                 assertThat(connector.getAcceptors()).isEqualTo(1);
                 assertThat(connector.getSelectorManager().getSelectorCount()).isEqualTo(2);
@@ -208,6 +218,74 @@ class HttpConnectorFactoryTest {
         }
     }
 
+    @Test
+    void testBuildConnectorsWithSharedBufferPool() throws Exception {
+        HttpConnectorFactory application = new HttpConnectorFactory();
+        application.setBindHost("127.0.0.1");
+        application.setBufferPoolName("shared");
+        application.setBufferPoolType(InstrumentedByteBufferPool.Type.DIRECT);
+
+        HttpConnectorFactory admin = new HttpConnectorFactory();
+        admin.setBindHost("127.0.0.1");
+        admin.setPort(8081);
+        admin.setBufferPoolName("shared");
+
+        HttpConnectorFactory other = new HttpConnectorFactory();
+        other.setBindHost("127.0.0.1");
+        other.setPort(8082);
+
+        MetricRegistry metrics = new MetricRegistry();
+        Server server = null;
+
+        try {
+            server = new Server();
+            try (final ServerConnector applicationConnector = (ServerConnector) application.build(server, metrics, "application", null);
+                 final ServerConnector adminConnector = (ServerConnector) admin.build(server, metrics, "admin", null);
+                 final ServerConnector otherConnector = (ServerConnector) other.build(server, metrics, "other", null)) {
+                assertThat(applicationConnector.getByteBufferPool())
+                    .isSameAs(adminConnector.getByteBufferPool())
+                    .isNotSameAs(otherConnector.getByteBufferPool())
+                    .asInstanceOf(InstanceOfAssertFactories.type(InstrumentedByteBufferPool.class))
+                    .extracting(InstrumentedByteBufferPool::getType)
+                    .isEqualTo(InstrumentedByteBufferPool.Type.DIRECT);
+                assertThat(metrics.getGauges()).containsKeys(
+                    "org.eclipse.jetty.io.ByteBufferPool.shared.heap-memory",
+                    "org.eclipse.jetty.io.ByteBufferPool.other.127.0.0.1.8082.heap-memory");
+            }
+        } finally {
+            if (server != null) {
+                server.stop();
+            }
+        }
+    }
+
+    @Test
+    void testBuildConnectorsOnEphemeralPorts() throws Exception {
+        HttpConnectorFactory application = new HttpConnectorFactory();
+        application.setPort(0);
+
+        HttpConnectorFactory admin = new HttpConnectorFactory();
+        admin.setPort(0);
+
+        MetricRegistry metrics = new MetricRegistry();
+        Server server = null;
+
+        try {
+            server = new Server();
+            try (final ServerConnector applicationConnector = (ServerConnector) application.build(server, metrics, "application", null);
+                 final ServerConnector adminConnector = (ServerConnector) admin.build(server, metrics, "admin", null)) {
+                assertThat(applicationConnector.getByteBufferPool()).isNotSameAs(adminConnector.getByteBufferPool());
+                assertThat(metrics.getGauges()).containsKeys(
+                    "org.eclipse.jetty.io.ByteBufferPool.application.0.misses",
+                    "org.eclipse.jetty.io.ByteBufferPool.admin.0.misses");
+            }
+        } finally {
+            if (server != null) {
+                server.stop();
+            }
+        }
+    }
+
     @Test
     void testDefaultAcceptQueueSize() throws Exception {
         HttpConnectorFactory http = new HttpConnectorFactory();
@@ -6,6 +6,7 @@ import io.dropwizard.configuration.ResourceConfigurationSourceProvider;
 import io.dropwizard.configuration.YamlConfigurationFactory;
 import io.dropwizard.jackson.DiscoverableSubtypeResolver;
 import io.dropwizard.jackson.Jackson;
+import io.dropwizard.util.Duration;
 import io.dropwizard.validation.BaseValidator;
 import org.assertj.core.api.InstanceOfAssertFactories;
 import org.eclipse.jetty.server.ConnectionFactory;
@@ -82,6 +83,7 @@ class HttpsConnectorFactoryTest {
         assertThat(https.getMaxCertPathLength()).isEqualTo(3);
         assertThat(https.getOcspResponderUrl()).isEqualTo(new URI("http://ip.example.com:9443/ca/ocsp"));
         assertThat(https.getJceProvider()).isEqualTo("BC");
+        assertThat(https.getFallbackToDefaultProvider()).isTrue();
         assertThat(https.getValidatePeers()).isTrue();
         assertThat(https.getValidatePeers()).isTrue();
         assertThat(https.getSupportedProtocols()).containsExactly("TLSv1.1", "TLSv1.2");
@@ -91,6 +93,35 @@ class HttpsConnectorFactoryTest {
         assertThat(https.getExcludedCipherSuites()).isEmpty();
         assertThat(https.getAllowRenegotiation()).isFalse();
         assertThat(https.getEndpointIdentificationAlgorithm()).isEqualTo("HTTPS");
+        assertThat(https.getSslSessionCacheSize()).isEqualTo(1000);
+        assertThat(https.getSslSessionTimeout()).isEqualTo(Duration.hours(1));
+        assertThat(https.getEnableStatelessSessionTickets()).isFalse();
+    }
+
+    @Test
+    void testConflictingStatelessSessionTickets() {
+        final String property = "jdk.tls.server.enableSessionTicketExtension";
+        final String previous = System.getProperty(property);
+        System.setProperty(property, "true");
+        try {
+            HttpsConnectorFactory factory = new HttpsConnectorFactory();
+            factory.setKeyStorePassword("password");
+            factory.setEnableStatelessSessionTickets(false);
+
+            assertThatIllegalStateException()
+                .isThrownBy(() -> factory.configureSslContextFactory(new SslContextFactory.Server()))
+                .withMessageContaining(property);
+
+            factory.setEnableStatelessSessionTickets(true);
+            factory.configureSslContextFactory(new SslContextFactory.Server());
+            assertThat(System.getProperty(property)).isEqualTo("true");
+        } finally {
+            if (previous == null) {
+                System.clearProperty(property);
+            } else {
+                System.setProperty(property, previous);
+            }
+        }
     }
 
     @Test
@@ -262,6 +293,24 @@ class HttpsConnectorFactoryTest {
                 .doesNotContain("validKeyStorePath");
     }
 
+    @Test
+    void testUnavailableJceProvider() {
+        final HttpsConnectorFactory factory = new HttpsConnectorFactory();
+        factory.setJceProvider("NoSuchProvider");
+
+        assertThat(factory.configureSslContextFactory(new SslContextFactory.Server()).getProvider())
+            .isEqualTo("NoSuchProvider");
+    }
+
+    @Test
+    void testUnavailableJceProviderFallsBackToDefault() {
+        final HttpsConnectorFactory factory = new HttpsConnectorFactory();
+        factory.setJceProvider("NoSuchProvider");
+        factory.setFallbackToDefaultProvider(true);
+
+        assertThat(factory.configureSslContextFactory(new SslContextFactory.Server()).getProvider()).isNull();
+    }
+
     @Test
     void canBuildContextFactoryWhenWindowsKeyStoreAvailable() {
         // ignore test when Windows Keystore unavailable
@@ -314,6 +363,8 @@ class HttpsConnectorFactoryTest {
         https.setValidatePeers(true);
         https.setSupportedProtocols(Arrays.asList("TLSv1.1", "TLSv1.2"));
         https.setSupportedCipherSuites(Arrays.asList("TLS_DHE_RSA.*", "TLS_ECDHE.*"));
+        https.setSslSessionCacheSize(1000);
+        https.setSslSessionTimeout(Duration.minutes(10));
 
         final Server server = new Server();
         final MetricRegistry metrics = new MetricRegistry();
@@ -364,7 +415,16 @@ class HttpsConnectorFactoryTest {
                         assertThat(sslContextFactory.isValidatePeerCerts()).isTrue();
                         assertThat(sslContextFactory.getIncludeProtocols()).containsOnly("TLSv1.1", "TLSv1.2");
                         assertThat(sslContextFactory.getIncludeCipherSuites()).containsOnly("TLS_DHE_RSA.*", "TLS_ECDHE.*");
+                        assertThat(sslContextFactory.getSslSessionCacheSize()).isEqualTo(1000);
+                        assertThat(sslContextFactory.getSslSessionTimeout()).isEqualTo(600);
                     });
+            assertThat(sslConnectionFactory)
+                    .extracting("connectionFactory")
+                    .asInstanceOf(InstanceOfAssertFactories.type(SslConnectionFactory.class))
+                    .satisfies(factory -> assertThat(factory.getBeans(InstrumentedSslHandshakeListener.class)).hasSize(1));
+            assertThat(metrics.getTimers()).containsKeys(
+                    "org.eclipse.jetty.server.SslConnectionFactory.test-https-connector.127.0.0.1.8443.handshakes.full",
+                    "org.eclipse.jetty.server.SslConnectionFactory.test-https-connector.127.0.0.1.8443.handshakes.resumed");
 
             final ConnectionFactory httpConnectionFactory = serverConnector.getConnectionFactory("http/1.1");
             assertThat(httpConnectionFactory).isInstanceOf(HttpConnectionFactory.class);
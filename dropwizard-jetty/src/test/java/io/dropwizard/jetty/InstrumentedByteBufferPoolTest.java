@@ -0,0 +1,62 @@
+package io.dropwizard.jetty;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InstrumentedByteBufferPoolTest {
+
+    @Test
+    void countsAcquisitionsMissesAndReleases() {
+        final InstrumentedByteBufferPool pool =
+            new InstrumentedByteBufferPool(InstrumentedByteBufferPool.Type.ARRAY, 0, 1024, 64 * 1024, -1, -1);
+
+        final ByteBuffer first = pool.acquire(1000, false);
+        pool.release(first);
+        final ByteBuffer second = pool.acquire(1000, false);
+
+        assertThat(second).isSameAs(first);
+        assertThat(pool.getAcquisitions()).isEqualTo(2);
+        assertThat(pool.getMisses()).isEqualTo(1);
+        assertThat(pool.getReleases()).isEqualTo(1);
+        assertThat(pool.getHeapMemory()).isZero();
+
+        pool.release(second);
+        assertThat(pool.getHeapMemory()).isEqualTo(1024);
+        assertThat(pool.getHeapByteBufferCount()).isEqualTo(1);
+    }
+
+    @Test
+    void logarithmicPoolRoundsToPowersOfTwo() {
+        final InstrumentedByteBufferPool pool =
+            new InstrumentedByteBufferPool(InstrumentedByteBufferPool.Type.LOGARITHMIC, 0, 1024, 64 * 1024, -1, -1);
+
+        assertThat(pool.acquire(3000, true).capacity()).isEqualTo(4096);
+        assertThat(pool.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    void directPoolOnlyRetainsDirectBuffers() {
+        final InstrumentedByteBufferPool pool =
+            new InstrumentedByteBufferPool(InstrumentedByteBufferPool.Type.DIRECT, 0, 1024, 64 * 1024, -1, -1);
+
+        pool.release(pool.acquire(1024, false));
+        pool.release(pool.acquire(1024, true));
+
+        assertThat(pool.getHeapByteBufferCount()).isZero();
+        assertThat(pool.getDirectByteBufferCount()).isEqualTo(1);
+        assertThat(pool.getDirectMemory()).isEqualTo(1024);
+        assertThat(pool.getReleases()).isEqualTo(2);
+    }
+
+    @Test
+    void exposesMetrics() {
+        final InstrumentedByteBufferPool pool =
+            new InstrumentedByteBufferPool(InstrumentedByteBufferPool.Type.ARRAY, 0, 1024, 64 * 1024, 0, 0);
+
+        assertThat(pool.getMetrics()).containsOnlyKeys("heap-memory", "direct-memory", "heap-buffers",
+            "direct-buffers", "acquisitions", "misses", "releases");
+    }
+}
@@ -0,0 +1,117 @@
+package io.dropwizard.jetty;
+
+import com.codahale.metrics.MetricRegistry;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class InstrumentedConnectionListenerTest {
+    private static final String PREFIX = "org.eclipse.jetty.server.HttpConnectionFactory.test-http-connector.127.0.0.1.0";
+
+    private final MetricRegistry metrics = new MetricRegistry();
+    private final Server server = new Server();
+    private ServerConnector connector;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        final HttpConnectorFactory http = new HttpConnectorFactory();
+        http.setBindHost("127.0.0.1");
+        http.setPort(0);
+        http.setEnableConnectionMetrics(true);
+
+        connector = (ServerConnector) http.build(server, metrics, "test-http-connector", null);
+        server.addConnector(connector);
+        server.setHandler(new AbstractHandler() {
+            @Override
+            public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException {
+                response.setStatus(200);
+                response.getWriter().print("ok");
+                baseRequest.setHandled(true);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.stop();
+    }
+
+    @Test
+    void recordsTrafficOfClosedConnections() throws Exception {
+        final String requests = "GET / HTTP/1.1\r\nHost: localhost\r\n\r\n" +
+            "GET / HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n";
+
+        final ByteArrayOutputStream received = new ByteArrayOutputStream();
+        try (Socket socket = new Socket("127.0.0.1", connector.getLocalPort())) {
+            final OutputStream output = socket.getOutputStream();
+            output.write(requests.getBytes(StandardCharsets.US_ASCII));
+            output.flush();
+
+            final InputStream input = socket.getInputStream();
+            final byte[] buffer = new byte[1024];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                received.write(buffer, 0, read);
+            }
+        }
+
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() ->
+            assertThat(metrics.histogram(PREFIX + ".requests-per-connection").getCount()).isEqualTo(1));
+
+        assertThat(metrics.histogram(PREFIX + ".requests-per-connection").getSnapshot().getMax()).isEqualTo(2);
+        assertThat(metrics.meter(PREFIX + ".requests").getCount()).isEqualTo(2);
+        assertThat(metrics.getGauges())
+            .hasEntrySatisfying(PREFIX + ".bytes-in", gauge -> assertThat(gauge.getValue()).isEqualTo((long) requests.length()))
+            .hasEntrySatisfying(PREFIX + ".bytes-out", gauge -> assertThat(gauge.getValue()).isEqualTo((long) received.size()));
+    }
+
+    @Test
+    void recordsTrafficOfOpenConnectionsOnEachRequest() throws Exception {
+        final String request = "GET / HTTP/1.1\r\nHost: localhost\r\n\r\n";
+
+        try (Socket socket = new Socket("127.0.0.1", connector.getLocalPort())) {
+            final OutputStream output = socket.getOutputStream();
+            final BufferedReader reader = new BufferedReader(
+                new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            for (int i = 1; i <= 2; i++) {
+                output.write(request.getBytes(StandardCharsets.US_ASCII));
+                output.flush();
+                assertThat(reader.readLine()).startsWith("HTTP/1.1 200");
+                while (!reader.readLine().isEmpty()) {
+                    // Skip the headers
+                }
+                final char[] body = new char[2];
+                assertThat(reader.read(body)).isEqualTo(2);
+                assertThat(body).containsExactly('o', 'k');
+
+                final long expectedBytesIn = (long) i * request.length();
+                await().atMost(5, TimeUnit.SECONDS).untilAsserted(() ->
+                    assertThat(metrics.getGauges())
+                        .hasEntrySatisfying(PREFIX + ".bytes-in", gauge -> assertThat(gauge.getValue()).isEqualTo(expectedBytesIn))
+                        .hasEntrySatisfying(PREFIX + ".bytes-out", gauge -> assertThat((Long) gauge.getValue()).isPositive()));
+                // The connection is still open
+                assertThat(metrics.histogram(PREFIX + ".requests-per-connection").getCount()).isZero();
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package io.dropwizard.jetty;
+
+import com.codahale.metrics.MetricRegistry;
+import org.eclipse.jetty.io.ssl.SslConnection;
+import org.eclipse.jetty.io.ssl.SslHandshakeListener;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.junit.jupiter.api.Test;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLException;
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.TrustManagerFactory;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyStore;
+import java.util.Collections;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InstrumentedSslHandshakeListenerTest {
+    private final MetricRegistry metrics = new MetricRegistry();
+    private final InstrumentedSslHandshakeListener listener = new InstrumentedSslHandshakeListener(metrics, "tls");
+
+    @Test
+    void recordsFullHandshakes() throws SSLException {
+        final SSLEngine engine = engine(System.currentTimeMillis() + 60_000);
+        listener.onOpened(connection(engine));
+        listener.handshakeSucceeded(new SslHandshakeListener.Event(engine));
+
+        assertThat(metrics.timer("tls.full").getCount()).isEqualTo(1);
+        assertThat(metrics.timer("tls.resumed").getCount()).isZero();
+    }
+
+    @Test
+    void recordsResumedHandshakes() throws SSLException {
+        final SSLEngine engine = engine(System.currentTimeMillis() - 60_000);
+        listener.onOpened(connection(engine));
+        listener.handshakeSucceeded(new SslHandshakeListener.Event(engine));
+
+        assertThat(metrics.timer("tls.full").getCount()).isZero();
+        assertThat(metrics.timer("tls.resumed").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void recordsFailedHandshakes() {
+        final SSLEngine engine = engine(System.currentTimeMillis());
+        listener.onOpened(connection(engine));
+        listener.handshakeFailed(new SslHandshakeListener.Event(engine), new SSLException("bad certificate"));
+
+        assertThat(metrics.meter("tls.failures").getCount()).isEqualTo(1);
+        assertThat(metrics.timer("tls.full").getCount()).isZero();
+    }
+
+    @Test
+    void ignoresRenegotiationsOfOpenConnections() throws SSLException {
+        final SSLEngine engine = engine(System.currentTimeMillis() + 60_000);
+        listener.onOpened(connection(engine));
+        listener.handshakeSucceeded(new SslHandshakeListener.Event(engine));
+        listener.handshakeSucceeded(new SslHandshakeListener.Event(engine));
+
+        assertThat(metrics.timer("tls.full").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void recordsTheHandshakesOfTls12Connections() throws Exception {
+        recordsTheHandshakesOfRealConnections("TLSv1.2");
+    }
+
+    @Test
+    void recordsTheHandshakesOfTls13Connections() throws Exception {
+        recordsTheHandshakesOfRealConnections("TLSv1.3");
+    }
+
+    private void recordsTheHandshakesOfRealConnections(String protocol) throws Exception {
+        final HttpsConnectorFactory https = new HttpsConnectorFactory();
+        https.setBindHost("127.0.0.1");
+        https.setPort(0);
+        https.setKeyStorePath(resourcePath("/stores/tls_server.jks"));
+        https.setKeyStorePassword("server_pass");
+        https.setKeyStoreType("JKS");
+        https.setValidateCerts(false);
+        https.setSupportedProtocols(Collections.singletonList(protocol));
+
+        final Server server = new Server();
+        final ServerConnector connector = (ServerConnector) https.build(server, metrics, "tls-test",
+            new QueuedThreadPool());
+        server.addConnector(connector);
+        server.setHandler(new AbstractHandler() {
+            @Override
+            public void handle(String target, Request baseRequest, HttpServletRequest request,
+                               HttpServletResponse response) {
+                response.setStatus(204);
+                baseRequest.setHandled(true);
+            }
+        });
+        server.start();
+        try {
+            final SSLContext client = clientContext(protocol);
+            // The second connection resumes the session of the first one, from a session ticket or the session cache
+            assertThat(get(client, connector.getLocalPort())).isEqualTo(protocol);
+            assertThat(get(client, connector.getLocalPort())).isEqualTo(protocol);
+        } finally {
+            server.stop();
+        }
+
+        final String prefix = "org.eclipse.jetty.server.SslConnectionFactory.tls-test.127.0.0.1.0.handshakes";
+        assertThat(metrics.timer(prefix + ".full").getCount()).isEqualTo(1);
+        assertThat(metrics.timer(prefix + ".resumed").getCount()).isEqualTo(1);
+        assertThat(metrics.meter(prefix + ".failures").getCount()).isZero();
+    }
+
+    private static SSLEngine engine(long sessionCreationTime) {
+        final SSLEngine engine = mock(SSLEngine.class);
+        final SSLSession session = mock(SSLSession.class);
+        when(engine.getSession()).thenReturn(session);
+        when(session.getCreationTime()).thenReturn(sessionCreationTime);
+        return engine;
+    }
+
+    private static SslConnection connection(SSLEngine engine) {
+        final SslConnection connection = mock(SslConnection.class);
+        when(connection.getSSLEngine()).thenReturn(engine);
+        return connection;
+    }
+
+    private static SSLContext clientContext(String protocol) throws Exception {
+        final KeyStore trustStore = KeyStore.getInstance("JKS");
+        try (InputStream input = Objects.requireNonNull(
+            InstrumentedSslHandshakeListenerTest.class.getResourceAsStream("/stores/tls_client.jks"))) {
+            trustStore.load(input, "client_pass".toCharArray());
+        }
+        final TrustManagerFactory trustManagers = TrustManagerFactory.getInstance(
+            TrustManagerFactory.getDefaultAlgorithm());
+        trustManagers.init(trustStore);
+        final SSLContext context = SSLContext.getInstance(protocol);
+        context.init(null, trustManagers.getTrustManagers(), null);
+        return context;
+    }
+
+    /**
+     * Sends a request over a new connection, reads the response, which also receives the session tickets sent after
+     * the handshake, and returns the negotiated protocol.
+     */
+    private static String get(SSLContext context, int port) throws Exception {
+        try (SSLSocket socket = (SSLSocket) context.getSocketFactory().createSocket("127.0.0.1", port)) {
+            socket.setSoTimeout(5_000);
+            final OutputStream output = socket.getOutputStream();
+            output.write("GET / HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n"
+                .getBytes(StandardCharsets.US_ASCII));
+            output.flush();
+            final BufferedReader reader = new BufferedReader(
+                new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            assertThat(reader.readLine()).startsWith("HTTP/1.1 204");
+            while (reader.readLine() != null) {
+                // Read until the server closes the connection
+            }
+            return socket.getSession().getProtocol();
+        }
+    }
+
+    private static String resourcePath(String resource) throws Exception {
+        return Objects.requireNonNull(InstrumentedSslHandshakeListenerTest.class.getResource(resource)).toURI()
+            .getPath();
+    }
+}
@@ -0,0 +1,100 @@
+package io.dropwizard.jetty;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.jackson.DiscoverableSubtypeResolver;
+import io.dropwizard.util.DataSize;
+import io.dropwizard.util.Duration;
+import org.eclipse.jetty.http.HttpCompliance;
+import org.eclipse.jetty.server.LocalConnector;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+
+class LocalConnectorFactoryTest {
+    private final MetricRegistry metrics = new MetricRegistry();
+    private final Server server = new Server();
+    private LocalConnector connector;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        final LocalConnectorFactory local = new LocalConnectorFactory();
+        local.setUseServerHeader(true);
+
+        connector = (LocalConnector) local.build(server, metrics, "test-local-connector", null);
+        server.addConnector(connector);
+        server.setHandler(new AbstractHandler() {
+            @Override
+            public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException {
+                response.setStatus(200);
+                response.getWriter().print("ok");
+                baseRequest.setHandled(true);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.stop();
+    }
+
+    @Test
+    void isDiscoverable() {
+        assertThat(new DiscoverableSubtypeResolver().getDiscoveredSubtypes())
+                .contains(LocalConnectorFactory.class);
+    }
+
+    @Test
+    void copiesTheHttpSettingsOfAConnector() {
+        final HttpsConnectorFactory https = new HttpsConnectorFactory();
+        https.setPort(8443);
+        https.setUseServerHeader(true);
+        https.setUseForwardedHeaders(true);
+        https.setMaxRequestHeaderSize(DataSize.kibibytes(16));
+        https.setIdleTimeout(Duration.seconds(5));
+        https.setHttpCompliance(HttpCompliance.RFC2616);
+
+        final LocalConnectorFactory local = LocalConnectorFactory.of(https);
+
+        assertThat(local.isUseServerHeader()).isTrue();
+        assertThat(local.isUseForwardedHeaders()).isTrue();
+        assertThat(local.getMaxRequestHeaderSize()).isEqualTo(DataSize.kibibytes(16));
+        assertThat(local.getIdleTimeout()).isEqualTo(Duration.seconds(5));
+        assertThat(local.getHttpCompliance()).isEqualTo(HttpCompliance.RFC2616);
+        assertThat(local.getPort()).isEqualTo(8080);
+    }
+
+    @Test
+    void cannotReplaceOtherConnectors() {
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> LocalConnectorFactory.of(mock(ConnectorFactory.class)))
+            .withMessageContaining("not an HttpConnectorFactory");
+    }
+
+    @Test
+    void handlesRequestsInProcess() throws Exception {
+        final String response = connector.getResponse("GET / HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n");
+
+        assertThat(response)
+            .startsWith("HTTP/1.1 200 OK")
+            .contains("Server: Jetty")
+            .endsWith("ok");
+        assertThat(connector.getName()).isEqualTo("test-local-connector");
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() ->
+            assertThat(metrics.timer("org.eclipse.jetty.server.LocalConnector.test-local-connector.connections")
+                .getCount()).isEqualTo(1));
+    }
+}
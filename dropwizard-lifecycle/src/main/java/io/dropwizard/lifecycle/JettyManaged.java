@@ -32,6 +32,26 @@ public class JettyManaged extends AbstractLifeCycle implements Managed {
         managed.stop();
     }
 
+    /**
+     * Calls {@link Managed#beforeCheckpoint()} on the wrapped object if it has started.
+     */
+    @Override
+    public void beforeCheckpoint() throws Exception {
+        if (isStarted()) {
+            managed.beforeCheckpoint();
+        }
+    }
+
+    /**
+     * Calls {@link Managed#afterRestore()} on the wrapped object if it has started.
+     */
+    @Override
+    public void afterRestore() throws Exception {
+        if (isStarted()) {
+            managed.afterRestore();
+        }
+    }
+
     @Override
     public String toString() {
         return managed.toString();
@@ -18,4 +18,22 @@ public interface Managed {
      * @throws Exception if something goes wrong.
      */
     default void stop() throws Exception {}
+
+    /**
+     * Prepares the object for a checkpoint of the JVM, which must not have open sockets or files, by closing them.
+     * Called <i>after</i> the application stopped accepting requests. The default implementation is a no-op.
+     *
+     * @throws Exception if something goes wrong; this will abort the checkpoint.
+     * @since 2.1
+     */
+    default void beforeCheckpoint() throws Exception {}
+
+    /**
+     * Reopens what {@link #beforeCheckpoint()} closed once the JVM has been restored from a checkpoint. Called
+     * <i>before</i> the application accepts requests again. The default implementation is a no-op.
+     *
+     * @throws Exception if something goes wrong.
+     * @since 2.1
+     */
+    default void afterRestore() throws Exception {}
 }
@@ -11,7 +11,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ThreadFactory;
 
 import static java.util.Objects.requireNonNull;
@@ -22,6 +27,10 @@ public class LifecycleEnvironment {
     private final List<LifeCycle> managedObjects;
     private final List<LifeCycle.Listener> lifecycleListeners;
     private final MetricRegistry metricRegistry;
+    private final Map<LifeCycle, List<Object>> dependencies = new IdentityHashMap<>();
+    private int maxParallelThreads = 0;
+    private boolean checkpointEnabled;
+    private List<LifeCycle> attached = Collections.emptyList();
 
     public LifecycleEnvironment(MetricRegistry metricRegistry) {
         this.managedObjects = new ArrayList<>();
@@ -53,6 +62,51 @@ public class LifecycleEnvironment {
         managedObjects.add(requireNonNull(managed));
     }
 
+    /**
+     * Adds the given {@link Managed} instance to the set of objects managed by the server's lifecycle, and makes it
+     * start after and stop before the given dependencies, which must be managed as well. The dependencies may be
+     * {@link Managed} or {@link LifeCycle} instances.
+     *
+     * @param managed      a managed object
+     * @param dependencies the managed objects {@code managed} depends on
+     * @since 2.1
+     */
+    public void manage(Managed managed, Object... dependencies) {
+        final JettyManaged lifeCycle = new JettyManaged(requireNonNull(managed));
+        managedObjects.add(lifeCycle);
+        this.dependencies.put(lifeCycle, Arrays.asList(dependencies));
+    }
+
+    /**
+     * Adds the given Jetty {@link LifeCycle} instance to the server's lifecycle, and makes it start after and stop
+     * before the given dependencies, which must be managed as well. The dependencies may be {@link Managed} or
+     * {@link LifeCycle} instances.
+     *
+     * @param managed      a Jetty-managed object
+     * @param dependencies the managed objects {@code managed} depends on
+     * @since 2.1
+     */
+    public void manage(LifeCycle managed, Object... dependencies) {
+        managedObjects.add(requireNonNull(managed));
+        this.dependencies.put(managed, Arrays.asList(dependencies));
+    }
+
+    /**
+     * Starts and stops the managed objects in parallel, on up to the given number of threads. Objects start once the
+     * objects they depend on have started, and stop once the objects which depend on them have stopped, so objects
+     * without dependencies no longer start in the order they were added. The time each object took to start is logged
+     * and exported as the gauges {@code io.dropwizard.lifecycle.setup.LifecycleEnvironment.startup.<class name>}.
+     *
+     * @param maxThreads the maximum number of objects which start or stop at once
+     * @since 2.1
+     */
+    public void startInParallel(int maxThreads) {
+        if (maxThreads < 1) {
+            throw new IllegalArgumentException("maxThreads must be at least 1");
+        }
+        this.maxParallelThreads = maxThreads;
+    }
+
     public ExecutorServiceBuilder executorService(String nameFormat) {
         return new ExecutorServiceBuilder(this, nameFormat);
     }
@@ -82,8 +136,15 @@ public class LifecycleEnvironment {
     }
 
     public void attach(ContainerLifeCycle container) {
-        for (LifeCycle object : managedObjects) {
-            container.addBean(object);
+        final Map<LifeCycle, List<LifeCycle>> resolved = resolveDependencies();
+        final List<LifeCycle> ordered = sortByDependencies(resolved);
+        this.attached = ordered;
+        if (maxParallelThreads > 0) {
+            container.addBean(new ParallelLifeCycle(ordered, resolved, maxParallelThreads, metricRegistry));
+        } else {
+            for (LifeCycle object : ordered) {
+                container.addBean(object);
+            }
         }
         container.addLifeCycleListener(new LifeCycle.Listener() {
             @Override
@@ -96,6 +157,71 @@ public class LifecycleEnvironment {
         }
     }
 
+    /**
+     * Marks the JVM of the application as one which will be checkpointed, so that the objects which are only needed
+     * for a checkpoint are managed. Called by the commands which checkpoint the JVM, before the application runs.
+     *
+     * @since 2.1
+     */
+    public void enableCheckpoint() {
+        this.checkpointEnabled = true;
+    }
+
+    /**
+     * Returns whether the JVM of the application will be checkpointed.
+     *
+     * @return whether {@link #enableCheckpoint()} was called
+     * @since 2.1
+     */
+    public boolean isCheckpointEnabled() {
+        return checkpointEnabled;
+    }
+
+    /**
+     * Calls {@link Managed#beforeCheckpoint()} on the started managed objects, in the reverse of the order in which
+     * they start. Every object is called even if another one fails.
+     *
+     * @throws Exception the failure of the first object which failed, with the failures of the others suppressed
+     * @since 2.1
+     */
+    public void beforeCheckpoint() throws Exception {
+        final List<LifeCycle> objects = new ArrayList<>(attached);
+        Collections.reverse(objects);
+        callHooks(objects, Managed::beforeCheckpoint);
+    }
+
+    /**
+     * Calls {@link Managed#afterRestore()} on the started managed objects, in the order in which they start. Every
+     * object is called even if another one fails.
+     *
+     * @throws Exception the failure of the first object which failed, with the failures of the others suppressed
+     * @since 2.1
+     */
+    public void afterRestore() throws Exception {
+        callHooks(attached, Managed::afterRestore);
+    }
+
+    private static void callHooks(List<LifeCycle> objects, CheckpointHook hook) throws Exception {
+        Exception failure = null;
+        for (LifeCycle object : objects) {
+            if (!(object instanceof JettyManaged)) {
+                continue;
+            }
+            try {
+                hook.call((JettyManaged) object);
+            } catch (Exception e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
     /**
      * @since 2.0
      */
@@ -103,6 +229,63 @@ public class LifecycleEnvironment {
         return metricRegistry;
     }
 
+    private Map<LifeCycle, List<LifeCycle>> resolveDependencies() {
+        final Map<LifeCycle, List<LifeCycle>> resolved = new IdentityHashMap<>();
+        for (Map.Entry<LifeCycle, List<Object>> entry : dependencies.entrySet()) {
+            final List<LifeCycle> lifeCycles = new ArrayList<>(entry.getValue().size());
+            for (Object dependency : entry.getValue()) {
+                lifeCycles.add(findManagedObject(entry.getKey(), dependency));
+            }
+            resolved.put(entry.getKey(), lifeCycles);
+        }
+        return resolved;
+    }
+
+    private LifeCycle findManagedObject(LifeCycle dependent, Object dependency) {
+        for (LifeCycle object : managedObjects) {
+            if (object == dependency
+                || (object instanceof JettyManaged && ((JettyManaged) object).getManaged() == dependency)) {
+                return object;
+            }
+        }
+        throw new IllegalStateException(dependent + " depends on " + dependency + ", which is not managed");
+    }
+
+    /**
+     * Orders the managed objects so that every object follows its dependencies, and otherwise keeps the order in which
+     * they were added.
+     */
+    private List<LifeCycle> sortByDependencies(Map<LifeCycle, List<LifeCycle>> resolved) {
+        final Set<LifeCycle> sorted = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Set<LifeCycle> visiting = Collections.newSetFromMap(new IdentityHashMap<>());
+        final List<LifeCycle> ordered = new ArrayList<>(managedObjects.size());
+        for (LifeCycle object : managedObjects) {
+            visit(object, resolved, sorted, visiting, ordered);
+        }
+        return ordered;
+    }
+
+    private static void visit(LifeCycle object, Map<LifeCycle, List<LifeCycle>> resolved, Set<LifeCycle> sorted,
+                              Set<LifeCycle> visiting, List<LifeCycle> ordered) {
+        if (sorted.contains(object)) {
+            return;
+        }
+        if (!visiting.add(object)) {
+            throw new IllegalStateException("The dependencies of " + object + " form a cycle");
+        }
+        for (LifeCycle dependency : resolved.getOrDefault(object, Collections.emptyList())) {
+            visit(dependency, resolved, sorted, visiting, ordered);
+        }
+        visiting.remove(object);
+        sorted.add(object);
+        ordered.add(object);
+    }
+
+    @FunctionalInterface
+    private interface CheckpointHook {
+        void call(Managed managed) throws Exception;
+    }
+
     private static class ServerListener implements LifeCycle.Listener {
         private final ServerLifecycleListener listener;
 
@@ -0,0 +1,201 @@
+package io.dropwizard.lifecycle.setup;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.lifecycle.JettyManaged;
+import org.eclipse.jetty.util.component.AbstractLifeCycle;
+import org.eclipse.jetty.util.component.LifeCycle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Starts and stops managed objects in parallel on a bounded number of threads. An object starts once the objects it
+ * depends on have started, and stops once the objects which depend on it have stopped.
+ * <p/>
+ * The time each object took to start is logged and exported as the gauges
+ * {@code io.dropwizard.lifecycle.setup.LifecycleEnvironment.startup.<class name>}, in milliseconds, next to the gauge
+ * {@code startup.total}.
+ */
+class ParallelLifeCycle extends AbstractLifeCycle {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelLifeCycle.class);
+
+    private final List<Node> nodes;
+    private final int maxThreads;
+    private final MetricRegistry metrics;
+    private volatile long totalMillis;
+
+    /**
+     * @param objects      the managed objects, ordered so that every object follows its dependencies
+     * @param dependencies the dependencies of the managed objects
+     * @param maxThreads   the maximum number of objects which start or stop at once
+     * @param metrics      the registry of the startup times
+     */
+    ParallelLifeCycle(List<LifeCycle> objects, Map<LifeCycle, List<LifeCycle>> dependencies, int maxThreads,
+                      MetricRegistry metrics) {
+        this.maxThreads = maxThreads;
+        this.metrics = metrics;
+
+        final Map<LifeCycle, Node> byObject = new IdentityHashMap<>();
+        final Map<String, AtomicInteger> names = new HashMap<>();
+        final List<Node> nodes = new ArrayList<>(objects.size());
+        for (LifeCycle object : objects) {
+            final String className = (object instanceof JettyManaged
+                ? ((JettyManaged) object).getManaged() : object).getClass().getName();
+            final int index = names.computeIfAbsent(className, name -> new AtomicInteger()).incrementAndGet();
+            final Node node = new Node(object, index == 1 ? className : className + "-" + index);
+            for (LifeCycle dependency : dependencies.getOrDefault(object, Collections.emptyList())) {
+                final Node dependencyNode = byObject.get(dependency);
+                if (dependencyNode == null) {
+                    throw new IllegalArgumentException(object + " must follow its dependency " + dependency);
+                }
+                node.dependencies.add(dependencyNode);
+                dependencyNode.dependents.add(node);
+            }
+            byObject.put(object, node);
+            nodes.add(node);
+        }
+        this.nodes = Collections.unmodifiableList(nodes);
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        final long start = System.nanoTime();
+        run(nodes, node -> node.dependencies, true, node -> {
+            final long objectStart = System.nanoTime();
+            node.object.start();
+            node.startMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - objectStart);
+            node.started = true;
+        });
+        final long totalMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        report(totalMillis);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        final List<Node> reversed = new ArrayList<>(nodes);
+        Collections.reverse(reversed);
+        run(reversed, node -> node.dependents, false, node -> {
+            if (node.started) {
+                node.started = false;
+                node.object.stop();
+            }
+        });
+    }
+
+    /**
+     * Runs the action for every node once it has run for its prerequisites, and waits until it has run for all nodes.
+     * If {@code failFast} is set, the action is skipped for the nodes whose prerequisites failed.
+     */
+    private void run(List<Node> ordered, Function<Node, List<Node>> prerequisites, boolean failFast, Action action)
+        throws Exception {
+        if (ordered.isEmpty()) {
+            return;
+        }
+        final AtomicInteger count = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(maxThreads, ordered.size()), r -> {
+            final Thread thread = Executors.defaultThreadFactory().newThread(r);
+            thread.setName("lifecycle-" + count.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        final Queue<Exception> failures = new ConcurrentLinkedQueue<>();
+        final Map<Node, CompletableFuture<Void>> futures = new IdentityHashMap<>();
+        try {
+            for (Node node : ordered) {
+                final CompletableFuture<?>[] before = prerequisites.apply(node).stream()
+                    .map(futures::get)
+                    .toArray(CompletableFuture<?>[]::new);
+                CompletableFuture<Void> ready = CompletableFuture.allOf(before);
+                if (!failFast) {
+                    ready = ready.handle((result, e) -> null);
+                }
+                futures.put(node, ready.thenRunAsync(() -> {
+                    try {
+                        action.run(node);
+                    } catch (Exception e) {
+                        failures.add(e);
+                        throw new CompletionException(e);
+                    }
+                }, executor));
+            }
+            try {
+                CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).get();
+            } catch (ExecutionException e) {
+                // The failures have been collected
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final Exception failure = failures.poll();
+        if (failure != null) {
+            for (Exception other : failures) {
+                failure.addSuppressed(other);
+            }
+            throw failure;
+        }
+    }
+
+    private void report(long totalMillis) {
+        final List<Node> slowestFirst = new ArrayList<>(nodes);
+        slowestFirst.sort(Comparator.comparingLong((Node node) -> node.startMillis).reversed());
+        final StringBuilder report = new StringBuilder();
+        for (Node node : slowestFirst) {
+            report.append(String.format(Locale.ROOT, "%n    %8d ms  %s", node.startMillis, node.object));
+            metrics.<Gauge<Long>>gauge(name(LifecycleEnvironment.class, "startup", node.name),
+                () -> () -> node.startMillis);
+        }
+        metrics.<Gauge<Long>>gauge(name(LifecycleEnvironment.class, "startup", "total"), () -> this::getTotalMillis);
+        this.totalMillis = totalMillis;
+        LOGGER.info("Started {} managed objects in {} ms with up to {} threads:{}", nodes.size(), totalMillis,
+            maxThreads, report);
+    }
+
+    private long getTotalMillis() {
+        return totalMillis;
+    }
+
+    private interface Action {
+        void run(Node node) throws Exception;
+    }
+
+    private static class Node {
+        private final LifeCycle object;
+        private final String name;
+        private final List<Node> dependencies = new ArrayList<>();
+        private final List<Node> dependents = new ArrayList<>();
+        private volatile long startMillis;
+        private volatile boolean started;
+
+        private Node(LifeCycle object, String name) {
+            this.object = object;
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
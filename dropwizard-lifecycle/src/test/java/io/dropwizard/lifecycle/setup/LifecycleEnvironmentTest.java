@@ -7,6 +7,9 @@ import org.eclipse.jetty.util.component.ContainerLifeCycle;
 import org.eclipse.jetty.util.component.LifeCycle;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -16,13 +19,16 @@ import java.util.concurrent.atomic.AtomicLong;
 
 import static org.assertj.core.api.Assertions.as;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.assertj.core.api.InstanceOfAssertFactories.BOOLEAN;
 import static org.assertj.core.api.InstanceOfAssertFactories.STRING;
 import static org.mockito.Mockito.mock;
 
 class LifecycleEnvironmentTest {
 
-    private final LifecycleEnvironment environment = new LifecycleEnvironment(new MetricRegistry());
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    private final LifecycleEnvironment environment = new LifecycleEnvironment(metricRegistry);
+    private final List<String> events = new CopyOnWriteArrayList<>();
 
     @Test
     void managesLifeCycleObjects() {
@@ -50,6 +56,191 @@ class LifecycleEnvironmentTest {
                 assertThat(jettyManaged.getManaged()).isSameAs(managed));
     }
 
+    @Test
+    void startsManagedObjectsAfterTheirDependencies() throws Exception {
+        final Managed cache = recording("cache");
+        final Managed database = recording("database");
+        environment.manage(cache, database);
+        environment.manage(database);
+
+        final ContainerLifeCycle container = new ContainerLifeCycle();
+        environment.attach(container);
+        container.start();
+        container.stop();
+
+        assertThat(events).containsExactly("start database", "start cache", "stop cache", "stop database");
+    }
+
+    @Test
+    void rejectsCyclicDependencies() {
+        final Managed first = recording("first");
+        final Managed second = recording("second");
+        environment.manage(first, second);
+        environment.manage(second, first);
+
+        assertThatIllegalStateException()
+            .isThrownBy(() -> environment.attach(new ContainerLifeCycle()))
+            .withMessageContaining("cycle");
+    }
+
+    @Test
+    void rejectsDependenciesWhichAreNotManaged() {
+        environment.manage(recording("cache"), recording("database"));
+
+        assertThatIllegalStateException()
+            .isThrownBy(() -> environment.attach(new ContainerLifeCycle()))
+            .withMessageContaining("which is not managed");
+    }
+
+    @Test
+    void startsIndependentManagedObjectsInParallel() throws Exception {
+        final CyclicBarrier barrier = new CyclicBarrier(2);
+        final Managed awaitingOther = new Managed() {
+            @Override
+            public void start() throws Exception {
+                barrier.await(5, TimeUnit.SECONDS);
+            }
+        };
+        environment.manage(awaitingOther);
+        environment.manage(new Managed() {
+            @Override
+            public void start() throws Exception {
+                barrier.await(5, TimeUnit.SECONDS);
+            }
+        });
+        environment.startInParallel(2);
+
+        final ContainerLifeCycle container = new ContainerLifeCycle();
+        environment.attach(container);
+        container.start();
+        container.stop();
+
+        assertThat(metricRegistry.getGauges().keySet()).containsOnly(
+            "io.dropwizard.lifecycle.setup.LifecycleEnvironment.startup.io.dropwizard.lifecycle.setup.LifecycleEnvironmentTest$1",
+            "io.dropwizard.lifecycle.setup.LifecycleEnvironment.startup.io.dropwizard.lifecycle.setup.LifecycleEnvironmentTest$2",
+            "io.dropwizard.lifecycle.setup.LifecycleEnvironment.startup.total");
+    }
+
+    @Test
+    void startsManagedObjectsInParallelAfterTheirDependencies() throws Exception {
+        final Managed cache = recording("cache");
+        final Managed database = recording("database");
+        final Managed queue = recording("queue");
+        environment.manage(cache, database, queue);
+        environment.manage(database);
+        environment.manage(queue);
+        environment.startInParallel(4);
+
+        final ContainerLifeCycle container = new ContainerLifeCycle();
+        environment.attach(container);
+        container.start();
+        assertThat(events).hasSize(3).endsWith("start cache");
+        container.stop();
+
+        assertThat(events.subList(3, 6)).hasSize(3).startsWith("stop cache");
+    }
+
+    @Test
+    void doesNotStartTheDependentsOfManagedObjectsWhichFailToStart() throws Exception {
+        final Managed database = new Managed() {
+            @Override
+            public void start() {
+                throw new IllegalStateException("The database is down");
+            }
+
+            @Override
+            public void stop() {
+                events.add("stop database");
+            }
+        };
+        environment.manage(recording("cache"), database);
+        environment.manage(database);
+        environment.manage(recording("queue"));
+        environment.startInParallel(4);
+
+        final ContainerLifeCycle container = new ContainerLifeCycle();
+        environment.attach(container);
+        assertThatIllegalStateException()
+            .isThrownBy(container::start)
+            .withMessage("The database is down");
+        container.stop();
+
+        assertThat(events).containsExactly("start queue", "stop queue");
+    }
+
+    @Test
+    void notifiesStartedManagedObjectsOfCheckpointsInReverseOrder() throws Exception {
+        final Managed cache = recording("cache");
+        final Managed database = recording("database");
+        environment.manage(cache, database);
+        environment.manage(database);
+
+        final ContainerLifeCycle container = new ContainerLifeCycle();
+        environment.attach(container);
+        container.start();
+        events.clear();
+
+        environment.beforeCheckpoint();
+        environment.afterRestore();
+        container.stop();
+        environment.beforeCheckpoint();
+
+        assertThat(events).containsExactly("checkpoint cache", "checkpoint database", "restore database",
+            "restore cache", "stop cache", "stop database");
+    }
+
+    @Test
+    void notifiesAllManagedObjectsOfCheckpointsIfOneFails() throws Exception {
+        environment.manage(recording("cache"));
+        environment.manage(new Managed() {
+            @Override
+            public void beforeCheckpoint() {
+                throw new IllegalStateException("The connection is busy");
+            }
+        });
+
+        final ContainerLifeCycle container = new ContainerLifeCycle();
+        environment.attach(container);
+        container.start();
+        events.clear();
+
+        assertThatIllegalStateException()
+            .isThrownBy(environment::beforeCheckpoint)
+            .withMessage("The connection is busy");
+        container.stop();
+
+        assertThat(events).containsExactly("checkpoint cache", "stop cache");
+    }
+
+    private Managed recording(String name) {
+        return new Managed() {
+            @Override
+            public void start() {
+                events.add("start " + name);
+            }
+
+            @Override
+            public void stop() {
+                events.add("stop " + name);
+            }
+
+            @Override
+            public void beforeCheckpoint() {
+                events.add("checkpoint " + name);
+            }
+
+            @Override
+            public void afterRestore() {
+                events.add("restore " + name);
+            }
+
+            @Override
+            public String toString() {
+                return name;
+            }
+        };
+    }
+
     @Test
     void scheduledExecutorServiceBuildsDaemonThreads() {
         final ScheduledExecutorService executorService = environment.scheduledExecutorService("daemon-%d", true).build();
@@ -165,6 +165,36 @@ public class DefaultLoggingFactory implements LoggingFactory {
         configureInstrumentation(root, metricRegistry);
     }
 
+    /**
+     * Applies the levels of the root logger and of the configured loggers to the running logging system, without
+     * touching their appenders. The loggers which were configured by the previous configuration but are not configured
+     * anymore inherit their level again.
+     *
+     * @param previous the logging configuration which was applied before
+     * @since 2.1
+     */
+    public void reloadLevels(DefaultLoggingFactory previous) {
+        CHANGE_LOGGER_CONTEXT_LOCK.lock();
+        try {
+            loggerContext.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME).setLevel(toLevel(level));
+            for (String name : previous.getLoggers().keySet()) {
+                if (!loggers.containsKey(name)) {
+                    loggerContext.getLogger(name).setLevel(null);
+                }
+            }
+            for (Map.Entry<String, JsonNode> entry : loggers.entrySet()) {
+                final JsonNode jsonNode = entry.getValue();
+                if (jsonNode.isTextual() || jsonNode.isBoolean()) {
+                    loggerContext.getLogger(entry.getKey()).setLevel(toLevel(jsonNode.asText()));
+                } else if (jsonNode.isObject()) {
+                    loggerContext.getLogger(entry.getKey()).setLevel(toLevel(jsonNode.path("level").asText("INFO")));
+                }
+            }
+        } finally {
+            CHANGE_LOGGER_CONTEXT_LOCK.unlock();
+        }
+    }
+
     @Override
     public void stop() {
         // Should acquire the lock to avoid concurrent listener changes
@@ -1,5 +1,7 @@
 package io.dropwizard.logging;
 
+import io.dropwizard.util.CachingDnsResolver;
+
 import javax.annotation.Nullable;
 import javax.net.SocketFactory;
 import java.io.BufferedOutputStream;
@@ -8,6 +10,7 @@ import java.io.OutputStream;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.Socket;
+import java.net.UnknownHostException;
 
 /**
  * Represents a resilient persistent connection via TCP as an {@link OutputStream}.
@@ -22,6 +25,8 @@ public class ResilientSocketOutputStream extends ResilientOutputStreamBase {
     private final int sendBufferSize;
     private final SocketFactory socketFactory;
     @Nullable
+    private final CachingDnsResolver resolver;
+    @Nullable
     private Socket socket;
 
     /**
@@ -35,11 +40,29 @@ public class ResilientSocketOutputStream extends ResilientOutputStreamBase {
      */
     public ResilientSocketOutputStream(String host, int port, int connectionTimeoutMs, int sendBufferSize,
                                        SocketFactory socketFactory) {
+        this(host, port, connectionTimeoutMs, sendBufferSize, socketFactory, null);
+    }
+
+    /**
+     * Creates a new stream based on the socket configuration, which resolves the host through a cache.
+     *
+     * @param host                The host or an IP address of the server.
+     * @param port                The port on the server which accepts TCP connections.
+     * @param connectionTimeoutMs The timeout for establishing a new TCP connection.
+     * @param sendBufferSize      The size of the send buffer of the socket stream in bytes.
+     * @param socketFactory       The factory for customizing the client socket.
+     * @param resolver            The cache of the addresses of the host, or {@code null} to resolve the host on every
+     *                            connection attempt.
+     * @since 2.1
+     */
+    public ResilientSocketOutputStream(String host, int port, int connectionTimeoutMs, int sendBufferSize,
+                                       SocketFactory socketFactory, @Nullable CachingDnsResolver resolver) {
         this.host = host;
         this.port = port;
         this.connectionTimeoutMs = connectionTimeoutMs;
         this.sendBufferSize = sendBufferSize;
         this.socketFactory = socketFactory;
+        this.resolver = resolver;
         try {
             this.os = openNewOutputStream();
         } catch (IOException e) {
@@ -60,19 +83,40 @@ public class ResilientSocketOutputStream extends ResilientOutputStreamBase {
     }
 
     private void closeSocket() throws IOException {
-        if (socket != null && !socket.isClosed()) {
-            socket.close();
+        final Socket current = socket;
+        socket = null;
+        if (current != null && !current.isClosed()) {
+            current.close();
         }
     }
 
     @Override
     OutputStream openNewOutputStream() throws IOException {
         closeSocket();
-        socket = socketFactory.createSocket();
-        // Prevent automatic closing of the connection during periods of inactivity.
-        socket.setKeepAlive(true);
-        // Important not to cache `InetAddress` in case the host moved to a new IP address.
-        socket.connect(new InetSocketAddress(InetAddress.getByName(host), port), connectionTimeoutMs);
-        return new BufferedOutputStream(socket.getOutputStream(), sendBufferSize);
+        // Important not to cache `InetAddress` in case the host moved to a new IP address. The resolver refreshes
+        // the addresses it caches, so that reconnecting does not wait for DNS. Only the addresses it returns are
+        // tried in turn, without it the first address of the host is used.
+        final InetAddress[] addresses = resolver == null
+            ? new InetAddress[]{InetAddress.getByName(host)} : resolver.resolve(host);
+        IOException failure = null;
+        for (InetAddress address : addresses) {
+            final Socket candidate = socketFactory.createSocket();
+            try {
+                // Prevent automatic closing of the connection during periods of inactivity.
+                candidate.setKeepAlive(true);
+                candidate.connect(new InetSocketAddress(address, port), connectionTimeoutMs);
+                socket = candidate;
+                return new BufferedOutputStream(candidate.getOutputStream(), sendBufferSize);
+            } catch (IOException e) {
+                // Fail over to the next address of the host
+                candidate.close();
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        throw failure != null ? failure : new UnknownHostException(host);
     }
 }
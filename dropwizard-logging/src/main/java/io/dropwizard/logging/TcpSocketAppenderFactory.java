@@ -6,12 +6,15 @@ import ch.qos.logback.core.spi.DeferredProcessingAware;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import io.dropwizard.logging.socket.DropwizardSocketAppender;
+import io.dropwizard.util.CachingDnsResolver;
 import io.dropwizard.util.Duration;
 import io.dropwizard.util.DataSize;
 import io.dropwizard.validation.MinDataSize;
+import io.dropwizard.validation.MinDuration;
 import io.dropwizard.validation.PortRange;
 import javax.validation.constraints.NotEmpty;
 
+import javax.annotation.Nullable;
 import javax.net.SocketFactory;
 import javax.validation.constraints.NotNull;
 
@@ -51,6 +54,19 @@ import javax.validation.constraints.NotNull;
  * <td>8KiB</td>
  * <td>The buffer size of the underlying SocketAppender. Takes into effect if immediateFlush is disabled.</td>
  * </tr>
+ * <tr>
+ * <td>{@code dnsCacheTtl}</td>
+ * <td>(none)</td>
+ * <td>If set, the host name is resolved through a cache, which serves the addresses for this time and afterwards
+ * refreshes them in the background, so that logging never waits for DNS once the host has been resolved. By default,
+ * every connection attempt resolves the host name through the JVM.</td>
+ * </tr>
+ * <tr>
+ * <td>{@code dnsMaxStale}</td>
+ * <td>{@code 5 minutes}</td>
+ * <td>The time after {@code dnsCacheTtl} for which cached addresses are still served while they are refreshed.
+ * Cached addresses are served regardless of their age if the host name cannot be resolved.</td>
+ * </tr>
  * </table>
  */
 @JsonTypeName("tcp")
@@ -70,6 +86,14 @@ public class TcpSocketAppenderFactory<E extends DeferredProcessingAware> extends
     @MinDataSize(1)
     private DataSize sendBufferSize = DataSize.kibibytes(8);
 
+    @Nullable
+    @MinDuration(0)
+    private Duration dnsCacheTtl;
+
+    @NotNull
+    @MinDuration(0)
+    private Duration dnsMaxStale = Duration.minutes(5);
+
     @JsonProperty
     public String getHost() {
         return host;
@@ -120,10 +144,53 @@ public class TcpSocketAppenderFactory<E extends DeferredProcessingAware> extends
         this.sendBufferSize = sendBufferSize;
     }
 
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    @Nullable
+    public Duration getDnsCacheTtl() {
+        return dnsCacheTtl;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setDnsCacheTtl(@Nullable Duration dnsCacheTtl) {
+        this.dnsCacheTtl = dnsCacheTtl;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public Duration getDnsMaxStale() {
+        return dnsMaxStale;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setDnsMaxStale(Duration dnsMaxStale) {
+        this.dnsMaxStale = dnsMaxStale;
+    }
+
+    /**
+     * Creates the resolver of the host name, if DNS caching is enabled.
+     *
+     * @since 2.1
+     */
+    @Nullable
+    protected CachingDnsResolver dnsResolver() {
+        return dnsCacheTtl == null ? null : new CachingDnsResolver(dnsCacheTtl, dnsMaxStale);
+    }
+
     @Override
     protected OutputStreamAppender<E> appender(LoggerContext context) {
         final OutputStreamAppender<E> appender = new DropwizardSocketAppender<>(host, port,
-            (int) connectionTimeout.toMilliseconds(), (int) sendBufferSize.toBytes(), socketFactory());
+            (int) connectionTimeout.toMilliseconds(), (int) sendBufferSize.toBytes(), socketFactory(), dnsResolver());
         appender.setContext(context);
         appender.setName("tcp-socket-appender");
         appender.setImmediateFlush(immediateFlush);
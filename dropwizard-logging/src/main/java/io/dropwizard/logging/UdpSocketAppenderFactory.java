@@ -6,9 +6,15 @@ import ch.qos.logback.core.spi.DeferredProcessingAware;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import io.dropwizard.logging.socket.DropwizardUdpSocketAppender;
+import io.dropwizard.util.CachingDnsResolver;
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.MinDuration;
 import io.dropwizard.validation.PortRange;
 import javax.validation.constraints.NotEmpty;
 
+import javax.annotation.Nullable;
+import javax.validation.constraints.NotNull;
+
 /**
  * An {@link AppenderFactory} implementation which provides an appender that writes events to an UDP socket.
  * <p/>
@@ -29,6 +35,19 @@ import javax.validation.constraints.NotEmpty;
  * <td>{@code 514}</td>
  * <td>The port on which the UDP server is listening.</td>
  * </tr>
+ * <tr>
+ * <td>{@code dnsCacheTtl}</td>
+ * <td>(none)</td>
+ * <td>If set, the host name is resolved through a cache, which serves the addresses for this time and afterwards
+ * refreshes them in the background, so that logging never waits for DNS once the host has been resolved. By default,
+ * every datagram resolves the host name through the JVM.</td>
+ * </tr>
+ * <tr>
+ * <td>{@code dnsMaxStale}</td>
+ * <td>{@code 5 minutes}</td>
+ * <td>The time after {@code dnsCacheTtl} for which cached addresses are still served while they are refreshed.
+ * Cached addresses are served regardless of their age if the host name cannot be resolved.</td>
+ * </tr>
  * </table>
  */
 @JsonTypeName("udp")
@@ -40,6 +59,14 @@ public class UdpSocketAppenderFactory<E extends DeferredProcessingAware> extends
     @PortRange
     private int port = 514;
 
+    @Nullable
+    @MinDuration(0)
+    private Duration dnsCacheTtl;
+
+    @NotNull
+    @MinDuration(0)
+    private Duration dnsMaxStale = Duration.minutes(5);
+
     @JsonProperty
     public String getHost() {
         return host;
@@ -60,9 +87,52 @@ public class UdpSocketAppenderFactory<E extends DeferredProcessingAware> extends
         this.port = port;
     }
 
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    @Nullable
+    public Duration getDnsCacheTtl() {
+        return dnsCacheTtl;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setDnsCacheTtl(@Nullable Duration dnsCacheTtl) {
+        this.dnsCacheTtl = dnsCacheTtl;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public Duration getDnsMaxStale() {
+        return dnsMaxStale;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setDnsMaxStale(Duration dnsMaxStale) {
+        this.dnsMaxStale = dnsMaxStale;
+    }
+
+    /**
+     * Creates the resolver of the host name, if DNS caching is enabled.
+     *
+     * @since 2.1
+     */
+    @Nullable
+    protected CachingDnsResolver dnsResolver() {
+        return dnsCacheTtl == null ? null : new CachingDnsResolver(dnsCacheTtl, dnsMaxStale);
+    }
+
     @Override
     protected OutputStreamAppender<E> appender(LoggerContext context) {
-        final DropwizardUdpSocketAppender<E> appender = new DropwizardUdpSocketAppender<>(host, port);
+        final DropwizardUdpSocketAppender<E> appender = new DropwizardUdpSocketAppender<>(host, port, dnsResolver());
         appender.setContext(context);
         appender.setName("udp-socket-appender");
         return appender;
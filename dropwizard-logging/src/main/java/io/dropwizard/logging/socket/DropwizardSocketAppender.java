@@ -3,7 +3,9 @@ package io.dropwizard.logging.socket;
 import ch.qos.logback.core.OutputStreamAppender;
 import io.dropwizard.logging.ResilientSocketOutputStream;
 import ch.qos.logback.core.spi.DeferredProcessingAware;
+import io.dropwizard.util.CachingDnsResolver;
 
+import javax.annotation.Nullable;
 import javax.net.SocketFactory;
 import java.io.OutputStream;
 
@@ -17,14 +19,27 @@ public class DropwizardSocketAppender<E extends DeferredProcessingAware> extends
     private final int connectionTimeoutMs;
     private final int sendBufferSize;
     private final SocketFactory socketFactory;
+    @Nullable
+    private final CachingDnsResolver resolver;
 
     public DropwizardSocketAppender(String host, int port, int connectionTimeoutMs, int sendBufferSize,
                                     SocketFactory socketFactory) {
+        this(host, port, connectionTimeoutMs, sendBufferSize, socketFactory, null);
+    }
+
+    /**
+     * @param resolver the cache of the addresses of the host, which is closed when the appender is stopped, or
+     *                 {@code null} to resolve the host on every connection attempt
+     * @since 2.1
+     */
+    public DropwizardSocketAppender(String host, int port, int connectionTimeoutMs, int sendBufferSize,
+                                    SocketFactory socketFactory, @Nullable CachingDnsResolver resolver) {
         this.host = host;
         this.port = port;
         this.connectionTimeoutMs = connectionTimeoutMs;
         this.sendBufferSize = sendBufferSize;
         this.socketFactory = socketFactory;
+        this.resolver = resolver;
     }
 
     @Override
@@ -33,9 +48,17 @@ public class DropwizardSocketAppender<E extends DeferredProcessingAware> extends
         super.start();
     }
 
+    @Override
+    public void stop() {
+        super.stop();
+        if (resolver != null) {
+            resolver.close();
+        }
+    }
+
     protected OutputStream socketOutputStream() {
         final ResilientSocketOutputStream outputStream = new ResilientSocketOutputStream(host, port,
-            connectionTimeoutMs, sendBufferSize, socketFactory);
+            connectionTimeoutMs, sendBufferSize, socketFactory, resolver);
         outputStream.setContext(context);
         return outputStream;
     }
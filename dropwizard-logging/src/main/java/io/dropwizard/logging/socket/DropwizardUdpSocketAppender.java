@@ -2,13 +2,16 @@ package io.dropwizard.logging.socket;
 
 import ch.qos.logback.core.OutputStreamAppender;
 import ch.qos.logback.core.spi.DeferredProcessingAware;
+import io.dropwizard.util.CachingDnsResolver;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.net.DatagramPacket;
 import java.net.DatagramSocket;
 import java.net.InetAddress;
 import java.net.SocketException;
+import java.net.UnknownHostException;
 
 /**
  * Sends log events to a UDP server, a connection to which is represented as a stream.
@@ -17,10 +20,22 @@ public class DropwizardUdpSocketAppender<E extends DeferredProcessingAware> exte
 
     private final String host;
     private final int port;
+    @Nullable
+    private final CachingDnsResolver resolver;
 
     public DropwizardUdpSocketAppender(String host, int port) {
+        this(host, port, null);
+    }
+
+    /**
+     * @param resolver the cache of the addresses of the host, which is closed when the appender is stopped, or
+     *                 {@code null} to resolve the host for every datagram
+     * @since 2.1
+     */
+    public DropwizardUdpSocketAppender(String host, int port, @Nullable CachingDnsResolver resolver) {
         this.host = host;
         this.port = port;
+        this.resolver = resolver;
     }
 
     @Override
@@ -29,6 +44,14 @@ public class DropwizardUdpSocketAppender<E extends DeferredProcessingAware> exte
         super.start();
     }
 
+    @Override
+    public void stop() {
+        super.stop();
+        if (resolver != null) {
+            resolver.close();
+        }
+    }
+
     protected OutputStream datagramSocketOutputStream(String host, int port) {
         try {
             return new OutputStream() {
@@ -41,8 +64,29 @@ public class DropwizardUdpSocketAppender<E extends DeferredProcessingAware> exte
 
                 @Override
                 public void write(byte[] b, int off, int len) throws IOException {
-                    // Important not to cache InetAddress and let the JVM/OS to handle DNS caching.
-                    datagramSocket.send(new DatagramPacket(b, off, len, InetAddress.getByName(host), port));
+                    // Important not to cache InetAddress and let the JVM/OS to handle DNS caching, unless a resolver
+                    // which refreshes the addresses it caches has been configured. Only then are the other addresses
+                    // of the host tried when a send fails.
+                    if (resolver == null) {
+                        datagramSocket.send(new DatagramPacket(b, off, len, InetAddress.getByName(host), port));
+                        return;
+                    }
+                    final InetAddress[] addresses = resolver.resolve(host);
+                    IOException failure = null;
+                    for (InetAddress address : addresses) {
+                        try {
+                            datagramSocket.send(new DatagramPacket(b, off, len, address, port));
+                            return;
+                        } catch (IOException e) {
+                            // Fail over to the next address of the host
+                            if (failure == null) {
+                                failure = e;
+                            } else {
+                                failure.addSuppressed(e);
+                            }
+                        }
+                    }
+                    throw failure != null ? failure : new UnknownHostException(host);
                 }
 
                 @Override
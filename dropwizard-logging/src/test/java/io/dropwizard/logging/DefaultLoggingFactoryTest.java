@@ -173,6 +173,35 @@ class DefaultLoggingFactoryTest {
                 .as("started").matches(LifeCycle::isStarted));
     }
 
+    @Test
+    void reloadsTheLevelsOfTheLoggers() throws Exception {
+        final LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        final Logger rootLogger = loggerContext.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        final Level rootLevel = rootLogger.getLevel();
+
+        final DefaultLoggingFactory previous = new DefaultLoggingFactory();
+        previous.setLoggers(Maps.of("com.example.reloaded", TextNode.valueOf("DEBUG"),
+            "com.example.removed", TextNode.valueOf("WARN")));
+        final DefaultLoggingFactory next = new DefaultLoggingFactory();
+        next.setLevel("WARN");
+        next.setLoggers(Maps.of("com.example.reloaded", objectMapper.readTree("{\"level\": \"ERROR\"}"),
+            "com.example.added", TextNode.valueOf("TRACE")));
+        try {
+            loggerContext.getLogger("com.example.removed").setLevel(Level.WARN);
+
+            next.reloadLevels(previous);
+
+            assertThat(rootLogger.getLevel()).isEqualTo(Level.WARN);
+            assertThat(loggerContext.getLogger("com.example.reloaded").getLevel()).isEqualTo(Level.ERROR);
+            assertThat(loggerContext.getLogger("com.example.added").getLevel()).isEqualTo(Level.TRACE);
+            assertThat(loggerContext.getLogger("com.example.removed").getLevel()).isNull();
+        } finally {
+            rootLogger.setLevel(rootLevel);
+            loggerContext.getLogger("com.example.reloaded").setLevel(null);
+            loggerContext.getLogger("com.example.added").setLevel(null);
+        }
+    }
+
     @Test
     void testToStringIsImplemented() {
         assertThat(config.toString()).startsWith(
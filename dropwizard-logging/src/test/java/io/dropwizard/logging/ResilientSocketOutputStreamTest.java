@@ -1,9 +1,12 @@
 package io.dropwizard.logging;
 
+import io.dropwizard.util.CachingDnsResolver;
+import io.dropwizard.util.Duration;
 import org.junit.jupiter.api.Test;
 
 import javax.net.SocketFactory;
 import java.io.IOException;
+import java.net.InetAddress;
 import java.net.ServerSocket;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
@@ -45,6 +48,25 @@ class ResilientSocketOutputStreamTest {
         }
     }
 
+    @Test
+    void testFailsOverToTheNextAddress() throws Exception {
+        final InetAddress[] addresses = {InetAddress.getByName("127.0.0.2"), InetAddress.getByName("127.0.0.1")};
+        try (ServerSocket ss = new ServerSocket(0, 50, InetAddress.getByName("127.0.0.1"));
+             TcpServer tcpServer = new TcpServer(ss);
+             CachingDnsResolver resolver = new CachingDnsResolver(Duration.minutes(1), Duration.minutes(5),
+                 Runnable::run, host -> addresses);
+             ResilientSocketOutputStream resilientSocketOutputStream = new ResilientSocketOutputStream("logs.example",
+                 ss.getLocalPort(), 500, 1024, SocketFactory.getDefault(), resolver)) {
+            Future<List<String>> receivedMessages = tcpServer.receive();
+            resilientSocketOutputStream.write("Test message".getBytes(StandardCharsets.UTF_8));
+            resilientSocketOutputStream.close();
+
+            assertThat(receivedMessages.get(5, TimeUnit.SECONDS))
+                .singleElement()
+                .isEqualTo("Test message");
+        }
+    }
+
     @Test
     void testGetDescription() throws IOException {
         try (ServerSocket ss = new ServerSocket(0); ResilientSocketOutputStream resilientSocketOutputStream = new ResilientSocketOutputStream("localhost", ss.getLocalPort(),
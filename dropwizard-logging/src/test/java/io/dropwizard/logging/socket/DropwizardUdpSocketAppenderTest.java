@@ -4,6 +4,8 @@ import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.Context;
 import ch.qos.logback.core.OutputStreamAppender;
 import io.dropwizard.logging.UdpServer;
+import io.dropwizard.util.CachingDnsResolver;
+import io.dropwizard.util.Duration;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
@@ -34,4 +36,23 @@ class DropwizardUdpSocketAppenderTest {
         }
     }
 
+    @Test
+    void resolvesTheHostThroughTheResolver() throws Exception {
+        try (DatagramSocket datagramSocket = new DatagramSocket(); UdpServer udpServer = new UdpServer(datagramSocket, 2)) {
+            Future<List<String>> receivedMessages = udpServer.receive();
+            CachingDnsResolver resolver = new CachingDnsResolver(Duration.minutes(1), Duration.minutes(5));
+            OutputStreamAppender<ILoggingEvent> udpStreamAppender = new DropwizardUdpSocketAppender<>("localhost",
+                datagramSocket.getLocalPort(), resolver);
+            udpStreamAppender.setContext(Mockito.mock(Context.class));
+            udpStreamAppender.start();
+            udpStreamAppender.getOutputStream().write("First message".getBytes(UTF_8));
+            udpStreamAppender.getOutputStream().write("Second message".getBytes(UTF_8));
+
+            assertThat(receivedMessages.get(5, TimeUnit.SECONDS))
+                .containsExactly("First message", "Second message");
+            assertThat(resolver.getMisses()).isEqualTo(1);
+            assertThat(resolver.getHits()).isEqualTo(1);
+            udpStreamAppender.stop();
+        }
+    }
 }
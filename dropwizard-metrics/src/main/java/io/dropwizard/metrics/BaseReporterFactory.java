@@ -83,15 +83,6 @@ import java.util.concurrent.TimeUnit;
  */
 public abstract class BaseReporterFactory implements ReporterFactory {
 
-    private static final DefaultStringMatchingStrategy DEFAULT_STRING_MATCHING_STRATEGY =
-            new DefaultStringMatchingStrategy();
-
-    private static final RegexStringMatchingStrategy REGEX_STRING_MATCHING_STRATEGY =
-            new RegexStringMatchingStrategy();
-
-    private static final SubstringMatchingStrategy SUBSTRING_MATCHING_STRATEGY =
-        new SubstringMatchingStrategy();
-
     @NotNull
     private TimeUnit durationUnit = TimeUnit.MILLISECONDS;
 
@@ -229,13 +220,7 @@ public abstract class BaseReporterFactory implements ReporterFactory {
      */
     @JsonIgnore
     public MetricFilter getFilter() {
-        final StringMatchingStrategy stringMatchingStrategy = getUseRegexFilters() ?
-                REGEX_STRING_MATCHING_STRATEGY : (getUseSubstringMatching() ? SUBSTRING_MATCHING_STRATEGY : DEFAULT_STRING_MATCHING_STRATEGY);
-
-        // Include the metric if its name is not excluded and its name is included
-        // Where, by default, with no includes setting, all names are included.
-        return (name, metric) -> !stringMatchingStrategy.containsMatch(getExcludes(), name) &&
-                (getIncludes().isEmpty() || stringMatchingStrategy.containsMatch(getIncludes(), name));
+        return MetricFilters.filter(getIncludes(), getExcludes(), getUseRegexFilters(), getUseSubstringMatching());
     }
 
     protected Set<MetricAttribute> getDisabledAttributes() {
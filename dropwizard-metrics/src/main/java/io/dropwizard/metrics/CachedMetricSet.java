@@ -0,0 +1,90 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.CachedGauge;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricSet;
+import com.codahale.metrics.RatioGauge;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link MetricSet} which caches the values of the gauges of another set for a given time, so that reading them
+ * repeatedly, e.g. from JMX, the admin servlet and several reporters, does not query the underlying MXBeans each time.
+ * The gauges of nested sets are cached as well, ratio gauges stay {@link RatioGauge}s, and other metrics are left as
+ * is.
+ *
+ * @since 2.1
+ */
+public class CachedMetricSet implements MetricSet {
+    private final MetricSet metricSet;
+    private final long timeout;
+    private final TimeUnit timeoutUnit;
+
+    public CachedMetricSet(MetricSet metricSet, long timeout, TimeUnit timeoutUnit) {
+        this.metricSet = metricSet;
+        this.timeout = timeout;
+        this.timeoutUnit = timeoutUnit;
+    }
+
+    @Override
+    public Map<String, Metric> getMetrics() {
+        final Map<String, Metric> metrics = new HashMap<>();
+        for (Map.Entry<String, Metric> entry : metricSet.getMetrics().entrySet()) {
+            metrics.put(entry.getKey(), cached(entry.getValue(), timeout, timeoutUnit));
+        }
+        return Collections.unmodifiableMap(metrics);
+    }
+
+    /**
+     * Returns a gauge which caches the value of the given gauge for the given time.
+     *
+     * @param gauge       the gauge to cache
+     * @param timeout     the time to cache its value for
+     * @param timeoutUnit the unit of {@code timeout}
+     * @param <T>         the type of the value of the gauge
+     */
+    public static <T> Gauge<T> cached(Gauge<T> gauge, long timeout, TimeUnit timeoutUnit) {
+        return new CachedGauge<T>(timeout, timeoutUnit) {
+            @Override
+            protected T loadValue() {
+                return gauge.getValue();
+            }
+        };
+    }
+
+    /**
+     * Returns a ratio gauge which caches the value of the given ratio gauge for the given time.
+     *
+     * @param gauge       the ratio gauge to cache
+     * @param timeout     the time to cache its value for
+     * @param timeoutUnit the unit of {@code timeout}
+     */
+    public static RatioGauge cached(RatioGauge gauge, long timeout, TimeUnit timeoutUnit) {
+        // the cast selects the overload which caches any gauge
+        final Gauge<Double> values = cached((Gauge<Double>) gauge, timeout, timeoutUnit);
+        return new RatioGauge() {
+            @Override
+            protected Ratio getRatio() {
+                return Ratio.of(values.getValue(), 1);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Metric cached(Metric metric, long timeout, TimeUnit timeoutUnit) {
+        if (metric instanceof RatioGauge) {
+            return cached((RatioGauge) metric, timeout, timeoutUnit);
+        }
+        if (metric instanceof Gauge) {
+            return cached((Gauge<Object>) metric, timeout, timeoutUnit);
+        }
+        if (metric instanceof MetricSet) {
+            return new CachedMetricSet((MetricSet) metric, timeout, timeoutUnit);
+        }
+        return metric;
+    }
+}
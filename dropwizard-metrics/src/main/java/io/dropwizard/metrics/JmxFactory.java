@@ -0,0 +1,176 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.MetricFilter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * A factory for configuring how the metrics of the application are exposed as JMX MBeans.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>enabled</td>
+ *         <td>true</td>
+ *         <td>Whether the metrics are exposed via JMX at all.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>domain</td>
+ *         <td>metrics</td>
+ *         <td>The JMX domain of the MBeans.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>excludes</td>
+ *         <td>No excluded metrics.</td>
+ *         <td>Metrics to exclude from JMX, by name. Exclusion rules take precedence over inclusion rules.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>includes</td>
+ *         <td>All metrics included.</td>
+ *         <td>Metrics to include in JMX, by name. When defined, only these metrics are exposed.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>useRegexFilters</td>
+ *         <td>false</td>
+ *         <td>Indicates whether the values of the 'includes' and 'excludes' fields should be
+ *         treated as regular expressions or not.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>useSubstringMatching</td>
+ *         <td>false</td>
+ *         <td>Uses a substring matching strategy to determine whether a metric should be exposed.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>lazy</td>
+ *         <td>false</td>
+ *         <td>Whether the MBeans are only registered in the background, once the server has started, instead of
+ *         while the application starts.</td>
+ *     </tr>
+ * </table>
+ *
+ * @since 2.1
+ */
+public class JmxFactory {
+    private boolean enabled = true;
+
+    @NotEmpty
+    private String domain = "metrics";
+
+    @NotNull
+    private Set<String> excludes = Collections.emptySet();
+
+    @NotNull
+    private Set<String> includes = Collections.emptySet();
+
+    private boolean useRegexFilters = false;
+
+    private boolean useSubstringMatching = false;
+
+    private boolean lazy = false;
+
+    @JsonProperty
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @JsonProperty
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @JsonProperty
+    public String getDomain() {
+        return domain;
+    }
+
+    @JsonProperty
+    public void setDomain(String domain) {
+        this.domain = domain;
+    }
+
+    @JsonProperty
+    public Set<String> getIncludes() {
+        return includes;
+    }
+
+    @JsonProperty
+    public void setIncludes(Set<String> includes) {
+        this.includes = new HashSet<>(includes);
+    }
+
+    @JsonProperty
+    public Set<String> getExcludes() {
+        return excludes;
+    }
+
+    @JsonProperty
+    public void setExcludes(Set<String> excludes) {
+        this.excludes = new HashSet<>(excludes);
+    }
+
+    @JsonProperty
+    public boolean getUseRegexFilters() {
+        return useRegexFilters;
+    }
+
+    @JsonProperty
+    public void setUseRegexFilters(boolean useRegexFilters) {
+        this.useRegexFilters = useRegexFilters;
+    }
+
+    @JsonProperty
+    public boolean getUseSubstringMatching() {
+        return useSubstringMatching;
+    }
+
+    @JsonProperty
+    public void setUseSubstringMatching(boolean useSubstringMatching) {
+        this.useSubstringMatching = useSubstringMatching;
+    }
+
+    @JsonProperty
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    @JsonProperty
+    public void setLazy(boolean lazy) {
+        this.lazy = lazy;
+    }
+
+    /**
+     * Gets a {@link MetricFilter} which selects the metrics to expose via JMX, in the same way as
+     * {@link BaseReporterFactory#getFilter()} selects the metrics to report.
+     *
+     * @return the filter for selecting metrics based on the configured excludes/includes.
+     */
+    @JsonIgnore
+    public MetricFilter getFilter() {
+        return MetricFilters.filter(getIncludes(), getExcludes(), getUseRegexFilters(), getUseSubstringMatching());
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", JmxFactory.class.getSimpleName() + "[", "]")
+            .add("enabled=" + enabled)
+            .add("domain=" + domain)
+            .add("excludes=" + excludes)
+            .add("includes=" + includes)
+            .add("useRegexFilters=" + useRegexFilters)
+            .add("useSubstringMatching=" + useSubstringMatching)
+            .add("lazy=" + lazy)
+            .toString();
+    }
+}
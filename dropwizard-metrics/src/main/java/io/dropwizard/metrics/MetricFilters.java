@@ -0,0 +1,44 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.MetricFilter;
+
+import java.util.Set;
+
+/**
+ * Builds the {@link MetricFilter}s which select metrics by name from configured includes and excludes, as used by
+ * {@link BaseReporterFactory} and {@link JmxFactory}.
+ */
+final class MetricFilters {
+    private static final DefaultStringMatchingStrategy DEFAULT_STRING_MATCHING_STRATEGY =
+            new DefaultStringMatchingStrategy();
+
+    private static final RegexStringMatchingStrategy REGEX_STRING_MATCHING_STRATEGY =
+            new RegexStringMatchingStrategy();
+
+    private static final SubstringMatchingStrategy SUBSTRING_MATCHING_STRATEGY =
+        new SubstringMatchingStrategy();
+
+    private MetricFilters() {
+    }
+
+    /**
+     * Gets a {@link MetricFilter} which includes a metric if its name is not excluded and is included, where all
+     * names are included if there are no includes.
+     *
+     * @param includes             the names, or expressions, of the metrics to include
+     * @param excludes             the names, or expressions, of the metrics to exclude
+     * @param useRegexFilters      whether the includes and excludes are regular expressions
+     * @param useSubstringMatching whether the includes and excludes match any name containing them
+     * @return the filter for selecting metrics based on the excludes/includes.
+     */
+    static MetricFilter filter(Set<String> includes, Set<String> excludes, boolean useRegexFilters,
+                               boolean useSubstringMatching) {
+        final StringMatchingStrategy stringMatchingStrategy = useRegexFilters ?
+                REGEX_STRING_MATCHING_STRATEGY : (useSubstringMatching ? SUBSTRING_MATCHING_STRATEGY : DEFAULT_STRING_MATCHING_STRATEGY);
+
+        // Include the metric if its name is not excluded and its name is included
+        // Where, by default, with no includes setting, all names are included.
+        return (name, metric) -> !stringMatchingStrategy.containsMatch(excludes, name) &&
+                (includes.isEmpty() || stringMatchingStrategy.containsMatch(includes, name));
+    }
+}
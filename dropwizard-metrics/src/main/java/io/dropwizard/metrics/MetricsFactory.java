@@ -41,6 +41,11 @@ import java.util.List;
  *         <td>{@code false}</td>
  *         <td>To report metrics one last time when stopping Dropwizard.</td>
  *     </tr>
+ *     <tr>
+ *         <td>jmx</td>
+ *         <td>All metrics, registered while starting.</td>
+ *         <td>How the metrics are exposed via JMX. See {@link JmxFactory}.</td>
+ *     </tr>
  * </table>
  */
 public class MetricsFactory {
@@ -56,6 +61,10 @@ public class MetricsFactory {
 
     private boolean reportOnStop = false;
 
+    @Valid
+    @NotNull
+    private JmxFactory jmx = new JmxFactory();
+
     @JsonProperty
     public List<ReporterFactory> getReporters() {
         return reporters;
@@ -92,6 +101,22 @@ public class MetricsFactory {
         this.reportOnStop = reportOnStop;
     }
 
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public JmxFactory getJmx() {
+        return jmx;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setJmx(JmxFactory jmx) {
+        this.jmx = jmx;
+    }
+
     /**
      * Configures the given lifecycle with the {@link com.codahale.metrics.ScheduledReporter
      * reporters} configured for the given registry.
@@ -105,21 +130,36 @@ public class MetricsFactory {
      * @param registry the metric registry to report metrics from.
      */
     public void configure(LifecycleEnvironment environment, MetricRegistry registry) {
+        for (ScheduledReporterManager manager : build(registry)) {
+            environment.manage(manager);
+        }
+    }
+
+    /**
+     * Builds the {@link com.codahale.metrics.ScheduledReporter reporters} configured for the given
+     * registry, without starting them. Reporters which cannot be built are skipped.
+     *
+     * @param registry the metric registry to report metrics from.
+     * @return the managers of the reporters, which start reporting when they are started.
+     * @since 2.1
+     */
+    public List<ScheduledReporterManager> build(MetricRegistry registry) {
+        final List<ScheduledReporterManager> managers = new ArrayList<>();
         for (ReporterFactory reporter : reporters) {
             try {
-                final ScheduledReporterManager manager =
-                        new ScheduledReporterManager(reporter.build(registry),
-                                                     reporter.getFrequency().orElseGet(this::getFrequency),
-                                                     isReportOnStop());
-                environment.manage(manager);
+                managers.add(new ScheduledReporterManager(reporter.build(registry),
+                                                          reporter.getFrequency().orElseGet(this::getFrequency),
+                                                          isReportOnStop()));
             } catch (Exception e) {
                 LOGGER.warn("Failed to create reporter, metrics may not be properly reported.", e);
             }
         }
+        return managers;
     }
 
     @Override
     public String toString() {
-        return "MetricsFactory{frequency=" + frequency + ", reporters=" + reporters + ", reportOnStop=" + reportOnStop + '}';
+        return "MetricsFactory{frequency=" + frequency + ", reporters=" + reporters + ", reportOnStop=" + reportOnStop +
+            ", jmx=" + jmx + '}';
     }
 }
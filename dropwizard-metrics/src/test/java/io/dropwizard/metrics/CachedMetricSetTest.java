@@ -0,0 +1,71 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.MetricSet;
+import com.codahale.metrics.RatioGauge;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Objects.requireNonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachedMetricSetTest {
+    private final AtomicInteger reads = new AtomicInteger();
+    private final Gauge<Integer> gauge = reads::incrementAndGet;
+    private final Counter counter = new Counter();
+
+    @Test
+    void cachesTheValuesOfTheGauges() {
+        final MetricRegistry registry = new MetricRegistry();
+        registry.register("set", new CachedMetricSet(metricSet(), 1, TimeUnit.MINUTES));
+
+        assertThat(requireNonNull(registry.getGauges().get("set.gauge")).getValue()).isEqualTo(1);
+        assertThat(requireNonNull(registry.getGauges().get("set.gauge")).getValue()).isEqualTo(1);
+        assertThat(requireNonNull(registry.getGauges().get("set.nested.gauge")).getValue()).isEqualTo(2);
+        assertThat(requireNonNull(registry.getGauges().get("set.nested.gauge")).getValue()).isEqualTo(2);
+        assertThat(registry.getCounters().get("set.counter")).isSameAs(counter);
+    }
+
+    @Test
+    void reloadsTheValuesOnceTheyTimedOut() {
+        final Gauge<Integer> cached = CachedMetricSet.cached(gauge, 0, TimeUnit.MILLISECONDS);
+
+        assertThat(cached.getValue()).isEqualTo(1);
+        assertThat(cached.getValue()).isEqualTo(2);
+    }
+
+    @Test
+    void keepsRatioGaugesRatioGauges() {
+        final RatioGauge ratio = new RatioGauge() {
+            @Override
+            protected Ratio getRatio() {
+                return Ratio.of(reads.incrementAndGet(), 4);
+            }
+        };
+        final MetricRegistry registry = new MetricRegistry();
+        registry.register("set", new CachedMetricSet(() -> Collections.singletonMap("ratio", ratio), 1,
+            TimeUnit.MINUTES));
+
+        assertThat(registry.getGauges().get("set.ratio"))
+            .isInstanceOfSatisfying(RatioGauge.class, cached -> {
+                assertThat(cached.getValue()).isEqualTo(0.25);
+                assertThat(cached.getValue()).isEqualTo(0.25);
+            });
+    }
+
+    private MetricSet metricSet() {
+        final Map<String, Metric> metrics = new HashMap<>();
+        metrics.put("gauge", gauge);
+        metrics.put("counter", counter);
+        metrics.put("nested", (MetricSet) () -> Collections.singletonMap("gauge", gauge));
+        return () -> metrics;
+    }
+}
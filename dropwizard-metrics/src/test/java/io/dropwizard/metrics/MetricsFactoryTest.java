@@ -67,6 +67,17 @@ class MetricsFactoryTest {
                 .satisfies(factory -> assertThat(factory.getExcludesAttributes()).isEmpty()));
     }
 
+    @Test
+    void canReadTheJmxConfiguration() {
+        final JmxFactory jmx = config.getJmx();
+        assertThat(jmx.isEnabled()).isTrue();
+        assertThat(jmx.getDomain()).isEqualTo("app");
+        assertThat(jmx.isLazy()).isTrue();
+        assertThat(jmx.getFilter().matches("io.dropwizard.jetty.MutableServletContextHandler.requests", null))
+            .isFalse();
+        assertThat(jmx.getFilter().matches("jvm.memory.heap.used", null)).isTrue();
+    }
+
     @Test
     void reportOnStopFalseByDefault() {
         assertThat(config.isReportOnStop()).isFalse();
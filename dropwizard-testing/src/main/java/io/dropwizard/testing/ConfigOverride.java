@@ -40,11 +40,11 @@ public abstract class ConfigOverride {
     static final String DEFAULT_PREFIX = "dw.";
 
     public static ConfigOverride config(String key, String value) {
-        return new ConfigOverrideValue(DEFAULT_PREFIX, key, () -> value);
+        return new ConfigOverrideValue(DEFAULT_PREFIX, key, value);
     }
 
     public static ConfigOverride config(String propertyPrefix, String key, String value) {
-        return new ConfigOverrideValue(propertyPrefix, key, () -> value);
+        return new ConfigOverrideValue(propertyPrefix, key, value);
     }
 
     public static ConfigOverride config(String key, Supplier<String> value) {
@@ -66,4 +66,12 @@ public abstract class ConfigOverride {
     public abstract void addToSystemProperties();
 
     public abstract void removeFromSystemProperties();
+
+    /**
+     * Returns the part of the {@link DropwizardTestSupport#getSharingKey() sharing key} of a test support which
+     * identifies this override. By default, an override is only equal to itself.
+     */
+    Object getSharingKeyPart() {
+        return SharingKey.identity(getClass().getName(), this);
+    }
 }
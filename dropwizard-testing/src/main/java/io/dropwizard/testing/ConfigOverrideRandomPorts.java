@@ -46,4 +46,15 @@ public class ConfigOverrideRandomPorts extends ConfigOverride {
             System.clearProperty(propertyPrefix + SERVER_ADMIN_CONNECTORS_PORT);
         }
     }
+
+    @Override
+    Object getSharingKeyPart() {
+        return toString();
+    }
+
+    @Override
+    public String toString() {
+        return propertyPrefix + SERVER_APPLICATION_CONNECTORS_PORT + "=0, "
+            + propertyPrefix + SERVER_ADMIN_CONNECTORS_PORT + "=0";
+    }
 }
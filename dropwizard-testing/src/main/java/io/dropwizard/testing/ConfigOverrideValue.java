@@ -7,13 +7,24 @@ public class ConfigOverrideValue extends ConfigOverride {
 
     private final String key;
     private final Supplier<String> value;
+    @Nullable
+    private final String constant;
     private final String propertyPrefix;
     @Nullable
     private String originalValue = null;
 
+    ConfigOverrideValue(String propertyPrefix, String key, String value) {
+        this(propertyPrefix, key, () -> value, value);
+    }
+
     ConfigOverrideValue(String propertyPrefix, String key, Supplier<String> value) {
+        this(propertyPrefix, key, value, null);
+    }
+
+    private ConfigOverrideValue(String propertyPrefix, String key, Supplier<String> value, @Nullable String constant) {
         this.key = key;
         this.value = value;
+        this.constant = constant;
         this.propertyPrefix = propertyPrefix.endsWith(".") ? propertyPrefix : propertyPrefix + ".";
     }
 
@@ -30,4 +41,20 @@ public class ConfigOverrideValue extends ConfigOverride {
             System.clearProperty(propertyPrefix + key);
         }
     }
+
+    /**
+     * A constant override is identified by its value, while an override with a supplier is identified by the
+     * supplier itself, which is not called.
+     */
+    @Override
+    Object getSharingKeyPart() {
+        return constant != null
+            ? propertyPrefix + key + "=" + constant
+            : SharingKey.identity(propertyPrefix + key, value);
+    }
+
+    @Override
+    public String toString() {
+        return propertyPrefix + key + "=" + value.get();
+    }
 }
@@ -9,15 +9,21 @@ import io.dropwizard.cli.EnvironmentCommand;
 import io.dropwizard.cli.ServerCommand;
 import io.dropwizard.configuration.ConfigurationSourceProvider;
 import io.dropwizard.configuration.YamlConfigurationFactory;
+import io.dropwizard.jetty.ConnectorFactory;
+import io.dropwizard.jetty.LocalConnectorFactory;
 import io.dropwizard.lifecycle.Managed;
 import io.dropwizard.logging.LoggingUtil;
+import io.dropwizard.server.DefaultServerFactory;
+import io.dropwizard.server.ServerFactory;
+import io.dropwizard.server.SimpleServerFactory;
 import io.dropwizard.setup.Bootstrap;
 import io.dropwizard.setup.Environment;
 import io.dropwizard.util.Sets;
 import net.sourceforge.argparse4j.inf.Namespace;
 import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.LocalConnector;
+import org.eclipse.jetty.server.NetworkConnector;
 import org.eclipse.jetty.server.Server;
-import org.eclipse.jetty.server.ServerConnector;
 import org.slf4j.Logger;
 
 import javax.annotation.Nullable;
@@ -25,6 +31,7 @@ import javax.validation.constraints.NotNull;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -74,6 +81,7 @@ public class DropwizardTestSupport<C extends Configuration> {
     @Nullable
     protected Server jettyServer;
     protected List<ServiceListener<C>> listeners = new ArrayList<>();
+    protected boolean localConnectors;
 
     public DropwizardTestSupport(Class<? extends Application<C>> applicationClass,
                                  @Nullable String configPath,
@@ -220,6 +228,34 @@ public class DropwizardTestSupport<C extends Configuration> {
         });
     }
 
+    /**
+     * Replaces the connectors of the server of the application with Jetty {@link LocalConnector local connectors},
+     * which handle requests in process, through the same handlers as the network connectors, but without sockets or
+     * ports. Send requests to them with a client using a {@link LocalConnectorProvider}, or with
+     * {@link LocalConnector#getResponse(String)}.
+     * <p>
+     * Each local connector has the HTTP settings of the connector it replaces, see
+     * {@link LocalConnectorFactory#of(ConnectorFactory)}. Starting the application fails if one of its connectors is
+     * not an HTTP connector.
+     * </p>
+     *
+     * @return this test support
+     * @since 2.1
+     */
+    public DropwizardTestSupport<C> useLocalConnectors() {
+        this.localConnectors = true;
+        return this;
+    }
+
+    /**
+     * Returns whether the server of the application uses local connectors.
+     *
+     * @since 2.1
+     */
+    public boolean isUsingLocalConnectors() {
+        return localConnectors;
+    }
+
     public void before() throws Exception {
         applyConfigOverrides();
         try {
@@ -274,10 +310,54 @@ public class DropwizardTestSupport<C extends Configuration> {
         configOverrides.forEach(ConfigOverride::addToSystemProperties);
     }
 
-    private void resetConfigOverrides() {
+    void resetConfigOverrides() {
         configOverrides.forEach(ConfigOverride::removeFromSystemProperties);
     }
 
+    /**
+     * Returns the key under which the application is shared between test classes by {@link SharedApplications}.
+     * Test supports of the same application class, with the same configuration and config overrides, have equal
+     * keys. An explicit configuration object, and a config override whose value comes from a supplier, are compared
+     * by identity, and the supplier is not called. The command instantiator is not part of the key.
+     *
+     * @return an opaque key, whose {@link Object#toString()} describes the application
+     * @since 2.1
+     */
+    public Object getSharingKey() {
+        final SharingKey key = new SharingKey(applicationClass.getName());
+        if (explicitConfig) {
+            key.add(SharingKey.identity("configuration", requireNonNull(configuration)));
+        } else {
+            key.add("configPath=" + configPath);
+            if (configSourceProvider != null) {
+                key.add("configSourceProvider=" + configSourceProvider.getClass().getName());
+            }
+            if (customPropertyPrefix != null) {
+                key.add("customPropertyPrefix=" + customPropertyPrefix);
+            }
+        }
+        if (localConnectors) {
+            key.add("localConnectors");
+        }
+        configOverrides.stream()
+            .map(ConfigOverride::getSharingKeyPart)
+            .sorted(Comparator.comparing(Object::toString))
+            .forEach(key::add);
+        return key;
+    }
+
+    /**
+     * Notifies the listeners of this test support that the given running application is reused by the test class of
+     * this test support.
+     *
+     * @param running the test support which runs the shared application
+     */
+    void reset(DropwizardTestSupport<C> running) throws Exception {
+        for (ServiceListener<C> listener : listeners) {
+            listener.onReset(running);
+        }
+    }
+
     private void startIfRequired() throws Exception {
         if (jettyServer != null) {
             return;
@@ -289,6 +369,9 @@ public class DropwizardTestSupport<C extends Configuration> {
             @Override
             public void run(C configuration, Environment environment) throws Exception {
                 environment.lifecycle().addServerLifecycleListener(server -> jettyServer = server);
+                if (localConnectors) {
+                    useLocalConnectors(configuration.getServerFactory());
+                }
                 super.run(configuration, environment);
                 for (ServiceListener<C> listener : listeners) {
                     try {
@@ -347,11 +430,53 @@ public class DropwizardTestSupport<C extends Configuration> {
 
     public int getAdminPort() {
         final Connector[] connectors = requireNonNull(jettyServer, "jettyServer").getConnectors();
-        return ((ServerConnector) connectors[connectors.length - 1]).getLocalPort();
+        return getPort(connectors.length - 1);
     }
 
     public int getPort(int connectorIndex) {
-        return ((ServerConnector) requireNonNull(jettyServer, "jettyServer").getConnectors()[connectorIndex]).getLocalPort();
+        final Connector connector = requireNonNull(jettyServer, "jettyServer").getConnectors()[connectorIndex];
+        if (!(connector instanceof NetworkConnector)) {
+            throw new IllegalStateException("The connector " + connector.getName() + " does not listen on a port");
+        }
+        return ((NetworkConnector) connector).getLocalPort();
+    }
+
+    /**
+     * Returns the local connectors of the server of the application, in the order of its connectors.
+     *
+     * @see #useLocalConnectors()
+     * @since 2.1
+     */
+    public List<LocalConnector> getLocalConnectors() {
+        final List<LocalConnector> connectors = new ArrayList<>();
+        for (Connector connector : requireNonNull(jettyServer, "jettyServer").getConnectors()) {
+            if (connector instanceof LocalConnector) {
+                connectors.add((LocalConnector) connector);
+            }
+        }
+        return connectors;
+    }
+
+    private static void useLocalConnectors(ServerFactory serverFactory) {
+        if (serverFactory instanceof DefaultServerFactory) {
+            final DefaultServerFactory defaultServerFactory = (DefaultServerFactory) serverFactory;
+            defaultServerFactory.setApplicationConnectors(
+                localConnectorFactories(defaultServerFactory.getApplicationConnectors()));
+            defaultServerFactory.setAdminConnectors(localConnectorFactories(defaultServerFactory.getAdminConnectors()));
+        } else if (serverFactory instanceof SimpleServerFactory) {
+            final SimpleServerFactory simpleServerFactory = (SimpleServerFactory) serverFactory;
+            simpleServerFactory.setConnector(LocalConnectorFactory.of(simpleServerFactory.getConnector()));
+        } else {
+            throw new IllegalStateException("Unable to use local connectors with " + serverFactory.getClass().getName());
+        }
+    }
+
+    private static List<ConnectorFactory> localConnectorFactories(List<ConnectorFactory> connectorFactories) {
+        final List<ConnectorFactory> localConnectorFactories = new ArrayList<>();
+        for (ConnectorFactory connectorFactory : connectorFactories) {
+            localConnectorFactories.add(LocalConnectorFactory.of(connectorFactory));
+        }
+        return localConnectorFactories;
     }
 
     public Application<C> newApplication() {
@@ -383,5 +508,15 @@ public class DropwizardTestSupport<C extends Configuration> {
         public void onStop(DropwizardTestSupport<T> rule) throws Exception {
             // Default NOP
         }
+
+        /**
+         * Called when the application is {@link SharedApplications shared} and about to be reused by another test
+         * class, to reset the state the previous test classes left behind.
+         *
+         * @since 2.1
+         */
+        public void onReset(DropwizardTestSupport<T> rule) throws Exception {
+            // Default NOP
+        }
     }
 }
@@ -0,0 +1,178 @@
+package io.dropwizard.testing;
+
+import org.eclipse.jetty.http.HttpField;
+import org.eclipse.jetty.http.HttpTester;
+import org.eclipse.jetty.server.LocalConnector;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.client.spi.ConnectorProvider;
+import org.glassfish.jersey.message.internal.Statuses;
+
+import javax.annotation.Nullable;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.HttpHeaders;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * A Jersey {@link ConnectorProvider} which sends the requests of a client to the Jetty {@link LocalConnector local
+ * connectors} of an application, in process, instead of over a socket. The requests still go through the whole
+ * handler stack of the application, including its filters, gzip and request log.
+ * <p>
+ * A request is sent to the connector whose name is the host of its URI, e.g. {@code http://admin/healthcheck} is sent
+ * to the {@code admin} connector of the default server, and to the first connector if no connector has that name.
+ * Asynchronous requests are sent from the {@link java.util.concurrent.ForkJoinPool#commonPool() common pool}, and a
+ * {@link ClientProperties#READ_TIMEOUT read timeout} of zero waits for the response forever.
+ * </p>
+ *
+ * @see DropwizardTestSupport#useLocalConnectors()
+ * @since 2.1
+ */
+public class LocalConnectorProvider implements ConnectorProvider {
+    private static final int DEFAULT_READ_TIMEOUT_MS = 30_000;
+
+    private final Supplier<List<LocalConnector>> connectors;
+
+    /**
+     * Creates a new provider.
+     *
+     * @param connectors the local connectors of the application, in the order of the connectors of its server
+     */
+    public LocalConnectorProvider(Supplier<List<LocalConnector>> connectors) {
+        this.connectors = connectors;
+    }
+
+    @Override
+    public Connector getConnector(Client client, Configuration runtimeConfig) {
+        return new LocalJerseyConnector();
+    }
+
+    private LocalConnector connector(URI uri) {
+        final List<LocalConnector> localConnectors = connectors.get();
+        if (localConnectors.isEmpty()) {
+            throw new ProcessingException("The application has no local connectors");
+        }
+        for (LocalConnector connector : localConnectors) {
+            if (connector.getName() != null && connector.getName().equals(uri.getHost())) {
+                return connector;
+            }
+        }
+        return localConnectors.get(0);
+    }
+
+    private class LocalJerseyConnector implements Connector {
+        @Override
+        public ClientResponse apply(ClientRequest request) {
+            try {
+                final byte[] entity = entity(request);
+                final int readTimeout = request.resolveProperty(ClientProperties.READ_TIMEOUT, DEFAULT_READ_TIMEOUT_MS);
+                final ByteBuffer rawResponse = connector(request.getUri()).getResponse(
+                    ByteBuffer.wrap(rawRequest(request, entity)),
+                    "HEAD".equals(request.getMethod()),
+                    // like the other Jersey connectors, a read timeout of zero waits forever
+                    readTimeout > 0 ? readTimeout : Long.MAX_VALUE,
+                    TimeUnit.MILLISECONDS);
+                if (rawResponse == null) {
+                    throw new ProcessingException("Timed out waiting for the response to " + request.getUri());
+                }
+                return response(request, HttpTester.parseResponse(rawResponse));
+            } catch (ProcessingException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new ProcessingException(e);
+            }
+        }
+
+        @Override
+        public Future<?> apply(ClientRequest request, AsyncConnectorCallback callback) {
+            return CompletableFuture.runAsync(() -> {
+                final ClientResponse response;
+                try {
+                    response = apply(request);
+                } catch (ProcessingException e) {
+                    callback.failure(e);
+                    return;
+                }
+                callback.response(response);
+            });
+        }
+
+        @Override
+        public String getName() {
+            return "Jetty LocalConnector";
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Nullable
+        private byte[] entity(ClientRequest request) throws IOException {
+            if (!request.hasEntity()) {
+                return null;
+            }
+            final ByteArrayOutputStream entity = new ByteArrayOutputStream();
+            request.setStreamProvider(contentLength -> entity);
+            request.writeEntity();
+            return entity.toByteArray();
+        }
+
+        private byte[] rawRequest(ClientRequest request, @Nullable byte[] entity) throws IOException {
+            final URI uri = request.getUri();
+            final StringBuilder head = new StringBuilder()
+                .append(request.getMethod()).append(' ')
+                .append(uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath())
+                .append(uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery())
+                .append(" HTTP/1.1\r\n")
+                .append("Host: ").append(uri.getPort() < 0 ? uri.getHost() : uri.getHost() + ":" + uri.getPort())
+                .append("\r\n");
+            for (Map.Entry<String, List<String>> header : request.getStringHeaders().entrySet()) {
+                // the length of the entity and the connection are set below
+                if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(header.getKey())
+                    && !"Connection".equalsIgnoreCase(header.getKey())) {
+                    for (String value : header.getValue()) {
+                        head.append(header.getKey()).append(": ").append(value).append("\r\n");
+                    }
+                }
+            }
+            if (entity != null) {
+                head.append(HttpHeaders.CONTENT_LENGTH).append(": ").append(entity.length).append("\r\n");
+            }
+            head.append("Connection: close\r\n\r\n");
+
+            final ByteArrayOutputStream rawRequest = new ByteArrayOutputStream();
+            rawRequest.write(head.toString().getBytes(StandardCharsets.ISO_8859_1));
+            if (entity != null) {
+                rawRequest.write(entity);
+            }
+            return rawRequest.toByteArray();
+        }
+
+        private ClientResponse response(ClientRequest request, HttpTester.Response rawResponse) {
+            final ClientResponse response = new ClientResponse(
+                Statuses.from(rawResponse.getStatus(), rawResponse.getReason() == null ? "" : rawResponse.getReason()),
+                request);
+            for (HttpField field : rawResponse) {
+                response.getHeaders().add(field.getName(), field.getValue());
+            }
+            final byte[] content = rawResponse.getContentBytes();
+            response.setEntityStream(new ByteArrayInputStream(content == null ? new byte[0] : content));
+            return response;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package io.dropwizard.testing;
+
+import io.dropwizard.Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A registry of applications which are started once per JVM and shared by all the test classes which test them with
+ * the same {@link DropwizardTestSupport#getSharingKey() configuration}, instead of being started and stopped for each
+ * test class.
+ * <p>
+ * A shared application is reference counted: it is started when it is first acquired, with the listeners of the
+ * test support which acquired it. If it fails to start, it is not shared, and the next test class which acquires it
+ * starts it again. When a test class acquires it again after all the previous ones released it, the
+ * {@link DropwizardTestSupport.ServiceListener#onReset(DropwizardTestSupport) reset} listeners of the test support of
+ * that test class are called with the running test support. It keeps running until {@link #stopAll()} is called, at
+ * the latest when the JVM shuts down. Acquiring and releasing are thread-safe, so test classes can run in parallel: a
+ * test class which acquires an application while it starts waits until it has started. Note that config overrides
+ * are system properties, and applications with different keys should not be started concurrently if their overrides
+ * clash.
+ * <p>
+ * Resetting an application while other test classes use it would change the state their tests see, so a test class
+ * which acquires an application in use is never reset, not even once the others release it: its reset listeners are
+ * not called, and it sees the state left by the test classes which share the application with it. Test classes which
+ * depend on a reset must not run in parallel with other test classes which share their application.
+ * </p>
+ * <p>
+ * When the applications are stopped, the time their sharing saved is logged, estimated as the time their first start
+ * took times the number of test classes which reused them.
+ * </p>
+ *
+ * @since 2.1
+ */
+public final class SharedApplications {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SharedApplications.class);
+    private static final ConcurrentMap<Object, SharedApplication<?>> APPLICATIONS = new ConcurrentHashMap<>();
+    private static final AtomicBoolean SHUTDOWN_HOOK_ADDED = new AtomicBoolean();
+
+    private SharedApplications() {
+    }
+
+    /**
+     * Acquires the application shared under the key of the given test support, starting it with the given test
+     * support if it is not running yet, or else resetting it with the listeners of the given test support if no
+     * other test class uses it. If another test class uses it, it is not reset.
+     *
+     * @param testSupport the test support of the test class
+     * @param <C>         the configuration type
+     * @return the test support which runs the shared application, which may be another instance than the given one
+     * @throws Exception if the application cannot be started or reset
+     */
+    @SuppressWarnings("unchecked")
+    public static <C extends Configuration> DropwizardTestSupport<C> acquire(DropwizardTestSupport<C> testSupport)
+        throws Exception {
+        if (SHUTDOWN_HOOK_ADDED.compareAndSet(false, true)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(SharedApplications::stopAll, "dw-shared-applications"));
+        }
+        while (true) {
+            final SharedApplication<C> application = (SharedApplication<C>) APPLICATIONS.computeIfAbsent(
+                testSupport.getSharingKey(), key -> new SharedApplication<>(key, testSupport));
+            final DropwizardTestSupport<C> acquired = application.acquire(testSupport);
+            if (acquired != null) {
+                return acquired;
+            }
+            // The application failed to start for another test class while this one waited, try to start it again
+        }
+    }
+
+    /**
+     * Releases a shared application acquired by a test class. The application keeps running, so that the next test
+     * class can reuse it.
+     *
+     * @param testSupport the test support returned by {@link #acquire(DropwizardTestSupport)}
+     */
+    public static void release(DropwizardTestSupport<?> testSupport) {
+        for (SharedApplication<?> application : APPLICATIONS.values()) {
+            if (application.testSupport == testSupport) {
+                application.release();
+            }
+        }
+    }
+
+    /**
+     * Stops all the shared applications, and logs the time their sharing saved.
+     */
+    public static void stopAll() {
+        final List<SharedApplication<?>> applications = new ArrayList<>(APPLICATIONS.values());
+        APPLICATIONS.clear();
+        long savedMillis = 0;
+        for (SharedApplication<?> application : applications) {
+            savedMillis += application.stop();
+        }
+        if (!applications.isEmpty()) {
+            LOGGER.info("Sharing {} applications saved about {} ms of startup", applications.size(), savedMillis);
+        }
+    }
+
+    private static class SharedApplication<C extends Configuration> {
+        private final Object key;
+        private final DropwizardTestSupport<C> testSupport;
+        private boolean started;
+        private boolean failed;
+        private long startupMillis;
+        private int references;
+        private int acquisitions;
+
+        SharedApplication(Object key, DropwizardTestSupport<C> testSupport) {
+            this.key = key;
+            this.testSupport = testSupport;
+        }
+
+        /**
+         * Acquires the application, or returns {@code null} if it failed to start and is no longer shared.
+         */
+        @Nullable
+        synchronized DropwizardTestSupport<C> acquire(DropwizardTestSupport<C> acquiring) throws Exception {
+            if (failed) {
+                return null;
+            }
+            if (!started) {
+                final long start = System.nanoTime();
+                try {
+                    testSupport.before();
+                } catch (Exception e) {
+                    // before() already stopped what it started, and the next test class starts a new application
+                    failed = true;
+                    APPLICATIONS.remove(key, this);
+                    throw e;
+                }
+                // the config overrides are only needed to parse the configuration
+                testSupport.resetConfigOverrides();
+                startupMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                started = true;
+            } else if (references == 0) {
+                acquiring.reset(testSupport);
+            } else {
+                LOGGER.debug("{} is used by {} test classes, so it is shared without a reset", key, references);
+            }
+            references++;
+            acquisitions++;
+            return testSupport;
+        }
+
+        synchronized void release() {
+            if (references > 0) {
+                references--;
+            }
+        }
+
+        /**
+         * Stops the application, and returns the time its sharing saved in milliseconds.
+         */
+        synchronized long stop() {
+            if (!started) {
+                return 0;
+            }
+            started = false;
+            testSupport.after();
+            final long savedMillis = startupMillis * (acquisitions - 1);
+            LOGGER.info("{} started in {} ms and was shared by {} test classes, saving about {} ms",
+                key, startupMillis, acquisitions, savedMillis);
+            return savedMillis;
+        }
+    }
+}
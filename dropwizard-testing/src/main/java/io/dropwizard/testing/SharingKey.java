@@ -0,0 +1,82 @@
+package io.dropwizard.testing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * The key under which {@link SharedApplications} shares an application. Its parts are compared by value, except
+ * for the {@link #identity(String, Object) identities}, which compare objects by identity, so that two
+ * configurations or suppliers are never mistaken for one another.
+ */
+final class SharingKey {
+    private final String name;
+    private final List<Object> parts = new ArrayList<>();
+
+    SharingKey(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns a part of a key which is only equal to the parts of the same name and object.
+     */
+    static Object identity(String name, Object object) {
+        return new Identity(name, object);
+    }
+
+    SharingKey add(Object part) {
+        parts.add(part);
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SharingKey)) {
+            return false;
+        }
+        final SharingKey that = (SharingKey) o;
+        return name.equals(that.name) && parts.equals(that.parts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, parts);
+    }
+
+    @Override
+    public String toString() {
+        final StringJoiner joiner = new StringJoiner(", ", name + "[", "]");
+        parts.forEach(part -> joiner.add(part.toString()));
+        return joiner.toString();
+    }
+
+    private static final class Identity {
+        private final String name;
+        private final Object object;
+
+        Identity(String name, Object object) {
+            this.name = name;
+            this.object = object;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Identity && ((Identity) o).name.equals(name) && ((Identity) o).object == object;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * name.hashCode() + System.identityHashCode(object);
+        }
+
+        @Override
+        public String toString() {
+            return name + "=" + object.getClass().getName() + "@"
+                + Integer.toHexString(System.identityHashCode(object));
+        }
+    }
+}
@@ -11,6 +11,8 @@ import io.dropwizard.lifecycle.Managed;
 import io.dropwizard.setup.Environment;
 import io.dropwizard.testing.ConfigOverride;
 import io.dropwizard.testing.DropwizardTestSupport;
+import io.dropwizard.testing.LocalConnectorProvider;
+import io.dropwizard.testing.SharedApplications;
 import org.glassfish.jersey.client.ClientProperties;
 import org.glassfish.jersey.client.HttpUrlConnectorProvider;
 import org.glassfish.jersey.client.JerseyClientBuilder;
@@ -46,6 +48,10 @@ public class DropwizardAppExtension<C extends Configuration> implements Dropwiza
 
     private final AtomicInteger recursiveCallCount = new AtomicInteger(0);
 
+    private boolean shared;
+    @Nullable
+    private DropwizardTestSupport<C> sharedTestSupport;
+
     @Nullable
     private Client client;
 
@@ -166,10 +172,47 @@ public class DropwizardAppExtension<C extends Configuration> implements Dropwiza
             public void onStop(DropwizardTestSupport<C> rule) throws Exception {
                 listener.onStop(DropwizardAppExtension.this);
             }
+
+            @Override
+            public void onReset(DropwizardTestSupport<C> rule) throws Exception {
+                // the shared application is reset before acquire() returns it
+                sharedTestSupport = rule;
+                listener.onReset(DropwizardAppExtension.this);
+            }
         });
         return this;
     }
 
+    /**
+     * Shares the application with the other test classes which use a shared extension with the same configuration,
+     * instead of starting and stopping it for this test class. The application is started once per JVM, by the first
+     * of these test classes, with its listeners and command; the listeners of the others are only {@link
+     * ServiceListener#onReset(DropwizardAppExtension) reset}.
+     *
+     * @return this extension
+     * @see SharedApplications
+     * @since 2.1
+     */
+    public DropwizardAppExtension<C> shared() {
+        this.shared = true;
+        return this;
+    }
+
+    /**
+     * Runs the application with Jetty local connectors instead of network connectors, so that requests go through
+     * the whole handler stack of the application, but without sockets or ports. The {@link #client() client} of
+     * this extension sends its requests to the local connectors: use the host {@code admin} to send them to the
+     * admin connector of the default server, and any other host for the application connector.
+     *
+     * @return this extension
+     * @see DropwizardTestSupport#useLocalConnectors()
+     * @since 2.1
+     */
+    public DropwizardAppExtension<C> useLocalConnectors() {
+        testSupport.useLocalConnectors();
+        return this;
+    }
+
     public DropwizardAppExtension<C> manage(final Managed managed) {
         return addListener(new ServiceListener<C>() {
             @Override
@@ -192,14 +235,23 @@ public class DropwizardAppExtension<C extends Configuration> implements Dropwiza
     @Override
     public void before() throws Exception {
         if (recursiveCallCount.getAndIncrement() == 0) {
-            testSupport.before();
+            if (shared) {
+                sharedTestSupport = SharedApplications.acquire(testSupport);
+            } else {
+                testSupport.before();
+            }
         }
     }
 
     @Override
     public void after() {
         if (recursiveCallCount.decrementAndGet() == 0) {
-            testSupport.after();
+            if (sharedTestSupport != null) {
+                SharedApplications.release(sharedTestSupport);
+                sharedTestSupport = null;
+            } else {
+                testSupport.after();
+            }
             synchronized (this) {
                 if (client != null) {
                     client.close();
@@ -210,19 +262,19 @@ public class DropwizardAppExtension<C extends Configuration> implements Dropwiza
     }
 
     public C getConfiguration() {
-        return testSupport.getConfiguration();
+        return getTestSupport().getConfiguration();
     }
 
     public int getLocalPort() {
-        return testSupport.getLocalPort();
+        return getTestSupport().getLocalPort();
     }
 
     public int getPort(int connectorIndex) {
-        return testSupport.getPort(connectorIndex);
+        return getTestSupport().getPort(connectorIndex);
     }
 
     public int getAdminPort() {
-        return testSupport.getAdminPort();
+        return getTestSupport().getAdminPort();
     }
 
     public Application<C> newApplication() {
@@ -231,15 +283,15 @@ public class DropwizardAppExtension<C extends Configuration> implements Dropwiza
 
     @SuppressWarnings({"TypeParameterUnusedInFormals"})
     public <A extends Application<C>> A getApplication() {
-        return testSupport.getApplication();
+        return getTestSupport().getApplication();
     }
 
     public Environment getEnvironment() {
-        return testSupport.getEnvironment();
+        return getTestSupport().getEnvironment();
     }
 
     public ObjectMapper getObjectMapper() {
-        return testSupport.getObjectMapper();
+        return getTestSupport().getObjectMapper();
     }
 
     public abstract static class ServiceListener<T extends Configuration> {
@@ -251,10 +303,25 @@ public class DropwizardAppExtension<C extends Configuration> implements Dropwiza
         public void onStop(DropwizardAppExtension<T> rule) throws Exception {
             // Default NOP
         }
+
+        /**
+         * Called when the application is {@link DropwizardAppExtension#shared() shared} and about to
+         * be reused by another test class.
+         *
+         * @since 2.1
+         */
+        public void onReset(DropwizardAppExtension<T> rule) throws Exception {
+            // Default NOP
+        }
     }
 
+    /**
+     * Returns the test support which runs the application, which is the one of another extension if the application
+     * is {@link #shared() shared}.
+     */
     public DropwizardTestSupport<C> getTestSupport() {
-        return testSupport;
+        final DropwizardTestSupport<C> running = sharedTestSupport;
+        return running != null ? running : testSupport;
     }
 
     /**
@@ -275,10 +342,15 @@ public class DropwizardAppExtension<C extends Configuration> implements Dropwiza
     }
 
     protected JerseyClientBuilder clientBuilder() {
-        return new JerseyClientBuilder()
+        final JerseyClientBuilder builder = new JerseyClientBuilder()
             .register(new JacksonFeature(getObjectMapper()))
             .property(ClientProperties.CONNECT_TIMEOUT, DEFAULT_CONNECT_TIMEOUT_MS)
             .property(ClientProperties.READ_TIMEOUT, DEFAULT_READ_TIMEOUT_MS)
             .property(HttpUrlConnectorProvider.SET_METHOD_WORKAROUND, true);
+        if (testSupport.isUsingLocalConnectors()) {
+            builder.getConfiguration().connectorProvider(
+                new LocalConnectorProvider(() -> getTestSupport().getLocalConnectors()));
+        }
+        return builder;
     }
 }
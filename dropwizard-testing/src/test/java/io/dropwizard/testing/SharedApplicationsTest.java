@@ -0,0 +1,144 @@
+package io.dropwizard.testing;
+
+import io.dropwizard.configuration.ResourceConfigurationSourceProvider;
+import io.dropwizard.setup.Environment;
+import io.dropwizard.testing.app.DropwizardTestApplication;
+import io.dropwizard.testing.app.TestConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static io.dropwizard.testing.ConfigOverride.config;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatNullPointerException;
+
+class SharedApplicationsTest {
+    private final CountingListener listener = new CountingListener();
+    private final DropwizardTestSupport<TestConfiguration> first = support("first").addListener(listener);
+
+    @AfterEach
+    void tearDown() {
+        SharedApplications.stopAll();
+    }
+
+    @Test
+    void startsAnApplicationOncePerConfiguration() throws Exception {
+        final DropwizardTestSupport<TestConfiguration> second = support("first");
+        final DropwizardTestSupport<TestConfiguration> other = support("other");
+
+        assertThat(SharedApplications.acquire(first)).isSameAs(first);
+        SharedApplications.release(first);
+        assertThat(SharedApplications.acquire(second)).isSameAs(first);
+        assertThat(SharedApplications.acquire(other)).isSameAs(other);
+
+        assertThat(listener.runs).isEqualTo(1);
+        assertThat(first.getConfiguration().getMessage()).isEqualTo("first");
+        assertThat(other.getConfiguration().getMessage()).isEqualTo("other");
+        assertThat(System.getProperty("dw.message")).isNull();
+    }
+
+    @Test
+    void resetsTheApplicationWithTheListenersOfTheTestSupportWhichAcquiresIt() throws Exception {
+        final CountingListener secondListener = new CountingListener();
+        final DropwizardTestSupport<TestConfiguration> second = support("first").addListener(secondListener);
+
+        SharedApplications.acquire(first);
+        SharedApplications.release(first);
+        SharedApplications.acquire(second);
+
+        assertThat(listener.resets).isZero();
+        assertThat(secondListener.runs).isZero();
+        assertThat(secondListener.resets).isEqualTo(1);
+        assertThat(secondListener.resetSupport).isSameAs(first);
+    }
+
+    @Test
+    void doesNotResetAnApplicationWhichIsInUse() throws Exception {
+        final CountingListener secondListener = new CountingListener();
+        SharedApplications.acquire(first);
+        SharedApplications.acquire(support("first").addListener(secondListener));
+
+        assertThat(listener.runs).isEqualTo(1);
+        assertThat(secondListener.resets).isZero();
+    }
+
+    @Test
+    void startsAnApplicationAgainIfItFailedToStart() throws Exception {
+        final DropwizardTestSupport<TestConfiguration> failing = support("first")
+            .addListener(new DropwizardTestSupport.ServiceListener<TestConfiguration>() {
+                @Override
+                public void onRun(TestConfiguration configuration, Environment environment,
+                                  DropwizardTestSupport<TestConfiguration> rule) {
+                    throw new IllegalStateException("failed to start");
+                }
+            });
+
+        assertThatExceptionOfType(RuntimeException.class).isThrownBy(() -> SharedApplications.acquire(failing));
+
+        assertThat(SharedApplications.acquire(first)).isSameAs(first);
+        assertThat(listener.runs).isEqualTo(1);
+        assertThat(first.getLocalPort()).isPositive();
+    }
+
+    @Test
+    void comparesSuppliedOverridesByIdentityWithoutCallingThem() {
+        final AtomicInteger calls = new AtomicInteger();
+        final Supplier<String> supplier = () -> String.valueOf(calls.incrementAndGet());
+
+        assertThat(support(config("message", supplier)).getSharingKey())
+            .isEqualTo(support(config("message", supplier)).getSharingKey())
+            .isNotEqualTo(support(config("message", () -> "1")).getSharingKey());
+        assertThat(support(config("message", "1")).getSharingKey())
+            .isEqualTo(support(config("message", "1")).getSharingKey());
+        assertThat(calls).hasValue(0);
+    }
+
+    @Test
+    void stopsTheApplications() throws Exception {
+        SharedApplications.acquire(first);
+        assertThat(first.getLocalPort()).isPositive();
+
+        SharedApplications.stopAll();
+
+        assertThat(listener.stops).isEqualTo(1);
+        assertThatNullPointerException().isThrownBy(first::getLocalPort);
+    }
+
+    private static DropwizardTestSupport<TestConfiguration> support(String message) {
+        return support(config("message", message));
+    }
+
+    private static DropwizardTestSupport<TestConfiguration> support(ConfigOverride override) {
+        return new DropwizardTestSupport<>(DropwizardTestApplication.class, "test-config.yaml",
+            new ResourceConfigurationSourceProvider(), override);
+    }
+
+    private static class CountingListener extends DropwizardTestSupport.ServiceListener<TestConfiguration> {
+        private int runs;
+        private int resets;
+        private int stops;
+        @Nullable
+        private DropwizardTestSupport<TestConfiguration> resetSupport;
+
+        @Override
+        public void onRun(TestConfiguration configuration, Environment environment,
+                          DropwizardTestSupport<TestConfiguration> rule) {
+            runs++;
+        }
+
+        @Override
+        public void onReset(DropwizardTestSupport<TestConfiguration> rule) {
+            resets++;
+            resetSupport = rule;
+        }
+
+        @Override
+        public void onStop(DropwizardTestSupport<TestConfiguration> rule) {
+            stops++;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package io.dropwizard.testing.junit5;
+
+import io.dropwizard.configuration.ResourceConfigurationSourceProvider;
+import io.dropwizard.testing.app.DropwizardTestApplication;
+import io.dropwizard.testing.app.TestConfiguration;
+import org.eclipse.jetty.server.LocalConnector;
+import org.glassfish.jersey.client.ClientProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.MediaType;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+@ExtendWith(DropwizardExtensionsSupport.class)
+class DropwizardAppExtensionWithLocalConnectorsTest {
+    private static final DropwizardAppExtension<TestConfiguration> EXTENSION =
+        new DropwizardAppExtension<>(DropwizardTestApplication.class, "test-config.yaml",
+            new ResourceConfigurationSourceProvider()).useLocalConnectors();
+
+    @Test
+    void replacesTheNetworkConnectors() {
+        assertThat(EXTENSION.getTestSupport().getLocalConnectors())
+            .extracting(LocalConnector::getName)
+            .containsExactly("application", "admin");
+        assertThatIllegalStateException().isThrownBy(EXTENSION::getLocalPort);
+    }
+
+    @Test
+    void sendsRequestsToTheApplicationConnector() {
+        assertThat(EXTENSION.client().target("http://localhost/test").request().get(String.class))
+            .isEqualTo("Yes, it's here");
+        assertThat(EXTENSION.client().target("http://localhost/message").request()
+            .get(DropwizardTestApplication.MessageView.class).getMessage())
+            .hasValue("Yes, it's here");
+    }
+
+    @Test
+    void sendsEntities() {
+        assertThat(EXTENSION.client().target("http://localhost/echoPatch").request()
+            .method("PATCH", Entity.text("Patch is working"), String.class))
+            .isEqualTo("Patch is working");
+    }
+
+    @Test
+    void sendsRequestsToTheAdminConnector() {
+        assertThat(EXTENSION.client().target("http://admin/tasks/echo").request()
+            .post(Entity.entity("Custom message", MediaType.TEXT_PLAIN), String.class))
+            .isEqualTo("Custom message");
+    }
+
+    @Test
+    void sendsAsynchronousRequests() throws Exception {
+        assertThat(EXTENSION.client().target("http://localhost/test").request().async().get(String.class)
+            .get(30, TimeUnit.SECONDS))
+            .isEqualTo("Yes, it's here");
+    }
+
+    @Test
+    void waitsForTheResponseWithoutAReadTimeout() {
+        assertThat(EXTENSION.client().target("http://localhost/test")
+            .property(ClientProperties.READ_TIMEOUT, 0)
+            .request()
+            .get(String.class))
+            .isEqualTo("Yes, it's here");
+    }
+
+    @Test
+    void returnsErrors() {
+        assertThat(EXTENSION.client().target("http://localhost/missing").request().get().getStatus())
+            .isEqualTo(404);
+    }
+
+    @Test
+    void acceptsRawRequests() throws Exception {
+        assertThat(EXTENSION.getTestSupport().getLocalConnectors().get(0)
+            .getResponse("GET /test HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n"))
+            .startsWith("HTTP/1.1 200 OK")
+            .endsWith("Yes, it's here");
+    }
+}
@@ -0,0 +1,46 @@
+package io.dropwizard.testing.junit5;
+
+import io.dropwizard.Application;
+import io.dropwizard.configuration.ResourceConfigurationSourceProvider;
+import io.dropwizard.testing.app.DropwizardTestApplication;
+import io.dropwizard.testing.app.TestConfiguration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(DropwizardExtensionsSupport.class)
+class SharedDropwizardAppExtensionTest {
+    static final Set<Application<TestConfiguration>> APPLICATIONS = ConcurrentHashMap.newKeySet();
+
+    static final DropwizardAppExtension<TestConfiguration> EXTENSION =
+        new DropwizardAppExtension<>(DropwizardTestApplication.class, "test-config.yaml",
+            new ResourceConfigurationSourceProvider()).shared();
+
+    @Test
+    void sharesTheApplication() {
+        APPLICATIONS.add(EXTENSION.getApplication());
+        assertThat(APPLICATIONS).hasSize(1);
+        assertThat(EXTENSION.client()
+            .target("http://localhost:" + EXTENSION.getLocalPort() + "/test")
+            .request()
+            .get(String.class))
+            .isEqualTo("Yes, it's here");
+    }
+}
+
+@ExtendWith(DropwizardExtensionsSupport.class)
+class OtherSharedDropwizardAppExtensionTest {
+    static final DropwizardAppExtension<TestConfiguration> EXTENSION =
+        new DropwizardAppExtension<>(DropwizardTestApplication.class, "test-config.yaml",
+            new ResourceConfigurationSourceProvider()).shared();
+
+    @Test
+    void sharesTheApplication() {
+        SharedDropwizardAppExtensionTest.APPLICATIONS.add(EXTENSION.getApplication());
+        assertThat(SharedDropwizardAppExtensionTest.APPLICATIONS).hasSize(1);
+    }
+}
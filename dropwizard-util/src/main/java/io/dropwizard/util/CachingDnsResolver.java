@@ -0,0 +1,213 @@
+package io.dropwizard.util;
+
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resolves host names and caches the results, so that lookups do not block the caller once a host has been resolved.
+ * <ul>
+ *     <li>Addresses are served from the cache for the time to live.</li>
+ *     <li>Afterwards, they are served stale for up to the maximum staleness while they are refreshed in the
+ *     background.</li>
+ *     <li>If a lookup fails, the last known addresses are served regardless of their age.</li>
+ * </ul>
+ * The JDK does not expose the time to live of DNS records, so it has to be configured. Lookups go through
+ * {@link InetAddress}, and therefore through the cache of the JVM as well, unless another {@link Lookup} is given.
+ *
+ * @since 2.1
+ */
+public class CachingDnsResolver implements Closeable {
+    /**
+     * Looks up the addresses of a host name.
+     */
+    @FunctionalInterface
+    public interface Lookup {
+        InetAddress[] lookup(String host) throws UnknownHostException;
+    }
+
+    /**
+     * The number of entries above which expired entries are removed.
+     */
+    private static final int MAX_ENTRIES = 1024;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final long maxStaleNanos;
+    private final Executor executor;
+    private final Lookup lookup;
+
+    @Nullable
+    private final ExecutorService ownedExecutor;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    /**
+     * Creates a resolver which refreshes addresses on a daemon thread of its own, which is stopped by
+     * {@link #close()}.
+     *
+     * @param ttl      the time for which resolved addresses are served without refreshing them
+     * @param maxStale the time after the time to live for which addresses are served while they are refreshed
+     */
+    public CachingDnsResolver(Duration ttl, Duration maxStale) {
+        this(ttl, maxStale, Executors.newSingleThreadExecutor(r -> {
+            final Thread thread = Executors.defaultThreadFactory().newThread(r);
+            thread.setName("dns-resolver");
+            thread.setDaemon(true);
+            return thread;
+        }), InetAddress::getAllByName, true);
+    }
+
+    /**
+     * @param ttl      the time for which resolved addresses are served without refreshing them
+     * @param maxStale the time after the time to live for which addresses are served while they are refreshed
+     * @param executor the executor which refreshes addresses
+     * @param lookup   the lookup of addresses
+     */
+    public CachingDnsResolver(Duration ttl, Duration maxStale, Executor executor, Lookup lookup) {
+        this(ttl, maxStale, executor, lookup, false);
+    }
+
+    private CachingDnsResolver(Duration ttl, Duration maxStale, Executor executor, Lookup lookup, boolean owned) {
+        this.ttlNanos = ttl.toNanoseconds();
+        this.maxStaleNanos = maxStale.toNanoseconds();
+        this.executor = executor;
+        this.lookup = lookup;
+        this.ownedExecutor = owned ? (ExecutorService) executor : null;
+    }
+
+    /**
+     * Returns the addresses of a host.
+     *
+     * @param host the host name
+     * @return the addresses of the host
+     * @throws UnknownHostException if the host cannot be resolved and has not been resolved before
+     */
+    public InetAddress[] resolve(String host) throws UnknownHostException {
+        final Entry entry = entries.get(host);
+        if (entry != null) {
+            final long age = System.nanoTime() - entry.resolvedNanos;
+            if (age < ttlNanos) {
+                hits.increment();
+                return entry.addresses.clone();
+            }
+            if (age < ttlNanos + maxStaleNanos) {
+                staleHits.increment();
+                refresh(host, entry);
+                return entry.addresses.clone();
+            }
+        }
+
+        misses.increment();
+        try {
+            return lookup(host).clone();
+        } catch (UnknownHostException e) {
+            failures.increment();
+            if (entry != null) {
+                staleHits.increment();
+                return entry.addresses.clone();
+            }
+            throw e;
+        }
+    }
+
+    private void refresh(String host, Entry entry) {
+        if (!entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    lookup(host);
+                    refreshes.increment();
+                } catch (UnknownHostException | RuntimeException e) {
+                    failures.increment();
+                    entry.refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            entry.refreshing.set(false);
+        }
+    }
+
+    private InetAddress[] lookup(String host) throws UnknownHostException {
+        final InetAddress[] addresses = lookup.lookup(host);
+        if (addresses.length == 0) {
+            throw new UnknownHostException(host);
+        }
+        if (entries.size() >= MAX_ENTRIES) {
+            final long now = System.nanoTime();
+            entries.values().removeIf(e -> now - e.resolvedNanos >= ttlNanos + maxStaleNanos);
+        }
+        entries.put(host, new Entry(addresses));
+        return addresses;
+    }
+
+    /**
+     * Returns the number of lookups answered from the cache within the time to live.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups answered with stale addresses, while they were refreshed or after a lookup failed.
+     */
+    public long getStaleHits() {
+        return staleHits.sum();
+    }
+
+    /**
+     * Returns the number of lookups which had to wait for the addresses to be resolved.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of addresses which were refreshed in the background.
+     */
+    public long getRefreshes() {
+        return refreshes.sum();
+    }
+
+    /**
+     * Returns the number of failed lookups, including those answered with stale addresses.
+     */
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    /**
+     * Stops the thread which refreshes addresses, unless the executor has been given to the resolver.
+     */
+    @Override
+    public void close() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdownNow();
+        }
+    }
+
+    private static class Entry {
+        private final InetAddress[] addresses;
+        private final long resolvedNanos = System.nanoTime();
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private Entry(InetAddress[] addresses) {
+            this.addresses = addresses;
+        }
+    }
+}
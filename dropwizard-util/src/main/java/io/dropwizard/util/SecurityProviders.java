@@ -0,0 +1,65 @@
+package io.dropwizard.util;
+
+import javax.net.ssl.SSLContext;
+import java.security.Provider;
+import java.security.Security;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Helper methods for locating security providers, such as accelerated JSSE implementations.
+ *
+ * @since 2.1
+ */
+public final class SecurityProviders {
+    /**
+     * The class names of well-known providers which are not installed by default, by provider name.
+     */
+    private static final Map<String, String> KNOWN_PROVIDERS = Maps.of(
+        "Conscrypt", "org.conscrypt.OpenSSLProvider",
+        "openssl", "org.wildfly.openssl.OpenSSLProvider");
+
+    private SecurityProviders() {
+    }
+
+    /**
+     * Returns the security provider with the given name, installing it if necessary.
+     * <p/>
+     * A provider which is not installed yet is installed with the lowest preference, so it is only used when asked for
+     * by name. This works for the well-known accelerated providers Conscrypt ({@code Conscrypt}) and wildfly-openssl
+     * ({@code openssl}), as long as they are on the class path, and for any provider given by its fully qualified class
+     * name. Providers which cannot create a TLS {@link SSLContext}, e.g. because their native library failed to load,
+     * are removed again.
+     *
+     * @param name the name or the class name of the provider
+     * @return the provider, or an empty optional if it is not available
+     */
+    public static synchronized Optional<Provider> install(String name) {
+        final Provider installed = Security.getProvider(name);
+        if (installed != null) {
+            return Optional.of(installed);
+        }
+
+        final String className = KNOWN_PROVIDERS.getOrDefault(name, name);
+        final Provider provider;
+        try {
+            provider = (Provider) Class.forName(className).getConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException | LinkageError e) {
+            return Optional.empty();
+        }
+
+        final Provider existing = Security.getProvider(provider.getName());
+        if (existing != null) {
+            return Optional.of(existing);
+        }
+
+        Security.addProvider(provider);
+        try {
+            SSLContext.getInstance("TLS", provider);
+        } catch (Exception | LinkageError e) {
+            Security.removeProvider(provider.getName());
+            return Optional.empty();
+        }
+        return Optional.of(provider);
+    }
+}
@@ -0,0 +1,106 @@
+package io.dropwizard.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class CachingDnsResolverTest {
+    private final Queue<Runnable> refreshes = new ArrayDeque<>();
+    private final AtomicInteger lookups = new AtomicInteger();
+    private InetAddress[] addresses = new InetAddress[0];
+    private boolean failing;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        addresses = new InetAddress[]{InetAddress.getByAddress("example.com", new byte[]{10, 0, 0, 1})};
+    }
+
+    @Test
+    void cachesAddressesForTheTimeToLive() throws Exception {
+        final CachingDnsResolver resolver = resolver(Duration.hours(1), Duration.hours(1));
+
+        assertThat(resolver.resolve("example.com")).containsExactly(addresses);
+        assertThat(resolver.resolve("example.com")).containsExactly(addresses);
+
+        assertThat(lookups).hasValue(1);
+        assertThat(resolver.getMisses()).isEqualTo(1);
+        assertThat(resolver.getHits()).isEqualTo(1);
+    }
+
+    @Test
+    void servesStaleAddressesWhileRefreshingThem() throws Exception {
+        final CachingDnsResolver resolver = resolver(Duration.milliseconds(0), Duration.hours(1));
+        final InetAddress[] original = addresses;
+        resolver.resolve("example.com");
+
+        addresses = new InetAddress[]{InetAddress.getByAddress("example.com", new byte[]{10, 0, 0, 2})};
+        assertThat(resolver.resolve("example.com")).containsExactly(original);
+        assertThat(resolver.resolve("example.com")).containsExactly(original);
+        assertThat(refreshes).hasSize(1);
+
+        refreshes.remove().run();
+        assertThat(resolver.resolve("example.com")).containsExactly(addresses);
+        assertThat(lookups).hasValue(2);
+        assertThat(resolver.getStaleHits()).isEqualTo(3);
+        assertThat(resolver.getRefreshes()).isEqualTo(1);
+    }
+
+    @Test
+    void retriesFailedRefreshes() throws Exception {
+        final CachingDnsResolver resolver = resolver(Duration.milliseconds(0), Duration.hours(1));
+        resolver.resolve("example.com");
+
+        failing = true;
+        resolver.resolve("example.com");
+        refreshes.remove().run();
+        resolver.resolve("example.com");
+
+        assertThat(refreshes).hasSize(1);
+        assertThat(resolver.getFailures()).isEqualTo(1);
+    }
+
+    @Test
+    void servesStaleAddressesIfTheLookupFails() throws Exception {
+        final CachingDnsResolver resolver = resolver(Duration.milliseconds(0), Duration.milliseconds(0));
+        resolver.resolve("example.com");
+
+        failing = true;
+        assertThat(resolver.resolve("example.com")).containsExactly(addresses);
+        assertThat(resolver.getFailures()).isEqualTo(1);
+        assertThat(resolver.getStaleHits()).isEqualTo(1);
+    }
+
+    @Test
+    void failsIfTheHostHasNeverBeenResolved() {
+        final CachingDnsResolver resolver = resolver(Duration.hours(1), Duration.hours(1));
+        failing = true;
+
+        assertThatExceptionOfType(UnknownHostException.class).isThrownBy(() -> resolver.resolve("example.com"));
+        assertThat(resolver.getFailures()).isEqualTo(1);
+    }
+
+    @Test
+    void resolvesWithTheJvmByDefault() throws Exception {
+        try (CachingDnsResolver resolver = new CachingDnsResolver(Duration.seconds(30), Duration.minutes(5))) {
+            assertThat(resolver.resolve("127.0.0.1")).containsExactly(InetAddress.getByName("127.0.0.1"));
+        }
+    }
+
+    private CachingDnsResolver resolver(Duration ttl, Duration maxStale) {
+        return new CachingDnsResolver(ttl, maxStale, refreshes::add, host -> {
+            lookups.incrementAndGet();
+            if (failing) {
+                throw new UnknownHostException(host);
+            }
+            return addresses;
+        });
+    }
+}
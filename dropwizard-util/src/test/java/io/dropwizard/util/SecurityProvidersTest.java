@@ -0,0 +1,109 @@
+package io.dropwizard.util;
+
+import org.junit.jupiter.api.Test;
+
+import javax.net.ssl.KeyManager;
+import javax.net.ssl.SSLContextSpi;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLServerSocketFactory;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManager;
+import java.security.Provider;
+import java.security.SecureRandom;
+import java.security.Security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SecurityProvidersTest {
+    @Test
+    void returnsInstalledProvider() {
+        assertThat(SecurityProviders.install("SunJSSE"))
+            .containsSame(Security.getProvider("SunJSSE"));
+    }
+
+    @Test
+    void installsProviderByClassName() {
+        final String name = TestProvider.class.getName();
+        try {
+            assertThat(SecurityProviders.install(name))
+                .hasValueSatisfying(provider -> assertThat(provider).isInstanceOf(TestProvider.class));
+            assertThat(Security.getProvider(TestProvider.NAME)).isInstanceOf(TestProvider.class);
+        } finally {
+            Security.removeProvider(TestProvider.NAME);
+        }
+    }
+
+    @Test
+    void removesProviderWithoutTls() {
+        assertThat(SecurityProviders.install(NoTlsProvider.class.getName())).isEmpty();
+        assertThat(Security.getProvider(NoTlsProvider.NAME)).isNull();
+    }
+
+    @Test
+    void returnsEmptyForUnknownProvider() {
+        assertThat(SecurityProviders.install("NoSuchProvider")).isEmpty();
+        assertThat(SecurityProviders.install("java.lang.String")).isEmpty();
+    }
+
+    @Test
+    void returnsEmptyForKnownProviderNotOnClassPath() {
+        assertThat(SecurityProviders.install("openssl")).isEmpty();
+    }
+
+    public static class TestProvider extends Provider {
+        private static final long serialVersionUID = 1L;
+        static final String NAME = "DropwizardTest";
+
+        public TestProvider() {
+            super(NAME, 1.0, "Provides a TLS context");
+            put("SSLContext.TLS", TestContextSpi.class.getName());
+        }
+    }
+
+    public static class NoTlsProvider extends Provider {
+        private static final long serialVersionUID = 1L;
+        static final String NAME = "DropwizardNoTls";
+
+        public NoTlsProvider() {
+            super(NAME, 1.0, "Provides nothing");
+        }
+    }
+
+    public static class TestContextSpi extends SSLContextSpi {
+        @Override
+        protected void engineInit(KeyManager[] km, TrustManager[] tm, SecureRandom sr) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected SSLSocketFactory engineGetSocketFactory() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected SSLServerSocketFactory engineGetServerSocketFactory() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected SSLEngine engineCreateSSLEngine() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected SSLEngine engineCreateSSLEngine(String host, int port) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected SSLSessionContext engineGetServerSessionContext() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected SSLSessionContext engineGetClientSessionContext() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}